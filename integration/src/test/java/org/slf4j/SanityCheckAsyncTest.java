@@ -0,0 +1,76 @@
+/* 
+ * Copyright (c) 2004-2009 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j;
+
+import java.io.PrintStream;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * Run with two bindings on the class path and the slf4j.sanityCheck system
+ * property set to "async".
+ */
+public class SanityCheckAsyncTest extends TestCase {
+
+  StringPrintStream sps = new StringPrintStream(System.err);
+  PrintStream old = System.err;
+  int diff = 1024 + new Random().nextInt(10000);
+
+  public SanityCheckAsyncTest(String name) {
+    super(name);
+  }
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    System.setErr(sps);
+  }
+
+  protected void tearDown() throws Exception {
+    super.tearDown();
+    System.setErr(old);
+  }
+
+  public void test() throws Exception {
+    Logger logger = LoggerFactory.getLogger(this.getClass());
+    String msg = "hello world " + diff;
+    logger.info(msg);
+
+    // the warning is emitted by a background thread, give it some time
+    boolean found = false;
+    for (int attempt = 0; attempt < 100 && !found; attempt++) {
+      for (int i = 0; i < sps.stringList.size(); i++) {
+        String s = String.valueOf(sps.stringList.get(i));
+        if (s.indexOf("SLF4J: Class path contains multiple SLF4J bindings.") != -1) {
+          found = true;
+        }
+      }
+      if (!found) {
+        Thread.sleep(50);
+      }
+    }
+    assertTrue("multiple bindings warning expected", found);
+  }
+}
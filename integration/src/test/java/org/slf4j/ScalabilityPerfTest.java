@@ -0,0 +1,367 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j;
+
+import java.io.FileWriter;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+
+import junit.framework.TestCase;
+
+/**
+ * Measures how a binding, or a bridge in front of a binding, scales with the
+ * number of threads logging concurrently.
+ * 
+ * <p>
+ * Each worker thread loops over a mix of disabled (DEBUG) and enabled (INFO)
+ * calls on a shared logger, looking a logger up by name once per 100 calls.
+ * The mix is run for 1, 2, 4, ... threads up to
+ * <code>scalability.maxThreads</code>. For each thread count, a single line
+ * of key=value pairs gives the throughput, latency percentiles measured on
+ * one call in {@link #SAMPLE_INTERVAL}, and the number of times and the time
+ * the workers were blocked on a monitor or waiting.
+ * 
+ * <p>
+ * Like {@link StartupPerfTest}, this test must run in a freshly forked JVM,
+ * once per binding or bridge (see the testScalability target in build.xml),
+ * with the logging system configured to enable INFO and disable DEBUG.
+ * System properties:
+ * <ul>
+ * <li><code>scalability.frontend</code> - the API the calls are made
+ * through: <code>slf4j</code> (the default), <code>jul</code>,
+ * <code>jcl</code> or <code>log4j</code>.</li>
+ * <li><code>scalability.maxThreads</code> - defaults to twice the number of
+ * processors, at least 4.</li>
+ * <li><code>scalability.millis</code> - the duration of each run, 1000 by
+ * default.</li>
+ * <li><code>scalability.enabledPercent</code> - the share of enabled calls,
+ * 10 by default.</li>
+ * <li><code>scalability.output</code> - a file the result lines are appended
+ * to, in addition to System.out.</li>
+ * </ul>
+ */
+public class ScalabilityPerfTest extends TestCase {
+
+  static final String LOGGER_NAME = "org.slf4j.scalability.Orders";
+  static final int CALLS_PER_CYCLE = 100;
+  static final int SAMPLE_INTERVAL = 16;
+
+  String frontendName = System.getProperty("scalability.frontend", "slf4j");
+  int maxThreads = Integer.getInteger("scalability.maxThreads",
+      Math.max(4, 2 * Runtime.getRuntime().availableProcessors())).intValue();
+  long millis = Long.getLong("scalability.millis", 1000).longValue();
+  int enabledPercent = Integer.getInteger("scalability.enabledPercent", 10)
+      .intValue();
+
+  ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+  public ScalabilityPerfTest(String name) {
+    super(name);
+  }
+
+  /**
+   * The calls made through one of the logging APIs.
+   */
+  interface Frontend {
+    void disabledCall(int i);
+
+    void enabledCall(int i);
+
+    void lookup(String name);
+  }
+
+  static class Slf4jFrontend implements Frontend {
+    final Logger logger = LoggerFactory.getLogger(LOGGER_NAME);
+    final Marker marker = MarkerFactory.getMarker("ORDERS");
+
+    Slf4jFrontend() {
+      marker.add(MarkerFactory.getMarker("SHIPPING"));
+    }
+
+    public void disabledCall(int i) {
+      logger.debug("order {} shipped to {}", new Integer(i), "warehouse");
+    }
+
+    public void enabledCall(int i) {
+      logger.info("order {} shipped to {}", new Integer(i), "warehouse");
+    }
+
+    public void lookup(String name) {
+      LoggerFactory.getLogger(name);
+      marker.contains("SHIPPING");
+    }
+  }
+
+  static class JulFrontend implements Frontend {
+    final java.util.logging.Logger logger = java.util.logging.Logger
+        .getLogger(LOGGER_NAME);
+
+    public void disabledCall(int i) {
+      logger.log(java.util.logging.Level.FINE, "order {0} shipped to {1}",
+          new Object[] { new Integer(i), "warehouse" });
+    }
+
+    public void enabledCall(int i) {
+      logger.log(java.util.logging.Level.INFO, "order {0} shipped to {1}",
+          new Object[] { new Integer(i), "warehouse" });
+    }
+
+    public void lookup(String name) {
+      java.util.logging.Logger.getLogger(name);
+    }
+  }
+
+  static class JclFrontend implements Frontend {
+    final org.apache.commons.logging.Log log = org.apache.commons.logging.LogFactory
+        .getLog(LOGGER_NAME);
+
+    public void disabledCall(int i) {
+      if (log.isDebugEnabled()) {
+        log.debug("order " + i + " shipped to warehouse");
+      }
+    }
+
+    public void enabledCall(int i) {
+      log.info("order " + i + " shipped to warehouse");
+    }
+
+    public void lookup(String name) {
+      org.apache.commons.logging.LogFactory.getLog(name);
+    }
+  }
+
+  static class Log4jFrontend implements Frontend {
+    final org.apache.log4j.Logger logger = org.apache.log4j.Logger
+        .getLogger(LOGGER_NAME);
+
+    public void disabledCall(int i) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("order " + i + " shipped to warehouse");
+      }
+    }
+
+    public void enabledCall(int i) {
+      logger.info("order " + i + " shipped to warehouse");
+    }
+
+    public void lookup(String name) {
+      org.apache.log4j.Logger.getLogger(name);
+    }
+  }
+
+  Frontend newFrontend() {
+    if ("jul".equals(frontendName)) {
+      return new JulFrontend();
+    } else if ("jcl".equals(frontendName)) {
+      return new JclFrontend();
+    } else if ("log4j".equals(frontendName)) {
+      return new Log4jFrontend();
+    }
+    return new Slf4jFrontend();
+  }
+
+  /**
+   * Latencies in log-linear buckets: exact below 16ns, then 8 buckets per
+   * power of two.
+   */
+  static class Histogram {
+    final long[] counts = new long[16 + 60 * 8];
+
+    static int bucket(long nanos) {
+      if (nanos < 16) {
+        return nanos < 0 ? 0 : (int) nanos;
+      }
+      int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+      int sub = (int) (nanos >>> (exponent - 3)) & 7;
+      return 16 + (exponent - 4) * 8 + sub;
+    }
+
+    /**
+     * Return the largest value of bucket <code>b</code>.
+     */
+    static long upperBound(int b) {
+      if (b < 16) {
+        return b;
+      }
+      int exponent = (b - 16) / 8 + 4;
+      int sub = (b - 16) % 8;
+      return ((9L + sub) << (exponent - 3)) - 1;
+    }
+
+    void record(long nanos) {
+      counts[bucket(nanos)]++;
+    }
+
+    void add(Histogram other) {
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] += other.counts[i];
+      }
+    }
+
+    long percentile(double p) {
+      long total = 0;
+      for (int i = 0; i < counts.length; i++) {
+        total += counts[i];
+      }
+      long rank = (long) Math.ceil(total * p);
+      long seen = 0;
+      for (int i = 0; i < counts.length; i++) {
+        seen += counts[i];
+        if (seen >= rank && counts[i] > 0) {
+          return upperBound(i);
+        }
+      }
+      return 0;
+    }
+  }
+
+  class Worker extends Thread {
+    final Frontend frontend;
+    final boolean[] enabled;
+    final Histogram histogram = new Histogram();
+    volatile boolean stop;
+    long calls;
+    ThreadInfo info;
+
+    Worker(Frontend frontend, boolean[] enabled) {
+      this.frontend = frontend;
+      this.enabled = enabled;
+    }
+
+    public void run() {
+      int i = 0;
+      while (!stop) {
+        for (int j = 0; j < CALLS_PER_CYCLE; j++, i++) {
+          if (i % SAMPLE_INTERVAL == 0) {
+            long start = System.nanoTime();
+            call(j, i);
+            histogram.record(System.nanoTime() - start);
+          } else {
+            call(j, i);
+          }
+        }
+        frontend.lookup(LOGGER_NAME);
+        calls += CALLS_PER_CYCLE + 1;
+      }
+      info = threadBean.getThreadInfo(getId());
+    }
+
+    private void call(int j, int i) {
+      if (enabled[j]) {
+        frontend.enabledCall(i);
+      } else {
+        frontend.disabledCall(i);
+      }
+    }
+  }
+
+  /**
+   * Spread the enabled calls evenly over a cycle.
+   */
+  boolean[] mix() {
+    boolean[] enabled = new boolean[CALLS_PER_CYCLE];
+    for (int j = 0; j < enabledPercent; j++) {
+      enabled[j * CALLS_PER_CYCLE / enabledPercent] = true;
+    }
+    return enabled;
+  }
+
+  String run(Frontend frontend, int threads) throws InterruptedException {
+    boolean[] enabled = mix();
+    Worker[] workers = new Worker[threads];
+    for (int i = 0; i < threads; i++) {
+      workers[i] = new Worker(frontend, enabled);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < threads; i++) {
+      workers[i].start();
+    }
+    Thread.sleep(millis);
+    for (int i = 0; i < threads; i++) {
+      workers[i].stop = true;
+    }
+    for (int i = 0; i < threads; i++) {
+      workers[i].join();
+    }
+    long elapsed = System.nanoTime() - start;
+
+    Histogram histogram = new Histogram();
+    long calls = 0;
+    long blockedCount = 0;
+    long blockedMillis = 0;
+    long waitedCount = 0;
+    long waitedMillis = 0;
+    for (int i = 0; i < threads; i++) {
+      histogram.add(workers[i].histogram);
+      calls += workers[i].calls;
+      ThreadInfo info = workers[i].info;
+      if (info != null) {
+        blockedCount += info.getBlockedCount();
+        blockedMillis += Math.max(0, info.getBlockedTime());
+        waitedCount += info.getWaitedCount();
+        waitedMillis += Math.max(0, info.getWaitedTime());
+      }
+    }
+    return "scalability frontend=" + frontendName + " binding="
+        + LoggerFactory.getILoggerFactory().getClass().getName()
+        + " threads=" + threads + " enabledPercent=" + enabledPercent
+        + " callsPerSec=" + (calls * 1000000000L / elapsed) + " p50Nanos="
+        + histogram.percentile(0.50) + " p99Nanos="
+        + histogram.percentile(0.99) + " p999Nanos="
+        + histogram.percentile(0.999) + " blockedCount=" + blockedCount
+        + " blockedMillis=" + blockedMillis + " waitedCount=" + waitedCount
+        + " waitedMillis=" + waitedMillis;
+  }
+
+  public void testScalability() throws Exception {
+    if (threadBean.isThreadContentionMonitoringSupported()) {
+      threadBean.setThreadContentionMonitoringEnabled(true);
+    }
+    Frontend frontend = newFrontend();
+    // warm up
+    run(frontend, 1);
+
+    String output = System.getProperty("scalability.output");
+    PrintWriter out = null;
+    if (output != null) {
+      out = new PrintWriter(new FileWriter(output, true));
+    }
+    try {
+      for (int threads = 1; threads <= maxThreads; threads *= 2) {
+        String line = run(frontend, threads);
+        System.out.println(line);
+        if (out != null) {
+          out.println(line);
+        }
+      }
+    } finally {
+      if (out != null) {
+        out.close();
+      }
+    }
+  }
+}
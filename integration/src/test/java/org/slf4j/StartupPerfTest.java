@@ -0,0 +1,71 @@
+/* 
+ * Copyright (c) 2004-2009 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+
+import junit.framework.TestCase;
+
+/**
+ * Measures the cost of bootstrapping LoggerFactory, that is the time and the
+ * number of classes loaded until the first logging statement returns.
+ * 
+ * <p>
+ * This test must run in a freshly forked JVM, once per binding (see the
+ * testStartup target in build.xml). Results are printed on System.out as a
+ * single line of key=value pairs so that they can be collected and compared
+ * across bindings and releases.
+ */
+public class StartupPerfTest extends TestCase {
+
+  public StartupPerfTest(String name) {
+    super(name);
+  }
+
+  public void testTimeToFirstLog() {
+    ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+    long classesBefore = classLoading.getTotalLoadedClassCount();
+    long start = System.nanoTime();
+
+    Logger logger = LoggerFactory.getLogger(StartupPerfTest.class);
+    long bound = System.nanoTime();
+    logger.info("first logging statement");
+    long end = System.nanoTime();
+
+    long classesLoaded = classLoading.getTotalLoadedClassCount() - classesBefore;
+    long sinceJvmStart = System.currentTimeMillis()
+        - ManagementFactory.getRuntimeMXBean().getStartTime();
+
+    System.out.println("startup binding="
+        + LoggerFactory.getILoggerFactory().getClass().getName()
+        + " sanityCheck=" + System.getProperty("slf4j.sanityCheck", "sync")
+        + " getLoggerMicros=" + (bound - start) / 1000
+        + " firstLogMicros=" + (end - start) / 1000
+        + " classesLoaded=" + classesLoaded
+        + " sinceJvmStartMillis=" + sinceJvmStart);
+    assertTrue(classesLoaded > 0);
+  }
+}
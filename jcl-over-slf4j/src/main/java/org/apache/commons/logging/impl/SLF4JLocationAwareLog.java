@@ -22,6 +22,8 @@ import java.io.Serializable;
 import org.apache.commons.logging.Log;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.helpers.LevelAwareLoggerAdapter;
+import org.slf4j.spi.LevelAwareLogger;
 import org.slf4j.spi.LocationAwareLogger;
 
 /**
@@ -43,15 +45,25 @@ public class SLF4JLocationAwareLog implements Log, Serializable {
 
   // in both Log4jLogger and Jdk14Logger classes in the original JCL, the
   // logger instance is transient
-  private transient LocationAwareLogger logger;
+  private transient LevelAwareLogger logger;
 
   private static final String FQCN = SLF4JLocationAwareLog.class.getName();
 
   SLF4JLocationAwareLog(LocationAwareLogger logger) {
-    this.logger = logger;
+    this.logger = LevelAwareLoggerAdapter.getLevelAwareLogger(logger);
     this.name = logger.getName();
   }
 
+  /**
+   * Converts the message to String and logs it through the wrapped logger,
+   * unless the level is disabled.
+   */
+  private void log(int level, Object message, Throwable t) {
+    if (logger.isEnabled(level)) {
+      logger.log(null, FQCN, level, String.valueOf(message), t);
+    }
+  }
+
   /**
    * Delegates to the <code>isTraceEnabled<code> method of the wrapped 
    * <code>org.slf4j.Logger</code> instance.
@@ -104,8 +116,7 @@ public class SLF4JLocationAwareLog implements Log, Serializable {
    *          the message to log. Converted to {@link String}
    */
   public void trace(Object message) {
-    logger.log(null, FQCN, LocationAwareLogger.TRACE_INT, String
-        .valueOf(message), null);
+    log(LocationAwareLogger.TRACE_INT, message, null);
   }
 
   /**
@@ -118,8 +129,7 @@ public class SLF4JLocationAwareLog implements Log, Serializable {
    *          the exception to log
    */
   public void trace(Object message, Throwable t) {
-    logger.log(null, FQCN, LocationAwareLogger.TRACE_INT, String
-        .valueOf(message), t);
+    log(LocationAwareLogger.TRACE_INT, message, t);
   }
 
   /**
@@ -130,8 +140,7 @@ public class SLF4JLocationAwareLog implements Log, Serializable {
    *          the message to log. Converted to {@link String}
    */
   public void debug(Object message) {
-    logger.log(null, FQCN, LocationAwareLogger.DEBUG_INT, String
-        .valueOf(message), null);
+    log(LocationAwareLogger.DEBUG_INT, message, null);
   }
 
   /**
@@ -144,8 +153,7 @@ public class SLF4JLocationAwareLog implements Log, Serializable {
    *          the exception to log
    */
   public void debug(Object message, Throwable t) {
-    logger.log(null, FQCN, LocationAwareLogger.DEBUG_INT, String
-        .valueOf(message), t);
+    log(LocationAwareLogger.DEBUG_INT, message, t);
   }
 
   /**
@@ -156,8 +164,7 @@ public class SLF4JLocationAwareLog implements Log, Serializable {
    *          the message to log. Converted to {@link String}
    */
   public void info(Object message) {
-    logger.log(null, FQCN, LocationAwareLogger.INFO_INT, String
-        .valueOf(message), null);
+    log(LocationAwareLogger.INFO_INT, message, null);
   }
 
   /**
@@ -170,8 +177,7 @@ public class SLF4JLocationAwareLog implements Log, Serializable {
    *          the exception to log
    */
   public void info(Object message, Throwable t) {
-    logger.log(null, FQCN, LocationAwareLogger.INFO_INT, String
-        .valueOf(message), t);
+    log(LocationAwareLogger.INFO_INT, message, t);
   }
 
   /**
@@ -182,8 +188,7 @@ public class SLF4JLocationAwareLog implements Log, Serializable {
    *          the message to log. Converted to {@link String}
    */
   public void warn(Object message) {
-    logger.log(null, FQCN, LocationAwareLogger.WARN_INT, String
-        .valueOf(message), null);
+    log(LocationAwareLogger.WARN_INT, message, null);
   }
 
   /**
@@ -196,8 +201,7 @@ public class SLF4JLocationAwareLog implements Log, Serializable {
    *          the exception to log
    */
   public void warn(Object message, Throwable t) {
-    logger.log(null, FQCN, LocationAwareLogger.WARN_INT, String
-        .valueOf(message), t);
+    log(LocationAwareLogger.WARN_INT, message, t);
   }
 
   /**
@@ -208,8 +212,7 @@ public class SLF4JLocationAwareLog implements Log, Serializable {
    *          the message to log. Converted to {@link String}
    */
   public void error(Object message) {
-    logger.log(null, FQCN, LocationAwareLogger.ERROR_INT, String
-        .valueOf(message), null);
+    log(LocationAwareLogger.ERROR_INT, message, null);
   }
 
   /**
@@ -222,8 +225,7 @@ public class SLF4JLocationAwareLog implements Log, Serializable {
    *          the exception to log
    */
   public void error(Object message, Throwable t) {
-    logger.log(null, FQCN, LocationAwareLogger.ERROR_INT, String
-        .valueOf(message), t);
+    log(LocationAwareLogger.ERROR_INT, message, t);
   }
 
   /**
@@ -234,8 +236,7 @@ public class SLF4JLocationAwareLog implements Log, Serializable {
    *          the message to log. Converted to {@link String}
    */
   public void fatal(Object message) {
-    logger.log(null, FQCN, LocationAwareLogger.ERROR_INT, String
-        .valueOf(message), null);
+    log(LocationAwareLogger.ERROR_INT, message, null);
   }
 
   /**
@@ -248,8 +249,7 @@ public class SLF4JLocationAwareLog implements Log, Serializable {
    *          the exception to log
    */
   public void fatal(Object message, Throwable t) {
-    logger.log(null, FQCN, LocationAwareLogger.ERROR_INT, String
-        .valueOf(message), t);
+    log(LocationAwareLogger.ERROR_INT, message, t);
   }
 
   /**
@@ -17,24 +17,29 @@
 package org.apache.commons.logging.impl;
 
 import java.io.InputStream;
+import java.io.PrintWriter;
 import java.io.Serializable;
+import java.io.Writer;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
-import java.util.Date;
 import java.util.Properties;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogConfigurationException;
+import org.slf4j.helpers.CachedDateFormat;
+import org.slf4j.helpers.EventCollapser;
+import org.slf4j.helpers.RollingFileSink;
+import org.slf4j.helpers.ThrowableRenderer;
 
 /**
  * <p>
  * Simple implementation of Log that sends all enabled log messages, for all
- * defined loggers, to System.err. The following system properties are supported
- * to configure the behavior of this logger:
+ * defined loggers, to System.err or to a rolling file. The following system
+ * properties are supported to configure the behavior of this logger:
  * </p>
  * <ul>
  * <li><code>org.apache.commons.logging.simplelog.defaultlog</code> - Default
@@ -60,6 +65,31 @@ import org.apache.commons.logging.LogConfigurationException;
  * <code>java.text.SimpleDateFormat</code>. If the format is not specified or is
  * invalid, the default format is used. The default format is
  * <code>yyyy/MM/dd HH:mm:ss:SSS zzz</code>.</li>
+ * <li><code>org.apache.commons.logging.simplelog.collapseWindow</code> - A
+ * number of milliseconds during which repetitions of the same exception logged
+ * with the same message by the same logger are collapsed: only the first
+ * occurrence is printed with its stack trace, the following ones are marked
+ * as "repeat #k of &lt;fingerprint&gt;". Disabled by default.</li>
+ * <li><code>org.apache.commons.logging.simplelog.collapseDepth</code> - The
+ * number of stack frames used to recognize repetitions. Defaults to 8.</li>
+ * <li><code>org.apache.commons.logging.simplelog.file</code> - A file to write
+ * to instead of System.err. Not set by default.</li>
+ * <li><code>org.apache.commons.logging.simplelog.maxFileSize</code> - The size
+ * in bytes, or with a KB, MB or GB suffix, past which the file is rolled
+ * over. Not limited by default.</li>
+ * <li><code>org.apache.commons.logging.simplelog.rollPeriod</code> - The
+ * period after which the file is rolled over: "hourly", "daily" or a number
+ * of milliseconds. Not limited by default.</li>
+ * <li><code>org.apache.commons.logging.simplelog.compress</code> - Set to
+ * <code>false</code> to keep rolled files uncompressed. Defaults to
+ * <code>true</code>.</li>
+ * <li><code>org.apache.commons.logging.simplelog.maxHistory</code> and
+ * <code>org.apache.commons.logging.simplelog.maxTotalSize</code> - The number
+ * and total size of the rolled files to keep. Not limited by default.</li>
+ * <li><code>org.apache.commons.logging.simplelog.cacheStackFrames</code> - Set
+ * to <code>true</code> to render stack traces with a
+ * <code>org.slf4j.helpers.ThrowableRenderer</code>, which caches the
+ * rendering of stack frames. Default is <code>false</code>.</li>
  * </ul>
  * 
  * <p>
@@ -69,6 +99,12 @@ import org.apache.commons.logging.LogConfigurationException;
  * from this resource (if it exists).
  * </p>
  * 
+ * <p>
+ * Each thread assembles its messages in a <code>StringBuffer</code> which is
+ * reused once {@link #write(StringBuffer)} returns. Timestamps are formatted
+ * once per second at most.
+ * </p>
+ * 
  * @author <a href="mailto:sanders@apache.org">Scott Sanders</a>
  * @author Rod Waldhoff
  * @author Robert Burrell Donkin
@@ -104,6 +140,17 @@ public class SimpleLog implements Log, Serializable {
   static protected String dateTimeFormat = DEFAULT_DATE_TIME_FORMAT;
   /** Used to format times */
   static protected DateFormat dateFormatter = null;
+  /** Formats times with dateFormatter, once per second */
+  static private CachedDateFormat cachedDateFormat = null;
+  /** Used to collapse repeated exceptions, null if disabled */
+  static protected EventCollapser eventCollapser = null;
+  /** Renders stack traces caching their frames, null to print them */
+  static protected ThrowableRenderer throwableRenderer = null;
+  /** The line separator appended to events written to the file */
+  static protected final String LINE_SEPARATOR = System
+      .getProperty("line.separator");
+  /** The file written to, null for System.err */
+  static protected RollingFileSink fileSink = null;
 
   // ---------------------------------------------------- Log Level Constants
 
@@ -180,6 +227,20 @@ public class SimpleLog implements Log, Serializable {
         dateFormatter = new SimpleDateFormat(dateTimeFormat);
       }
     }
+
+    if (getBooleanProperty(systemPrefix + "cacheStackFrames", false)) {
+      throwableRenderer = new ThrowableRenderer();
+    }
+
+    eventCollapser = EventCollapser.newInstance(getStringProperty(systemPrefix
+        + "collapseWindow"), getStringProperty(systemPrefix + "collapseDepth"));
+
+    fileSink = RollingFileSink.newInstance(getStringProperty(systemPrefix
+        + "file"), getStringProperty(systemPrefix + "maxFileSize"),
+        getStringProperty(systemPrefix + "rollPeriod"),
+        getStringProperty(systemPrefix + "maxHistory"),
+        getStringProperty(systemPrefix + "maxTotalSize"),
+        getStringProperty(systemPrefix + "compress"));
   }
 
   // ------------------------------------------------------------- Attributes
@@ -283,12 +344,15 @@ public class SimpleLog implements Log, Serializable {
    *          The exception whose stack trace should be logged
    */
   protected void log(int type, Object message, Throwable t) {
-    // Use a string buffer for better performance
-    StringBuffer buf = new StringBuffer();
+    // converted first, toString() may log in turn
+    String text = String.valueOf(message);
+
+    LogBuffer logBuffer = LogBuffer.acquire();
+    StringBuffer buf = logBuffer.buffer;
 
     // Append date-time if so configured
     if (showDateTime) {
-      buf.append(dateFormatter.format(new Date()));
+      appendDateTime(buf);
       buf.append(" ");
     }
 
@@ -328,31 +392,116 @@ public class SimpleLog implements Log, Serializable {
     }
 
     // Append the message
-    buf.append(String.valueOf(message));
+    buf.append(text);
 
     // Append stack trace if not null
-    if (t != null) {
+    String repeat = null;
+    if (t != null && eventCollapser != null) {
+      repeat = eventCollapser.collapse(logName, type, text, t);
+    }
+    if (repeat != null) {
+      buf.append(" <");
+      buf.append(t.toString());
+      buf.append("> [");
+      buf.append(repeat);
+      buf.append("]");
+    } else if (t != null) {
       buf.append(" <");
       buf.append(t.toString());
       buf.append(">");
 
-      java.io.StringWriter sw = new java.io.StringWriter(1024);
-      java.io.PrintWriter pw = new java.io.PrintWriter(sw);
-      t.printStackTrace(pw);
-      pw.close();
-      buf.append(sw.toString());
+      // streamed into buf
+      if (throwableRenderer != null) {
+        throwableRenderer.render(t, buf);
+      } else {
+        t.printStackTrace(logBuffer.writer);
+        logBuffer.writer.flush();
+      }
     }
 
     // Print to the appropriate destination
-    write(buf);
+    try {
+      write(buf);
+    } finally {
+      logBuffer.release();
+    }
+  }
+
+  private static void appendDateTime(StringBuffer buf) {
+    CachedDateFormat cached = cachedDateFormat;
+    // dateFormatter may be replaced by subclasses
+    if (cached == null || cached.getDateFormat() != dateFormatter) {
+      cached = new CachedDateFormat(dateFormatter);
+      cachedDateFormat = cached;
+    }
+    cached.format(System.currentTimeMillis(), buf);
+  }
 
+  /**
+   * The buffer of a thread, and a writer appending to it.
+   */
+  private static final class LogBuffer extends Writer {
+
+    private static final int INITIAL_CAPACITY = 256;
+    // larger buffers, after a long stack trace, are not kept
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    private static final ThreadLocal THREAD_BUFFER = new ThreadLocal();
+
+    StringBuffer buffer = new StringBuffer(INITIAL_CAPACITY);
+    final PrintWriter writer = new PrintWriter(this);
+    private boolean inUse;
+
+    /**
+     * Return the buffer of the current thread, or a new one if it is
+     * already in use by a call logging from within another one.
+     */
+    static LogBuffer acquire() {
+      LogBuffer logBuffer = (LogBuffer) THREAD_BUFFER.get();
+      if (logBuffer == null) {
+        logBuffer = new LogBuffer();
+        THREAD_BUFFER.set(logBuffer);
+      } else if (logBuffer.inUse) {
+        return new LogBuffer();
+      }
+      logBuffer.inUse = true;
+      return logBuffer;
+    }
+
+    void release() {
+      if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+        buffer = new StringBuffer(INITIAL_CAPACITY);
+      } else {
+        buffer.setLength(0);
+      }
+      inUse = false;
+    }
+
+    public void write(char[] cbuf, int off, int len) {
+      buffer.append(cbuf, off, len);
+    }
+
+    public void write(String str, int off, int len) {
+      buffer.append(str.substring(off, off + len));
+    }
+
+    public void write(int c) {
+      buffer.append((char) c);
+    }
+
+    public void flush() {
+    }
+
+    public void close() {
+    }
   }
 
   /**
    * <p>
    * Write the content of the message accumulated in the specified
    * <code>StringBuffer</code> to the appropriate output destination. The
-   * default implementation writes to <code>System.err</code>.
+   * default implementation writes to the configured file, or to
+   * <code>System.err</code> if there is none.
    * </p>
    * 
    * @param buffer
@@ -361,6 +510,10 @@ public class SimpleLog implements Log, Serializable {
    */
   protected void write(StringBuffer buffer) {
 
+    if (fileSink != null) {
+      fileSink.write(buffer.append(LINE_SEPARATOR).toString(), null);
+      return;
+    }
     System.err.println(buffer.toString());
 
   }
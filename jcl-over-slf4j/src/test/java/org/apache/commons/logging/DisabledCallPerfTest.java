@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2004-2005 SLF4J.ORG
+ * Copyright (c) 2004-2005 QOS.ch
+ *
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute, and/or sell copies of  the Software, and to permit persons
+ * to whom  the Software is furnished  to do so, provided  that the above
+ * copyright notice(s) and this permission notice appear in all copies of
+ * the  Software and  that both  the above  copyright notice(s)  and this
+ * permission notice appear in supporting documentation.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR  A PARTICULAR PURPOSE AND NONINFRINGEMENT
+ * OF  THIRD PARTY  RIGHTS. IN  NO EVENT  SHALL THE  COPYRIGHT  HOLDER OR
+ * HOLDERS  INCLUDED IN  THIS  NOTICE BE  LIABLE  FOR ANY  CLAIM, OR  ANY
+ * SPECIAL INDIRECT  OR CONSEQUENTIAL DAMAGES, OR  ANY DAMAGES WHATSOEVER
+ * RESULTING FROM LOSS  OF USE, DATA OR PROFITS, WHETHER  IN AN ACTION OF
+ * CONTRACT, NEGLIGENCE  OR OTHER TORTIOUS  ACTION, ARISING OUT OF  OR IN
+ * CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ *
+ * Except as  contained in  this notice, the  name of a  copyright holder
+ * shall not be used in advertising or otherwise to promote the sale, use
+ * or other dealings in this Software without prior written authorization
+ * of the copyright holder.
+ */
+
+package org.apache.commons.logging;
+
+import java.util.logging.Level;
+
+import junit.framework.TestCase;
+
+/**
+ * Cost of disabled calls through jcl-over-slf4j, which are rejected by a
+ * single level check before the message is converted to a string.
+ */
+public class DisabledCallPerfTest extends TestCase {
+
+  static final int RUN_LENGTH = 1000 * 1000;
+
+  java.util.logging.Logger julLogger = java.util.logging.Logger
+      .getLogger("disabled");
+  Log log = LogFactory.getLog("disabled");
+
+  int toStringCalls;
+  Object message = new Object() {
+    public String toString() {
+      toStringCalls++;
+      return "message";
+    }
+  };
+
+  public DisabledCallPerfTest(String name) {
+    super(name);
+  }
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    julLogger.setLevel(Level.WARNING);
+  }
+
+  protected void tearDown() throws Exception {
+    julLogger.setLevel(null);
+    super.tearDown();
+  }
+
+  double infoLoop() {
+    long start = System.nanoTime();
+    for (int i = 0; i < RUN_LENGTH; i++) {
+      log.info(message);
+    }
+    return (System.nanoTime() - start) * 1.0 / RUN_LENGTH;
+  }
+
+  public void testDisabledCalls() {
+    assertFalse(log.isInfoEnabled());
+    infoLoop();
+    double avg = infoLoop();
+    assertEquals(0, toStringCalls);
+    System.out.println("jcl-over-slf4j disabled info(Object): " + avg
+        + " nanos");
+  }
+}
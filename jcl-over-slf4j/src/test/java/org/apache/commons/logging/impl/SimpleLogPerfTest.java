@@ -0,0 +1,126 @@
+package org.apache.commons.logging.impl;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import junit.framework.TestCase;
+
+import org.slf4j.helpers.CachedDateFormat;
+
+/**
+ * Throughput of SimpleLog with <code>showDateTime</code> enabled, from an
+ * increasing number of threads, and of the timestamp rendering alone
+ * compared with a shared, synchronized <code>SimpleDateFormat</code>.
+ */
+public class SimpleLogPerfTest extends TestCase {
+
+  static final int EVENTS = 400 * 1000;
+  static final int[] THREADS = { 1, 4, 16, 64 };
+
+  /**
+   * Discards the messages.
+   */
+  static class NullLog extends SimpleLog {
+    private static final long serialVersionUID = 1L;
+
+    int length;
+
+    NullLog(String name) {
+      super(name);
+    }
+
+    protected void write(StringBuffer buffer) {
+      length += buffer.length();
+    }
+  }
+
+  boolean showDateTime;
+  DateFormat dateFormatter;
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    showDateTime = SimpleLog.showDateTime;
+    dateFormatter = SimpleLog.dateFormatter;
+    SimpleLog.showDateTime = true;
+    SimpleLog.dateFormatter = new SimpleDateFormat(
+        SimpleLog.DEFAULT_DATE_TIME_FORMAT);
+  }
+
+  protected void tearDown() throws Exception {
+    SimpleLog.showDateTime = showDateTime;
+    SimpleLog.dateFormatter = dateFormatter;
+    super.tearDown();
+  }
+
+  public void testLog() throws InterruptedException {
+    final SimpleLog log = new NullLog("perf");
+    final Exception e = new Exception("perf");
+    run("warm up", 4, new Runnable() {
+      public void run() {
+        log.info("Temperature set to 21. Old temperature was 19.");
+      }
+    });
+    for (int i = 0; i < THREADS.length; i++) {
+      run("SimpleLog.info", THREADS[i], new Runnable() {
+        public void run() {
+          log.info("Temperature set to 21. Old temperature was 19.");
+        }
+      });
+    }
+    for (int i = 0; i < THREADS.length; i++) {
+      run("SimpleLog.error with stack trace", THREADS[i], new Runnable() {
+        public void run() {
+          log.error("Temperature out of range", e);
+        }
+      });
+    }
+  }
+
+  public void testTimestamp() throws InterruptedException {
+    final CachedDateFormat cached = new CachedDateFormat(new SimpleDateFormat(
+        SimpleLog.DEFAULT_DATE_TIME_FORMAT));
+    final DateFormat shared = new SimpleDateFormat(
+        SimpleLog.DEFAULT_DATE_TIME_FORMAT);
+    for (int i = 0; i < THREADS.length; i++) {
+      run("CachedDateFormat", THREADS[i], new Runnable() {
+        public void run() {
+          cached.format(System.currentTimeMillis());
+        }
+      });
+      run("synchronized SimpleDateFormat", THREADS[i], new Runnable() {
+        public void run() {
+          synchronized (shared) {
+            shared.format(new Date());
+          }
+        }
+      });
+    }
+  }
+
+  void run(String label, int threadCount, final Runnable event)
+      throws InterruptedException {
+    final int perThread = EVENTS / threadCount;
+    Thread[] threads = new Thread[threadCount];
+    for (int i = 0; i < threadCount; i++) {
+      threads[i] = new Thread() {
+        public void run() {
+          for (int j = 0; j < perThread; j++) {
+            event.run();
+          }
+        }
+      };
+    }
+    long start = System.currentTimeMillis();
+    for (int i = 0; i < threadCount; i++) {
+      threads[i].start();
+    }
+    for (int i = 0; i < threadCount; i++) {
+      threads[i].join();
+    }
+    long duration = System.currentTimeMillis() - start;
+    System.out.println(label + ", " + threadCount + " threads: "
+        + (perThread * threadCount * 1000L / Math.max(1, duration))
+        + " events/s");
+  }
+}
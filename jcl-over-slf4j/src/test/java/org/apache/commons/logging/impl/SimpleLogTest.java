@@ -0,0 +1,85 @@
+package org.apache.commons.logging.impl;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+public class SimpleLogTest extends TestCase {
+
+  /**
+   * Keeps the messages instead of printing them.
+   */
+  static class ListLog extends SimpleLog {
+    private static final long serialVersionUID = 1L;
+
+    List list = new ArrayList();
+
+    ListLog(String name) {
+      super(name);
+    }
+
+    protected void write(StringBuffer buffer) {
+      list.add(buffer.toString());
+    }
+  }
+
+  ListLog log = new ListLog("a.b.SimpleLogTest");
+
+  public void testMessages() {
+    log.info("first");
+    log.warn("second");
+    assertEquals(2, log.list.size());
+    assertEquals("[INFO] SimpleLogTest - first", log.list.get(0));
+    assertEquals("[WARN] SimpleLogTest - second", log.list.get(1));
+  }
+
+  public void testThrowable() {
+    Exception e = new Exception("failure");
+    log.error("failed", e);
+    StringWriter expected = new StringWriter();
+    e.printStackTrace(new PrintWriter(expected));
+    assertEquals("[ERROR] SimpleLogTest - failed <" + e + ">" + expected,
+        log.list.get(0));
+
+    // the buffer is cleared for the next message
+    log.info("next");
+    assertEquals("[INFO] SimpleLogTest - next", log.list.get(1));
+  }
+
+  public void testDateTime() {
+    boolean showDateTime = SimpleLog.showDateTime;
+    SimpleLog.showDateTime = true;
+    SimpleLog.dateFormatter = new SimpleDateFormat("'at' yyyy");
+    try {
+      log.info("dated");
+      String year = new SimpleDateFormat("yyyy").format(new java.util.Date());
+      assertEquals("at " + year + " [INFO] SimpleLogTest - dated", log.list
+          .get(0));
+    } finally {
+      SimpleLog.showDateTime = showDateTime;
+    }
+  }
+
+  public void testLoggingFromToString() {
+    Object message = new Object() {
+      public String toString() {
+        log.info("inner");
+        return "outer";
+      }
+    };
+    log.info(message);
+    log.info(new Object() {
+      public String toString() {
+        return "last";
+      }
+    });
+    assertEquals(3, log.list.size());
+    assertEquals("[INFO] SimpleLogTest - inner", log.list.get(0));
+    assertEquals("[INFO] SimpleLogTest - outer", log.list.get(1));
+    assertEquals("[INFO] SimpleLogTest - last", log.list.get(2));
+  }
+}
@@ -41,6 +41,7 @@ import java.util.logging.LogRecord;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.helpers.LevelAwareLoggerAdapter;
 import org.slf4j.spi.LocationAwareLogger;
 
 // Based on http://bugzilla.slf4j.org/show_bug.cgi?id=38
@@ -86,7 +87,8 @@ import org.slf4j.spi.LocationAwareLogger;
  * 
  * <p>
  * If application performance is a concern, then use of SLF4JBridgeHandler is
- * appropriate only if few j.u.l. logging statements are in play.
+ * appropriate only if few j.u.l. logging statements are in play. Otherwise,
+ * consider replacing the j.u.l. log manager with {@link SLF4JLogManager}.
  * 
  * @author Christian Stein
  * @author Joern Huxhorn
@@ -172,22 +174,43 @@ public class SLF4JBridgeHandler extends Handler {
     return LoggerFactory.getLogger(name);
   }
 
-  protected void callLocationAwareLogger(LocationAwareLogger lal,
-      LogRecord record) {
-    int julLevelValue = record.getLevel().intValue();
-    int slf4jLevel;
+  // SLF4J levels indexed by j.u.l. level values rounded up to the next
+  // hundred, which covers all the standard j.u.l. levels
+  private static final int SEVERE_VALUE = Level.SEVERE.intValue();
+  private static final int[] SLF4J_LEVELS = new int[(SEVERE_VALUE + 99) / 100 + 1];
+  static {
+    for (int i = 0; i < SLF4J_LEVELS.length; i++) {
+      SLF4J_LEVELS[i] = toSLF4JLevelByThreshold(i * 100);
+    }
+  }
+
+  /**
+   * Map a j.u.l. level value to a SLF4J level.
+   */
+  static int toSLF4JLevel(int julLevelValue) {
+    if (julLevelValue > -100 && julLevelValue <= SEVERE_VALUE) {
+      return SLF4J_LEVELS[(julLevelValue + 99) / 100];
+    }
+    return toSLF4JLevelByThreshold(julLevelValue);
+  }
 
+  private static int toSLF4JLevelByThreshold(int julLevelValue) {
     if (julLevelValue <= TRACE_LEVEL_THRESHOLD) {
-      slf4jLevel = LocationAwareLogger.TRACE_INT;
+      return LocationAwareLogger.TRACE_INT;
     } else if (julLevelValue <= DEBUG_LEVEL_THRESHOLD) {
-      slf4jLevel = LocationAwareLogger.DEBUG_INT;
+      return LocationAwareLogger.DEBUG_INT;
     } else if (julLevelValue <= INFO_LEVEL_THRESHOLD) {
-      slf4jLevel = LocationAwareLogger.INFO_INT;
+      return LocationAwareLogger.INFO_INT;
     } else if (julLevelValue <= WARN_LEVEL_THRESHOLD) {
-      slf4jLevel = LocationAwareLogger.WARN_INT;
+      return LocationAwareLogger.WARN_INT;
     } else {
-      slf4jLevel = LocationAwareLogger.ERROR_INT;
+      return LocationAwareLogger.ERROR_INT;
     }
+  }
+
+  protected void callLocationAwareLogger(LocationAwareLogger lal,
+      LogRecord record) {
+    int slf4jLevel = toSLF4JLevel(record.getLevel().intValue());
     String i18nMessage = getMessageI18N(record);
     lal.log(null, FQCN, slf4jLevel, i18nMessage, record.getThrown());
   }
@@ -215,20 +238,26 @@ public class SLF4JBridgeHandler extends Handler {
    * @return
    */
   private String getMessageI18N(LogRecord record) {
-    String message = record.getMessage();
+    return formatMessage(record.getMessage(), record.getResourceBundle(),
+        record.getParameters());
+  }
 
+  /**
+   * Localize <code>message</code> with <code>bundle</code>, if any, and
+   * format it with <code>params</code>, if any.
+   */
+  static String formatMessage(String message, ResourceBundle bundle,
+      Object[] params) {
     if (message == null) {
       return null;
     }
 
-    ResourceBundle bundle = record.getResourceBundle();
     if (bundle != null) {
       try {
         message = bundle.getString(message);
       } catch (MissingResourceException e) {
       }
     }
-    Object[] params = record.getParameters();
     if (params != null) {
       message = MessageFormat.format(message, params);
     }
@@ -255,6 +284,11 @@ public class SLF4JBridgeHandler extends Handler {
     }
 
     Logger slf4jLogger = getSLF4JLogger(record);
+    // check once, before the message is localized and formatted
+    int slf4jLevel = toSLF4JLevel(record.getLevel().intValue());
+    if (!LevelAwareLoggerAdapter.isEnabled(slf4jLogger, slf4jLevel)) {
+      return;
+    }
     String message = record.getMessage(); // can be null!
     // this is a check to avoid calling the underlying logging system
     // with a null message. While it is legitimate to invoke j.u.l. with
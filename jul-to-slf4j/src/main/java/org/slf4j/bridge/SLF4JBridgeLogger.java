@@ -0,0 +1,287 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.bridge;
+
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.slf4j.LoggerFactory;
+import org.slf4j.helpers.LevelAwareLoggerAdapter;
+import org.slf4j.spi.LevelAwareLogger;
+
+/**
+ * A j.u.l. logger delegating level checks and logging to the SLF4J logger of
+ * the same name, created by {@link SLF4JLogManager}.
+ * 
+ * <p>
+ * j.u.l. levels are mapped to SLF4J levels as in {@link SLF4JBridgeHandler}.
+ * The level of the SLF4J logger decides whether a call is enabled; the
+ * j.u.l. level, filter and handlers of this logger are not consulted, and
+ * events are not passed on to the parent loggers.
+ * 
+ * <p>
+ * Every logging method of {@link Logger} which j.u.l. code calls directly is
+ * overridden here, so that bindings extracting the location of the caller
+ * find the code calling j.u.l.
+ * 
+ * <p>
+ * This logger must not be used with slf4j-jdk14, whose events would come
+ * back to it.
+ * 
+ * @since 1.5.11
+ */
+public class SLF4JBridgeLogger extends Logger {
+
+  private static final String FQCN = SLF4JBridgeLogger.class.getName();
+
+  private final LevelAwareLogger slf4jLogger;
+
+  SLF4JBridgeLogger(String name) {
+    super(name, null);
+    slf4jLogger = LevelAwareLoggerAdapter.getLevelAwareLogger(LoggerFactory
+        .getLogger(name));
+  }
+
+  private static int toSLF4JLevel(Level level) {
+    return SLF4JBridgeHandler.toSLF4JLevel(level.intValue());
+  }
+
+  private static ResourceBundle getBundle(String bundleName) {
+    if (bundleName == null) {
+      return null;
+    }
+    try {
+      return ResourceBundle.getBundle(bundleName);
+    } catch (MissingResourceException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Localize and format the message of an enabled call and log it.
+   */
+  private void publish(int slf4jLevel, ResourceBundle bundle, String msg,
+      Object[] params, Throwable thrown) {
+    String message = SLF4JBridgeHandler.formatMessage(msg, bundle, params);
+    // other logging systems do not support null messages, see
+    // SLF4JBridgeHandler.publish
+    if (message == null) {
+      message = "";
+    }
+    slf4jLogger.log(null, FQCN, slf4jLevel, message, thrown);
+  }
+
+  private void logMessage(Level level, String msg) {
+    int slf4jLevel = toSLF4JLevel(level);
+    if (slf4jLogger.isEnabled(slf4jLevel)) {
+      publish(slf4jLevel, getResourceBundle(), msg, null, null);
+    }
+  }
+
+  public boolean isLoggable(Level level) {
+    return slf4jLogger.isEnabled(toSLF4JLevel(level));
+  }
+
+  public void log(LogRecord record) {
+    int slf4jLevel = toSLF4JLevel(record.getLevel());
+    if (slf4jLogger.isEnabled(slf4jLevel)) {
+      publish(slf4jLevel, record.getResourceBundle(), record.getMessage(),
+          record.getParameters(), record.getThrown());
+    }
+  }
+
+  public void log(Level level, String msg) {
+    logMessage(level, msg);
+  }
+
+  public void log(Level level, String msg, Object param1) {
+    int slf4jLevel = toSLF4JLevel(level);
+    if (slf4jLogger.isEnabled(slf4jLevel)) {
+      publish(slf4jLevel, getResourceBundle(), msg, new Object[] { param1 },
+          null);
+    }
+  }
+
+  public void log(Level level, String msg, Object[] params) {
+    int slf4jLevel = toSLF4JLevel(level);
+    if (slf4jLogger.isEnabled(slf4jLevel)) {
+      publish(slf4jLevel, getResourceBundle(), msg, params, null);
+    }
+  }
+
+  public void log(Level level, String msg, Throwable thrown) {
+    int slf4jLevel = toSLF4JLevel(level);
+    if (slf4jLogger.isEnabled(slf4jLevel)) {
+      publish(slf4jLevel, getResourceBundle(), msg, null, thrown);
+    }
+  }
+
+  // the source class and method are not passed on to SLF4J
+
+  public void logp(Level level, String sourceClass, String sourceMethod,
+      String msg) {
+    logMessage(level, msg);
+  }
+
+  public void logp(Level level, String sourceClass, String sourceMethod,
+      String msg, Object param1) {
+    int slf4jLevel = toSLF4JLevel(level);
+    if (slf4jLogger.isEnabled(slf4jLevel)) {
+      publish(slf4jLevel, getResourceBundle(), msg, new Object[] { param1 },
+          null);
+    }
+  }
+
+  public void logp(Level level, String sourceClass, String sourceMethod,
+      String msg, Object[] params) {
+    int slf4jLevel = toSLF4JLevel(level);
+    if (slf4jLogger.isEnabled(slf4jLevel)) {
+      publish(slf4jLevel, getResourceBundle(), msg, params, null);
+    }
+  }
+
+  public void logp(Level level, String sourceClass, String sourceMethod,
+      String msg, Throwable thrown) {
+    int slf4jLevel = toSLF4JLevel(level);
+    if (slf4jLogger.isEnabled(slf4jLevel)) {
+      publish(slf4jLevel, getResourceBundle(), msg, null, thrown);
+    }
+  }
+
+  public void logrb(Level level, String sourceClass, String sourceMethod,
+      String bundleName, String msg) {
+    int slf4jLevel = toSLF4JLevel(level);
+    if (slf4jLogger.isEnabled(slf4jLevel)) {
+      publish(slf4jLevel, getBundle(bundleName), msg, null, null);
+    }
+  }
+
+  public void logrb(Level level, String sourceClass, String sourceMethod,
+      String bundleName, String msg, Object param1) {
+    int slf4jLevel = toSLF4JLevel(level);
+    if (slf4jLogger.isEnabled(slf4jLevel)) {
+      publish(slf4jLevel, getBundle(bundleName), msg, new Object[] { param1 },
+          null);
+    }
+  }
+
+  public void logrb(Level level, String sourceClass, String sourceMethod,
+      String bundleName, String msg, Object[] params) {
+    int slf4jLevel = toSLF4JLevel(level);
+    if (slf4jLogger.isEnabled(slf4jLevel)) {
+      publish(slf4jLevel, getBundle(bundleName), msg, params, null);
+    }
+  }
+
+  public void logrb(Level level, String sourceClass, String sourceMethod,
+      String bundleName, String msg, Throwable thrown) {
+    int slf4jLevel = toSLF4JLevel(level);
+    if (slf4jLogger.isEnabled(slf4jLevel)) {
+      publish(slf4jLevel, getBundle(bundleName), msg, null, thrown);
+    }
+  }
+
+  // same messages as java.util.logging.Logger, at the FINER level
+
+  public void entering(String sourceClass, String sourceMethod) {
+    int slf4jLevel = toSLF4JLevel(Level.FINER);
+    if (slf4jLogger.isEnabled(slf4jLevel)) {
+      publish(slf4jLevel, null, "ENTRY", null, null);
+    }
+  }
+
+  public void entering(String sourceClass, String sourceMethod, Object param1) {
+    int slf4jLevel = toSLF4JLevel(Level.FINER);
+    if (slf4jLogger.isEnabled(slf4jLevel)) {
+      publish(slf4jLevel, null, "ENTRY {0}", new Object[] { param1 }, null);
+    }
+  }
+
+  public void entering(String sourceClass, String sourceMethod,
+      Object[] params) {
+    int slf4jLevel = toSLF4JLevel(Level.FINER);
+    if (slf4jLogger.isEnabled(slf4jLevel)) {
+      StringBuffer msg = new StringBuffer("ENTRY");
+      int count = params == null ? 0 : params.length;
+      for (int i = 0; i < count; i++) {
+        msg.append(" {").append(i).append('}');
+      }
+      publish(slf4jLevel, null, msg.toString(), params, null);
+    }
+  }
+
+  public void exiting(String sourceClass, String sourceMethod) {
+    int slf4jLevel = toSLF4JLevel(Level.FINER);
+    if (slf4jLogger.isEnabled(slf4jLevel)) {
+      publish(slf4jLevel, null, "RETURN", null, null);
+    }
+  }
+
+  public void exiting(String sourceClass, String sourceMethod, Object result) {
+    int slf4jLevel = toSLF4JLevel(Level.FINER);
+    if (slf4jLogger.isEnabled(slf4jLevel)) {
+      publish(slf4jLevel, null, "RETURN {0}", new Object[] { result }, null);
+    }
+  }
+
+  public void throwing(String sourceClass, String sourceMethod,
+      Throwable thrown) {
+    int slf4jLevel = toSLF4JLevel(Level.FINER);
+    if (slf4jLogger.isEnabled(slf4jLevel)) {
+      publish(slf4jLevel, null, "THROW", null, thrown);
+    }
+  }
+
+  public void severe(String msg) {
+    logMessage(Level.SEVERE, msg);
+  }
+
+  public void warning(String msg) {
+    logMessage(Level.WARNING, msg);
+  }
+
+  public void info(String msg) {
+    logMessage(Level.INFO, msg);
+  }
+
+  public void config(String msg) {
+    logMessage(Level.CONFIG, msg);
+  }
+
+  public void fine(String msg) {
+    logMessage(Level.FINE, msg);
+  }
+
+  public void finer(String msg) {
+    logMessage(Level.FINER, msg);
+  }
+
+  public void finest(String msg) {
+    logMessage(Level.FINEST, msg);
+  }
+}
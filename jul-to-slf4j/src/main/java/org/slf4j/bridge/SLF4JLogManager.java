@@ -0,0 +1,80 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.bridge;
+
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+
+/**
+ * A j.u.l. {@link LogManager} whose loggers hand their events straight to
+ * SLF4J, an alternative to {@link SLF4JBridgeHandler} chosen at startup with
+ * 
+ * <pre>
+ * -Djava.util.logging.manager=org.slf4j.bridge.SLF4JLogManager
+ * </pre>
+ * 
+ * jul-to-slf4j must then be on the system class path.
+ * 
+ * <p>
+ * The named loggers it creates are {@link SLF4JBridgeLogger} instances. They
+ * check the level of the SLF4J logger of the same name before anything else,
+ * so that a disabled j.u.l. call costs about as much as a disabled SLF4J
+ * call, and enabled calls neither create a {@link java.util.logging.LogRecord}
+ * nor go through j.u.l. handlers. j.u.l. parameters are only formatted once
+ * the call is known to be enabled.
+ * 
+ * <p>
+ * The root logger, the global logger and anonymous loggers remain plain
+ * j.u.l. loggers. Installing {@link SLF4JBridgeHandler} as well routes their
+ * events to SLF4J.
+ * 
+ * @since 1.5.11
+ */
+public class SLF4JLogManager extends LogManager {
+
+  public SLF4JLogManager() {
+  }
+
+  /**
+   * Return the logger registered under <code>name</code>, creating and
+   * registering a {@link SLF4JBridgeLogger} if there is none.
+   */
+  public Logger getLogger(String name) {
+    if (name == null) {
+      return super.getLogger(name);
+    }
+    while (true) {
+      Logger logger = super.getLogger(name);
+      if (logger != null) {
+        return logger;
+      }
+      logger = new SLF4JBridgeLogger(name);
+      // fails if another thread registered one in the meantime
+      if (addLogger(logger)) {
+        return logger;
+      }
+    }
+  }
+}
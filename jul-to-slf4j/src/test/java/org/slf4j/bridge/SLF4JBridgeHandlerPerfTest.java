@@ -88,6 +88,16 @@ public class SLF4JBridgeHandlerPerfTest extends TestCase {
     return (end - start) * 1.0 / RUN_LENGTH;
   }
 
+  double julParameterizedLoop() {
+    Object[] params = new Object[] { new Integer(1), "two" };
+    long start = System.nanoTime();
+    for (int i = 0; i < RUN_LENGTH; i++) {
+      julLogger.log(java.util.logging.Level.INFO, "jul {0} {1}", params);
+    }
+    long end = System.nanoTime();
+    return (end - start) * 1.0 / RUN_LENGTH;
+  }
+
   double slf4jLoggerLoop() {
     long start = System.nanoTime();
     for (int i = 0; i < RUN_LENGTH; i++) {
@@ -106,6 +116,10 @@ public class SLF4JBridgeHandlerPerfTest extends TestCase {
     julLoggerLoop();
     double julAvg=julLoggerLoop();
     System.out.println("Average cost per call (JUL->SLF4J->log4j): "+julAvg +" nanos");
+
+    julParameterizedLoop();
+    double julParamAvg=julParameterizedLoop();
+    System.out.println("Average cost per parameterized call (JUL->SLF4J->log4j): "+julParamAvg +" nanos");
      
     slf4jLoggerLoop();
     double slf4jAvg=slf4jLoggerLoop();
@@ -32,6 +32,7 @@ import junit.framework.TestCase;
 
 import org.apache.log4j.spi.LocationInfo;
 import org.apache.log4j.spi.LoggingEvent;
+import org.slf4j.spi.LocationAwareLogger;
 
 public class SLF4JBridgeHandlerTest extends TestCase {
 
@@ -168,6 +169,53 @@ public class SLF4JBridgeHandlerTest extends TestCase {
     assertEquals(expectedMsg3, le.getMessage());
   }
 
+  public void testDisabledRecordIsNotFormatted() {
+    // keep jul's console handler from formatting the record
+    java.util.logging.Logger julDisabledLogger = java.util.logging.Logger
+        .getLogger("disabled");
+    julDisabledLogger.setUseParentHandlers(false);
+    julDisabledLogger.addHandler(new SLF4JBridgeHandler());
+    log4jRoot.setLevel(org.apache.log4j.Level.WARN);
+    final int[] toStringCalls = new int[1];
+    Object param = new Object() {
+      public String toString() {
+        toStringCalls[0]++;
+        return "param";
+      }
+    };
+    julDisabledLogger.log(Level.INFO, "disabled {0}", param);
+    assertEquals(0, listAppender.list.size());
+    assertEquals(0, toStringCalls[0]);
+
+    julDisabledLogger.log(Level.WARNING, "enabled {0}", param);
+    assertEquals(1, listAppender.list.size());
+    assertEquals(1, toStringCalls[0]);
+    assertLevel(0, org.apache.log4j.Level.WARN);
+  }
+
+  public void testLevelMapping() {
+    assertEquals(LocationAwareLogger.TRACE_INT, SLF4JBridgeHandler
+        .toSLF4JLevel(Level.ALL.intValue()));
+    assertEquals(LocationAwareLogger.TRACE_INT, SLF4JBridgeHandler
+        .toSLF4JLevel(Level.FINEST.intValue()));
+    assertEquals(LocationAwareLogger.DEBUG_INT, SLF4JBridgeHandler
+        .toSLF4JLevel(Level.FINEST.intValue() + 1));
+    assertEquals(LocationAwareLogger.DEBUG_INT, SLF4JBridgeHandler
+        .toSLF4JLevel(Level.FINE.intValue()));
+    assertEquals(LocationAwareLogger.INFO_INT, SLF4JBridgeHandler
+        .toSLF4JLevel(Level.CONFIG.intValue()));
+    assertEquals(LocationAwareLogger.INFO_INT, SLF4JBridgeHandler
+        .toSLF4JLevel(Level.INFO.intValue()));
+    assertEquals(LocationAwareLogger.WARN_INT, SLF4JBridgeHandler
+        .toSLF4JLevel(Level.WARNING.intValue()));
+    assertEquals(LocationAwareLogger.ERROR_INT, SLF4JBridgeHandler
+        .toSLF4JLevel(Level.WARNING.intValue() + 1));
+    assertEquals(LocationAwareLogger.ERROR_INT, SLF4JBridgeHandler
+        .toSLF4JLevel(Level.SEVERE.intValue()));
+    assertEquals(LocationAwareLogger.ERROR_INT, SLF4JBridgeHandler
+        .toSLF4JLevel(Level.OFF.intValue()));
+  }
+
   void assertLevel(int index, org.apache.log4j.Level expectedLevel) {
     LoggingEvent le = (LoggingEvent) listAppender.list.get(index);
     assertEquals(expectedLevel, le.getLevel());
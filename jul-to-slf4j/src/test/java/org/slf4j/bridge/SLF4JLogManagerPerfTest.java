@@ -0,0 +1,129 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.bridge;
+
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+
+import junit.framework.TestCase;
+
+import org.apache.log4j.FileAppender;
+import org.apache.log4j.PatternLayout;
+
+/**
+ * Cost of j.u.l. calls routed to SLF4J by {@link SLF4JBridgeHandler} and by
+ * the loggers of {@link SLF4JLogManager}, for disabled and enabled calls.
+ */
+public class SLF4JLogManagerPerfTest extends TestCase {
+
+  static String LOGGER_NAME = "yay";
+  static int RUN_LENGTH = 200 * 1000;
+
+  FileAppender fileAppender;
+  org.apache.log4j.Logger log4jRoot;
+  java.util.logging.Logger julRootLogger = LogManager.getLogManager()
+      .getLogger("");
+  // routed through SLF4JBridgeHandler
+  java.util.logging.Logger julLogger = java.util.logging.Logger
+      .getLogger(LOGGER_NAME);
+  // routed directly
+  java.util.logging.Logger bridgeLogger = new SLF4JLogManager()
+      .getLogger(LOGGER_NAME);
+
+  Handler[] existingHandlers;
+
+  public SLF4JLogManagerPerfTest(String arg0) {
+    super(arg0);
+  }
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    fileAppender = new FileAppender(new PatternLayout(
+        "%r [%t] %p %c %x - %m%n"), "target/test-output/jul-perf.log");
+    existingHandlers = julRootLogger.getHandlers();
+    for (int i = 0; i < existingHandlers.length; i++) {
+      julRootLogger.removeHandler(existingHandlers[i]);
+    }
+    julLogger.setLevel(Level.ALL);
+    log4jRoot = org.apache.log4j.Logger.getRootLogger();
+    log4jRoot.addAppender(fileAppender);
+    SLF4JBridgeHandler.install();
+  }
+
+  protected void tearDown() throws Exception {
+    super.tearDown();
+    SLF4JBridgeHandler.uninstall();
+    fileAppender.close();
+    log4jRoot.getLoggerRepository().resetConfiguration();
+    for (int i = 0; i < existingHandlers.length; i++) {
+      julRootLogger.addHandler(existingHandlers[i]);
+    }
+  }
+
+  double plainLoop(java.util.logging.Logger logger) {
+    long start = System.nanoTime();
+    for (int i = 0; i < RUN_LENGTH; i++) {
+      logger.fine("jul");
+    }
+    return (System.nanoTime() - start) * 1.0 / RUN_LENGTH;
+  }
+
+  double parameterizedLoop(java.util.logging.Logger logger) {
+    Integer one = new Integer(1);
+    long start = System.nanoTime();
+    for (int i = 0; i < RUN_LENGTH; i++) {
+      logger.log(Level.FINE, "jul {0} {1}", new Object[] { one, "two" });
+    }
+    return (System.nanoTime() - start) * 1.0 / RUN_LENGTH;
+  }
+
+  void run(String label) {
+    // warm up
+    plainLoop(julLogger);
+    plainLoop(bridgeLogger);
+    parameterizedLoop(julLogger);
+    parameterizedLoop(bridgeLogger);
+
+    double handler = plainLoop(julLogger);
+    double direct = plainLoop(bridgeLogger);
+    System.out.println(label + " call, SLF4JBridgeHandler: " + handler
+        + " nanos, SLF4JLogManager: " + direct + " nanos");
+    handler = parameterizedLoop(julLogger);
+    direct = parameterizedLoop(bridgeLogger);
+    System.out.println(label + " parameterized call, SLF4JBridgeHandler: "
+        + handler + " nanos, SLF4JLogManager: " + direct + " nanos");
+  }
+
+  public void testDisabled() {
+    log4jRoot.setLevel(org.apache.log4j.Level.INFO);
+    run("disabled");
+  }
+
+  public void testEnabled() {
+    log4jRoot.setLevel(org.apache.log4j.Level.DEBUG);
+    run("enabled");
+  }
+}
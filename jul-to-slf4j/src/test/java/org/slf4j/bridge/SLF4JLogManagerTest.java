@@ -0,0 +1,207 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.bridge;
+
+import java.text.MessageFormat;
+import java.util.ResourceBundle;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import junit.framework.TestCase;
+
+import org.apache.log4j.spi.LocationInfo;
+import org.apache.log4j.spi.LoggingEvent;
+
+public class SLF4JLogManagerTest extends TestCase {
+
+  static String LOGGER_NAME = "yay";
+  static String BUNDLE_NAME = "org.slf4j.bridge.testLogStrings";
+
+  ListAppender listAppender = new ListAppender();
+  org.apache.log4j.Logger log4jRoot;
+  // a private manager, the one of the JVM is only chosen at startup
+  SLF4JLogManager logManager = new SLF4JLogManager();
+  java.util.logging.Logger julLogger;
+
+  public SLF4JLogManagerTest(String arg0) {
+    super(arg0);
+  }
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    listAppender.extractLocationInfo = true;
+    log4jRoot = org.apache.log4j.Logger.getRootLogger();
+    log4jRoot.addAppender(listAppender);
+    log4jRoot.setLevel(org.apache.log4j.Level.TRACE);
+    julLogger = logManager.getLogger(LOGGER_NAME);
+  }
+
+  protected void tearDown() throws Exception {
+    super.tearDown();
+    log4jRoot.getLoggerRepository().resetConfiguration();
+  }
+
+  public void testGetLogger() {
+    assertTrue(julLogger instanceof SLF4JBridgeLogger);
+    assertEquals(LOGGER_NAME, julLogger.getName());
+    assertSame(julLogger, logManager.getLogger(LOGGER_NAME));
+    assertSame(julLogger, logManager.getLogger(LOGGER_NAME + ".child")
+        .getParent());
+  }
+
+  public void testSmoke() {
+    String msg = "msg";
+    julLogger.info(msg);
+    assertEquals(1, listAppender.list.size());
+    LoggingEvent le = (LoggingEvent) listAppender.list.get(0);
+    assertEquals(LOGGER_NAME, le.getLoggerName());
+    assertEquals(msg, le.getMessage());
+
+    LocationInfo li = le.getLocationInformation();
+    assertEquals("SLF4JLogManagerTest.java", li.getFileName());
+    assertEquals("testSmoke", li.getMethodName());
+  }
+
+  public void testLevels() {
+    String msg = "msg";
+    julLogger.finest(msg);
+    julLogger.finer(msg);
+    julLogger.fine(msg);
+    julLogger.config(msg);
+    julLogger.info(msg);
+    julLogger.warning(msg);
+    julLogger.severe(msg);
+
+    assertEquals(7, listAppender.list.size());
+    int i = 0;
+    assertLevel(i++, org.apache.log4j.Level.TRACE);
+    assertLevel(i++, org.apache.log4j.Level.DEBUG);
+    assertLevel(i++, org.apache.log4j.Level.DEBUG);
+    assertLevel(i++, org.apache.log4j.Level.INFO);
+    assertLevel(i++, org.apache.log4j.Level.INFO);
+    assertLevel(i++, org.apache.log4j.Level.WARN);
+    assertLevel(i++, org.apache.log4j.Level.ERROR);
+  }
+
+  public void testSLF4JLevelDecides() {
+    // the j.u.l. level is not consulted
+    julLogger.setLevel(Level.OFF);
+    log4jRoot.setLevel(org.apache.log4j.Level.WARN);
+    assertFalse(julLogger.isLoggable(Level.INFO));
+    assertTrue(julLogger.isLoggable(Level.WARNING));
+
+    final int[] toStringCalls = new int[1];
+    Object param = new Object() {
+      public String toString() {
+        toStringCalls[0]++;
+        return "param";
+      }
+    };
+    julLogger.log(Level.INFO, "disabled {0}", param);
+    julLogger.logp(Level.FINE, "Source", "method", "disabled {0}",
+        new Object[] { param });
+    assertEquals(0, listAppender.list.size());
+    assertEquals(0, toStringCalls[0]);
+
+    julLogger.log(Level.WARNING, "enabled {0}", param);
+    assertEquals(1, listAppender.list.size());
+    assertEquals(1, toStringCalls[0]);
+    assertEquals("enabled param", ((LoggingEvent) listAppender.list.get(0))
+        .getMessage());
+  }
+
+  public void testThrowable() {
+    Exception e = new Exception("test");
+    julLogger.log(Level.SEVERE, "failed", e);
+    julLogger.throwing("Source", "method", e);
+    assertEquals(2, listAppender.list.size());
+    LoggingEvent le = (LoggingEvent) listAppender.list.get(0);
+    assertEquals("failed", le.getMessage());
+    assertSame(e, le.getThrowableInformation().getThrowable());
+    le = (LoggingEvent) listAppender.list.get(1);
+    assertEquals("THROW", le.getMessage());
+    assertEquals(org.apache.log4j.Level.DEBUG, le.getLevel());
+    assertSame(e, le.getThrowableInformation().getThrowable());
+  }
+
+  public void testEnteringExiting() {
+    julLogger.entering("Source", "method");
+    julLogger.entering("Source", "method", "a");
+    julLogger.entering("Source", "method", new Object[] { "a", "b" });
+    julLogger.exiting("Source", "method");
+    julLogger.exiting("Source", "method", "r");
+    String[] expected = { "ENTRY", "ENTRY a", "ENTRY a b", "RETURN",
+        "RETURN r" };
+    assertEquals(expected.length, listAppender.list.size());
+    for (int i = 0; i < expected.length; i++) {
+      LoggingEvent le = (LoggingEvent) listAppender.list.get(i);
+      assertEquals(expected[i], le.getMessage());
+      assertEquals("testEnteringExiting", le.getLocationInformation()
+          .getMethodName());
+    }
+  }
+
+  public void testResourceBundles() {
+    ResourceBundle bundle = ResourceBundle.getBundle(BUNDLE_NAME);
+    java.util.logging.Logger julResourceBundleLogger = new SLF4JBridgeLogger(
+        "foo") {
+      public ResourceBundle getResourceBundle() {
+        return ResourceBundle.getBundle(BUNDLE_NAME);
+      }
+    };
+    Object[] params = new Object[] { "foo", "bar" };
+    julResourceBundleLogger.log(Level.INFO, "resource_key_2", params);
+    julLogger.logrb(Level.INFO, "Source", "method", BUNDLE_NAME,
+        "resource_key_2", params);
+    julLogger.logrb(Level.INFO, "Source", "method", "no.such.Bundle",
+        "invalidKey {0}", "John");
+
+    assertEquals(3, listAppender.list.size());
+    String expected = MessageFormat.format(bundle.getString("resource_key_2"),
+        params);
+    assertEquals(expected, ((LoggingEvent) listAppender.list.get(0))
+        .getMessage());
+    assertEquals(expected, ((LoggingEvent) listAppender.list.get(1))
+        .getMessage());
+    assertEquals("invalidKey John", ((LoggingEvent) listAppender.list.get(2))
+        .getMessage());
+  }
+
+  public void testLogRecord() {
+    LogRecord record = new LogRecord(Level.WARNING, "record {0}");
+    record.setParameters(new Object[] { "x" });
+    julLogger.log(record);
+    julLogger.log(new LogRecord(Level.INFO, null));
+    assertEquals(2, listAppender.list.size());
+    assertEquals("record x", ((LoggingEvent) listAppender.list.get(0))
+        .getMessage());
+    assertEquals("", ((LoggingEvent) listAppender.list.get(1)).getMessage());
+  }
+
+  void assertLevel(int index, org.apache.log4j.Level expectedLevel) {
+    LoggingEvent le = (LoggingEvent) listAppender.list.get(index);
+    assertEquals(expectedLevel, le.getLevel());
+  }
+}
@@ -18,6 +18,10 @@ package org.apache.log4j;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
+import org.slf4j.helpers.LevelAwareLoggerAdapter;
+import org.slf4j.message.MessageLogger;
+import org.slf4j.message.ObjectMessage;
+import org.slf4j.spi.LevelAwareLogger;
 import org.slf4j.spi.LocationAwareLogger;
 
 /**
@@ -34,6 +38,12 @@ import org.slf4j.spi.LocationAwareLogger;
  * method is mapped to SLF4J's <code>error()</code> method with a FATAL
  * marker.
  * 
+ * <p>
+ * Messages which are not strings are converted with their
+ * <code>toString()</code> method only once the event is accepted: SLF4J
+ * loggers implementing {@link MessageLogger} receive them wrapped in an
+ * {@link ObjectMessage}, other loggers after their level was checked.
+ * 
  * @author S&eacute;bastien Pennec
  * @author Ceki G&uuml;lc&uuml;
  */
@@ -45,6 +55,9 @@ public class Category {
 
   protected org.slf4j.Logger slf4jLogger;
   private org.slf4j.spi.LocationAwareLogger locationAwareLogger;
+  private LevelAwareLogger levelAwareLogger;
+  // null unless the SLF4J logger accepts messages
+  private MessageLogger messageLogger;
 
   private static Marker FATAL_MARKER = MarkerFactory.getMarker("FATAL");
 
@@ -54,6 +67,10 @@ public class Category {
     if (slf4jLogger instanceof LocationAwareLogger) {
       locationAwareLogger = (LocationAwareLogger) slf4jLogger;
     }
+    levelAwareLogger = LevelAwareLoggerAdapter.getLevelAwareLogger(slf4jLogger);
+    if (slf4jLogger instanceof MessageLogger) {
+      messageLogger = (MessageLogger) slf4jLogger;
+    }
   }
 
   public static Category getInstance(Class clazz) {
@@ -153,46 +170,25 @@ public class Category {
    *         otherwise.
    */
   public boolean isEnabledFor(Priority p) {
-    switch (p.level) {
-    case Level.TRACE_INT:
-      return slf4jLogger.isTraceEnabled();
-    case Level.DEBUG_INT:
-      return slf4jLogger.isDebugEnabled();
-    case Level.INFO_INT:
-      return slf4jLogger.isInfoEnabled();
-    case Level.WARN_INT:
-      return slf4jLogger.isWarnEnabled();
-    case Level.ERROR_INT:
-      return slf4jLogger.isErrorEnabled();
-    case Priority.FATAL_INT:
-      return slf4jLogger.isErrorEnabled();
-    }
-    return false;
+    int levelInt = toLevelInt(p.level);
+    return levelInt >= 0 && levelAwareLogger.isEnabled(levelInt);
   }
 
+  /**
+   * Log the message if its level is enabled. Disabled calls return after a
+   * single check, before the message is converted to a string.
+   */
   void differentiatedLog(Marker marker, String fqcn, int level, Object message,
       Throwable t) {
-    String m = convertToString(message);
-    if (locationAwareLogger != null) {
-      locationAwareLogger.log(marker, fqcn, level, m, t);
+    if (!levelAwareLogger.isEnabled(marker, level)) {
+      return;
+    }
+    if (messageLogger != null && message != null
+        && !(message instanceof String)) {
+      // converted if the logging system accepts the event
+      messageLogger.log(marker, fqcn, level, new ObjectMessage(message), t);
     } else {
-      switch (level) {
-      case LocationAwareLogger.TRACE_INT:
-        slf4jLogger.trace(marker, m);
-        break;
-      case LocationAwareLogger.DEBUG_INT:
-        slf4jLogger.debug(marker, m);
-        break;
-      case LocationAwareLogger.INFO_INT:
-        slf4jLogger.info(marker, m);
-        break;
-      case LocationAwareLogger.WARN_INT:
-        slf4jLogger.warn(marker, m);
-        break;
-      case LocationAwareLogger.ERROR_INT:
-        slf4jLogger.error(marker, m);
-        break;
-      }
+      levelAwareLogger.log(marker, fqcn, level, convertToString(message), t);
     }
   }
 
@@ -285,7 +281,7 @@ public class Category {
   public void log(String FQCN, Priority p, Object msg, Throwable t) {
     int levelInt = priorityToLevelInt(p);
     if (locationAwareLogger != null) {
-      locationAwareLogger.log(null, FQCN, levelInt, convertToString(msg), t);
+      differentiatedLog(null, FQCN, levelInt, msg, t);
     } else {
       throw new UnsupportedOperationException("The logger [" + slf4jLogger
           + "] does not seem to be location aware.");
@@ -306,22 +302,37 @@ public class Category {
 
 
   private int priorityToLevelInt(Priority p) {
-    switch (p.level) {
-    case Level.TRACE_INT:
-      return LocationAwareLogger.TRACE_INT;
-    case Priority.DEBUG_INT:
-      return LocationAwareLogger.DEBUG_INT;
-    case Priority.INFO_INT:
-      return LocationAwareLogger.INFO_INT;
-    case Priority.WARN_INT:
-      return LocationAwareLogger.WARN_INT;
-    case Priority.ERROR_INT:
-      return LocationAwareLogger.ERROR_INT;
-    case Priority.FATAL_INT:
-      return LocationAwareLogger.ERROR_INT;
-    default:
+    int levelInt = toLevelInt(p.level);
+    if (levelInt < 0) {
       throw new IllegalStateException("Unknown Priority " + p);
     }
+    return levelInt;
+  }
+
+  // all log4j priorities are multiples of TRACE_INT
+  private static final int STEP = Level.TRACE_INT;
+
+  // SLF4J level of each log4j priority, indexed by priority / STEP, -1 for
+  // values which are not a priority. FATAL is mapped as ERROR.
+  private static final int[] LEVEL_INTS = new int[Priority.FATAL_INT / STEP + 1];
+  static {
+    for (int i = 0; i < LEVEL_INTS.length; i++) {
+      LEVEL_INTS[i] = -1;
+    }
+    LEVEL_INTS[Level.TRACE_INT / STEP] = LocationAwareLogger.TRACE_INT;
+    LEVEL_INTS[Priority.DEBUG_INT / STEP] = LocationAwareLogger.DEBUG_INT;
+    LEVEL_INTS[Priority.INFO_INT / STEP] = LocationAwareLogger.INFO_INT;
+    LEVEL_INTS[Priority.WARN_INT / STEP] = LocationAwareLogger.WARN_INT;
+    LEVEL_INTS[Priority.ERROR_INT / STEP] = LocationAwareLogger.ERROR_INT;
+    LEVEL_INTS[Priority.FATAL_INT / STEP] = LocationAwareLogger.ERROR_INT;
+  }
+
+  private static int toLevelInt(int priority) {
+    int index = priority / STEP;
+    if (index < 0 || index >= LEVEL_INTS.length || index * STEP != priority) {
+      return -1;
+    }
+    return LEVEL_INTS[index];
   }
 
   protected final String convertToString(Object message) {
@@ -0,0 +1,93 @@
+/* 
+ * Copyright (c) 2004-2009 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.dummy;
+
+import java.util.logging.Level;
+
+import junit.framework.TestCase;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Cost of disabled calls through log4j-over-slf4j, which are rejected by a
+ * single level check before the message is converted to a string.
+ */
+public class DisabledCallPerfTest extends TestCase {
+
+  static final int RUN_LENGTH = 1000 * 1000;
+
+  java.util.logging.Logger julLogger = java.util.logging.Logger
+      .getLogger("disabled");
+  Logger log4jLogger = Logger.getLogger("disabled");
+
+  int toStringCalls;
+  Object message = new Object() {
+    public String toString() {
+      toStringCalls++;
+      return "message";
+    }
+  };
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    julLogger.setLevel(Level.WARNING);
+  }
+
+  protected void tearDown() throws Exception {
+    julLogger.setLevel(null);
+    super.tearDown();
+  }
+
+  double debugLoop() {
+    long start = System.nanoTime();
+    for (int i = 0; i < RUN_LENGTH; i++) {
+      log4jLogger.debug(message);
+    }
+    return (System.nanoTime() - start) * 1.0 / RUN_LENGTH;
+  }
+
+  double logLoop() {
+    long start = System.nanoTime();
+    for (int i = 0; i < RUN_LENGTH; i++) {
+      log4jLogger.log(org.apache.log4j.Level.INFO, message);
+    }
+    return (System.nanoTime() - start) * 1.0 / RUN_LENGTH;
+  }
+
+  public void testDisabledCalls() {
+    assertFalse(log4jLogger.isEnabledFor(org.apache.log4j.Level.INFO));
+    assertTrue(log4jLogger.isEnabledFor(org.apache.log4j.Level.WARN));
+    assertTrue(log4jLogger.isEnabledFor(org.apache.log4j.Level.FATAL));
+    assertFalse(log4jLogger.isEnabledFor(org.apache.log4j.Level.OFF));
+
+    debugLoop();
+    logLoop();
+    double debugAvg = debugLoop();
+    double logAvg = logLoop();
+    assertEquals(0, toStringCalls);
+    System.out.println("log4j-over-slf4j disabled debug(Object): " + debugAvg
+        + " nanos, disabled log(Priority, Object): " + logAvg + " nanos");
+  }
+}
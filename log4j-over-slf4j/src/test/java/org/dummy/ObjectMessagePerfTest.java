@@ -0,0 +1,100 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.dummy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+import junit.framework.TestCase;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Cost of logging a message with an expensive <code>toString()</code>
+ * through log4j-over-slf4j, compared with converting it before the call.
+ */
+public class ObjectMessagePerfTest extends TestCase {
+
+  static final int RUN_LENGTH = 20 * 1000;
+
+  ListHandler listHandler = new ListHandler();
+  java.util.logging.Logger root = java.util.logging.Logger.getLogger("");
+  Logger log4jLogger = Logger.getLogger("objectMessagePerf");
+
+  // a domain object rendering a few KB
+  List payload = new ArrayList();
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    for (int i = 0; i < 200; i++) {
+      payload.add("order line " + i);
+    }
+    root.addHandler(listHandler);
+  }
+
+  protected void tearDown() throws Exception {
+    root.removeHandler(listHandler);
+    root.setLevel(Level.INFO);
+    super.tearDown();
+  }
+
+  double lazyLoop() {
+    long start = System.nanoTime();
+    for (int i = 0; i < RUN_LENGTH; i++) {
+      log4jLogger.debug(payload);
+    }
+    return (System.nanoTime() - start) * 1.0 / RUN_LENGTH;
+  }
+
+  double eagerLoop() {
+    long start = System.nanoTime();
+    for (int i = 0; i < RUN_LENGTH; i++) {
+      log4jLogger.debug(payload.toString());
+    }
+    return (System.nanoTime() - start) * 1.0 / RUN_LENGTH;
+  }
+
+  void run(String label) {
+    lazyLoop();
+    eagerLoop();
+    listHandler.list.clear();
+    double lazy = lazyLoop();
+    double eager = eagerLoop();
+    listHandler.list.clear();
+    System.out.println(label + " debug(Object): " + lazy
+        + " nanos, debug(Object.toString()): " + eager + " nanos");
+  }
+
+  public void testDisabled() {
+    root.setLevel(Level.INFO);
+    run("disabled");
+  }
+
+  public void testEnabled() {
+    root.setLevel(Level.FINE);
+    run("enabled");
+  }
+}
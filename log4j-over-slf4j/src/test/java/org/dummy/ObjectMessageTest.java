@@ -0,0 +1,113 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.dummy;
+
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import junit.framework.TestCase;
+
+import org.apache.log4j.Logger;
+import org.slf4j.message.ObjectMessage;
+
+/**
+ * Messages which are not strings are converted only once the event is
+ * accepted.
+ */
+public class ObjectMessageTest extends TestCase {
+
+  ListHandler listHandler = new ListHandler();
+  java.util.logging.Logger root = java.util.logging.Logger.getLogger("");
+  Logger log4jLogger = Logger.getLogger("objectMessage");
+
+  int toStringCalls;
+  Object message = new Object() {
+    public String toString() {
+      toStringCalls++;
+      return "message";
+    }
+  };
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    root.addHandler(listHandler);
+    root.setLevel(Level.INFO);
+  }
+
+  protected void tearDown() throws Exception {
+    root.removeHandler(listHandler);
+    root.setLevel(Level.INFO);
+    super.tearDown();
+  }
+
+  public void testDisabled() {
+    log4jLogger.trace(message);
+    log4jLogger.trace(message, new Exception());
+    log4jLogger.debug(message);
+    log4jLogger.log(org.apache.log4j.Level.DEBUG, message);
+    log4jLogger.log(Logger.class.getName(), org.apache.log4j.Level.DEBUG,
+        message, null);
+    assertEquals(0, listHandler.list.size());
+    assertEquals(0, toStringCalls);
+  }
+
+  public void testEnabled() {
+    Exception e = new Exception();
+    log4jLogger.info(message);
+    log4jLogger.error(message, e);
+    log4jLogger.info(null);
+    log4jLogger.info("string");
+    assertEquals(4, listHandler.list.size());
+    assertEquals(2, toStringCalls);
+    assertRecord(0, Level.INFO, "message", null);
+    assertRecord(1, Level.SEVERE, "message", e);
+    assertRecord(2, Level.INFO, null, null);
+    assertRecord(3, Level.INFO, "string", null);
+  }
+
+  public void testTraceThrowable() {
+    root.setLevel(Level.FINEST);
+    Exception e = new Exception();
+    log4jLogger.trace(message, e);
+    assertEquals(1, listHandler.list.size());
+    assertRecord(0, Level.FINEST, "message", e);
+  }
+
+  public void testMessageFormatDoesNotFormat() {
+    ObjectMessage objectMessage = new ObjectMessage(message);
+    assertEquals("{}", objectMessage.getMessageFormat());
+    assertEquals(0, toStringCalls);
+    assertEquals("message", objectMessage.getFormattedMessage());
+    assertEquals(1, toStringCalls);
+  }
+
+  void assertRecord(int index, Level level, String msg, Throwable t) {
+    LogRecord record = (LogRecord) listHandler.list.get(index);
+    assertEquals(level, record.getLevel());
+    assertEquals(msg, record.getMessage());
+    assertSame(t, record.getThrown());
+    assertEquals(getName(), record.getSourceMethodName());
+  }
+}
@@ -36,12 +36,14 @@ import java.util.Hashtable;
 
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
-import org.osgi.framework.ServiceFactory;
+import org.osgi.service.log.LogReaderService;
 import org.osgi.service.log.LogService;
 
 /**
  * <code>Activator</code> implements a simple bundle that registers a 
- * {@link LogServiceFactory} for the creation of {@link LogService} implementations.
+ * {@link LogServiceFactory} for the creation of {@link LogService} implementations,
+ * and a {@link LogReaderServiceImpl} keeping the most recent entries unless the
+ * <code>org.slf4j.osgi.logreader.capacity</code> framework property is 0.
 **/
 public class Activator implements BundleActivator {
 
@@ -56,10 +58,29 @@ public class Activator implements BundleActivator {
     public void start(BundleContext bundleContext) throws Exception {
         Hashtable props = new Hashtable();
         props.put("description", "An slf4j implementation.");
-        ServiceFactory factory = new LogServiceFactory();
+        LogReaderServiceImpl reader = null;
+        int capacity = getCapacity(bundleContext);
+        if (capacity > 0) {
+            reader = new LogReaderServiceImpl(capacity);
+            bundleContext.registerService(LogReaderService.class.getName(), reader, props);
+        }
+        LogServiceFactory factory = new LogServiceFactory(reader);
+        bundleContext.addBundleListener(factory);
         bundleContext.registerService(LogService.class.getName(), factory, props); 
     }
 
+    private static int getCapacity(BundleContext bundleContext) {
+        String capacity = bundleContext.getProperty(LogReaderServiceImpl.CAPACITY_PROPERTY);
+        if (capacity != null) {
+            try {
+                return Integer.parseInt(capacity.trim());
+            } catch (NumberFormatException e) {
+                // keep the default
+            }
+        }
+        return LogReaderServiceImpl.DEFAULT_CAPACITY;
+    }
+
     /**
      * 
      * Implements <code>BundleActivator.stop()</code>. 
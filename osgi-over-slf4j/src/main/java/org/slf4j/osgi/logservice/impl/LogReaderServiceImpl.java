@@ -0,0 +1,154 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.osgi.logservice.impl;
+
+import java.util.Enumeration;
+import java.util.Vector;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.log.LogListener;
+import org.osgi.service.log.LogReaderService;
+
+/**
+ * <code>LogReaderServiceImpl</code> keeps the most recent entries logged
+ * through the {@link LogServiceImpl} of every bundle, so that consoles can
+ * show them without a logging backend of their own, and hands each entry to
+ * the registered {@link LogListener}s.
+ * 
+ * <p>
+ * The entries are kept in a ring, where each new entry overwrites the
+ * oldest one. The ring is only locked for that store and for the copy made by
+ * {@link #getLog()}; listeners are notified outside the lock.
+ * 
+ * @since 1.5.11
+ */
+public class LogReaderServiceImpl implements LogReaderService {
+
+	/**
+	 * The framework property giving the number of entries kept, 0 to register
+	 * no <code>LogReaderService</code>.
+	 */
+	public static final String CAPACITY_PROPERTY = "org.slf4j.osgi.logreader.capacity";
+
+	public static final int DEFAULT_CAPACITY = 100;
+
+	private static final LogListener[] NO_LISTENERS = new LogListener[0];
+
+	private final int capacity;
+	private final int mask;
+	// guarded by itself
+	private final LogEntryImpl[] ring;
+	private long next;
+
+	// copied on write
+	private volatile LogListener[] listeners = NO_LISTENERS;
+
+	public LogReaderServiceImpl(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be positive, was "
+					+ capacity);
+		}
+		int size = 1;
+		while (size < capacity) {
+			size <<= 1;
+		}
+		this.capacity = capacity;
+		this.mask = size - 1;
+		this.ring = new LogEntryImpl[size];
+	}
+
+	/**
+	 * Record an entry and notify the listeners.
+	 */
+	void log(Bundle bundle, ServiceReference sr, int level, String message,
+			Throwable exception) {
+		LogEntryImpl entry = new LogEntryImpl(bundle, sr, level, message,
+				exception);
+		synchronized (ring) {
+			ring[(int) next++ & mask] = entry;
+		}
+
+		LogListener[] current = listeners;
+		for (int i = 0; i < current.length; i++) {
+			try {
+				current[i].logged(entry);
+			} catch (RuntimeException e) {
+				// a failing listener must not fail the bundle logging
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.osgi.service.log.LogReaderService#addLogListener(org.osgi.service.log.LogListener)
+	 */
+	public synchronized void addLogListener(LogListener listener) {
+		for (int i = 0; i < listeners.length; i++) {
+			if (listeners[i] == listener) {
+				return;
+			}
+		}
+		LogListener[] copy = new LogListener[listeners.length + 1];
+		System.arraycopy(listeners, 0, copy, 0, listeners.length);
+		copy[listeners.length] = listener;
+		listeners = copy;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.osgi.service.log.LogReaderService#removeLogListener(org.osgi.service.log.LogListener)
+	 */
+	public synchronized void removeLogListener(LogListener listener) {
+		for (int i = 0; i < listeners.length; i++) {
+			if (listeners[i] == listener) {
+				LogListener[] copy = new LogListener[listeners.length - 1];
+				System.arraycopy(listeners, 0, copy, 0, i);
+				System.arraycopy(listeners, i + 1, copy, i, copy.length - i);
+				listeners = copy;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Return the entries kept, most recent first.
+	 * 
+	 * @see org.osgi.service.log.LogReaderService#getLog()
+	 */
+	public Enumeration getLog() {
+		Vector log;
+		synchronized (ring) {
+			long first = Math.max(0, next - capacity);
+			log = new Vector((int) (next - first));
+			for (long sequence = next - 1; sequence >= first; sequence--) {
+				log.addElement(ring[(int) sequence & mask]);
+			}
+		}
+		return log.elements();
+	}
+}
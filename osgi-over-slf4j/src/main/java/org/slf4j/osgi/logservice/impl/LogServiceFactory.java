@@ -32,27 +32,63 @@
 
 package org.slf4j.osgi.logservice.impl;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.BundleListener;
 import org.osgi.framework.ServiceFactory;
 import org.osgi.framework.ServiceRegistration;
 
 /**
- * <code>LogServiceFactory</code> creates LogService implemenations.
+ * <code>LogServiceFactory</code> creates LogService implemenations, one per
+ * bundle. The LogService of a bundle is kept until the bundle is updated,
+ * which may change its version and thus its logger, or uninstalled.
  *
  * @author John Conlon
  * @version $Rev$, $Date$
  */
-public class LogServiceFactory implements ServiceFactory
+public class LogServiceFactory implements ServiceFactory, BundleListener
 {
 
+    // null when no LogReaderService is registered
+    private final LogReaderServiceImpl reader;
+
+    // key: bundle id (Long), value: the LogServiceImpl of the bundle
+    private final Map services = new HashMap();
+
+    public LogServiceFactory()
+    {
+        this( null );
+    }
+
+    /**
+     * @param reader the LogReaderService recording the entries of all
+     * bundles, or null
+     * @since 1.5.11
+     */
+    public LogServiceFactory( LogReaderServiceImpl reader )
+    {
+        this.reader = reader;
+    }
 
     /* (non-Javadoc)
      * @see org.osgi.framework.ServiceFactory#getService(org.osgi.framework.Bundle, org.osgi.framework.ServiceRegistration)
      */
     public Object getService( Bundle bundle, ServiceRegistration arg1 )
     {
-        
-        return new LogServiceImpl(bundle);
+        Long id = new Long( bundle.getBundleId() );
+        synchronized ( services )
+        {
+            LogServiceImpl service = (LogServiceImpl) services.get( id );
+            if ( service == null )
+            {
+                service = new LogServiceImpl( bundle, reader );
+                services.put( id, service );
+            }
+            return service;
+        }
     }
 
 
@@ -61,8 +97,23 @@ public class LogServiceFactory implements ServiceFactory
      */
     public void ungetService( Bundle bundle, ServiceRegistration arg1, Object arg2 )
     {
-        // Ignore for now
+        // the service is kept for the next getService of the bundle
+
+    }
 
+    /* (non-Javadoc)
+     * @see org.osgi.framework.BundleListener#bundleChanged(org.osgi.framework.BundleEvent)
+     */
+    public void bundleChanged( BundleEvent event )
+    {
+        if ( event.getType() == BundleEvent.UPDATED
+            || event.getType() == BundleEvent.UNINSTALLED )
+        {
+            synchronized ( services )
+            {
+                services.remove( new Long( event.getBundle().getBundleId() ) );
+            }
+        }
     }
 
 }
@@ -32,12 +32,18 @@
 
 package org.slf4j.osgi.logservice.impl;
 
+import java.util.Dictionary;
+
 import org.osgi.framework.Bundle;
 import org.osgi.framework.Constants;
 import org.osgi.framework.ServiceReference;
 import org.osgi.service.log.LogService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.helpers.LevelAwareLoggerAdapter;
+import org.slf4j.message.MessageLogger;
+import org.slf4j.spi.LevelAwareLogger;
+import org.slf4j.spi.LocationAwareLogger;
 
 /**
  * <code>LogServiceImpl</code> is a simple OSGi LogService implemenation that delegates to a slf4j 
@@ -49,18 +55,61 @@ public class LogServiceImpl implements LogService {
 
 	private static final String UNKNOWN = "[Unknown]";
 
-	private final Logger delegate;
+	private static final String FQCN = LogServiceImpl.class.getName();
+
+	// SLF4J levels indexed by LogService level, -1 for unknown levels
+	private static final int[] LEVELS = new int[LOG_DEBUG + 1];
+	static {
+		for (int i = 0; i < LEVELS.length; i++) {
+			LEVELS[i] = -1;
+		}
+		LEVELS[LOG_ERROR] = LocationAwareLogger.ERROR_INT;
+		LEVELS[LOG_WARNING] = LocationAwareLogger.WARN_INT;
+		LEVELS[LOG_INFO] = LocationAwareLogger.INFO_INT;
+		LEVELS[LOG_DEBUG] = LocationAwareLogger.DEBUG_INT;
+	}
+
+	private final LevelAwareLogger delegate;
+
+	// the delegate if it renders messages lazily, null otherwise
+	private final MessageLogger messageLogger;
+
+	private final Bundle bundle;
+
+	// null when no LogReaderService is registered
+	private final LogReaderServiceImpl reader;
 
 	/**
 	 * Creates a new instance of LogServiceImpl.
 	 * 
 	 */
 	public LogServiceImpl(Bundle bundle) {
-		String name = (String) bundle.getHeaders().get(
-				Constants.BUNDLE_SYMBOLICNAME);
-		String version = (String) bundle.getHeaders().get(
-				Constants.BUNDLE_VERSION);
-		delegate = LoggerFactory.getLogger(name + '.' + version);
+		this(bundle, null);
+	}
+
+	/**
+	 * Creates a new instance of LogServiceImpl recording the entries of
+	 * <code>bundle</code> in <code>reader</code>.
+	 * 
+	 * @since 1.5.11
+	 */
+	public LogServiceImpl(Bundle bundle, LogReaderServiceImpl reader) {
+		Dictionary headers = bundle.getHeaders();
+		String name = (String) headers.get(Constants.BUNDLE_SYMBOLICNAME);
+		String version = (String) headers.get(Constants.BUNDLE_VERSION);
+		Logger logger = LoggerFactory.getLogger(name + '.' + version);
+		delegate = LevelAwareLoggerAdapter.getLevelAwareLogger(logger);
+		messageLogger = (logger instanceof MessageLogger) ? (MessageLogger) logger
+				: null;
+		this.bundle = bundle;
+		this.reader = reader;
+	}
+
+	/**
+	 * Map a LogService level to a SLF4J level, -1 if unknown.
+	 */
+	private static int toLevelInt(int level) {
+		return (level >= 0 && level < LEVELS.length) ? LEVELS[level] : -1;
 	}
 
 	/*
@@ -69,23 +118,7 @@ public class LogServiceImpl implements LogService {
 	 * @see org.osgi.service.log.LogService#log(int, java.lang.String)
 	 */
 	public void log(int level, String message) {
-		switch (level) {
-		case LOG_DEBUG:
-			delegate.debug(message);
-			break;
-		case LOG_ERROR:
-			delegate.error(message);
-			break;
-		case LOG_INFO:
-			delegate.info(message);
-			break;
-		case LOG_WARNING:
-			delegate.warn(message);
-			break;
-		default:
-			break;
-		}
-
+		log(level, message, null);
 	}
 
 	/*
@@ -95,21 +128,12 @@ public class LogServiceImpl implements LogService {
 	 *      java.lang.Throwable)
 	 */
 	public void log(int level, String message, Throwable exception) {
-		switch (level) {
-		case LOG_DEBUG:
-			delegate.debug(message, exception);
-			break;
-		case LOG_ERROR:
-			delegate.error(message, exception);
-			break;
-		case LOG_INFO:
-			delegate.info(message, exception);
-			break;
-		case LOG_WARNING:
-			delegate.warn(message, exception);
-			break;
-		default:
-			break;
+		if (reader != null) {
+			reader.log(bundle, null, level, message, exception);
+		}
+		int levelInt = toLevelInt(level);
+		if (levelInt >= 0 && delegate.isEnabled(levelInt)) {
+			delegate.log(null, FQCN, levelInt, message, exception);
 		}
 	}
 
@@ -120,31 +144,7 @@ public class LogServiceImpl implements LogService {
 	 *      int, java.lang.String)
 	 */
 	public void log(ServiceReference sr, int level, String message) {
-		
-		switch (level) {
-		case LOG_DEBUG:
-			if(delegate.isDebugEnabled()){
-				delegate.debug(createMessage(sr, message));
-			}
-			break;
-		case LOG_ERROR:
-			if(delegate.isErrorEnabled()){
-				delegate.error(createMessage(sr, message));
-			}
-			break;
-		case LOG_INFO:
-			if(delegate.isInfoEnabled()){
-				delegate.info(createMessage(sr, message));
-			}
-			break;
-		case LOG_WARNING:
-			if(delegate.isWarnEnabled()){
-				delegate.warn(createMessage(sr, message));
-			}
-			break;
-		default:
-			break;
-		}
+		log(sr, level, message, null);
 	}
 
 	/**
@@ -154,7 +154,7 @@ public class LogServiceImpl implements LogService {
 	 * @param message
 	 * @return
 	 */
-	private String createMessage(ServiceReference sr, String message) {
+	static String createMessage(ServiceReference sr, String message) {
 		StringBuffer output = new StringBuffer();
 		if (sr != null) {
 			output.append('[').append(sr.toString()).append(']')
@@ -173,30 +173,19 @@ public class LogServiceImpl implements LogService {
 	 */
 	public void log(ServiceReference sr, int level, String message,
 			Throwable exception) {
-
-		switch (level) {
-		case LOG_DEBUG:
-			if(delegate.isDebugEnabled()){
-				delegate.debug(createMessage(sr, message), exception);
-			}
-			break;
-		case LOG_ERROR:
-			if(delegate.isErrorEnabled()){
-				delegate.error(createMessage(sr, message), exception);
-			}
-			break;
-		case LOG_INFO:
-			if(delegate.isInfoEnabled()){
-				delegate.info(createMessage(sr, message), exception);
-			}
-			break;
-		case LOG_WARNING:
-			if(delegate.isWarnEnabled()){
-				delegate.warn(createMessage(sr, message), exception);
+		if (reader != null) {
+			reader.log(bundle, sr, level, message, exception);
+		}
+		int levelInt = toLevelInt(level);
+		if (levelInt >= 0 && delegate.isEnabled(levelInt)) {
+			if (messageLogger != null) {
+				// the reference is rendered only if the event is formatted
+				messageLogger.log(null, FQCN, levelInt,
+						new ServiceReferenceMessage(sr, message), exception);
+			} else {
+				delegate.log(null, FQCN, levelInt, createMessage(sr, message),
+						exception);
 			}
-			break;
-		default:
-			break;
 		}
 	}
 
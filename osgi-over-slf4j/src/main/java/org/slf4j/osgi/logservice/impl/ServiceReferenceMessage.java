@@ -0,0 +1,77 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.osgi.logservice.impl;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+
+import org.osgi.framework.ServiceReference;
+import org.slf4j.message.Message;
+
+/**
+ * <code>ServiceReferenceMessage</code> is a message logged with a
+ * {@link ServiceReference}, rendered as "[reference]message" only once a
+ * logging system formats it. Only the rendered form is serialized.
+ * 
+ * @since 1.5.11
+ */
+class ServiceReferenceMessage implements Message {
+
+	private static final long serialVersionUID = -2638104795431650261L;
+
+	private transient ServiceReference serviceReference;
+	private transient String message;
+	private String formattedMessage;
+
+	ServiceReferenceMessage(ServiceReference serviceReference, String message) {
+		this.serviceReference = serviceReference;
+		this.message = message;
+	}
+
+	public String getFormattedMessage() {
+		if (formattedMessage == null) {
+			formattedMessage = LogServiceImpl.createMessage(serviceReference,
+					message);
+		}
+		return formattedMessage;
+	}
+
+	public String getMessageFormat() {
+		return getFormattedMessage();
+	}
+
+	public Object[] getParameters() {
+		return null;
+	}
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		getFormattedMessage();
+		out.defaultWriteObject();
+	}
+
+	public String toString() {
+		return getFormattedMessage();
+	}
+}
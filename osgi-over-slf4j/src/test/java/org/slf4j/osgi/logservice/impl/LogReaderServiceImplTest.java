@@ -0,0 +1,166 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.osgi.logservice.impl;
+
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.osgi.framework.Bundle;
+import org.osgi.service.log.LogEntry;
+import org.osgi.service.log.LogListener;
+import org.osgi.service.log.LogService;
+
+public class LogReaderServiceImplTest extends TestCase {
+
+	Bundle bundle = StubBundle.newBundle(1, "reader.test");
+
+	List received = new ArrayList();
+	LogListener listener = new LogListener() {
+		public void logged(LogEntry entry) {
+			received.add(entry);
+		}
+	};
+
+	static List messages(Enumeration log) {
+		List messages = new ArrayList();
+		while (log.hasMoreElements()) {
+			messages.add(((LogEntry) log.nextElement()).getMessage());
+		}
+		return messages;
+	}
+
+	public void testInvalidCapacity() {
+		try {
+			new LogReaderServiceImpl(0);
+			fail("no exception for a capacity of 0");
+		} catch (IllegalArgumentException e) {
+		}
+	}
+
+	public void testEmpty() {
+		LogReaderServiceImpl reader = new LogReaderServiceImpl(5);
+		assertFalse(reader.getLog().hasMoreElements());
+	}
+
+	public void testEntry() {
+		LogReaderServiceImpl reader = new LogReaderServiceImpl(5);
+		Exception exception = new Exception("just a test.");
+		long before = System.currentTimeMillis();
+		reader.log(bundle, null, LogService.LOG_ERROR, "failed", exception);
+
+		LogEntry entry = (LogEntry) reader.getLog().nextElement();
+		assertSame(bundle, entry.getBundle());
+		assertNull(entry.getServiceReference());
+		assertEquals(LogService.LOG_ERROR, entry.getLevel());
+		assertEquals("failed", entry.getMessage());
+		assertSame(exception, entry.getException());
+		assertTrue(entry.getTime() >= before);
+	}
+
+	/**
+	 * The capacity is not a power of two: only that many entries are returned
+	 * even though the ring is larger.
+	 */
+	public void testMostRecentFirstWithinCapacity() {
+		LogReaderServiceImpl reader = new LogReaderServiceImpl(5);
+		for (int i = 0; i < 3; i++) {
+			reader.log(bundle, null, LogService.LOG_INFO, "m" + i, null);
+		}
+		assertEquals("[m2, m1, m0]", messages(reader.getLog()).toString());
+		for (int i = 3; i < 12; i++) {
+			reader.log(bundle, null, LogService.LOG_INFO, "m" + i, null);
+		}
+		assertEquals("[m11, m10, m9, m8, m7]", messages(reader.getLog())
+				.toString());
+	}
+
+	public void testListeners() {
+		LogReaderServiceImpl reader = new LogReaderServiceImpl(5);
+		reader.addLogListener(listener);
+		reader.addLogListener(listener);
+		reader.log(bundle, null, LogService.LOG_INFO, "first", null);
+		reader.removeLogListener(listener);
+		reader.log(bundle, null, LogService.LOG_INFO, "second", null);
+
+		assertEquals(1, received.size());
+		assertEquals("first", ((LogEntry) received.get(0)).getMessage());
+		assertEquals("[second, first]", messages(reader.getLog()).toString());
+	}
+
+	public void testFailingListener() {
+		LogReaderServiceImpl reader = new LogReaderServiceImpl(5);
+		reader.addLogListener(new LogListener() {
+			public void logged(LogEntry entry) {
+				throw new IllegalStateException("failing listener");
+			}
+		});
+		reader.addLogListener(listener);
+		reader.log(bundle, null, LogService.LOG_INFO, "logged", null);
+		assertEquals(1, received.size());
+	}
+
+	/**
+	 * Concurrent writers fill the ring; the entries read back are the
+	 * capacity, in order for each writer.
+	 */
+	public void testConcurrentWriters() throws InterruptedException {
+		final LogReaderServiceImpl reader = new LogReaderServiceImpl(100);
+		final int writes = 1000;
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			final String prefix = "writer" + t + " ";
+			threads[t] = new Thread() {
+				public void run() {
+					for (int i = 0; i < writes; i++) {
+						reader.log(bundle, null, LogService.LOG_DEBUG, prefix + i,
+								null);
+					}
+				}
+			};
+			threads[t].start();
+		}
+		for (int t = 0; t < threads.length; t++) {
+			threads[t].join();
+		}
+
+		int[] previous = new int[threads.length];
+		for (int t = 0; t < threads.length; t++) {
+			previous[t] = writes;
+		}
+		int count = 0;
+		for (Enumeration log = reader.getLog(); log.hasMoreElements();) {
+			String message = ((LogEntry) log.nextElement()).getMessage();
+			int t = message.charAt("writer".length()) - '0';
+			int i = Integer.parseInt(message.substring(message.indexOf(' ') + 1));
+			assertTrue(message + " out of order", i < previous[t]);
+			previous[t] = i;
+			count++;
+		}
+		assertEquals(100, count);
+	}
+}
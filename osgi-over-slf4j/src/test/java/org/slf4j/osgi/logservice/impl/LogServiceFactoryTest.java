@@ -0,0 +1,88 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.osgi.logservice.impl;
+
+import junit.framework.TestCase;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleEvent;
+import org.osgi.service.log.LogEntry;
+import org.osgi.service.log.LogService;
+
+public class LogServiceFactoryTest extends TestCase {
+
+	Bundle first = StubBundle.newBundle(1, "factory.first");
+	Bundle second = StubBundle.newBundle(2, "factory.second");
+
+	LogReaderServiceImpl reader = new LogReaderServiceImpl(10);
+	LogServiceFactory factory = new LogServiceFactory(reader);
+
+	public void testServicePerBundle() {
+		Object service = factory.getService(first, null);
+		factory.ungetService(first, null, service);
+		assertSame(service, factory.getService(first, null));
+		assertNotSame(service, factory.getService(second, null));
+	}
+
+	public void testOtherEventsKeepService() {
+		Object service = factory.getService(first, null);
+		factory.bundleChanged(new BundleEvent(BundleEvent.STARTED, first));
+		factory.bundleChanged(new BundleEvent(BundleEvent.STOPPED, first));
+		assertSame(service, factory.getService(first, null));
+	}
+
+	public void testUpdateEvictsService() {
+		Object service = factory.getService(first, null);
+		Object other = factory.getService(second, null);
+		factory.bundleChanged(new BundleEvent(BundleEvent.UPDATED, first));
+		assertNotSame(service, factory.getService(first, null));
+		assertSame(other, factory.getService(second, null));
+	}
+
+	public void testUninstallEvictsService() {
+		Object service = factory.getService(first, null);
+		factory.bundleChanged(new BundleEvent(BundleEvent.UNINSTALLED, first));
+		assertNotSame(service, factory.getService(first, null));
+	}
+
+	public void testEntriesRecorded() {
+		LogService firstService = (LogService) factory.getService(first, null);
+		LogService secondService = (LogService) factory.getService(second, null);
+		firstService.log(LogService.LOG_DEBUG, "from first");
+		secondService.log(null, LogService.LOG_WARNING, "from second");
+
+		LogEntry entry = (LogEntry) reader.getLog().nextElement();
+		assertSame(second, entry.getBundle());
+		assertEquals(LogService.LOG_WARNING, entry.getLevel());
+		assertEquals("from second", entry.getMessage());
+	}
+
+	public void testWithoutReader() {
+		LogService service = (LogService) new LogServiceFactory().getService(
+				first, null);
+		service.log(LogService.LOG_INFO, "not recorded");
+		assertFalse(reader.getLog().hasMoreElements());
+	}
+}
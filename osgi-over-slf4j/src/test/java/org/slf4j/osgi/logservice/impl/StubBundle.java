@@ -0,0 +1,73 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.osgi.logservice.impl;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Dictionary;
+import java.util.Hashtable;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.Constants;
+
+/**
+ * Creates {@link Bundle}s answering only the calls made by the LogService,
+ * without a framework.
+ */
+class StubBundle implements InvocationHandler {
+
+	private final long id;
+	private final Dictionary headers = new Hashtable();
+
+	private StubBundle(long id, String symbolicName) {
+		this.id = id;
+		headers.put(Constants.BUNDLE_SYMBOLICNAME, symbolicName);
+		headers.put(Constants.BUNDLE_VERSION, "1.0.0");
+	}
+
+	static Bundle newBundle(long id, String symbolicName) {
+		return (Bundle) Proxy.newProxyInstance(Bundle.class.getClassLoader(),
+				new Class[] { Bundle.class }, new StubBundle(id, symbolicName));
+	}
+
+	public Object invoke(Object proxy, Method method, Object[] args) {
+		String name = method.getName();
+		if (name.equals("getBundleId")) {
+			return new Long(id);
+		} else if (name.equals("getHeaders")) {
+			return headers;
+		} else if (name.equals("getSymbolicName")) {
+			return headers.get(Constants.BUNDLE_SYMBOLICNAME);
+		} else if (name.equals("equals")) {
+			return Boolean.valueOf(proxy == args[0]);
+		} else if (name.equals("hashCode")) {
+			return new Integer(System.identityHashCode(proxy));
+		} else if (name.equals("toString")) {
+			return "StubBundle[" + id + "]";
+		}
+		throw new UnsupportedOperationException(name);
+	}
+}
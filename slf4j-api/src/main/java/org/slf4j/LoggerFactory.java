@@ -47,6 +47,14 @@ import org.slf4j.impl.StaticLoggerBinder;
  * compile time.
  * 
  * <p>
+ * During initialization <code>LoggerFactory</code> checks that the binding is
+ * compatible with this version of the API and that the class path contains a
+ * single binding. The latter requires scanning the class path which can be
+ * slow with large class loaders. Setting the <code>slf4j.sanityCheck</code>
+ * system property to <code>async</code> runs these checks on a background
+ * daemon thread, setting it to <code>skip</code> disables them altogether.
+ * 
+ * <p>
  * Please note that all methods in <code>LoggerFactory</code> are static.
  * 
  * @author Ceki G&uuml;lc&uuml;
@@ -72,7 +80,15 @@ public final class LoggerFactory {
   static final int GET_SINGLETON_INEXISTENT = 1;
   static final int GET_SINGLETON_EXISTS = 2;
 
-  static int INITIALIZATION_STATE = UNINITIALIZED;
+  static final String SANITY_CHECK_KEY = "slf4j.sanityCheck";
+  static final String SANITY_CHECK_ASYNC = "async";
+  static final String SANITY_CHECK_SKIP = "skip";
+
+  // INITIALIZATION_STATE only changes while holding the LoggerFactory class
+  // lock. BOUND_FACTORY is published once binding succeeded, after which
+  // getILoggerFactory() amounts to a single volatile read.
+  static volatile int INITIALIZATION_STATE = UNINITIALIZED;
+  static volatile ILoggerFactory BOUND_FACTORY = null;
   static int GET_SINGLETON_METHOD = UNINITIALIZED;
   static SubstituteLoggerFactory TEMP_FACTORY = new SubstituteLoggerFactory();
 
@@ -102,7 +118,8 @@ public final class LoggerFactory {
    * <p>
    * You are strongly discouraged from calling this method in production code.
    */
-  static void reset() {
+  static synchronized void reset() {
+    BOUND_FACTORY = null;
     INITIALIZATION_STATE = UNINITIALIZED;
     GET_SINGLETON_METHOD = UNINITIALIZED;
     TEMP_FACTORY = new SubstituteLoggerFactory();
@@ -110,19 +127,62 @@ public final class LoggerFactory {
 
   private final static void performInitialization() {
     bind();
+    String mode = getSanityCheckMode();
+    if (SANITY_CHECK_SKIP.equalsIgnoreCase(mode)) {
+      return;
+    }
+    if (SANITY_CHECK_ASYNC.equalsIgnoreCase(mode) && performSanityChecksInBackground()) {
+      return;
+    }
     versionSanityCheck();
     singleImplementationSanityCheck();
+  }
+
+  private static String getSanityCheckMode() {
+    try {
+      return System.getProperty(SANITY_CHECK_KEY);
+    } catch (SecurityException e) {
+      return null;
+    }
+  }
 
+  /**
+   * Run the sanity checks on a daemon thread so that the first call to
+   * getLogger does not wait for the class path scan. Returns false if the
+   * thread could not be started, in which case the caller should run the
+   * checks itself.
+   */
+  private static boolean performSanityChecksInBackground() {
+    Runnable checks = new Runnable() {
+      public void run() {
+        versionSanityCheck();
+        singleImplementationSanityCheck();
+      }
+    };
+    try {
+      Thread thread = new Thread(checks, "slf4j-sanity-check");
+      thread.setDaemon(true);
+      thread.start();
+      return true;
+    } catch (SecurityException e) {
+      return false;
+    }
   }
 
   private final static void bind() {
     try {
       // the next line does the binding
-      getSingleton();
-      INITIALIZATION_STATE = SUCCESSFUL_INITILIZATION;
+      ILoggerFactory factory = getSingleton().getLoggerFactory();
+      synchronized (LoggerFactory.class) {
+        BOUND_FACTORY = factory;
+        INITIALIZATION_STATE = SUCCESSFUL_INITILIZATION;
+      }
+      // loggers handed out during initialization now delegate to the
+      // real ones
+      TEMP_FACTORY.bindTo(factory);
       emitSubstituteLoggerWarning();
     } catch (NoClassDefFoundError ncde) {
-      INITIALIZATION_STATE = FAILED_INITILIZATION;
+      setInitializationState(FAILED_INITILIZATION);
       String msg = ncde.getMessage();
       if (msg != null && msg.indexOf("org/slf4j/impl/StaticLoggerBinder") != -1) {
         Util
@@ -133,22 +193,27 @@ public final class LoggerFactory {
       }
       throw ncde;
     } catch (Exception e) {
-      INITIALIZATION_STATE = FAILED_INITILIZATION;
+      setInitializationState(FAILED_INITILIZATION);
       // we should never get here
       Util.reportFailure("Failed to instantiate logger ["
           + getSingleton().getLoggerFactoryClassStr() + "]", e);
     }
   }
 
+  private static synchronized void setInitializationState(int state) {
+    INITIALIZATION_STATE = state;
+  }
+
   private final static void emitSubstituteLoggerWarning() {
     List loggerNameList = TEMP_FACTORY.getLoggerNameList();
     if (loggerNameList.size() == 0) {
       return;
     }
     Util
-        .reportFailure("The following loggers will not work becasue they were created");
+        .reportFailure("The following loggers were created during the default configuration");
     Util
-        .reportFailure("during the default configuration phase of the underlying logging system.");
+        .reportFailure("phase of the underlying logging system. Statements logged through them");
+    Util.reportFailure("before the end of that phase were discarded.");
     Util.reportFailure("See also " + SUBSTITUTE_LOGGER_URL);
     for (int i = 0; i < loggerNameList.size(); i++) {
       String loggerName = (String) loggerNameList.get(i);
@@ -270,20 +335,39 @@ public final class LoggerFactory {
    * @return the ILoggerFactory instance in use
    */
   public static ILoggerFactory getILoggerFactory() {
-    if (INITIALIZATION_STATE == UNINITIALIZED) {
-      INITIALIZATION_STATE = ONGOING_INITILIZATION;
-      performInitialization();
+    ILoggerFactory factory = BOUND_FACTORY;
+    if (factory != null) {
+      return factory;
+    }
+    return initializeAndGetILoggerFactory();
+  }
 
+  private static ILoggerFactory initializeAndGetILoggerFactory() {
+    boolean initializer = false;
+    SubstituteLoggerFactory substituteFactory;
+    synchronized (LoggerFactory.class) {
+      if (INITIALIZATION_STATE == UNINITIALIZED) {
+        INITIALIZATION_STATE = ONGOING_INITILIZATION;
+        initializer = true;
+      }
+      substituteFactory = TEMP_FACTORY;
+    }
+    // the lock is not held during initialization, the underlying logging
+    // system may well obtain loggers from other threads while configuring
+    if (initializer) {
+      performInitialization();
     }
     switch (INITIALIZATION_STATE) {
     case SUCCESSFUL_INITILIZATION:
-      return getSingleton().getLoggerFactory();
+      return BOUND_FACTORY;
     case FAILED_INITILIZATION:
       throw new IllegalStateException(UNSUCCESSFUL_INIT_MSG);
     case ONGOING_INITILIZATION:
-      // support re-entrant behavior.
+      // support re-entrant behavior as well as concurrent calls while the
+      // initializing thread is busy. The substitute loggers start delegating
+      // to the real ones as soon as binding completes.
       // See also http://bugzilla.slf4j.org/show_bug.cgi?id=106
-      return TEMP_FACTORY;
+      return substituteFactory;
     }
     throw new IllegalStateException("Unreachable code");
   }
@@ -23,8 +23,9 @@
  */
 package org.slf4j.helpers;
 
-import org.slf4j.spi.MDCAdapter;
+import org.slf4j.spi.SnapshotMDCAdapter;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -37,15 +38,50 @@ import java.util.Set;
  * href="http://svn.qos.ch/viewvc/logback/trunk/logback-classic/src/main/java/org/slf4j/impl/LogbackMDCAdapter.java">
  * LogbackMDCAdapter</a>.
  * 
+ * <p>
+ * Snapshots handed out by {@link #getSnapshot()} are shared, not copied. The
+ * current thread keeps using the snapshot as its context map until it
+ * modifies the MDC, at which point it switches to a private copy.
+ * 
+ * <p>
+ * Modifications of the context map are reported to {@link DebugElevation}.
+ * 
  * @author Ceki Gulcu
  * @author Maarten Bosteels
  * 
  * @since 1.5.0
  */
-public class BasicMDCAdapter implements MDCAdapter {
+public class BasicMDCAdapter implements SnapshotMDCAdapter {
 
   private InheritableThreadLocal inheritableThreadLocal = new InheritableThreadLocal();
 
+  /**
+   * Marks a context map which may be shared and must be copied before
+   * being modified.
+   */
+  private static final class Snapshot extends HashMap {
+    private static final long serialVersionUID = -5308735392411582556L;
+
+    Snapshot(Map map) {
+      super(map);
+    }
+  }
+
+  /**
+   * Return the current thread's context map, ready to be modified.
+   */
+  private HashMap getWritableMap() {
+    HashMap map = (HashMap) inheritableThreadLocal.get();
+    if (map == null) {
+      map = new HashMap();
+      inheritableThreadLocal.set(map);
+    } else if (map instanceof Snapshot) {
+      map = new HashMap(map);
+      inheritableThreadLocal.set(map);
+    }
+    return map;
+  }
+
   /**
    * Put a context value (the <code>val</code> parameter) as identified with
    * the <code>key</code> parameter into the current thread's context map.
@@ -62,12 +98,8 @@ public class BasicMDCAdapter implements MDCAdapter {
     if (key == null) {
       throw new IllegalArgumentException("key cannot be null");
     }
-    HashMap map = (HashMap) inheritableThreadLocal.get();
-    if (map == null) {
-      map = new HashMap();
-      inheritableThreadLocal.set(map);
-    }
-    map.put(key, val);
+    getWritableMap().put(key, val);
+    DebugElevation.keyPut(key, val);
   }
 
   /**
@@ -87,8 +119,9 @@ public class BasicMDCAdapter implements MDCAdapter {
    */
   public void remove(String key) {
     HashMap map = (HashMap) inheritableThreadLocal.get();
-    if (map != null) {
-      map.remove(key);
+    if (map != null && map.containsKey(key)) {
+      getWritableMap().remove(key);
+      DebugElevation.keyRemoved(key);
     }
   }
 
@@ -98,10 +131,13 @@ public class BasicMDCAdapter implements MDCAdapter {
   public void clear() {
     HashMap hashMap = (HashMap) inheritableThreadLocal.get();
     if (hashMap != null) {
-      hashMap.clear();
+      if (!(hashMap instanceof Snapshot)) {
+        hashMap.clear();
+      }
       // the InheritableThreadLocal.remove method was introduced in JDK 1.5
       // Thus, invoking clear() on previous JDK's will fail
       inheritableThreadLocal.remove();
+      DebugElevation.contextChanged(null);
     }
   }
 
@@ -113,7 +149,9 @@ public class BasicMDCAdapter implements MDCAdapter {
    */
   public Set getKeys() {
     HashMap hashMap = (HashMap) inheritableThreadLocal.get();
-    if (hashMap != null) {
+    if (hashMap instanceof Snapshot) {
+      return Collections.unmodifiableSet(hashMap.keySet());
+    } else if (hashMap != null) {
       return hashMap.keySet();
     } else {
       return null;
@@ -135,13 +173,48 @@ public class BasicMDCAdapter implements MDCAdapter {
 
   public void setContextMap(Map contextMap) {
     HashMap hashMap = (HashMap) inheritableThreadLocal.get();
-    if (hashMap != null) {
+    if (hashMap != null && !(hashMap instanceof Snapshot)) {
       hashMap.clear();
       hashMap.putAll(contextMap);
     } else {
       hashMap = new HashMap(contextMap);
       inheritableThreadLocal.set(hashMap);
     }
+    DebugElevation.contextChanged(contextMap);
+  }
+
+  /**
+   * Return the current thread's context map as a shared snapshot. The first
+   * call after a modification copies the map once; later calls return the
+   * same snapshot until the MDC is modified again.
+   */
+  public Map getSnapshot() {
+    HashMap hashMap = (HashMap) inheritableThreadLocal.get();
+    if (hashMap == null || hashMap instanceof Snapshot) {
+      return hashMap;
+    }
+    Snapshot snapshot = new Snapshot(hashMap);
+    inheritableThreadLocal.set(snapshot);
+    return snapshot;
+  }
+
+  /**
+   * Install <code>snapshot</code> as the current thread's context map and
+   * return the map it replaces. Snapshots obtained from this adapter are
+   * installed as they are, any other map is copied once, so that later
+   * modifications of the MDC never reach the caller's map.
+   */
+  public Map swapSnapshot(Map snapshot) {
+    Map previous = (Map) inheritableThreadLocal.get();
+    if (snapshot == null) {
+      inheritableThreadLocal.remove();
+    } else if (snapshot instanceof Snapshot) {
+      inheritableThreadLocal.set(snapshot);
+    } else {
+      inheritableThreadLocal.set(new Snapshot(snapshot));
+    }
+    DebugElevation.contextChanged(snapshot);
+    return previous;
   }
 
 }
@@ -0,0 +1,152 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.helpers;
+
+import java.text.DateFormat;
+import java.util.Date;
+
+/**
+ * Thread-safe timestamp rendering which formats a date once per second.
+ * 
+ * <p>
+ * The text of the current second is cached. When the format has a
+ * three-digit milliseconds field ("SSS"), the milliseconds of each timestamp
+ * are written arithmetically into a copy of the cached text. Other formats
+ * whose output varies within a second are formatted on every call, under the
+ * lock of the wrapped format.
+ * 
+ * <p>
+ * This class is intended for internal use by SLF4J bindings.
+ * 
+ * @since 1.5.11
+ */
+public class CachedDateFormat {
+
+  // millisIndex values which are not an index
+  static final int NO_MILLIS = -1;
+  static final int UNCACHEABLE = -2;
+
+  private final DateFormat format;
+  private final int millisIndex;
+  // the text of the last second formatted
+  private volatile Second cached;
+
+  /**
+   * Cache the output of <code>format</code>, which must no longer be used
+   * by other code without synchronizing on it.
+   */
+  public CachedDateFormat(DateFormat format) {
+    this.format = format;
+    this.millisIndex = findMillis(format);
+  }
+
+  /**
+   * Return the wrapped format.
+   */
+  public DateFormat getDateFormat() {
+    return format;
+  }
+
+  /**
+   * Return the index of a three-digit milliseconds field in the output of
+   * <code>format</code>, comparing two timestamps of the same second.
+   */
+  static int findMillis(DateFormat format) {
+    long second = System.currentTimeMillis() / 1000 * 1000;
+    String zero = format.format(new Date(second));
+    String other = format.format(new Date(second + 987));
+    if (zero.equals(other)) {
+      return NO_MILLIS;
+    }
+    if (zero.length() != other.length()) {
+      return UNCACHEABLE;
+    }
+    int i = 0;
+    while (zero.charAt(i) == other.charAt(i)) {
+      i++;
+    }
+    if (zero.regionMatches(i, "000", 0, 3)
+        && other.regionMatches(i, "987", 0, 3)
+        && zero.regionMatches(i + 3, other, i + 3, zero.length() - i - 3)) {
+      return i;
+    }
+    return UNCACHEABLE;
+  }
+
+  /**
+   * Append the text of <code>time</code> to <code>buf</code>.
+   */
+  public void format(long time, StringBuffer buf) {
+    if (millisIndex == UNCACHEABLE || time < 0) {
+      synchronized (format) {
+        buf.append(format.format(new Date(time)));
+      }
+      return;
+    }
+    long second = time / 1000;
+    Second s = cached;
+    if (s == null || s.second != second) {
+      String text;
+      synchronized (format) {
+        text = format.format(new Date(second * 1000));
+      }
+      s = new Second(second, text);
+      cached = s;
+    }
+    if (millisIndex == NO_MILLIS) {
+      buf.append(s.text);
+      return;
+    }
+    int millis = (int) (time - second * 1000);
+    buf.append(s.chars, 0, millisIndex);
+    buf.append((char) ('0' + millis / 100));
+    buf.append((char) ('0' + millis / 10 % 10));
+    buf.append((char) ('0' + millis % 10));
+    buf.append(s.chars, millisIndex + 3, s.chars.length - millisIndex - 3);
+  }
+
+  /**
+   * Return the text of <code>time</code>.
+   */
+  public String format(long time) {
+    StringBuffer buf = new StringBuffer(32);
+    format(time, buf);
+    return buf.toString();
+  }
+
+  private static final class Second {
+    final long second;
+    final String text;
+    // append(char[], int, int) is available on JDK 1.3, unlike
+    // append(CharSequence, int, int)
+    final char[] chars;
+
+    Second(long second, String text) {
+      this.second = second;
+      this.text = text;
+      this.chars = text.toCharArray();
+    }
+  }
+}
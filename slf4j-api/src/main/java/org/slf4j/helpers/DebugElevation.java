@@ -0,0 +1,162 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.helpers;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringTokenizer;
+
+/**
+ * Keeps, for each thread, a flag telling whether debugging is elevated for
+ * that thread, i.e. whether a configured MDC key is present in its context
+ * map, optionally with one of a set of values. Decorators such as
+ * <code>org.slf4j.ext.ElevatingLogger</code> read the flag to enable debug
+ * and trace events of the current thread only, say for the requests of one
+ * customer, without enabling them globally.
+ * 
+ * <p>
+ * Reading the flag costs a single thread local read: the flag is computed
+ * when the MDC is modified, not when events are logged. This requires the
+ * {@link org.slf4j.spi.MDCAdapter} in use to call {@link #keyPut},
+ * {@link #keyRemoved} and {@link #contextChanged} whenever it modifies the
+ * context map, as {@link BasicMDCAdapter} and the log4j adapter do.
+ * 
+ * <p>
+ * The key and values are read from the <code>org.slf4j.elevation.mdcKey</code>
+ * and <code>org.slf4j.elevation.mdcValues</code> (comma separated) system
+ * properties, or set with {@link #configure}. A new configuration applies to
+ * the context maps modified afterwards.
+ * 
+ * @since 1.5.11
+ */
+public final class DebugElevation {
+
+  static final String KEY_PROPERTY = "org.slf4j.elevation.mdcKey";
+  static final String VALUES_PROPERTY = "org.slf4j.elevation.mdcValues";
+
+  // null when elevation is disabled
+  private static volatile String key;
+  // null to accept any value
+  private static volatile Set values;
+
+  // Boolean.TRUE or null, inherited along with the MDC
+  private static final ThreadLocal FLAG = new InheritableThreadLocal();
+
+  static {
+    try {
+      configure(System.getProperty(KEY_PROPERTY), System
+          .getProperty(VALUES_PROPERTY));
+    } catch (SecurityException e) {
+      // elevation stays disabled
+    }
+  }
+
+  private DebugElevation() {
+  }
+
+  /**
+   * Set the MDC key which elevates debugging.
+   * 
+   * @param mdcKey
+   *          the key, null to disable elevation
+   * @param mdcValues
+   *          comma separated values the key must have, null or empty for any
+   *          value
+   */
+  public static void configure(String mdcKey, String mdcValues) {
+    Set set = null;
+    if (mdcValues != null) {
+      StringTokenizer st = new StringTokenizer(mdcValues, ",");
+      while (st.hasMoreTokens()) {
+        String value = st.nextToken().trim();
+        if (value.length() > 0) {
+          if (set == null) {
+            set = new HashSet();
+          }
+          set.add(value);
+        }
+      }
+    }
+    values = set;
+    key = (mdcKey == null || mdcKey.trim().length() == 0) ? null : mdcKey
+        .trim();
+  }
+
+  /**
+   * Tell whether debugging is elevated for the current thread.
+   */
+  public static boolean isElevated() {
+    return FLAG.get() != null;
+  }
+
+  /**
+   * To be called by MDC adapters when <code>mdcKey</code> is put in the
+   * current thread's context map.
+   */
+  public static void keyPut(String mdcKey, String value) {
+    String k = key;
+    if (k != null && k.equals(mdcKey)) {
+      update(value != null && accepts(value));
+    }
+  }
+
+  /**
+   * To be called by MDC adapters when <code>mdcKey</code> is removed from the
+   * current thread's context map.
+   */
+  public static void keyRemoved(String mdcKey) {
+    String k = key;
+    if (k != null && k.equals(mdcKey)) {
+      update(false);
+    }
+  }
+
+  /**
+   * To be called by MDC adapters when the current thread's context map is
+   * replaced or cleared.
+   * 
+   * @param context
+   *          the new context map, null if empty
+   */
+  public static void contextChanged(Map context) {
+    String k = key;
+    Object value = (k == null || context == null) ? null : context.get(k);
+    update(value != null && accepts(value.toString()));
+  }
+
+  private static boolean accepts(String value) {
+    Set set = values;
+    return set == null || set.contains(value);
+  }
+
+  private static void update(boolean elevated) {
+    if (elevated) {
+      FLAG.set(Boolean.TRUE);
+    } else if (FLAG.get() != null) {
+      FLAG.set(null);
+    }
+  }
+}
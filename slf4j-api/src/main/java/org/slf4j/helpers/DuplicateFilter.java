@@ -0,0 +1,163 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.helpers;
+
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.spi.EventFilter;
+
+/**
+ * An {@link EventFilter} denying the statements which repeat, within a time
+ * window, a statement of the same logger with the same level, pattern and
+ * arguments. The other statements are neutral.
+ * 
+ * <p>
+ * Recent statements are remembered in a fixed size table indexed by their
+ * hash, a statement evicting the one it collides with. Each entry keeps a
+ * copy of the argument array, and arguments are compared with
+ * <code>equals</code>, so a distinct statement is never denied; the table
+ * thus holds references to the arguments of up to <code>size</code> recent
+ * statements. A statement which is not a duplicate allocates a table entry
+ * and the copy of its arguments, duplicates allocate nothing.
+ * 
+ * @since 1.5.11
+ */
+public final class DuplicateFilter implements EventFilter {
+
+  static final int DEFAULT_SIZE = 256;
+
+  private final long windowMillis;
+  // read and written without locking: entries are immutable, and a race
+  // between two statements at most lets a duplicate through
+  private final Entry[] table;
+  private final int mask;
+
+  public DuplicateFilter(long windowMillis) {
+    this(windowMillis, DEFAULT_SIZE);
+  }
+
+  /**
+   * @param windowMillis
+   *          the number of milliseconds during which repetitions are denied
+   * @param size
+   *          the number of recent statements remembered, rounded up to a
+   *          power of two
+   */
+  public DuplicateFilter(long windowMillis, int size) {
+    if (windowMillis <= 0 || size <= 0) {
+      throw new IllegalArgumentException("Window and size must be positive");
+    }
+    int capacity = 1;
+    while (capacity < size) {
+      capacity <<= 1;
+    }
+    this.windowMillis = windowMillis;
+    this.table = new Entry[capacity];
+    this.mask = capacity - 1;
+  }
+
+  public int decide(Logger logger, int level, Marker marker, String pattern,
+      Object[] args) {
+    String name = logger.getName();
+    int argsHash = hash(args);
+    int hash = (pattern == null ? 0 : pattern.hashCode()) * 31 + argsHash;
+    hash = hash * 31 + level;
+    hash = hash * 31 + (name == null ? 0 : name.hashCode());
+    // spread the high bits into the index
+    int index = (hash ^ (hash >>> 16)) & mask;
+
+    long now = System.currentTimeMillis();
+    Entry entry = table[index];
+    if (entry != null && entry.matches(name, level, pattern, argsHash, args)
+        && now - entry.timestamp < windowMillis) {
+      return DENY;
+    }
+    // copied, as reusable messages recycle their argument arrays
+    Object[] copy = null;
+    if (args != null) {
+      copy = new Object[args.length];
+      System.arraycopy(args, 0, copy, 0, args.length);
+    }
+    table[index] = new Entry(name, level, pattern, argsHash, copy, now);
+    return NEUTRAL;
+  }
+
+  private static int hash(Object[] args) {
+    if (args == null) {
+      return 0;
+    }
+    int hash = 1;
+    for (int i = 0; i < args.length; i++) {
+      Object arg = args[i];
+      hash = hash * 31 + (arg == null ? 0 : arg.hashCode());
+    }
+    return hash;
+  }
+
+  static final class Entry {
+    final String name;
+    final int level;
+    final String pattern;
+    final int argsHash;
+    final Object[] args;
+    final long timestamp;
+
+    Entry(String name, int level, String pattern, int argsHash, Object[] args,
+        long timestamp) {
+      this.name = name;
+      this.level = level;
+      this.pattern = pattern;
+      this.argsHash = argsHash;
+      this.args = args;
+      this.timestamp = timestamp;
+    }
+
+    boolean matches(String name, int level, String pattern, int argsHash,
+        Object[] args) {
+      return this.level == level && this.argsHash == argsHash
+          && equals(this.pattern, pattern) && equals(this.name, name)
+          && equals(this.args, args);
+    }
+
+    private static boolean equals(Object a, Object b) {
+      return a == b || (a != null && a.equals(b));
+    }
+
+    private static boolean equals(Object[] a, Object[] b) {
+      if (a == null || b == null) {
+        return a == b;
+      }
+      if (a.length != b.length) {
+        return false;
+      }
+      for (int i = 0; i < a.length; i++) {
+        if (!equals(a[i], b[i])) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -0,0 +1,196 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.helpers;
+
+/**
+ * Collapses repeated logging events carrying the same exception.
+ * 
+ * <p>
+ * An event is identified by a fingerprint computed from the logger name, the
+ * level, the message pattern, the class of the throwable (and of its causes)
+ * as well as the top frames of its stack trace. Computing the fingerprint
+ * does not render the throwable in any way.
+ * 
+ * <p>
+ * The first occurrence of a fingerprint is expected to be printed in full.
+ * Subsequent occurrences within the configured window are reported by
+ * {@link #collapse(String, int, String, Throwable)} as a short
+ * "repeat #k of &lt;fingerprint&gt;" string which bindings print instead of
+ * the stack trace. Once the window expires, the next occurrence is printed in
+ * full again.
+ * 
+ * <p>
+ * Fingerprints are kept in a fixed size table, a fingerprint colliding with
+ * another one simply evicts it.
+ * 
+ * <p>
+ * This class is intended for internal use by SLF4J bindings.
+ * 
+ * @since 1.5.11
+ */
+public class EventCollapser {
+
+  public static final int DEFAULT_DEPTH = 8;
+
+  static final int TABLE_SIZE = 256;
+
+  private final int depth;
+  private final long windowMillis;
+  private final Entry[] table = new Entry[TABLE_SIZE];
+
+  /**
+   * Create an EventCollapser.
+   * 
+   * @param depth
+   *          the number of stack frames taken into account
+   * @param windowMillis
+   *          the duration during which repetitions are collapsed
+   */
+  public EventCollapser(int depth, long windowMillis) {
+    this.depth = depth;
+    this.windowMillis = windowMillis;
+    for (int i = 0; i < table.length; i++) {
+      table[i] = new Entry();
+    }
+  }
+
+  /**
+   * Create an EventCollapser from configuration values as found in system
+   * properties or property files.
+   * 
+   * @param window
+   *          the window in milliseconds
+   * @param depth
+   *          the number of frames, may be null
+   * @return an EventCollapser, or null if window is missing, invalid or not
+   *         positive, meaning that events should not be collapsed
+   */
+  public static EventCollapser newInstance(String window, String depth) {
+    if (window == null) {
+      return null;
+    }
+    try {
+      long windowMillis = Long.parseLong(window.trim());
+      if (windowMillis <= 0) {
+        return null;
+      }
+      int frames = DEFAULT_DEPTH;
+      if (depth != null) {
+        frames = Integer.parseInt(depth.trim());
+      }
+      return new EventCollapser(frames, windowMillis);
+    } catch (NumberFormatException e) {
+      Util.reportFailure("Invalid event collapsing configuration [" + window
+          + ", " + depth + "]");
+      return null;
+    }
+  }
+
+  /**
+   * Record an event and decide how its throwable should be printed.
+   * 
+   * @param loggerName
+   *          the name of the logger
+   * @param level
+   *          any value telling the levels of the binding apart
+   * @param pattern
+   *          the message pattern, or the message if there is no pattern
+   * @param t
+   *          the throwable of the event
+   * @return null if the throwable should be printed in full, otherwise the
+   *         line to print instead of the stack trace
+   */
+  public String collapse(String loggerName, int level, String pattern,
+      Throwable t) {
+    if (t == null) {
+      return null;
+    }
+    long fingerprint = fingerprint(loggerName, level, pattern, t, depth);
+    int k = occurrence(fingerprint, System.currentTimeMillis());
+    if (k == 1) {
+      return null;
+    }
+    return "repeat #" + k + " of " + t.getClass().getName() + "@"
+        + Long.toHexString(fingerprint);
+  }
+
+  int occurrence(long fingerprint, long now) {
+    Entry entry = table[(int) (fingerprint ^ (fingerprint >>> 32))
+        & (TABLE_SIZE - 1)];
+    synchronized (entry) {
+      if (entry.count != 0 && entry.fingerprint == fingerprint
+          && now - entry.windowStart < windowMillis) {
+        return ++entry.count;
+      }
+      entry.fingerprint = fingerprint;
+      entry.windowStart = now;
+      entry.count = 1;
+      return 1;
+    }
+  }
+
+  /**
+   * Compute the fingerprint of an event from the identity of its throwable,
+   * that is the class names of the throwable and of its first
+   * <code>depth</code> causes and the top stack frames. The stack trace is not
+   * printed. Bounding the causes taken into account also ends the walk of a
+   * cause chain which loops back on itself.
+   */
+  static long fingerprint(String loggerName, int level, String pattern,
+      Throwable t, int depth) {
+    long h = mix(0, hash(loggerName));
+    h = mix(h, level);
+    h = mix(h, hash(pattern));
+    Throwable cause = t;
+    for (int i = 0; cause != null && i <= depth; i++) {
+      h = mix(h, cause.getClass().getName().hashCode());
+      if (cause.getCause() == cause) {
+        break;
+      }
+      cause = cause.getCause();
+    }
+    StackTraceElement[] frames = t.getStackTrace();
+    int len = Math.min(depth, frames.length);
+    for (int i = 0; i < len; i++) {
+      h = mix(h, frames[i].hashCode());
+    }
+    return h;
+  }
+
+  private static int hash(String s) {
+    return (s == null) ? 0 : s.hashCode();
+  }
+
+  private static long mix(long h, int value) {
+    h = (h ^ value) * 0x9E3779B97F4A7C15L;
+    return h ^ (h >>> 29);
+  }
+
+  private static final class Entry {
+    long fingerprint;
+    long windowStart;
+    int count;
+  }
+}
@@ -0,0 +1,57 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.helpers;
+
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.spi.EventFilter;
+
+/**
+ * An {@link EventFilter} consulting a list of filters in order. The first
+ * filter returning {@link EventFilter#DENY} or {@link EventFilter#ACCEPT}
+ * decides, the chain is neutral if all its filters are.
+ * 
+ * @since 1.5.11
+ */
+public final class FilterChain implements EventFilter {
+
+  private final EventFilter[] filters;
+
+  public FilterChain(EventFilter[] filters) {
+    this.filters = new EventFilter[filters.length];
+    System.arraycopy(filters, 0, this.filters, 0, filters.length);
+  }
+
+  public int decide(Logger logger, int level, Marker marker, String pattern,
+      Object[] args) {
+    for (int i = 0; i < filters.length; i++) {
+      int decision = filters[i].decide(logger, level, marker, pattern, args);
+      if (decision != NEUTRAL) {
+        return decision;
+      }
+    }
+    return NEUTRAL;
+  }
+}
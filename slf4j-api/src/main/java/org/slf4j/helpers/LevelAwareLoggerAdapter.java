@@ -0,0 +1,408 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.helpers;
+
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.spi.LevelAwareLogger;
+import org.slf4j.spi.LocationAwareLogger;
+
+/**
+ * Adapts any {@link Logger} to the {@link LevelAwareLogger} interface.
+ * 
+ * <p>
+ * Bridges obtain their logger once through
+ * {@link #getLevelAwareLogger(Logger)}. Bindings implementing
+ * {@link LevelAwareLogger} are returned as they are, so the adapter, and its
+ * switch on the level, is only in the way of older bindings.
+ * 
+ * @since 1.5.11
+ */
+public class LevelAwareLoggerAdapter implements LevelAwareLogger {
+
+  protected final Logger logger;
+  // null unless the adapted logger is location aware
+  private final LocationAwareLogger locationAwareLogger;
+
+  public LevelAwareLoggerAdapter(Logger logger) {
+    this.logger = logger;
+    if (logger instanceof LocationAwareLogger) {
+      locationAwareLogger = (LocationAwareLogger) logger;
+    } else {
+      locationAwareLogger = null;
+    }
+  }
+
+  /**
+   * Return <code>logger</code> itself if it implements
+   * {@link LevelAwareLogger}, an adapter otherwise.
+   */
+  public static LevelAwareLogger getLevelAwareLogger(Logger logger) {
+    if (logger instanceof LevelAwareLogger) {
+      return (LevelAwareLogger) logger;
+    }
+    return new LevelAwareLoggerAdapter(logger);
+  }
+
+  /**
+   * Is <code>logger</code> enabled for the given level? For loggers which are
+   * not known in advance to implement {@link LevelAwareLogger}.
+   */
+  public static boolean isEnabled(Logger logger, int level) {
+    if (logger instanceof LevelAwareLogger) {
+      return ((LevelAwareLogger) logger).isEnabled(level);
+    }
+    switch (level) {
+    case TRACE_INT:
+      return logger.isTraceEnabled();
+    case DEBUG_INT:
+      return logger.isDebugEnabled();
+    case INFO_INT:
+      return logger.isInfoEnabled();
+    case WARN_INT:
+      return logger.isWarnEnabled();
+    case ERROR_INT:
+      return logger.isErrorEnabled();
+    default:
+      throw new IllegalStateException("Level number " + level
+          + " is not recognized.");
+    }
+  }
+
+  /**
+   * Same as {@link #isEnabled(Logger, int)} taking the marker into account.
+   */
+  public static boolean isEnabled(Logger logger, Marker marker, int level) {
+    if (logger instanceof LevelAwareLogger) {
+      return ((LevelAwareLogger) logger).isEnabled(marker, level);
+    }
+    switch (level) {
+    case TRACE_INT:
+      return logger.isTraceEnabled(marker);
+    case DEBUG_INT:
+      return logger.isDebugEnabled(marker);
+    case INFO_INT:
+      return logger.isInfoEnabled(marker);
+    case WARN_INT:
+      return logger.isWarnEnabled(marker);
+    case ERROR_INT:
+      return logger.isErrorEnabled(marker);
+    default:
+      throw new IllegalStateException("Level number " + level
+          + " is not recognized.");
+    }
+  }
+
+  /**
+   * Return the adapted logger.
+   */
+  public Logger getLogger() {
+    return logger;
+  }
+
+  public boolean isEnabled(int level) {
+    return isEnabled(logger, level);
+  }
+
+  public boolean isEnabled(Marker marker, int level) {
+    return isEnabled(logger, marker, level);
+  }
+
+  /**
+   * Delegate to the adapted logger, which cannot honor <code>fqcn</code>
+   * unless it is location aware.
+   */
+  public void log(Marker marker, String fqcn, int level, String message,
+      Throwable t) {
+    if (locationAwareLogger != null) {
+      locationAwareLogger.log(marker, fqcn, level, message, t);
+      return;
+    }
+    switch (level) {
+    case TRACE_INT:
+      logger.trace(marker, message, t);
+      break;
+    case DEBUG_INT:
+      logger.debug(marker, message, t);
+      break;
+    case INFO_INT:
+      logger.info(marker, message, t);
+      break;
+    case WARN_INT:
+      logger.warn(marker, message, t);
+      break;
+    case ERROR_INT:
+      logger.error(marker, message, t);
+      break;
+    default:
+      throw new IllegalStateException("Level number " + level
+          + " is not recognized.");
+    }
+  }
+
+  public String getName() {
+    return logger.getName();
+  }
+
+  public boolean isTraceEnabled() {
+    return logger.isTraceEnabled();
+  }
+
+  public void trace(String msg) {
+    logger.trace(msg);
+  }
+
+  public void trace(String format, Object arg) {
+    logger.trace(format, arg);
+  }
+
+  public void trace(String format, Object arg1, Object arg2) {
+    logger.trace(format, arg1, arg2);
+  }
+
+  public void trace(String format, Object[] argArray) {
+    logger.trace(format, argArray);
+  }
+
+  public void trace(String msg, Throwable t) {
+    logger.trace(msg, t);
+  }
+
+  public boolean isTraceEnabled(Marker marker) {
+    return logger.isTraceEnabled(marker);
+  }
+
+  public void trace(Marker marker, String msg) {
+    logger.trace(marker, msg);
+  }
+
+  public void trace(Marker marker, String format, Object arg) {
+    logger.trace(marker, format, arg);
+  }
+
+  public void trace(Marker marker, String format, Object arg1, Object arg2) {
+    logger.trace(marker, format, arg1, arg2);
+  }
+
+  public void trace(Marker marker, String format, Object[] argArray) {
+    logger.trace(marker, format, argArray);
+  }
+
+  public void trace(Marker marker, String msg, Throwable t) {
+    logger.trace(marker, msg, t);
+  }
+
+  public boolean isDebugEnabled() {
+    return logger.isDebugEnabled();
+  }
+
+  public void debug(String msg) {
+    logger.debug(msg);
+  }
+
+  public void debug(String format, Object arg) {
+    logger.debug(format, arg);
+  }
+
+  public void debug(String format, Object arg1, Object arg2) {
+    logger.debug(format, arg1, arg2);
+  }
+
+  public void debug(String format, Object[] argArray) {
+    logger.debug(format, argArray);
+  }
+
+  public void debug(String msg, Throwable t) {
+    logger.debug(msg, t);
+  }
+
+  public boolean isDebugEnabled(Marker marker) {
+    return logger.isDebugEnabled(marker);
+  }
+
+  public void debug(Marker marker, String msg) {
+    logger.debug(marker, msg);
+  }
+
+  public void debug(Marker marker, String format, Object arg) {
+    logger.debug(marker, format, arg);
+  }
+
+  public void debug(Marker marker, String format, Object arg1, Object arg2) {
+    logger.debug(marker, format, arg1, arg2);
+  }
+
+  public void debug(Marker marker, String format, Object[] argArray) {
+    logger.debug(marker, format, argArray);
+  }
+
+  public void debug(Marker marker, String msg, Throwable t) {
+    logger.debug(marker, msg, t);
+  }
+
+  public boolean isInfoEnabled() {
+    return logger.isInfoEnabled();
+  }
+
+  public void info(String msg) {
+    logger.info(msg);
+  }
+
+  public void info(String format, Object arg) {
+    logger.info(format, arg);
+  }
+
+  public void info(String format, Object arg1, Object arg2) {
+    logger.info(format, arg1, arg2);
+  }
+
+  public void info(String format, Object[] argArray) {
+    logger.info(format, argArray);
+  }
+
+  public void info(String msg, Throwable t) {
+    logger.info(msg, t);
+  }
+
+  public boolean isInfoEnabled(Marker marker) {
+    return logger.isInfoEnabled(marker);
+  }
+
+  public void info(Marker marker, String msg) {
+    logger.info(marker, msg);
+  }
+
+  public void info(Marker marker, String format, Object arg) {
+    logger.info(marker, format, arg);
+  }
+
+  public void info(Marker marker, String format, Object arg1, Object arg2) {
+    logger.info(marker, format, arg1, arg2);
+  }
+
+  public void info(Marker marker, String format, Object[] argArray) {
+    logger.info(marker, format, argArray);
+  }
+
+  public void info(Marker marker, String msg, Throwable t) {
+    logger.info(marker, msg, t);
+  }
+
+  public boolean isWarnEnabled() {
+    return logger.isWarnEnabled();
+  }
+
+  public void warn(String msg) {
+    logger.warn(msg);
+  }
+
+  public void warn(String format, Object arg) {
+    logger.warn(format, arg);
+  }
+
+  public void warn(String format, Object[] argArray) {
+    logger.warn(format, argArray);
+  }
+
+  public void warn(String format, Object arg1, Object arg2) {
+    logger.warn(format, arg1, arg2);
+  }
+
+  public void warn(String msg, Throwable t) {
+    logger.warn(msg, t);
+  }
+
+  public boolean isWarnEnabled(Marker marker) {
+    return logger.isWarnEnabled(marker);
+  }
+
+  public void warn(Marker marker, String msg) {
+    logger.warn(marker, msg);
+  }
+
+  public void warn(Marker marker, String format, Object arg) {
+    logger.warn(marker, format, arg);
+  }
+
+  public void warn(Marker marker, String format, Object arg1, Object arg2) {
+    logger.warn(marker, format, arg1, arg2);
+  }
+
+  public void warn(Marker marker, String format, Object[] argArray) {
+    logger.warn(marker, format, argArray);
+  }
+
+  public void warn(Marker marker, String msg, Throwable t) {
+    logger.warn(marker, msg, t);
+  }
+
+  public boolean isErrorEnabled() {
+    return logger.isErrorEnabled();
+  }
+
+  public void error(String msg) {
+    logger.error(msg);
+  }
+
+  public void error(String format, Object arg) {
+    logger.error(format, arg);
+  }
+
+  public void error(String format, Object arg1, Object arg2) {
+    logger.error(format, arg1, arg2);
+  }
+
+  public void error(String format, Object[] argArray) {
+    logger.error(format, argArray);
+  }
+
+  public void error(String msg, Throwable t) {
+    logger.error(msg, t);
+  }
+
+  public boolean isErrorEnabled(Marker marker) {
+    return logger.isErrorEnabled(marker);
+  }
+
+  public void error(Marker marker, String msg) {
+    logger.error(marker, msg);
+  }
+
+  public void error(Marker marker, String format, Object arg) {
+    logger.error(marker, format, arg);
+  }
+
+  public void error(Marker marker, String format, Object arg1, Object arg2) {
+    logger.error(marker, format, arg1, arg2);
+  }
+
+  public void error(Marker marker, String format, Object[] argArray) {
+    logger.error(marker, format, argArray);
+  }
+
+  public void error(Marker marker, String msg, Throwable t) {
+    logger.error(marker, msg, t);
+  }
+}
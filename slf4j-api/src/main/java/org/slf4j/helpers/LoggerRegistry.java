@@ -0,0 +1,339 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.helpers;
+
+/**
+ * Loggers, or any other objects, registered by logger name in a tree of
+ * name segments, for binding factories holding many loggers.
+ * 
+ * <p>
+ * The names are split at their dots: "org.slf4j.Foo" is the child "Foo" of
+ * the child "slf4j" of the child "org" of the root node, whose name is the
+ * empty string. The segments are interned, so that the registry keeps a
+ * single copy of common prefixes and of recurring segments, such as the
+ * version numbers in OSGi logger names, and no full name at all.
+ * 
+ * <p>
+ * Each node also holds a level, by default {@link #LEVEL_UNSET}, which
+ * applies to its whole subtree unless a descendant sets another one. The
+ * effective level of a node is resolved by walking its ancestors once, then
+ * cached until a level changes anywhere in the registry.
+ * 
+ * <p>
+ * {@link #get(String)} and the level lookups take no lock; a name missing
+ * from the registry may thus still be returned as <code>null</code> shortly
+ * after being registered by another thread, as with a double-checked map.
+ * Registrations and level changes are synchronized on the registry.
+ * 
+ * @since 1.5.11
+ */
+public final class LoggerRegistry {
+
+  /**
+   * The level of a node on which no level was set.
+   */
+  public static final int LEVEL_UNSET = -1;
+
+  static final int INITIAL_CAPACITY = 2;
+
+  private final Node root = new Node(null, "");
+
+  // incremented on every level change, invalidating the effective levels
+  // cached by the nodes
+  private volatile int generation = 1;
+
+  private int size;
+
+  /**
+   * A logger name and the values registered for it.
+   */
+  public static final class Node {
+
+    private final Node parent;
+    private final String segment;
+    private final int hash;
+
+    // open addressing on the hash code of the segments, null until the first
+    // child is added; published again on every addition
+    private volatile Node[] children;
+    private int childCount;
+
+    private volatile Object value;
+    private volatile int level = LEVEL_UNSET;
+    // the registry generation in the high word, the effective level in the
+    // low word
+    private volatile long effectiveLevel;
+
+    Node(Node parent, String segment) {
+      this.parent = parent;
+      this.segment = segment;
+      this.hash = segment.hashCode();
+    }
+
+    /**
+     * Return the parent node, or <code>null</code> for the root node.
+     */
+    public Node getParent() {
+      return parent;
+    }
+
+    /**
+     * Return the full name of this node, built from the segments.
+     */
+    public String getName() {
+      if (parent == null) {
+        return segment;
+      }
+      StringBuffer sb = new StringBuffer();
+      appendName(sb);
+      return sb.toString();
+    }
+
+    private void appendName(StringBuffer sb) {
+      if (parent.parent != null) {
+        parent.appendName(sb);
+        sb.append('.');
+      }
+      sb.append(segment);
+    }
+
+    /**
+     * Return the object registered under the name of this node, or
+     * <code>null</code>.
+     */
+    public Object getValue() {
+      return value;
+    }
+
+    /**
+     * Return the level set on this node, or {@link #LEVEL_UNSET}.
+     */
+    public int getLevel() {
+      return level;
+    }
+
+    Node child(String name, int start, int end) {
+      Node[] table = children;
+      if (table == null) {
+        return null;
+      }
+      int hash = hash(name, start, end);
+      int mask = table.length - 1;
+      int len = end - start;
+      // the table is never full, even as seen by a racing reader
+      for (int i = spread(hash) & mask;; i = (i + 1) & mask) {
+        Node child = table[i];
+        if (child == null) {
+          return null;
+        }
+        if (child.hash == hash && child.segment.length() == len
+            && name.regionMatches(start, child.segment, 0, len)) {
+          return child;
+        }
+      }
+    }
+
+    // called with the registry lock held
+    void add(Node child) {
+      Node[] table = children;
+      if (table == null) {
+        table = new Node[INITIAL_CAPACITY];
+      } else if ((childCount + 1) * 4 > table.length * 3) {
+        Node[] old = table;
+        table = new Node[old.length * 2];
+        for (int i = 0; i < old.length; i++) {
+          if (old[i] != null) {
+            insert(table, old[i]);
+          }
+        }
+      }
+      insert(table, child);
+      childCount++;
+      children = table;
+    }
+
+    private static void insert(Node[] table, Node child) {
+      int mask = table.length - 1;
+      int i = spread(child.hash) & mask;
+      while (table[i] != null) {
+        i = (i + 1) & mask;
+      }
+      table[i] = child;
+    }
+  }
+
+  /**
+   * Return the hash code of <code>name.substring(start, end)</code> without
+   * creating the substring.
+   */
+  static int hash(String name, int start, int end) {
+    int h = 0;
+    for (int i = start; i < end; i++) {
+      h = 31 * h + name.charAt(i);
+    }
+    return h;
+  }
+
+  static int spread(int h) {
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * Return the object registered under <code>name</code>, or
+   * <code>null</code>.
+   */
+  public Object get(String name) {
+    Node node = find(name, false);
+    return node == null ? null : node.value;
+  }
+
+  /**
+   * Register <code>value</code> under <code>name</code>, replacing the
+   * object registered before, if any.
+   * 
+   * @return the node of <code>name</code>
+   */
+  public synchronized Node put(String name, Object value) {
+    Node node = node(name);
+    if (node.value == null) {
+      size++;
+    }
+    node.value = value;
+    return node;
+  }
+
+  /**
+   * Return the node of <code>name</code>, or <code>null</code> if neither an
+   * object nor a level was registered under <code>name</code> or one of its
+   * descendants.
+   */
+  public Node getNode(String name) {
+    return find(name, false);
+  }
+
+  /**
+   * Return the number of names an object is registered under.
+   */
+  public synchronized int size() {
+    return size;
+  }
+
+  /**
+   * Set the level of <code>name</code> and of the descendants of
+   * <code>name</code> without a level of their own.
+   * 
+   * @param level
+   *          the level, or {@link #LEVEL_UNSET} to inherit the level of the
+   *          parent again
+   */
+  public synchronized void setLevel(String name, int level) {
+    node(name).level = level;
+    generation++;
+  }
+
+  /**
+   * Return the level of the closest ancestor of <code>name</code>, or of
+   * <code>name</code> itself, with a level set, or {@link #LEVEL_UNSET}.
+   */
+  public int getEffectiveLevel(String name) {
+    return getEffectiveLevel(find(name, true));
+  }
+
+  /**
+   * Return the level of the closest ancestor of <code>node</code>, or of
+   * <code>node</code> itself, with a level set, or {@link #LEVEL_UNSET}.
+   */
+  public int getEffectiveLevel(Node node) {
+    return effectiveLevel(node, generation);
+  }
+
+  private static int effectiveLevel(Node node, int generation) {
+    long cached = node.effectiveLevel;
+    if ((int) (cached >>> 32) == generation) {
+      return (int) cached;
+    }
+    int level = node.level;
+    if (level == LEVEL_UNSET && node.parent != null) {
+      level = effectiveLevel(node.parent, generation);
+    }
+    node.effectiveLevel = ((long) generation << 32) | (level & 0xFFFFFFFFL);
+    return level;
+  }
+
+  /**
+   * Return the node of <code>name</code>; if it does not exist, the closest
+   * existing ancestor if <code>closest</code> is true, <code>null</code>
+   * otherwise.
+   */
+  private Node find(String name, boolean closest) {
+    Node node = root;
+    int length = name.length();
+    if (length == 0) {
+      return node;
+    }
+    int start = 0;
+    while (true) {
+      int end = name.indexOf('.', start);
+      if (end == -1) {
+        end = length;
+      }
+      Node child = node.child(name, start, end);
+      if (child == null) {
+        return closest ? node : null;
+      }
+      if (end == length) {
+        return child;
+      }
+      node = child;
+      start = end + 1;
+    }
+  }
+
+  // called with the registry lock held
+  private Node node(String name) {
+    Node node = root;
+    int length = name.length();
+    if (length == 0) {
+      return node;
+    }
+    int start = 0;
+    while (true) {
+      int end = name.indexOf('.', start);
+      if (end == -1) {
+        end = length;
+      }
+      Node child = node.child(name, start, end);
+      if (child == null) {
+        child = new Node(node, name.substring(start, end).intern());
+        node.add(child);
+      }
+      if (end == length) {
+        return child;
+      }
+      node = child;
+      start = end + 1;
+    }
+  }
+}
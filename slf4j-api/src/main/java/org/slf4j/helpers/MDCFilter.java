@@ -0,0 +1,76 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.helpers;
+
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+import org.slf4j.spi.EventFilter;
+
+/**
+ * An {@link EventFilter} matching the statements logged while the MDC of the
+ * logging thread has a given key, optionally with a given value.
+ * 
+ * @since 1.5.11
+ */
+public final class MDCFilter implements EventFilter {
+
+  private final String key;
+  private final String value;
+  private final int onMatch;
+  private final int onMismatch;
+
+  /**
+   * @param key
+   *          the MDC key
+   * @param value
+   *          the value the key must have, null for any value
+   * @param onMatch
+   *          the decision for matching statements
+   * @param onMismatch
+   *          the decision for the other statements
+   */
+  public MDCFilter(String key, String value, int onMatch, int onMismatch) {
+    if (key == null) {
+      throw new IllegalArgumentException("Key cannot be null");
+    }
+    this.key = key;
+    this.value = value;
+    this.onMatch = onMatch;
+    this.onMismatch = onMismatch;
+  }
+
+  public int decide(Logger logger, int level, Marker marker, String pattern,
+      Object[] args) {
+    String actual = MDC.get(key);
+    if (actual == null) {
+      return onMismatch;
+    }
+    if (value == null || value.equals(actual)) {
+      return onMatch;
+    }
+    return onMismatch;
+  }
+}
@@ -0,0 +1,81 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.helpers;
+
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+import org.slf4j.spi.EventFilter;
+
+/**
+ * An {@link EventFilter} matching the statements whose marker is, or
+ * references, a given marker.
+ * 
+ * <p>
+ * The marker is resolved once, when the filter is created. Markers obtained
+ * from the same {@link org.slf4j.IMarkerFactory} are unique per name, so
+ * that a statement carrying the marker itself is recognized by identity,
+ * without walking the references of its marker.
+ * 
+ * @since 1.5.11
+ */
+public final class MarkerFilter implements EventFilter {
+
+  private final Marker marker;
+  private final int onMatch;
+  private final int onMismatch;
+
+  /**
+   * @param markerName
+   *          the name of the marker to match
+   * @param onMatch
+   *          the decision for matching statements
+   * @param onMismatch
+   *          the decision for the other statements
+   */
+  public MarkerFilter(String markerName, int onMatch, int onMismatch) {
+    this(MarkerFactory.getMarker(markerName), onMatch, onMismatch);
+  }
+
+  public MarkerFilter(Marker marker, int onMatch, int onMismatch) {
+    if (marker == null) {
+      throw new IllegalArgumentException("Marker cannot be null");
+    }
+    this.marker = marker;
+    this.onMatch = onMatch;
+    this.onMismatch = onMismatch;
+  }
+
+  public int decide(Logger logger, int level, Marker statementMarker,
+      String pattern, Object[] args) {
+    if (statementMarker == null) {
+      return onMismatch;
+    }
+    if (statementMarker == marker || statementMarker.contains(marker)) {
+      return onMatch;
+    }
+    return onMismatch;
+  }
+}
@@ -168,6 +168,10 @@ final public class MessageFormatter {
     if (argArray == null) {
       return messagePattern;
     }
+    String[] segments = PatternTable.getSegments(messagePattern);
+    if (segments != null) {
+      return segmentFormat(segments, argArray);
+    }
     int i = 0;
     int j;
     StringBuffer sbuf = new StringBuffer(messagePattern.length() + 50);
@@ -213,6 +217,24 @@ final public class MessageFormatter {
     return sbuf.toString();
   }
 
+  // the pattern was split at build time, see PatternTable
+  private static String segmentFormat(String[] segments, Object[] argArray) {
+    if (segments.length == 1) {
+      return segments[0];
+    }
+    StringBuffer sbuf = new StringBuffer(segments[0].length() + 50);
+    sbuf.append(segments[0]);
+    for (int L = 1; L < segments.length; L++) {
+      if (L <= argArray.length) {
+        deeplyAppendParameter(sbuf, argArray[L - 1], new HashMap());
+      } else {
+        sbuf.append(DELIM_STR);
+      }
+      sbuf.append(segments[L]);
+    }
+    return sbuf.toString();
+  }
+
   final static boolean isEscapedDelimeter(String messagePattern,
       int delimeterStartIndex) {
 
@@ -34,7 +34,9 @@
 package org.slf4j.helpers;
 
 import org.slf4j.Logger;
+import org.slf4j.Marker;
 import org.slf4j.helpers.MarkerIgnoringBase;
+import org.slf4j.spi.LevelAwareLogger;
 
 
 /**
@@ -42,7 +44,7 @@ import org.slf4j.helpers.MarkerIgnoringBase;
  *
  * @author Ceki G&uuml;lc&uuml;
  */
-public class NOPLogger extends MarkerIgnoringBase {
+public class NOPLogger extends MarkerIgnoringBase implements LevelAwareLogger {
 
   private static final long serialVersionUID = -517220405410904473L;
 
@@ -235,4 +237,25 @@ public class NOPLogger extends MarkerIgnoringBase {
   final public void error(String msg, Throwable t) {
     // NOP
   }
+
+  /**
+   * Always returns false.
+   * @return always false
+   */
+  final public boolean isEnabled(int level) {
+    return false;
+  }
+
+  /**
+   * Always returns false.
+   * @return always false
+   */
+  final public boolean isEnabled(Marker marker, int level) {
+    return false;
+  }
+
+  /** A NOP implementation. */
+  final public void log(Marker marker, String fqcn, int level, String message, Throwable t) {
+    // NOP
+  }
 }
@@ -0,0 +1,154 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.helpers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Message patterns split ahead of time at their placeholders, looked up by
+ * identity so that formatting a constant pattern needs no scanning.
+ * 
+ * <p>
+ * Tables are generated at build time by the pattern processor of the
+ * slf4j-processor module, which lists them in
+ * <code>META-INF/slf4j/pattern-tables</code> resources. The classes named
+ * there are initialized when this class is, and register their patterns with
+ * {@link #register(String[][])}. Since string literals are interned, the
+ * patterns of the table are the very instances passed to the logger by the
+ * code it was generated from; any other string, even if equal, is scanned as
+ * usual.
+ * 
+ * <p>
+ * Only patterns without escape characters are tabled, so that the
+ * segments are the same for {@link MessageFormatter} and
+ * {@link org.slf4j.message.ParameterizedMessage}.
+ * 
+ * @since 1.5.11
+ */
+public final class PatternTable {
+
+  static final String TABLES_RESOURCE = "META-INF/slf4j/pattern-tables";
+
+  // pattern -> segments, copied on write; null while empty
+  private static volatile Map table;
+
+  // the tables already registered
+  private static final Set loaded = new HashSet();
+
+  static {
+    loadTables(PatternTable.class.getClassLoader());
+    try {
+      loadTables(Thread.currentThread().getContextClassLoader());
+    } catch (SecurityException e) {
+      // the context class loader is out of reach
+    }
+  }
+
+  private PatternTable() {
+  }
+
+  /**
+   * Return the segments of <code>pattern</code>, the text between its
+   * placeholders, or null if the pattern is not tabled. There is one segment
+   * more than there are placeholders.
+   */
+  public static String[] getSegments(String pattern) {
+    Map t = table;
+    if (t == null) {
+      return null;
+    }
+    return (String[]) t.get(pattern);
+  }
+
+  /**
+   * Register patterns and their segments.
+   * 
+   * @param patterns
+   *          arrays holding a pattern followed by its segments
+   */
+  public static synchronized void register(String[][] patterns) {
+    Map copy = (table == null) ? new IdentityHashMap() : new IdentityHashMap(
+        table);
+    for (int i = 0; i < patterns.length; i++) {
+      String[] row = patterns[i];
+      String[] segments = new String[row.length - 1];
+      System.arraycopy(row, 1, segments, 0, segments.length);
+      copy.put(row[0], segments);
+    }
+    table = copy;
+  }
+
+  /**
+   * Initialize the tables listed by the resources visible from
+   * <code>loader</code>.
+   */
+  public static synchronized void loadTables(ClassLoader loader) {
+    if (loader == null) {
+      loader = ClassLoader.getSystemClassLoader();
+    }
+    try {
+      Enumeration resources = loader.getResources(TABLES_RESOURCE);
+      while (resources.hasMoreElements()) {
+        URL url = (URL) resources.nextElement();
+        InputStream in = url.openStream();
+        try {
+          BufferedReader reader = new BufferedReader(new InputStreamReader(in,
+              "UTF-8"));
+          String name;
+          while ((name = reader.readLine()) != null) {
+            name = name.trim();
+            if (name.length() > 0 && loaded.add(name)) {
+              loadTable(name, loader);
+            }
+          }
+        } finally {
+          in.close();
+        }
+      }
+    } catch (IOException e) {
+      Util.reportFailure("Failed to read " + TABLES_RESOURCE, e);
+    }
+  }
+
+  private static void loadTable(String name, ClassLoader loader) {
+    try {
+      // the generated class registers its patterns when initialized
+      Class.forName(name, true, loader);
+    } catch (ClassNotFoundException e) {
+      Util.reportFailure("Pattern table [" + name + "] not found", e);
+    } catch (LinkageError e) {
+      Util.reportFailure("Failed to load pattern table [" + name + "]", e);
+    }
+  }
+}
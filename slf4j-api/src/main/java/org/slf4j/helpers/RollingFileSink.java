@@ -0,0 +1,539 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.helpers;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A log file which is rolled over when it grows past a given size or when a
+ * given period has elapsed, for bindings which otherwise write to
+ * <code>System.err</code>.
+ * 
+ * <p>
+ * On roll over the active file is closed and renamed to
+ * <code>&lt;file&gt;.&lt;yyyyMMdd-HHmmss&gt;</code>, the time at which it was
+ * opened, and a new active file is opened. Everything else, compressing the
+ * rolled file to <code>.gz</code>, forcing it to disk and deleting the files
+ * exceeding the retention limits, is left to a background thread of minimum
+ * priority: the logging thread only pays for the rename.
+ * 
+ * <p>
+ * Compression goes through a temporary <code>.gz.tmp</code> file which is
+ * renamed once complete, and the uncompressed file is only deleted then, so
+ * that a crash never loses a rolled file. Leftovers of an interrupted
+ * compression are taken care of when the sink is next opened.
+ * 
+ * @since 1.5.11
+ */
+public class RollingFileSink {
+
+  static final String GZ_SUFFIX = ".gz";
+  static final String TMP_SUFFIX = ".tmp";
+
+  private static final long KB = 1024;
+  private static final long HOUR = 60 * 60 * 1000L;
+
+  private final File file;
+  private final long maxFileSize;
+  private final long rollPeriod;
+  private final int maxHistory;
+  private final long maxTotalSize;
+  private final boolean compress;
+
+  static final String ROLLED_NAME_PATTERN = "yyyyMMdd-HHmmss";
+
+  private final SimpleDateFormat rolledNameFormat = new SimpleDateFormat(
+      ROLLED_NAME_PATTERN);
+  private final CountingOutputStream counter = new CountingOutputStream();
+  private final PrintStream out = new PrintStream(counter);
+
+  private long openTime;
+  private long nextRollTime;
+
+  // rolled files waiting for the background thread, guarded by itself
+  private final LinkedList queue = new LinkedList();
+  private Thread worker;
+  private volatile boolean closed;
+
+  /**
+   * Open <code>file</code> for appending.
+   * 
+   * @param file
+   *          the active log file
+   * @param maxFileSize
+   *          the size in bytes past which the file is rolled, 0 for no limit
+   * @param rollPeriod
+   *          the period in milliseconds after which the file is rolled, 0 for
+   *          no limit; periods are aligned on the local time, so that a
+   *          period of one day rolls at midnight
+   * @param maxHistory
+   *          the number of rolled files to keep, 0 for no limit
+   * @param maxTotalSize
+   *          the total size in bytes of the rolled files to keep, 0 for no
+   *          limit
+   * @param compress
+   *          whether rolled files are compressed
+   * @throws IOException
+   *           if the file cannot be opened
+   */
+  public RollingFileSink(File file, long maxFileSize, long rollPeriod,
+      int maxHistory, long maxTotalSize, boolean compress) throws IOException {
+    this.file = file.getAbsoluteFile();
+    this.maxFileSize = maxFileSize;
+    this.rollPeriod = rollPeriod;
+    this.maxHistory = maxHistory;
+    this.maxTotalSize = maxTotalSize;
+    this.compress = compress;
+
+    File dir = this.file.getParentFile();
+    if (dir != null && !dir.isDirectory()) {
+      dir.mkdirs();
+    }
+    long now = System.currentTimeMillis();
+    open(this.file.exists() ? this.file.lastModified() : now, now);
+    // finish what a previous run may have left
+    if (compress || maxHistory > 0 || maxTotalSize > 0) {
+      enqueue(null);
+    }
+  }
+
+  /**
+   * Create a RollingFileSink from configuration values as found in system
+   * properties or property files. Sizes are in bytes, or in kilobytes,
+   * megabytes or gigabytes with a KB, MB or GB suffix. The period is in
+   * milliseconds, or one of "hourly" and "daily".
+   * 
+   * @param fileName
+   *          the active log file, may be null
+   * @param maxFileSize
+   *          the maximum size of the active file, may be null
+   * @param rollPeriod
+   *          the period after which the active file is rolled, may be null
+   * @param maxHistory
+   *          the number of rolled files to keep, may be null
+   * @param maxTotalSize
+   *          the total size of the rolled files to keep, may be null
+   * @param compress
+   *          "false" to keep rolled files uncompressed, may be null
+   * @return a RollingFileSink, or null if fileName is missing or the
+   *         configuration is invalid, meaning that events should go to
+   *         <code>System.err</code>
+   */
+  public static RollingFileSink newInstance(String fileName,
+      String maxFileSize, String rollPeriod, String maxHistory,
+      String maxTotalSize, String compress) {
+    if (fileName == null || fileName.trim().length() == 0) {
+      return null;
+    }
+    try {
+      return new RollingFileSink(new File(fileName.trim()),
+          parseSize(maxFileSize), parsePeriod(rollPeriod),
+          maxHistory == null ? 0 : Integer.parseInt(maxHistory.trim()),
+          parseSize(maxTotalSize), !"false".equalsIgnoreCase(compress));
+    } catch (NumberFormatException e) {
+      Util.reportFailure("Invalid rolling file configuration [" + maxFileSize
+          + ", " + rollPeriod + ", " + maxHistory + ", " + maxTotalSize + "]");
+    } catch (IOException e) {
+      Util.reportFailure("Failed to open log file [" + fileName + "]", e);
+    }
+    return null;
+  }
+
+  static long parseSize(String value) {
+    if (value == null) {
+      return 0;
+    }
+    String s = value.trim().toUpperCase();
+    long unit = 1;
+    if (s.endsWith("KB")) {
+      unit = KB;
+    } else if (s.endsWith("MB")) {
+      unit = KB * KB;
+    } else if (s.endsWith("GB")) {
+      unit = KB * KB * KB;
+    }
+    if (unit != 1) {
+      s = s.substring(0, s.length() - 2).trim();
+    }
+    return Long.parseLong(s) * unit;
+  }
+
+  static long parsePeriod(String value) {
+    if (value == null) {
+      return 0;
+    }
+    String s = value.trim();
+    if ("hourly".equalsIgnoreCase(s)) {
+      return HOUR;
+    } else if ("daily".equalsIgnoreCase(s)) {
+      return 24 * HOUR;
+    }
+    return Long.parseLong(s);
+  }
+
+  /**
+   * Return the active log file.
+   */
+  public File getFile() {
+    return file;
+  }
+
+  /**
+   * Write an event, rolling the file over first if needed. The event is
+   * flushed to the operating system, but not forced to disk.
+   * 
+   * @param event
+   *          the formatted event, line separator included
+   * @param t
+   *          a throwable whose stack trace follows the event, may be null
+   */
+  public void write(String event, Throwable t) {
+    write(event, t, System.currentTimeMillis());
+  }
+
+  synchronized void write(String event, Throwable t, long now) {
+    if (closed) {
+      return;
+    }
+    if ((rollPeriod > 0 && now >= nextRollTime)
+        || (maxFileSize > 0 && counter.count > 0 && counter.count
+            + event.length() > maxFileSize)) {
+      roll(now);
+    }
+    out.print(event);
+    if (t != null) {
+      t.printStackTrace(out);
+    }
+    out.flush();
+  }
+
+  /**
+   * Close the active file and wait for the background thread to finish with
+   * the rolled files, for at most <code>timeout</code> milliseconds.
+   */
+  public void close(long timeout) {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      out.close();
+    }
+    Thread t;
+    synchronized (queue) {
+      t = worker;
+      queue.notifyAll();
+    }
+    if (t != null) {
+      try {
+        t.join(timeout);
+      } catch (InterruptedException e) {
+        // give up waiting
+      }
+    }
+  }
+
+  private void open(long openTime, long now) throws IOException {
+    counter.target = new BufferedOutputStream(new FileOutputStream(file
+        .getPath(), true), (int) (8 * KB));
+    counter.count = file.length();
+    this.openTime = openTime;
+    this.nextRollTime = rollPeriod > 0 ? nextRollTime(now, rollPeriod)
+        : Long.MAX_VALUE;
+  }
+
+  /**
+   * Return the first time after <code>now</code> which is a multiple of
+   * <code>period</code> in local time.
+   */
+  static long nextRollTime(long now, long period) {
+    Calendar calendar = Calendar.getInstance();
+    calendar.setTime(new Date(now));
+    long offset = calendar.get(Calendar.ZONE_OFFSET)
+        + calendar.get(Calendar.DST_OFFSET);
+    return ((now + offset) / period + 1) * period - offset;
+  }
+
+  private void roll(long now) {
+    out.flush();
+    try {
+      counter.target.close();
+    } catch (IOException e) {
+      Util.reportFailure("Failed to close log file [" + file + "]", e);
+    }
+    File rolled = rolledFile();
+    if (!file.renameTo(rolled)) {
+      Util.reportFailure("Failed to rename [" + file + "] to [" + rolled
+          + "], appending to it");
+      rolled = null;
+    }
+    try {
+      open(now, now);
+    } catch (IOException e) {
+      Util.reportFailure("Failed to open log file [" + file + "]", e);
+      counter.target = new NullOutputStream();
+    }
+    if (rolled != null) {
+      enqueue(rolled);
+    }
+  }
+
+  private File rolledFile() {
+    String base = file.getPath() + "."
+        + rolledNameFormat.format(new Date(openTime));
+    File rolled = new File(base);
+    for (int i = 1; rolled.exists() || new File(rolled + GZ_SUFFIX).exists(); i++) {
+      rolled = new File(base + "-" + i);
+    }
+    return rolled;
+  }
+
+  private void enqueue(File rolled) {
+    synchronized (queue) {
+      queue.addLast(rolled);
+      if (worker == null) {
+        worker = new Thread(new Runnable() {
+          public void run() {
+            processQueue();
+          }
+        }, "RollingFileSink-" + file.getName());
+        worker.setDaemon(true);
+        worker.setPriority(Thread.MIN_PRIORITY);
+        worker.start();
+      }
+      queue.notifyAll();
+    }
+  }
+
+  private void processQueue() {
+    while (true) {
+      File rolled;
+      synchronized (queue) {
+        while (queue.isEmpty()) {
+          if (closed) {
+            worker = null;
+            return;
+          }
+          try {
+            queue.wait();
+          } catch (InterruptedException e) {
+            worker = null;
+            return;
+          }
+        }
+        rolled = (File) queue.removeFirst();
+      }
+      try {
+        if (rolled == null) {
+          recover();
+        } else if (compress) {
+          compress(rolled);
+        }
+        enforceRetention();
+      } catch (IOException e) {
+        Util.reportFailure("Failed to process rolled log file [" + rolled
+            + "]", e);
+      }
+    }
+  }
+
+  // compress the files rolled but left uncompressed by a previous run
+  private void recover() throws IOException {
+    File[] files = listRolledFiles(true);
+    for (int i = 0; i < files.length; i++) {
+      String name = files[i].getName();
+      if (name.endsWith(TMP_SUFFIX)) {
+        files[i].delete();
+      } else if (compress && !name.endsWith(GZ_SUFFIX)) {
+        compress(files[i]);
+      }
+    }
+  }
+
+  static void compress(File rolled) throws IOException {
+    if (!rolled.exists()) {
+      // already compressed on recovery, or deleted by retention
+      return;
+    }
+    File gz = new File(rolled + GZ_SUFFIX);
+    File tmp = new File(gz + TMP_SUFFIX);
+    InputStream in = new FileInputStream(rolled);
+    FileOutputStream fos = null;
+    try {
+      fos = new FileOutputStream(tmp);
+      GZIPOutputStream gzos = new GZIPOutputStream(fos, (int) (8 * KB));
+      byte[] buf = new byte[(int) (8 * KB)];
+      int n;
+      while ((n = in.read(buf)) != -1) {
+        gzos.write(buf, 0, n);
+      }
+      gzos.finish();
+      gzos.flush();
+      fos.getFD().sync();
+    } finally {
+      in.close();
+      if (fos != null) {
+        fos.close();
+      }
+    }
+    if (!tmp.renameTo(gz)) {
+      tmp.delete();
+      throw new IOException("Failed to rename [" + tmp + "] to [" + gz + "]");
+    }
+    rolled.delete();
+  }
+
+  private void enforceRetention() {
+    if (maxHistory <= 0 && maxTotalSize <= 0) {
+      return;
+    }
+    File[] files = listRolledFiles(false);
+    long total = 0;
+    for (int i = 0; i < files.length; i++) {
+      total += files[i].length();
+    }
+    // oldest first
+    for (int i = 0; i < files.length; i++) {
+      int left = files.length - i;
+      if ((maxHistory > 0 && left > maxHistory)
+          || (maxTotalSize > 0 && total > maxTotalSize && left > 1)) {
+        total -= files[i].length();
+        files[i].delete();
+      } else {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Return the rolled files, oldest first.
+   */
+  File[] listRolledFiles(final boolean withTemporary) {
+    File dir = file.getParentFile();
+    final String prefix = file.getName() + ".";
+    File[] files = dir.listFiles(new FilenameFilter() {
+      public boolean accept(File dir, String name) {
+        if (!name.startsWith(prefix)) {
+          return false;
+        }
+        return withTemporary || !name.endsWith(TMP_SUFFIX);
+      }
+    });
+    if (files == null) {
+      return new File[0];
+    }
+    // the time stamp has a fixed width, the "-<n>" suffix of the files
+    // rolled within the same second follows it
+    final int stampEnd = prefix.length() + ROLLED_NAME_PATTERN.length();
+    Arrays.sort(files, new Comparator() {
+      public int compare(Object o1, Object o2) {
+        String s1 = stem((File) o1);
+        String s2 = stem((File) o2);
+        int c = s1.substring(0, Math.min(stampEnd, s1.length())).compareTo(
+            s2.substring(0, Math.min(stampEnd, s2.length())));
+        if (c != 0) {
+          return c;
+        }
+        long n1 = suffixNumber(s1, stampEnd);
+        long n2 = suffixNumber(s2, stampEnd);
+        return n1 < n2 ? -1 : (n1 == n2 ? 0 : 1);
+      }
+    });
+    return files;
+  }
+
+  // the n of a "-<n>" suffix, 0 if there is none
+  private static long suffixNumber(String stem, int stampEnd) {
+    if (stem.length() <= stampEnd + 1 || stem.charAt(stampEnd) != '-') {
+      return 0;
+    }
+    try {
+      return Long.parseLong(stem.substring(stampEnd + 1));
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  private static String stem(File f) {
+    String name = f.getName();
+    if (name.endsWith(TMP_SUFFIX)) {
+      name = name.substring(0, name.length() - TMP_SUFFIX.length());
+    }
+    if (name.endsWith(GZ_SUFFIX)) {
+      name = name.substring(0, name.length() - GZ_SUFFIX.length());
+    }
+    return name;
+  }
+
+  /**
+   * Counts the bytes written to the active file, so that its size is known
+   * without asking the file system.
+   */
+  private static class CountingOutputStream extends OutputStream {
+    OutputStream target;
+    long count;
+
+    public void write(int b) throws IOException {
+      target.write(b);
+      count++;
+    }
+
+    public void write(byte[] b, int off, int len) throws IOException {
+      target.write(b, off, len);
+      count += len;
+    }
+
+    public void flush() throws IOException {
+      target.flush();
+    }
+
+    public void close() throws IOException {
+      target.close();
+    }
+  }
+
+  private static class NullOutputStream extends OutputStream {
+    public void write(int b) {
+    }
+
+    public void write(byte[] b, int off, int len) {
+    }
+  }
+}
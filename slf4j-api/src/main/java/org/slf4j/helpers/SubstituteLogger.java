@@ -0,0 +1,759 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.helpers;
+
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.spi.LocationAwareLogger;
+
+/**
+ * A logger handed out by {@link SubstituteLoggerFactory} while the underlying
+ * logging system is still initializing.
+ * 
+ * <p>
+ * A SubstituteLogger behaves as a NOP logger until LoggerFactory completes
+ * the binding process. From then on it delegates every call to the logger
+ * of the same name returned by the bound {@link org.slf4j.ILoggerFactory}.
+ * Location information is preserved if the delegate is a
+ * {@link LocationAwareLogger}.
+ * 
+ * @since 1.5.11
+ */
+public class SubstituteLogger extends NamedLoggerBase implements Logger {
+
+  private static final long serialVersionUID = -2386285427024575384L;
+
+  private static final String FQCN = SubstituteLogger.class.getName();
+
+  private transient volatile Logger delegate = NOPLogger.NOP_LOGGER;
+
+  public SubstituteLogger(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Return the logger calls are currently delegated to.
+   */
+  public Logger getDelegate() {
+    return delegate;
+  }
+
+  /**
+   * Start delegating calls to the given logger.
+   */
+  public void setDelegate(Logger delegate) {
+    this.delegate = delegate;
+  }
+
+  public boolean isTraceEnabled() {
+    return delegate.isTraceEnabled();
+  }
+
+  public boolean isTraceEnabled(Marker marker) {
+    return delegate.isTraceEnabled(marker);
+  }
+
+  public void trace(String msg) {
+    Logger logger = delegate;
+    if (!logger.isTraceEnabled()) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(null, FQCN,
+          LocationAwareLogger.TRACE_INT, msg, null);
+    } else {
+      logger.trace(msg);
+    }
+  }
+
+  public void trace(String format, Object arg) {
+    Logger logger = delegate;
+    if (!logger.isTraceEnabled()) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(null, FQCN,
+          LocationAwareLogger.TRACE_INT, MessageFormatter.format(format, arg), null);
+    } else {
+      logger.trace(format, arg);
+    }
+  }
+
+  public void trace(String format, Object arg1, Object arg2) {
+    Logger logger = delegate;
+    if (!logger.isTraceEnabled()) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(null, FQCN,
+          LocationAwareLogger.TRACE_INT, MessageFormatter.format(format, arg1, arg2), null);
+    } else {
+      logger.trace(format, arg1, arg2);
+    }
+  }
+
+  public void trace(String format, Object[] argArray) {
+    Logger logger = delegate;
+    if (!logger.isTraceEnabled()) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(null, FQCN,
+          LocationAwareLogger.TRACE_INT, MessageFormatter.arrayFormat(format, argArray), null);
+    } else {
+      logger.trace(format, argArray);
+    }
+  }
+
+  public void trace(String msg, Throwable t) {
+    Logger logger = delegate;
+    if (!logger.isTraceEnabled()) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(null, FQCN,
+          LocationAwareLogger.TRACE_INT, msg, t);
+    } else {
+      logger.trace(msg, t);
+    }
+  }
+
+  public void trace(Marker marker, String msg) {
+    Logger logger = delegate;
+    if (!logger.isTraceEnabled(marker)) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(marker, FQCN,
+          LocationAwareLogger.TRACE_INT, msg, null);
+    } else {
+      logger.trace(marker, msg);
+    }
+  }
+
+  public void trace(Marker marker, String format, Object arg) {
+    Logger logger = delegate;
+    if (!logger.isTraceEnabled(marker)) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(marker, FQCN,
+          LocationAwareLogger.TRACE_INT, MessageFormatter.format(format, arg), null);
+    } else {
+      logger.trace(marker, format, arg);
+    }
+  }
+
+  public void trace(Marker marker, String format, Object arg1, Object arg2) {
+    Logger logger = delegate;
+    if (!logger.isTraceEnabled(marker)) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(marker, FQCN,
+          LocationAwareLogger.TRACE_INT, MessageFormatter.format(format, arg1, arg2), null);
+    } else {
+      logger.trace(marker, format, arg1, arg2);
+    }
+  }
+
+  public void trace(Marker marker, String format, Object[] argArray) {
+    Logger logger = delegate;
+    if (!logger.isTraceEnabled(marker)) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(marker, FQCN,
+          LocationAwareLogger.TRACE_INT, MessageFormatter.arrayFormat(format, argArray), null);
+    } else {
+      logger.trace(marker, format, argArray);
+    }
+  }
+
+  public void trace(Marker marker, String msg, Throwable t) {
+    Logger logger = delegate;
+    if (!logger.isTraceEnabled(marker)) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(marker, FQCN,
+          LocationAwareLogger.TRACE_INT, msg, t);
+    } else {
+      logger.trace(marker, msg, t);
+    }
+  }
+
+  public boolean isDebugEnabled() {
+    return delegate.isDebugEnabled();
+  }
+
+  public boolean isDebugEnabled(Marker marker) {
+    return delegate.isDebugEnabled(marker);
+  }
+
+  public void debug(String msg) {
+    Logger logger = delegate;
+    if (!logger.isDebugEnabled()) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(null, FQCN,
+          LocationAwareLogger.DEBUG_INT, msg, null);
+    } else {
+      logger.debug(msg);
+    }
+  }
+
+  public void debug(String format, Object arg) {
+    Logger logger = delegate;
+    if (!logger.isDebugEnabled()) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(null, FQCN,
+          LocationAwareLogger.DEBUG_INT, MessageFormatter.format(format, arg), null);
+    } else {
+      logger.debug(format, arg);
+    }
+  }
+
+  public void debug(String format, Object arg1, Object arg2) {
+    Logger logger = delegate;
+    if (!logger.isDebugEnabled()) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(null, FQCN,
+          LocationAwareLogger.DEBUG_INT, MessageFormatter.format(format, arg1, arg2), null);
+    } else {
+      logger.debug(format, arg1, arg2);
+    }
+  }
+
+  public void debug(String format, Object[] argArray) {
+    Logger logger = delegate;
+    if (!logger.isDebugEnabled()) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(null, FQCN,
+          LocationAwareLogger.DEBUG_INT, MessageFormatter.arrayFormat(format, argArray), null);
+    } else {
+      logger.debug(format, argArray);
+    }
+  }
+
+  public void debug(String msg, Throwable t) {
+    Logger logger = delegate;
+    if (!logger.isDebugEnabled()) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(null, FQCN,
+          LocationAwareLogger.DEBUG_INT, msg, t);
+    } else {
+      logger.debug(msg, t);
+    }
+  }
+
+  public void debug(Marker marker, String msg) {
+    Logger logger = delegate;
+    if (!logger.isDebugEnabled(marker)) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(marker, FQCN,
+          LocationAwareLogger.DEBUG_INT, msg, null);
+    } else {
+      logger.debug(marker, msg);
+    }
+  }
+
+  public void debug(Marker marker, String format, Object arg) {
+    Logger logger = delegate;
+    if (!logger.isDebugEnabled(marker)) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(marker, FQCN,
+          LocationAwareLogger.DEBUG_INT, MessageFormatter.format(format, arg), null);
+    } else {
+      logger.debug(marker, format, arg);
+    }
+  }
+
+  public void debug(Marker marker, String format, Object arg1, Object arg2) {
+    Logger logger = delegate;
+    if (!logger.isDebugEnabled(marker)) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(marker, FQCN,
+          LocationAwareLogger.DEBUG_INT, MessageFormatter.format(format, arg1, arg2), null);
+    } else {
+      logger.debug(marker, format, arg1, arg2);
+    }
+  }
+
+  public void debug(Marker marker, String format, Object[] argArray) {
+    Logger logger = delegate;
+    if (!logger.isDebugEnabled(marker)) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(marker, FQCN,
+          LocationAwareLogger.DEBUG_INT, MessageFormatter.arrayFormat(format, argArray), null);
+    } else {
+      logger.debug(marker, format, argArray);
+    }
+  }
+
+  public void debug(Marker marker, String msg, Throwable t) {
+    Logger logger = delegate;
+    if (!logger.isDebugEnabled(marker)) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(marker, FQCN,
+          LocationAwareLogger.DEBUG_INT, msg, t);
+    } else {
+      logger.debug(marker, msg, t);
+    }
+  }
+
+  public boolean isInfoEnabled() {
+    return delegate.isInfoEnabled();
+  }
+
+  public boolean isInfoEnabled(Marker marker) {
+    return delegate.isInfoEnabled(marker);
+  }
+
+  public void info(String msg) {
+    Logger logger = delegate;
+    if (!logger.isInfoEnabled()) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(null, FQCN,
+          LocationAwareLogger.INFO_INT, msg, null);
+    } else {
+      logger.info(msg);
+    }
+  }
+
+  public void info(String format, Object arg) {
+    Logger logger = delegate;
+    if (!logger.isInfoEnabled()) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(null, FQCN,
+          LocationAwareLogger.INFO_INT, MessageFormatter.format(format, arg), null);
+    } else {
+      logger.info(format, arg);
+    }
+  }
+
+  public void info(String format, Object arg1, Object arg2) {
+    Logger logger = delegate;
+    if (!logger.isInfoEnabled()) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(null, FQCN,
+          LocationAwareLogger.INFO_INT, MessageFormatter.format(format, arg1, arg2), null);
+    } else {
+      logger.info(format, arg1, arg2);
+    }
+  }
+
+  public void info(String format, Object[] argArray) {
+    Logger logger = delegate;
+    if (!logger.isInfoEnabled()) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(null, FQCN,
+          LocationAwareLogger.INFO_INT, MessageFormatter.arrayFormat(format, argArray), null);
+    } else {
+      logger.info(format, argArray);
+    }
+  }
+
+  public void info(String msg, Throwable t) {
+    Logger logger = delegate;
+    if (!logger.isInfoEnabled()) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(null, FQCN,
+          LocationAwareLogger.INFO_INT, msg, t);
+    } else {
+      logger.info(msg, t);
+    }
+  }
+
+  public void info(Marker marker, String msg) {
+    Logger logger = delegate;
+    if (!logger.isInfoEnabled(marker)) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(marker, FQCN,
+          LocationAwareLogger.INFO_INT, msg, null);
+    } else {
+      logger.info(marker, msg);
+    }
+  }
+
+  public void info(Marker marker, String format, Object arg) {
+    Logger logger = delegate;
+    if (!logger.isInfoEnabled(marker)) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(marker, FQCN,
+          LocationAwareLogger.INFO_INT, MessageFormatter.format(format, arg), null);
+    } else {
+      logger.info(marker, format, arg);
+    }
+  }
+
+  public void info(Marker marker, String format, Object arg1, Object arg2) {
+    Logger logger = delegate;
+    if (!logger.isInfoEnabled(marker)) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(marker, FQCN,
+          LocationAwareLogger.INFO_INT, MessageFormatter.format(format, arg1, arg2), null);
+    } else {
+      logger.info(marker, format, arg1, arg2);
+    }
+  }
+
+  public void info(Marker marker, String format, Object[] argArray) {
+    Logger logger = delegate;
+    if (!logger.isInfoEnabled(marker)) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(marker, FQCN,
+          LocationAwareLogger.INFO_INT, MessageFormatter.arrayFormat(format, argArray), null);
+    } else {
+      logger.info(marker, format, argArray);
+    }
+  }
+
+  public void info(Marker marker, String msg, Throwable t) {
+    Logger logger = delegate;
+    if (!logger.isInfoEnabled(marker)) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(marker, FQCN,
+          LocationAwareLogger.INFO_INT, msg, t);
+    } else {
+      logger.info(marker, msg, t);
+    }
+  }
+
+  public boolean isWarnEnabled() {
+    return delegate.isWarnEnabled();
+  }
+
+  public boolean isWarnEnabled(Marker marker) {
+    return delegate.isWarnEnabled(marker);
+  }
+
+  public void warn(String msg) {
+    Logger logger = delegate;
+    if (!logger.isWarnEnabled()) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(null, FQCN,
+          LocationAwareLogger.WARN_INT, msg, null);
+    } else {
+      logger.warn(msg);
+    }
+  }
+
+  public void warn(String format, Object arg) {
+    Logger logger = delegate;
+    if (!logger.isWarnEnabled()) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(null, FQCN,
+          LocationAwareLogger.WARN_INT, MessageFormatter.format(format, arg), null);
+    } else {
+      logger.warn(format, arg);
+    }
+  }
+
+  public void warn(String format, Object arg1, Object arg2) {
+    Logger logger = delegate;
+    if (!logger.isWarnEnabled()) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(null, FQCN,
+          LocationAwareLogger.WARN_INT, MessageFormatter.format(format, arg1, arg2), null);
+    } else {
+      logger.warn(format, arg1, arg2);
+    }
+  }
+
+  public void warn(String format, Object[] argArray) {
+    Logger logger = delegate;
+    if (!logger.isWarnEnabled()) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(null, FQCN,
+          LocationAwareLogger.WARN_INT, MessageFormatter.arrayFormat(format, argArray), null);
+    } else {
+      logger.warn(format, argArray);
+    }
+  }
+
+  public void warn(String msg, Throwable t) {
+    Logger logger = delegate;
+    if (!logger.isWarnEnabled()) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(null, FQCN,
+          LocationAwareLogger.WARN_INT, msg, t);
+    } else {
+      logger.warn(msg, t);
+    }
+  }
+
+  public void warn(Marker marker, String msg) {
+    Logger logger = delegate;
+    if (!logger.isWarnEnabled(marker)) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(marker, FQCN,
+          LocationAwareLogger.WARN_INT, msg, null);
+    } else {
+      logger.warn(marker, msg);
+    }
+  }
+
+  public void warn(Marker marker, String format, Object arg) {
+    Logger logger = delegate;
+    if (!logger.isWarnEnabled(marker)) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(marker, FQCN,
+          LocationAwareLogger.WARN_INT, MessageFormatter.format(format, arg), null);
+    } else {
+      logger.warn(marker, format, arg);
+    }
+  }
+
+  public void warn(Marker marker, String format, Object arg1, Object arg2) {
+    Logger logger = delegate;
+    if (!logger.isWarnEnabled(marker)) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(marker, FQCN,
+          LocationAwareLogger.WARN_INT, MessageFormatter.format(format, arg1, arg2), null);
+    } else {
+      logger.warn(marker, format, arg1, arg2);
+    }
+  }
+
+  public void warn(Marker marker, String format, Object[] argArray) {
+    Logger logger = delegate;
+    if (!logger.isWarnEnabled(marker)) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(marker, FQCN,
+          LocationAwareLogger.WARN_INT, MessageFormatter.arrayFormat(format, argArray), null);
+    } else {
+      logger.warn(marker, format, argArray);
+    }
+  }
+
+  public void warn(Marker marker, String msg, Throwable t) {
+    Logger logger = delegate;
+    if (!logger.isWarnEnabled(marker)) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(marker, FQCN,
+          LocationAwareLogger.WARN_INT, msg, t);
+    } else {
+      logger.warn(marker, msg, t);
+    }
+  }
+
+  public boolean isErrorEnabled() {
+    return delegate.isErrorEnabled();
+  }
+
+  public boolean isErrorEnabled(Marker marker) {
+    return delegate.isErrorEnabled(marker);
+  }
+
+  public void error(String msg) {
+    Logger logger = delegate;
+    if (!logger.isErrorEnabled()) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(null, FQCN,
+          LocationAwareLogger.ERROR_INT, msg, null);
+    } else {
+      logger.error(msg);
+    }
+  }
+
+  public void error(String format, Object arg) {
+    Logger logger = delegate;
+    if (!logger.isErrorEnabled()) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(null, FQCN,
+          LocationAwareLogger.ERROR_INT, MessageFormatter.format(format, arg), null);
+    } else {
+      logger.error(format, arg);
+    }
+  }
+
+  public void error(String format, Object arg1, Object arg2) {
+    Logger logger = delegate;
+    if (!logger.isErrorEnabled()) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(null, FQCN,
+          LocationAwareLogger.ERROR_INT, MessageFormatter.format(format, arg1, arg2), null);
+    } else {
+      logger.error(format, arg1, arg2);
+    }
+  }
+
+  public void error(String format, Object[] argArray) {
+    Logger logger = delegate;
+    if (!logger.isErrorEnabled()) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(null, FQCN,
+          LocationAwareLogger.ERROR_INT, MessageFormatter.arrayFormat(format, argArray), null);
+    } else {
+      logger.error(format, argArray);
+    }
+  }
+
+  public void error(String msg, Throwable t) {
+    Logger logger = delegate;
+    if (!logger.isErrorEnabled()) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(null, FQCN,
+          LocationAwareLogger.ERROR_INT, msg, t);
+    } else {
+      logger.error(msg, t);
+    }
+  }
+
+  public void error(Marker marker, String msg) {
+    Logger logger = delegate;
+    if (!logger.isErrorEnabled(marker)) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(marker, FQCN,
+          LocationAwareLogger.ERROR_INT, msg, null);
+    } else {
+      logger.error(marker, msg);
+    }
+  }
+
+  public void error(Marker marker, String format, Object arg) {
+    Logger logger = delegate;
+    if (!logger.isErrorEnabled(marker)) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(marker, FQCN,
+          LocationAwareLogger.ERROR_INT, MessageFormatter.format(format, arg), null);
+    } else {
+      logger.error(marker, format, arg);
+    }
+  }
+
+  public void error(Marker marker, String format, Object arg1, Object arg2) {
+    Logger logger = delegate;
+    if (!logger.isErrorEnabled(marker)) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(marker, FQCN,
+          LocationAwareLogger.ERROR_INT, MessageFormatter.format(format, arg1, arg2), null);
+    } else {
+      logger.error(marker, format, arg1, arg2);
+    }
+  }
+
+  public void error(Marker marker, String format, Object[] argArray) {
+    Logger logger = delegate;
+    if (!logger.isErrorEnabled(marker)) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(marker, FQCN,
+          LocationAwareLogger.ERROR_INT, MessageFormatter.arrayFormat(format, argArray), null);
+    } else {
+      logger.error(marker, format, argArray);
+    }
+  }
+
+  public void error(Marker marker, String msg, Throwable t) {
+    Logger logger = delegate;
+    if (!logger.isErrorEnabled(marker)) {
+      return;
+    }
+    if (logger instanceof LocationAwareLogger) {
+      ((LocationAwareLogger) logger).log(marker, FQCN,
+          LocationAwareLogger.ERROR_INT, msg, t);
+    } else {
+      logger.error(marker, msg, t);
+    }
+  }
+}
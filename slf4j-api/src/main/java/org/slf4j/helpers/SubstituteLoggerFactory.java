@@ -34,34 +34,67 @@
 package org.slf4j.helpers;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.ILoggerFactory;
 import org.slf4j.Logger;
 
 /**
- * SubstituteLoggerFactory is an trivial implementation of {@link
- * ILoggerFactory} which always returns the unique instance of NOPLogger.
+ * SubstituteLoggerFactory is an implementation of {@link ILoggerFactory}
+ * returning {@link SubstituteLogger} instances.
  * 
  * <p>
  * It used as a temporary substitute for the real ILoggerFactory during its
  * auto-configuration which may re-enter LoggerFactory to obtain logger
  * instances. See also http://bugzilla.slf4j.org/show_bug.cgi?id=106
  * 
+ * <p>
+ * Once the real ILoggerFactory is available, {@link #bindTo(ILoggerFactory)}
+ * makes every substitute logger, including those created afterwards,
+ * delegate to the homonymous logger of the real factory.
+ * 
  * @author Ceki G&uuml;lc&uuml;
  */
 public class SubstituteLoggerFactory implements ILoggerFactory {
 
   // keep a record of requested logger names
   final List loggerNameList = new ArrayList();
+  final Map loggerMap = new HashMap();
+  ILoggerFactory target;
 
-  public Logger getLogger(String name) {
-    loggerNameList.add(name);
-    return NOPLogger.NOP_LOGGER;
+  public synchronized Logger getLogger(String name) {
+    SubstituteLogger logger = (SubstituteLogger) loggerMap.get(name);
+    if (logger == null) {
+      logger = new SubstituteLogger(name);
+      loggerMap.put(name, logger);
+      loggerNameList.add(name);
+      if (target != null) {
+        logger.setDelegate(target.getLogger(name));
+      }
+    }
+    return logger;
   }
 
-  public List getLoggerNameList() {
-    return loggerNameList;
+  public synchronized List getLoggerNameList() {
+    return new ArrayList(loggerNameList);
   }
 
+  /**
+   * Make all substitute loggers, past and future, delegate to the loggers
+   * returned by the given factory.
+   * 
+   * @param factory
+   *          the real ILoggerFactory
+   */
+  public synchronized void bindTo(ILoggerFactory factory) {
+    this.target = factory;
+    Iterator it = loggerMap.values().iterator();
+    while (it.hasNext()) {
+      SubstituteLogger logger = (SubstituteLogger) it.next();
+      logger.setDelegate(factory.getLogger(logger.getName()));
+    }
+  }
 }
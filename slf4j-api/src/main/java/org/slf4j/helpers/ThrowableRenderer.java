@@ -0,0 +1,221 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.helpers;
+
+import java.lang.reflect.Method;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Renders throwables as {@link Throwable#printStackTrace()} does, into a
+ * caller supplied buffer, caching the rendering of stack frames.
+ * 
+ * <p>
+ * Rendering a frame with {@link StackTraceElement#toString()} builds a new
+ * string each time. When the same deep stack traces are logged over and
+ * over, as happens during an incident, the renderer looks up the strings
+ * built for the frames of the previous traces instead. The cache is a fixed
+ * size table indexed by the hash of the frames, a frame evicting the one it
+ * collides with, which can be read and updated by several threads without
+ * locking.
+ * 
+ * <p>
+ * As with <code>printStackTrace</code>, the frames an enclosed trace (cause
+ * or suppressed exception) has in common with its enclosing trace are
+ * collapsed into a "... n more" line. Suppressed exceptions are rendered on
+ * JVMs which have them. Throwables overriding <code>printStackTrace</code>
+ * are rendered from their stack trace and cause all the same.
+ * 
+ * @since 1.5.11
+ */
+public final class ThrowableRenderer {
+
+  public static final int DEFAULT_CAPACITY = 4096;
+
+  static final String LINE_SEP = System.getProperty("line.separator");
+  static final String CAUSE_CAPTION = "Caused by: ";
+  static final String SUPPRESSED_CAPTION = "Suppressed: ";
+
+  private static final Throwable[] NO_THROWABLES = new Throwable[0];
+  private static final Object[] NO_ARGS = new Object[0];
+
+  // Throwable.getSuppressed(), null before Java 7
+  private static final Method GET_SUPPRESSED = lookupGetSuppressed();
+
+  // read and written without locking: entries are immutable, and a race
+  // between two threads at most costs a cache miss
+  private final Entry[] table;
+  private final int mask;
+
+  public ThrowableRenderer() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * @param capacity
+   *          the number of frames cached, rounded up to a power of two
+   */
+  public ThrowableRenderer(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+    int size = 1;
+    while (size < capacity) {
+      size <<= 1;
+    }
+    table = new Entry[size];
+    mask = size - 1;
+  }
+
+  private static Method lookupGetSuppressed() {
+    try {
+      return Throwable.class.getMethod("getSuppressed", new Class[0]);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  /**
+   * Append the stack trace of <code>t</code> to <code>buf</code>, each line
+   * followed by the line separator.
+   */
+  public void render(Throwable t, StringBuffer buf) {
+    Map dejaVu = new IdentityHashMap();
+    dejaVu.put(t, t);
+    buf.append(t.toString());
+    buf.append(LINE_SEP);
+    StackTraceElement[] trace = t.getStackTrace();
+    for (int i = 0; i < trace.length; i++) {
+      appendFrame(buf, "", trace[i]);
+    }
+    renderChildren(buf, t, trace, "", dejaVu);
+  }
+
+  /**
+   * Return the stack trace of <code>t</code> as a string.
+   */
+  public String render(Throwable t) {
+    StringBuffer buf = new StringBuffer(1024);
+    render(t, buf);
+    return buf.toString();
+  }
+
+  // render the suppressed exceptions and cause of t
+  private void renderChildren(StringBuffer buf, Throwable t,
+      StackTraceElement[] trace, String prefix, Map dejaVu) {
+    Throwable[] suppressed = getSuppressed(t);
+    for (int i = 0; i < suppressed.length; i++) {
+      renderEnclosed(buf, suppressed[i], trace, SUPPRESSED_CAPTION, prefix
+          + "\t", dejaVu);
+    }
+    Throwable cause = t.getCause();
+    if (cause != null) {
+      renderEnclosed(buf, cause, trace, CAUSE_CAPTION, prefix, dejaVu);
+    }
+  }
+
+  private void renderEnclosed(StringBuffer buf, Throwable t,
+      StackTraceElement[] enclosingTrace, String caption, String prefix,
+      Map dejaVu) {
+    if (dejaVu.containsKey(t)) {
+      buf.append(prefix);
+      buf.append(caption);
+      buf.append("[CIRCULAR REFERENCE: ");
+      buf.append(t.toString());
+      buf.append("]");
+      buf.append(LINE_SEP);
+      return;
+    }
+    dejaVu.put(t, t);
+    StackTraceElement[] trace = t.getStackTrace();
+    int m = trace.length - 1;
+    int n = enclosingTrace.length - 1;
+    while (m >= 0 && n >= 0 && trace[m].equals(enclosingTrace[n])) {
+      m--;
+      n--;
+    }
+    int framesInCommon = trace.length - 1 - m;
+
+    buf.append(prefix);
+    buf.append(caption);
+    buf.append(t.toString());
+    buf.append(LINE_SEP);
+    for (int i = 0; i <= m; i++) {
+      appendFrame(buf, prefix, trace[i]);
+    }
+    if (framesInCommon != 0) {
+      buf.append(prefix);
+      buf.append("\t... ");
+      buf.append(framesInCommon);
+      buf.append(" more");
+      buf.append(LINE_SEP);
+    }
+    renderChildren(buf, t, trace, prefix, dejaVu);
+  }
+
+  private void appendFrame(StringBuffer buf, String prefix,
+      StackTraceElement frame) {
+    buf.append(prefix);
+    buf.append("\tat ");
+    buf.append(getFrameString(frame));
+    buf.append(LINE_SEP);
+  }
+
+  /**
+   * Return <code>frame.toString()</code>, from the cache if possible.
+   */
+  String getFrameString(StackTraceElement frame) {
+    int hash = frame.hashCode();
+    int index = (hash ^ (hash >>> 16)) & mask;
+    Entry entry = table[index];
+    if (entry != null && entry.frame.equals(frame)) {
+      return entry.rendered;
+    }
+    String rendered = frame.toString();
+    table[index] = new Entry(frame, rendered);
+    return rendered;
+  }
+
+  private static Throwable[] getSuppressed(Throwable t) {
+    if (GET_SUPPRESSED != null) {
+      try {
+        return (Throwable[]) GET_SUPPRESSED.invoke(t, NO_ARGS);
+      } catch (Exception e) {
+        // rendered without them
+      }
+    }
+    return NO_THROWABLES;
+  }
+
+  private static final class Entry {
+    final StackTraceElement frame;
+    final String rendered;
+
+    Entry(StackTraceElement frame, String rendered) {
+      this.frame = frame;
+      this.rendered = rendered;
+    }
+  }
+}
@@ -40,6 +40,12 @@ public interface MessageLogger extends LocationAwareLogger {
 
   /**
    * Logs Messages.
+   * <p>
+   * The message may be a {@link ReusableParameterizedMessage} which is
+   * recycled as soon as this method returns. Implementations which keep a
+   * reference to the message beyond the call, for instance to hand it to
+   * another thread, must keep {@link ReusableParameterizedMessage#toImmutable()}
+   * instead.
    * @param marker The Marker
    * @param fqcn The fully qualified class name of the <b>caller</b>
    * @param level The logging level
@@ -48,6 +54,25 @@ public interface MessageLogger extends LocationAwareLogger {
    */
   public void log(Marker marker, String fqcn, int level, Message data, Throwable t);
 
+  /**
+   * Logs a batch of Messages at the same level, without a Throwable.
+   * <p>
+   * The level is checked once for the whole batch. Implementations write the
+   * batch in one go where the underlying logging system allows it, under one
+   * lock and with one flush, or log the messages one by one otherwise. The
+   * messages are logged in order; like with
+   * {@link #log(Marker, String, int, Message, Throwable)} none of them is
+   * referenced once this method returns.
+   * @param marker The Marker
+   * @param fqcn The fully qualified class name of the <b>caller</b>
+   * @param level The logging level
+   * @param batch The array holding the Messages.
+   * @param off The index of the first Message to log.
+   * @param len The number of Messages to log.
+   * @since 1.5.11
+   */
+  public void log(Marker marker, String fqcn, int level, Message[] batch, int off, int len);
+
   /**
    * Log a message with the specific Marker at the TRACE level.
    *
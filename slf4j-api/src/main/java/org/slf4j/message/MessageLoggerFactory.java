@@ -2,6 +2,7 @@ package org.slf4j.message;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.spi.EventFilter;
 
 /**
  *
@@ -44,6 +45,25 @@ public class MessageLoggerFactory {
     }
   }
 
+  /**
+   * Get a MessageLogger instance by name, consulting <code>filter</code>
+   * before logging. The returned MessageLogger is always a new
+   * {@link MessageLoggerWrapper}, so that the filter runs before any message
+   * is built, whatever the underlying implementation.
+   *
+   * @param name The logger name
+   * @param fqcn The fully qualified class name, or null.
+   * @param filter The filter, or null.
+   * @return A MessageLogger.
+   * @since 1.5.11
+   */
+  public static MessageLogger getLogger(String name, String fqcn, EventFilter filter) {
+    if (filter == null) {
+      return getLogger(name, fqcn);
+    }
+    return new MessageLoggerWrapper(LoggerFactory.getLogger(name), fqcn, filter);
+  }
+
   /**
    * Get a new XLogger instance by class. The returned XLogger
    * will be named after the class.
@@ -2,7 +2,9 @@ package org.slf4j.message;
 
 import org.slf4j.Logger;
 import org.slf4j.Marker;
+import org.slf4j.helpers.LevelAwareLoggerAdapter;
 import org.slf4j.helpers.MessageFormatter;
+import org.slf4j.spi.EventFilter;
 import org.slf4j.spi.LocationAwareLogger;
 
 /**
@@ -10,6 +12,10 @@ import org.slf4j.spi.LocationAwareLogger;
  * instance preserving location information if the wrapped
  * instance supports it.
  *
+ * <p>An optional {@link EventFilter} is consulted for each enabled statement
+ * before any message object or string is built from it. Without a filter,
+ * the cost is a null check.
+ *
  * @author Ralph Goers
  * @author Ceki G&uuml;lc&uuml;
  */
@@ -30,8 +36,22 @@ public class MessageLoggerWrapper implements MessageLogger {
   // is this logger instance an MessageLogger
   protected final boolean instanceofML;
 
+  // null when statements are not filtered
+  protected final EventFilter filter;
+
   public MessageLoggerWrapper(Logger logger, String fqcn) {
+    this(logger, fqcn, null);
+  }
+
+  /**
+   * @param logger The Logger to wrap.
+   * @param fqcn The fully qualified class name of the <b>caller</b>, or null.
+   * @param filter The filter consulted before logging, or null.
+   * @since 1.5.11
+   */
+  public MessageLoggerWrapper(Logger logger, String fqcn, EventFilter filter) {
     this.logger = logger;
+    this.filter = filter;
     this.fqcn = (fqcn != null) ? fqcn : MessageLoggerWrapper.class.getName();
     if (logger instanceof LocationAwareLogger) {
       instanceofLAL = true;
@@ -68,6 +88,8 @@ public class MessageLoggerWrapper implements MessageLogger {
   public void trace(Message msg) {
     if (!logger.isTraceEnabled())
       return;
+    if (isDenied(TRACE_INT, null, msg))
+      return;
 
     if (instanceofML) {
       ((MessageLogger) logger).log(null, fqcn, TRACE_INT, msg, null);
@@ -89,6 +111,8 @@ public class MessageLoggerWrapper implements MessageLogger {
   public void trace(Message msg, Throwable t) {
     if (!logger.isTraceEnabled())
       return;
+    if (isDenied(TRACE_INT, null, msg))
+      return;
 
     if (instanceofML) {
       ((MessageLogger) logger).log(null, fqcn, TRACE_INT, msg, t);
@@ -111,6 +135,8 @@ public class MessageLoggerWrapper implements MessageLogger {
   public void trace(Marker marker, Message msg) {
     if (!logger.isTraceEnabled())
       return;
+    if (isDenied(TRACE_INT, marker, msg))
+      return;
 
     if (instanceofML) {
       ((MessageLogger) logger).log(marker, fqcn, TRACE_INT, msg, null);
@@ -133,15 +159,17 @@ public class MessageLoggerWrapper implements MessageLogger {
   public void trace(Marker marker, Message msg, Throwable t) {
     if (!logger.isTraceEnabled())
       return;
+    if (isDenied(TRACE_INT, marker, msg))
+      return;
 
     if (instanceofML) {
-      ((MessageLogger) logger).log(null, fqcn, TRACE_INT, msg, t);
+      ((MessageLogger) logger).log(marker, fqcn, TRACE_INT, msg, t);
     }
     else if (instanceofLAL) {
-      ((LocationAwareLogger) logger).log(null, fqcn,
+      ((LocationAwareLogger) logger).log(marker, fqcn,
           TRACE_INT, msg.getFormattedMessage(), t);
     } else {
-      logger.trace(msg.getFormattedMessage(), t);
+      logger.trace(marker, msg.getFormattedMessage(), t);
     }
   }
 
@@ -151,6 +179,8 @@ public class MessageLoggerWrapper implements MessageLogger {
   public void trace(String msg) {
     if (!logger.isTraceEnabled())
       return;
+    if (isDenied(TRACE_INT, null, msg))
+      return;
 
     if (instanceofML) {
       Message mesg = new SimpleMessage(msg);
@@ -169,11 +199,16 @@ public class MessageLoggerWrapper implements MessageLogger {
   public void trace(String format, Object arg) {
     if (!logger.isTraceEnabled())
       return;
+    if (isDenied(TRACE_INT, null, format, arg))
+      return;
 
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, new Object[] {arg});
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(null, fqcn, TRACE_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, arg);
+      try {
+        ((MessageLogger) logger).log(null, fqcn, TRACE_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     }
     else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.format(format, arg);
@@ -190,11 +225,16 @@ public class MessageLoggerWrapper implements MessageLogger {
   public void trace(String format, Object arg1, Object arg2) {
     if (!logger.isTraceEnabled())
       return;
+    if (isDenied(TRACE_INT, null, format, arg1, arg2))
+      return;
 
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, new Object[] {arg1, arg2});
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(null, fqcn, TRACE_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, arg1, arg2);
+      try {
+        ((MessageLogger) logger).log(null, fqcn, TRACE_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     }
     else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.format(format, arg1, arg2);
@@ -211,11 +251,16 @@ public class MessageLoggerWrapper implements MessageLogger {
   public void trace(String format, Object[] argArray) {
     if (!logger.isTraceEnabled())
       return;
+    if (isDenied(TRACE_INT, null, format, argArray))
+      return;
 
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, argArray);
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(null, fqcn, TRACE_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, argArray);
+      try {
+        ((MessageLogger) logger).log(null, fqcn, TRACE_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     }
     else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.arrayFormat(format, argArray);
@@ -232,6 +277,8 @@ public class MessageLoggerWrapper implements MessageLogger {
   public void trace(String msg, Throwable t) {
     if (!logger.isTraceEnabled())
       return;
+    if (isDenied(TRACE_INT, null, msg))
+      return;
 
     if (instanceofML) {
       Message mesg = new SimpleMessage(msg);
@@ -250,6 +297,8 @@ public class MessageLoggerWrapper implements MessageLogger {
   public void trace(Marker marker, String msg) {
     if (!logger.isTraceEnabled())
       return;
+    if (isDenied(TRACE_INT, marker, msg))
+      return;
 
     if (instanceofML) {
       Message mesg = new SimpleMessage(msg);
@@ -268,10 +317,15 @@ public class MessageLoggerWrapper implements MessageLogger {
   public void trace(Marker marker, String format, Object arg) {
     if (!logger.isTraceEnabled())
       return;
+    if (isDenied(TRACE_INT, marker, format, arg))
+      return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, new Object[] {arg});
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(null, fqcn, TRACE_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, arg);
+      try {
+        ((MessageLogger) logger).log(marker, fqcn, TRACE_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.format(format, arg);
       ((LocationAwareLogger) logger).log(marker, fqcn,
@@ -287,10 +341,15 @@ public class MessageLoggerWrapper implements MessageLogger {
   public void trace(Marker marker, String format, Object arg1, Object arg2) {
     if (!logger.isTraceEnabled())
       return;
+    if (isDenied(TRACE_INT, marker, format, arg1, arg2))
+      return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, new Object[] {arg1, arg2});
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(null, fqcn, TRACE_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, arg1, arg2);
+      try {
+        ((MessageLogger) logger).log(marker, fqcn, TRACE_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.format(format, arg1, arg2);
       ((LocationAwareLogger) logger).log(marker, fqcn,
@@ -306,10 +365,15 @@ public class MessageLoggerWrapper implements MessageLogger {
   public void trace(Marker marker, String format, Object[] argArray) {
     if (!logger.isTraceEnabled())
       return;
+    if (isDenied(TRACE_INT, marker, format, argArray))
+      return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, argArray);
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(null, fqcn, TRACE_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, argArray);
+      try {
+        ((MessageLogger) logger).log(marker, fqcn, TRACE_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.arrayFormat(format, argArray);
       ((LocationAwareLogger) logger).log(marker, fqcn,
@@ -325,6 +389,8 @@ public class MessageLoggerWrapper implements MessageLogger {
   public void trace(Marker marker, String msg, Throwable t) {
     if (!logger.isTraceEnabled())
       return;
+    if (isDenied(TRACE_INT, marker, msg))
+      return;
     if (instanceofML) {
       Message mesg = new SimpleMessage(msg);
       ((MessageLogger) logger).log(marker, fqcn, TRACE_INT, mesg, t);
@@ -356,7 +422,9 @@ public class MessageLoggerWrapper implements MessageLogger {
    * @param msg the message string to be logged
    */
   public void debug(Message msg) {
-    if (!logger.isTraceEnabled())
+    if (!logger.isDebugEnabled())
+      return;
+    if (isDenied(DEBUG_INT, null, msg))
       return;
 
     if (instanceofML) {
@@ -377,7 +445,9 @@ public class MessageLoggerWrapper implements MessageLogger {
    * @param t A Throwable or null.
    */
   public void debug(Message msg, Throwable t) {
-    if (!logger.isTraceEnabled())
+    if (!logger.isDebugEnabled())
+      return;
+    if (isDenied(DEBUG_INT, null, msg))
       return;
 
     if (instanceofML) {
@@ -399,7 +469,9 @@ public class MessageLoggerWrapper implements MessageLogger {
    * @param msg the message string to be logged
    */
   public void debug(Marker marker, Message msg) {
-    if (!logger.isTraceEnabled())
+    if (!logger.isDebugEnabled())
+      return;
+    if (isDenied(DEBUG_INT, marker, msg))
       return;
 
     if (instanceofML) {
@@ -421,17 +493,19 @@ public class MessageLoggerWrapper implements MessageLogger {
    * @param t A Throwable or null.
    */
   public void debug(Marker marker, Message msg, Throwable t) {
-    if (!logger.isTraceEnabled())
+    if (!logger.isDebugEnabled())
+      return;
+    if (isDenied(DEBUG_INT, marker, msg))
       return;
 
     if (instanceofML) {
-      ((MessageLogger) logger).log(null, fqcn, DEBUG_INT, msg, t);
+      ((MessageLogger) logger).log(marker, fqcn, DEBUG_INT, msg, t);
     }
     else if (instanceofLAL) {
-      ((LocationAwareLogger) logger).log(null, fqcn,
+      ((LocationAwareLogger) logger).log(marker, fqcn,
           DEBUG_INT, msg.getFormattedMessage(), t);
     } else {
-      logger.debug(msg.getFormattedMessage(), t);
+      logger.debug(marker, msg.getFormattedMessage(), t);
     }
   }
   /**
@@ -440,6 +514,8 @@ public class MessageLoggerWrapper implements MessageLogger {
   public void debug(String msg) {
     if (!logger.isDebugEnabled())
       return;
+    if (isDenied(DEBUG_INT, null, msg))
+      return;
 
     if (instanceofML) {
       Message mesg = new SimpleMessage(msg);
@@ -457,10 +533,15 @@ public class MessageLoggerWrapper implements MessageLogger {
   public void debug(String format, Object arg) {
     if (!logger.isDebugEnabled())
       return;
+    if (isDenied(DEBUG_INT, null, format, arg))
+      return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, new Object[] {arg});
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(null, fqcn, DEBUG_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, arg);
+      try {
+        ((MessageLogger) logger).log(null, fqcn, DEBUG_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.format(format, arg);
       ((LocationAwareLogger) logger).log(null, fqcn, DEBUG_INT, formattedMessage, null);
@@ -475,10 +556,15 @@ public class MessageLoggerWrapper implements MessageLogger {
   public void debug(String format, Object arg1, Object arg2) {
     if (!logger.isDebugEnabled())
       return;
+    if (isDenied(DEBUG_INT, null, format, arg1, arg2))
+      return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, new Object[] {arg1, arg2});
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(null, fqcn, DEBUG_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, arg1, arg2);
+      try {
+        ((MessageLogger) logger).log(null, fqcn, DEBUG_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.format(format, arg1, arg2);
       ((LocationAwareLogger) logger).log(null, fqcn, DEBUG_INT, formattedMessage, null);
@@ -493,10 +579,15 @@ public class MessageLoggerWrapper implements MessageLogger {
   public void debug(String format, Object[] argArray) {
     if (!logger.isDebugEnabled())
       return;
+    if (isDenied(DEBUG_INT, null, format, argArray))
+      return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, argArray);
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(null, fqcn, DEBUG_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, argArray);
+      try {
+        ((MessageLogger) logger).log(null, fqcn, DEBUG_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.arrayFormat(format, argArray);
       ((LocationAwareLogger) logger).log(null, fqcn, DEBUG_INT, formattedMessage, null);
@@ -511,6 +602,8 @@ public class MessageLoggerWrapper implements MessageLogger {
   public void debug(String msg, Throwable t) {
     if (!logger.isDebugEnabled())
       return;
+    if (isDenied(DEBUG_INT, null, msg))
+      return;
 
     if (instanceofML) {
       Message mesg = new SimpleMessage(msg);
@@ -528,6 +621,8 @@ public class MessageLoggerWrapper implements MessageLogger {
   public void debug(Marker marker, String msg) {
     if (!logger.isDebugEnabled())
       return;
+    if (isDenied(DEBUG_INT, marker, msg))
+      return;
     if (instanceofML) {
       Message mesg = new SimpleMessage(msg);
       ((MessageLogger) logger).log(marker, fqcn, DEBUG_INT, mesg, null);
@@ -544,10 +639,15 @@ public class MessageLoggerWrapper implements MessageLogger {
   public void debug(Marker marker, String format, Object arg) {
     if (!logger.isDebugEnabled())
       return;
+    if (isDenied(DEBUG_INT, marker, format, arg))
+      return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, new Object[] {arg});
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(marker, fqcn, DEBUG_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, arg);
+      try {
+        ((MessageLogger) logger).log(marker, fqcn, DEBUG_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.format(format, arg);
       ((LocationAwareLogger) logger).log(marker, fqcn, DEBUG_INT, formattedMessage, null);
@@ -562,10 +662,15 @@ public class MessageLoggerWrapper implements MessageLogger {
   public void debug(Marker marker, String format, Object arg1, Object arg2) {
     if (!logger.isDebugEnabled())
       return;
+    if (isDenied(DEBUG_INT, marker, format, arg1, arg2))
+      return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, new Object[] {arg1, arg2});
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(marker, fqcn, DEBUG_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, arg1, arg2);
+      try {
+        ((MessageLogger) logger).log(marker, fqcn, DEBUG_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.format(format, arg1, arg2);
       ((LocationAwareLogger) logger).log(marker, fqcn, DEBUG_INT, formattedMessage, null);
@@ -580,10 +685,15 @@ public class MessageLoggerWrapper implements MessageLogger {
   public void debug(Marker marker, String format, Object[] argArray) {
     if (!logger.isDebugEnabled())
       return;
+    if (isDenied(DEBUG_INT, marker, format, argArray))
+      return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, argArray);
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(marker, fqcn, DEBUG_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, argArray);
+      try {
+        ((MessageLogger) logger).log(marker, fqcn, DEBUG_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.arrayFormat(format, argArray);
       ((LocationAwareLogger) logger).log(marker, fqcn, DEBUG_INT, formattedMessage, null);
@@ -598,6 +708,8 @@ public class MessageLoggerWrapper implements MessageLogger {
   public void debug(Marker marker, String msg, Throwable t) {
     if (!logger.isDebugEnabled())
       return;
+    if (isDenied(DEBUG_INT, marker, msg))
+      return;
     if (instanceofML) {
       Message mesg = new SimpleMessage(msg);
       ((MessageLogger) logger).log(marker, fqcn, DEBUG_INT, mesg, t);
@@ -628,7 +740,9 @@ public class MessageLoggerWrapper implements MessageLogger {
    * @param msg the message string to be logged
    */
   public void info(Message msg) {
-    if (!logger.isTraceEnabled())
+    if (!logger.isInfoEnabled())
+      return;
+    if (isDenied(INFO_INT, null, msg))
       return;
 
     if (instanceofML) {
@@ -649,7 +763,9 @@ public class MessageLoggerWrapper implements MessageLogger {
    * @param t A Throwable or null.
    */
   public void info(Message msg, Throwable t) {
-    if (!logger.isTraceEnabled())
+    if (!logger.isInfoEnabled())
+      return;
+    if (isDenied(INFO_INT, null, msg))
       return;
 
     if (instanceofML) {
@@ -671,7 +787,9 @@ public class MessageLoggerWrapper implements MessageLogger {
    * @param msg the message string to be logged
    */
   public void info(Marker marker, Message msg) {
-    if (!logger.isTraceEnabled())
+    if (!logger.isInfoEnabled())
+      return;
+    if (isDenied(INFO_INT, marker, msg))
       return;
 
     if (instanceofML) {
@@ -693,24 +811,28 @@ public class MessageLoggerWrapper implements MessageLogger {
    * @param t A Throwable or null.
    */
   public void info(Marker marker, Message msg, Throwable t) {
-    if (!logger.isTraceEnabled())
+    if (!logger.isInfoEnabled())
+      return;
+    if (isDenied(INFO_INT, marker, msg))
       return;
 
     if (instanceofML) {
-      ((MessageLogger) logger).log(null, fqcn, INFO_INT, msg, t);
+      ((MessageLogger) logger).log(marker, fqcn, INFO_INT, msg, t);
     }
     else if (instanceofLAL) {
-      ((LocationAwareLogger) logger).log(null, fqcn,
+      ((LocationAwareLogger) logger).log(marker, fqcn,
           INFO_INT, msg.getFormattedMessage(), t);
     } else {
-      logger.info(msg.getFormattedMessage(), t);
+      logger.info(marker, msg.getFormattedMessage(), t);
     }
   }
   /**
    * Delegate to the appropriate method of the underlying logger.
    */
   public void info(String msg) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isInfoEnabled())
+      return;
+    if (isDenied(INFO_INT, null, msg))
       return;
 
     if (instanceofML) {
@@ -727,12 +849,17 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void info(String format, Object arg) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isInfoEnabled())
+      return;
+    if (isDenied(INFO_INT, null, format, arg))
       return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, new Object[] {arg});
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(null, fqcn, INFO_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, arg);
+      try {
+        ((MessageLogger) logger).log(null, fqcn, INFO_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.format(format, arg);
       ((LocationAwareLogger) logger).log(null, fqcn, INFO_INT, formattedMessage, null);
@@ -745,12 +872,17 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void info(String format, Object arg1, Object arg2) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isInfoEnabled())
+      return;
+    if (isDenied(INFO_INT, null, format, arg1, arg2))
       return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, new Object[] {arg1, arg2});
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(null, fqcn, INFO_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, arg1, arg2);
+      try {
+        ((MessageLogger) logger).log(null, fqcn, INFO_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.format(format, arg1, arg2);
       ((LocationAwareLogger) logger).log(null, fqcn, INFO_INT, formattedMessage, null);
@@ -763,12 +895,17 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void info(String format, Object[] argArray) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isInfoEnabled())
+      return;
+    if (isDenied(INFO_INT, null, format, argArray))
       return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, argArray);
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(null, fqcn, INFO_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, argArray);
+      try {
+        ((MessageLogger) logger).log(null, fqcn, INFO_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.arrayFormat(format, argArray);
       ((LocationAwareLogger) logger).log(null, fqcn, INFO_INT, formattedMessage, null);
@@ -781,7 +918,9 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void info(String msg, Throwable t) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isInfoEnabled())
+      return;
+    if (isDenied(INFO_INT, null, msg))
       return;
 
     if (instanceofML) {
@@ -798,7 +937,9 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void info(Marker marker, String msg) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isInfoEnabled())
+      return;
+    if (isDenied(INFO_INT, marker, msg))
       return;
     if (instanceofML) {
       Message mesg = new SimpleMessage(msg);
@@ -814,12 +955,17 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void info(Marker marker, String format, Object arg) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isInfoEnabled())
+      return;
+    if (isDenied(INFO_INT, marker, format, arg))
       return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, new Object[] {arg});
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(marker, fqcn, INFO_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, arg);
+      try {
+        ((MessageLogger) logger).log(marker, fqcn, INFO_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.format(format, arg);
       ((LocationAwareLogger) logger).log(marker, fqcn, INFO_INT, formattedMessage, null);
@@ -832,12 +978,17 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void info(Marker marker, String format, Object arg1, Object arg2) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isInfoEnabled())
+      return;
+    if (isDenied(INFO_INT, marker, format, arg1, arg2))
       return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, new Object[] {arg1, arg2});
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(marker, fqcn, INFO_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, arg1, arg2);
+      try {
+        ((MessageLogger) logger).log(marker, fqcn, INFO_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.format(format, arg1, arg2);
       ((LocationAwareLogger) logger).log(marker, fqcn, INFO_INT, formattedMessage, null);
@@ -850,12 +1001,17 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void info(Marker marker, String format, Object[] argArray) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isInfoEnabled())
+      return;
+    if (isDenied(INFO_INT, marker, format, argArray))
       return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, argArray);
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(marker, fqcn, INFO_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, argArray);
+      try {
+        ((MessageLogger) logger).log(marker, fqcn, INFO_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.arrayFormat(format, argArray);
       ((LocationAwareLogger) logger).log(marker, fqcn, INFO_INT, formattedMessage, null);
@@ -868,7 +1024,9 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void info(Marker marker, String msg, Throwable t) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isInfoEnabled())
+      return;
+    if (isDenied(INFO_INT, marker, msg))
       return;
     if (instanceofML) {
       Message mesg = new SimpleMessage(msg);
@@ -897,7 +1055,9 @@ public class MessageLoggerWrapper implements MessageLogger {
    * @param msg the message string to be logged
    */
   public void warn(Message msg) {
-    if (!logger.isTraceEnabled())
+    if (!logger.isWarnEnabled())
+      return;
+    if (isDenied(WARN_INT, null, msg))
       return;
 
     if (instanceofML) {
@@ -918,7 +1078,9 @@ public class MessageLoggerWrapper implements MessageLogger {
    * @param t A Throwable or null.
    */
   public void warn(Message msg, Throwable t) {
-    if (!logger.isTraceEnabled())
+    if (!logger.isWarnEnabled())
+      return;
+    if (isDenied(WARN_INT, null, msg))
       return;
 
     if (instanceofML) {
@@ -940,7 +1102,9 @@ public class MessageLoggerWrapper implements MessageLogger {
    * @param msg the message string to be logged
    */
   public void warn(Marker marker, Message msg) {
-    if (!logger.isTraceEnabled())
+    if (!logger.isWarnEnabled())
+      return;
+    if (isDenied(WARN_INT, marker, msg))
       return;
 
     if (instanceofML) {
@@ -962,24 +1126,28 @@ public class MessageLoggerWrapper implements MessageLogger {
    * @param t A Throwable or null.
    */
   public void warn(Marker marker, Message msg, Throwable t) {
-    if (!logger.isTraceEnabled())
+    if (!logger.isWarnEnabled())
+      return;
+    if (isDenied(WARN_INT, marker, msg))
       return;
 
     if (instanceofML) {
-      ((MessageLogger) logger).log(null, fqcn, WARN_INT, msg, t);
+      ((MessageLogger) logger).log(marker, fqcn, WARN_INT, msg, t);
     }
     else if (instanceofLAL) {
-      ((LocationAwareLogger) logger).log(null, fqcn,
+      ((LocationAwareLogger) logger).log(marker, fqcn,
           WARN_INT, msg.getFormattedMessage(), t);
     } else {
-      logger.warn(msg.getFormattedMessage(), t);
+      logger.warn(marker, msg.getFormattedMessage(), t);
     }
   }
   /**
    * Delegate to the appropriate method of the underlying logger.
    */
   public void warn(String msg) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isWarnEnabled())
+      return;
+    if (isDenied(WARN_INT, null, msg))
       return;
 
     if (instanceofML) {
@@ -996,12 +1164,17 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void warn(String format, Object arg) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isWarnEnabled())
+      return;
+    if (isDenied(WARN_INT, null, format, arg))
       return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, new Object[] {arg});
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(null, fqcn, WARN_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, arg);
+      try {
+        ((MessageLogger) logger).log(null, fqcn, WARN_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.format(format, arg);
       ((LocationAwareLogger) logger).log(null, fqcn, WARN_INT, formattedMessage, null);
@@ -1014,12 +1187,17 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void warn(String format, Object arg1, Object arg2) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isWarnEnabled())
+      return;
+    if (isDenied(WARN_INT, null, format, arg1, arg2))
       return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, new Object[] {arg1, arg2});
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(null, fqcn, WARN_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, arg1, arg2);
+      try {
+        ((MessageLogger) logger).log(null, fqcn, WARN_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.format(format, arg1, arg2);
       ((LocationAwareLogger) logger).log(null, fqcn, WARN_INT, formattedMessage, null);
@@ -1032,12 +1210,17 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void warn(String format, Object[] argArray) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isWarnEnabled())
+      return;
+    if (isDenied(WARN_INT, null, format, argArray))
       return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, argArray);
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(null, fqcn, WARN_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, argArray);
+      try {
+        ((MessageLogger) logger).log(null, fqcn, WARN_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.arrayFormat(format, argArray);
       ((LocationAwareLogger) logger).log(null, fqcn, WARN_INT, formattedMessage, null);
@@ -1050,7 +1233,9 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void warn(String msg, Throwable t) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isWarnEnabled())
+      return;
+    if (isDenied(WARN_INT, null, msg))
       return;
 
     if (instanceofML) {
@@ -1067,7 +1252,9 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void warn(Marker marker, String msg) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isWarnEnabled())
+      return;
+    if (isDenied(WARN_INT, marker, msg))
       return;
     if (instanceofML) {
       Message mesg = new SimpleMessage(msg);
@@ -1083,12 +1270,17 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void warn(Marker marker, String format, Object arg) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isWarnEnabled())
+      return;
+    if (isDenied(WARN_INT, marker, format, arg))
       return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, new Object[] {arg});
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(marker, fqcn, WARN_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, arg);
+      try {
+        ((MessageLogger) logger).log(marker, fqcn, WARN_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.format(format, arg);
       ((LocationAwareLogger) logger).log(marker, fqcn, WARN_INT, formattedMessage, null);
@@ -1101,12 +1293,17 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void warn(Marker marker, String format, Object arg1, Object arg2) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isWarnEnabled())
+      return;
+    if (isDenied(WARN_INT, marker, format, arg1, arg2))
       return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, new Object[] {arg1, arg2});
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(marker, fqcn, WARN_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, arg1, arg2);
+      try {
+        ((MessageLogger) logger).log(marker, fqcn, WARN_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.format(format, arg1, arg2);
       ((LocationAwareLogger) logger).log(marker, fqcn, WARN_INT, formattedMessage, null);
@@ -1119,12 +1316,17 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void warn(Marker marker, String format, Object[] argArray) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isWarnEnabled())
+      return;
+    if (isDenied(WARN_INT, marker, format, argArray))
       return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, argArray);
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(marker, fqcn, WARN_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, argArray);
+      try {
+        ((MessageLogger) logger).log(marker, fqcn, WARN_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.arrayFormat(format, argArray);
       ((LocationAwareLogger) logger).log(marker, fqcn, WARN_INT, formattedMessage, null);
@@ -1137,7 +1339,9 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void warn(Marker marker, String msg, Throwable t) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isWarnEnabled())
+      return;
+    if (isDenied(WARN_INT, marker, msg))
       return;
     if (instanceofML) {
       Message mesg = new SimpleMessage(msg);
@@ -1169,7 +1373,9 @@ public class MessageLoggerWrapper implements MessageLogger {
    * @param msg the message string to be logged
    */
   public void error(Message msg) {
-    if (!logger.isTraceEnabled())
+    if (!logger.isErrorEnabled())
+      return;
+    if (isDenied(ERROR_INT, null, msg))
       return;
 
     if (instanceofML) {
@@ -1190,7 +1396,9 @@ public class MessageLoggerWrapper implements MessageLogger {
    * @param t A Throwable or null.
    */
   public void error(Message msg, Throwable t) {
-    if (!logger.isTraceEnabled())
+    if (!logger.isErrorEnabled())
+      return;
+    if (isDenied(ERROR_INT, null, msg))
       return;
 
     if (instanceofML) {
@@ -1212,7 +1420,9 @@ public class MessageLoggerWrapper implements MessageLogger {
    * @param msg the message string to be logged
    */
   public void error(Marker marker, Message msg) {
-    if (!logger.isTraceEnabled())
+    if (!logger.isErrorEnabled())
+      return;
+    if (isDenied(ERROR_INT, marker, msg))
       return;
 
     if (instanceofML) {
@@ -1234,24 +1444,28 @@ public class MessageLoggerWrapper implements MessageLogger {
    * @param t A Throwable or null.
    */
   public void error(Marker marker, Message msg, Throwable t) {
-    if (!logger.isTraceEnabled())
+    if (!logger.isErrorEnabled())
+      return;
+    if (isDenied(ERROR_INT, marker, msg))
       return;
 
     if (instanceofML) {
-      ((MessageLogger) logger).log(null, fqcn, ERROR_INT, msg, t);
+      ((MessageLogger) logger).log(marker, fqcn, ERROR_INT, msg, t);
     }
     else if (instanceofLAL) {
-      ((LocationAwareLogger) logger).log(null, fqcn,
+      ((LocationAwareLogger) logger).log(marker, fqcn,
           ERROR_INT, msg.getFormattedMessage(), t);
     } else {
-      logger.error(msg.getFormattedMessage(), t);
+      logger.error(marker, msg.getFormattedMessage(), t);
     }
   }
   /**
    * Delegate to the appropriate method of the underlying logger.
    */
   public void error(String msg) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isErrorEnabled())
+      return;
+    if (isDenied(ERROR_INT, null, msg))
       return;
 
     if (instanceofML) {
@@ -1268,12 +1482,17 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void error(String format, Object arg) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isErrorEnabled())
+      return;
+    if (isDenied(ERROR_INT, null, format, arg))
       return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, new Object[] {arg});
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(null, fqcn, ERROR_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, arg);
+      try {
+        ((MessageLogger) logger).log(null, fqcn, ERROR_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.format(format, arg);
       ((LocationAwareLogger) logger).log(null, fqcn, ERROR_INT, formattedMessage, null);
@@ -1286,12 +1505,17 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void error(String format, Object arg1, Object arg2) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isErrorEnabled())
+      return;
+    if (isDenied(ERROR_INT, null, format, arg1, arg2))
       return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, new Object[] {arg1, arg2});
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(null, fqcn, ERROR_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, arg1, arg2);
+      try {
+        ((MessageLogger) logger).log(null, fqcn, ERROR_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.format(format, arg1, arg2);
       ((LocationAwareLogger) logger).log(null, fqcn, ERROR_INT, formattedMessage, null);
@@ -1304,12 +1528,17 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void error(String format, Object[] argArray) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isErrorEnabled())
+      return;
+    if (isDenied(ERROR_INT, null, format, argArray))
       return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, argArray);
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(null, fqcn, ERROR_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, argArray);
+      try {
+        ((MessageLogger) logger).log(null, fqcn, ERROR_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.arrayFormat(format, argArray);
       ((LocationAwareLogger) logger).log(null, fqcn, ERROR_INT, formattedMessage, null);
@@ -1322,7 +1551,9 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void error(String msg, Throwable t) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isErrorEnabled())
+      return;
+    if (isDenied(ERROR_INT, null, msg))
       return;
 
     if (instanceofML) {
@@ -1339,7 +1570,9 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void error(Marker marker, String msg) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isErrorEnabled())
+      return;
+    if (isDenied(ERROR_INT, marker, msg))
       return;
     if (instanceofML) {
       Message mesg = new SimpleMessage(msg);
@@ -1355,12 +1588,17 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void error(Marker marker, String format, Object arg) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isErrorEnabled())
+      return;
+    if (isDenied(ERROR_INT, marker, format, arg))
       return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, new Object[] {arg});
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(marker, fqcn, ERROR_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, arg);
+      try {
+        ((MessageLogger) logger).log(marker, fqcn, ERROR_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.format(format, arg);
       ((LocationAwareLogger) logger).log(marker, fqcn, ERROR_INT, formattedMessage, null);
@@ -1373,12 +1611,17 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void error(Marker marker, String format, Object arg1, Object arg2) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isErrorEnabled())
+      return;
+    if (isDenied(ERROR_INT, marker, format, arg1, arg2))
       return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, new Object[] {arg1, arg2});
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(marker, fqcn, ERROR_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, arg1, arg2);
+      try {
+        ((MessageLogger) logger).log(marker, fqcn, ERROR_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.format(format, arg1, arg2);
       ((LocationAwareLogger) logger).log(marker, fqcn, ERROR_INT, formattedMessage, null);
@@ -1391,12 +1634,17 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void error(Marker marker, String format, Object[] argArray) {
-    if (!logger.isDebugEnabled())
+    if (!logger.isErrorEnabled())
+      return;
+    if (isDenied(ERROR_INT, marker, format, argArray))
       return;
     if (instanceofML) {
-      ParameterizedMessage msg = new ParameterizedMessage(format, argArray);
-      Throwable t = msg.getThrowable();
-      ((MessageLogger) logger).log(marker, fqcn, ERROR_INT, msg, t);
+      ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, argArray);
+      try {
+        ((MessageLogger) logger).log(marker, fqcn, ERROR_INT, msg, msg.getThrowable());
+      } finally {
+        msg.release();
+      }
     } else if (instanceofLAL) {
       String formattedMessage = MessageFormatter.arrayFormat(format, argArray);
       ((LocationAwareLogger) logger).log(marker, fqcn, ERROR_INT, formattedMessage, null);
@@ -1409,7 +1657,9 @@ public class MessageLoggerWrapper implements MessageLogger {
    * Delegate to the appropriate method of the underlying logger.
    */
   public void error(Marker marker, String msg, Throwable t) {
-    if (!logger.isTraceEnabled())
+    if (!logger.isErrorEnabled())
+      return;
+    if (isDenied(ERROR_INT, marker, msg))
       return;
     if (instanceofML) {
       Message mesg = new SimpleMessage(msg);
@@ -1431,6 +1681,10 @@ public class MessageLoggerWrapper implements MessageLogger {
    * @param t A Throwable or null.
    */
   public void log(Marker marker, String fqcn, int level, Message data, Throwable t) {
+    if (filter != null
+        && LevelAwareLoggerAdapter.isEnabled(logger, marker, level)
+        && isDenied(level, marker, data))
+      return;
     if (instanceofML) {
       ((MessageLogger) logger).log(marker, fqcn, level, data, t);
     } else if (instanceofLAL) {
@@ -1456,6 +1710,68 @@ public class MessageLoggerWrapper implements MessageLogger {
     }
   }
 
+  /**
+   * Logs a batch of Messages, handing it whole to the underlying logger if it
+   * is a MessageLogger and logging the messages one by one otherwise.
+   * @param marker The Marker
+   * @param fqcn The fully qualified class name of the <b>caller</b>
+   * @param level The logging level
+   * @param batch The array holding the Messages.
+   * @param off The index of the first Message to log.
+   * @param len The number of Messages to log.
+   */
+  public void log(Marker marker, String fqcn, int level, Message[] batch, int off, int len) {
+    if (filter != null) {
+      logFiltered(marker, fqcn, level, batch, off, len);
+      return;
+    }
+    if (instanceofML) {
+      ((MessageLogger) logger).log(marker, fqcn, level, batch, off, len);
+      return;
+    }
+    if (len <= 0 || !LevelAwareLoggerAdapter.isEnabled(logger, marker, level)) {
+      return;
+    }
+    for (int i = off; i < off + len; i++) {
+      dispatch(marker, fqcn, level, batch[i].getFormattedMessage(), null);
+    }
+  }
+
+  private void logFiltered(Marker marker, String fqcn, int level, Message[] batch, int off, int len) {
+    if (len <= 0 || !LevelAwareLoggerAdapter.isEnabled(logger, marker, level)) {
+      return;
+    }
+    // the batch without the denied messages, copied only if one is denied
+    Message[] accepted = batch;
+    int acceptedOff = off;
+    int acceptedLen = 0;
+    for (int i = off; i < off + len; i++) {
+      Message msg = batch[i];
+      if (isDenied(level, marker, msg)) {
+        if (accepted == batch) {
+          accepted = new Message[len];
+          System.arraycopy(batch, off, accepted, 0, acceptedLen);
+          acceptedOff = 0;
+        }
+      } else {
+        if (accepted != batch) {
+          accepted[acceptedLen] = msg;
+        }
+        acceptedLen++;
+      }
+    }
+    if (acceptedLen == 0) {
+      return;
+    }
+    if (instanceofML) {
+      ((MessageLogger) logger).log(marker, fqcn, level, accepted, acceptedOff, acceptedLen);
+    } else {
+      for (int i = acceptedOff; i < acceptedOff + acceptedLen; i++) {
+        dispatch(marker, fqcn, level, accepted[i].getFormattedMessage(), null);
+      }
+    }
+  }
+
   /**
    * Printing method with support for location information.
    *
@@ -1466,7 +1782,44 @@ public class MessageLoggerWrapper implements MessageLogger {
    * @param t
    */
   public void log(Marker marker, String fqcn, int level, String message, Throwable t) {
-     if (instanceofML) {
+    if (filter != null
+        && LevelAwareLoggerAdapter.isEnabled(logger, marker, level)
+        && isDenied(level, marker, message))
+      return;
+    dispatch(marker, fqcn, level, message, t);
+  }
+
+  /**
+   * Return true if a filter is set and denies the statement. The arguments
+   * are only copied into an array when there is a filter to consult.
+   */
+  private boolean isDenied(int level, Marker marker, Message msg) {
+    return filter != null
+        && filter.decide(logger, level, marker, msg.getMessageFormat(), msg.getParameters()) == EventFilter.DENY;
+  }
+
+  private boolean isDenied(int level, Marker marker, String msg) {
+    return filter != null
+        && filter.decide(logger, level, marker, msg, null) == EventFilter.DENY;
+  }
+
+  private boolean isDenied(int level, Marker marker, String format, Object arg) {
+    return filter != null
+        && filter.decide(logger, level, marker, format, new Object[] { arg }) == EventFilter.DENY;
+  }
+
+  private boolean isDenied(int level, Marker marker, String format, Object arg1, Object arg2) {
+    return filter != null
+        && filter.decide(logger, level, marker, format, new Object[] { arg1, arg2 }) == EventFilter.DENY;
+  }
+
+  private boolean isDenied(int level, Marker marker, String format, Object[] argArray) {
+    return filter != null
+        && filter.decide(logger, level, marker, format, argArray) == EventFilter.DENY;
+  }
+
+  private void dispatch(Marker marker, String fqcn, int level, String message, Throwable t) {
+    if (instanceofML) {
       Message msg = new SimpleMessage(message);
       ((MessageLogger) logger).log(marker, fqcn, level, msg, t);
     } else if (instanceofLAL) {
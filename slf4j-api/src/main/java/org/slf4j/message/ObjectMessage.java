@@ -0,0 +1,76 @@
+package org.slf4j.message;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+/**
+ * A message carrying an arbitrary object, converted to a string with its
+ * <code>toString()</code> method only when the message is first formatted,
+ * that is, once a logging system has accepted the event.
+ *
+ * <p>
+ * Only the string form is serialized.
+ *
+ * @since 1.5.11
+ */
+public class ObjectMessage implements Message, Serializable {
+  private static final long serialVersionUID = 7180346587146324370L;
+
+  private transient Object object;
+  private String formattedMessage;
+
+  public ObjectMessage(Object object) {
+    this.object = object;
+  }
+
+  /**
+   * Return the object of this message, or its string form if this message
+   * was deserialized.
+   */
+  public Object getObject() {
+    return object != null ? object : formattedMessage;
+  }
+
+  public String getFormattedMessage() {
+    if (formattedMessage == null && object != null) {
+      formattedMessage = object.toString();
+    }
+    return formattedMessage;
+  }
+
+  /**
+   * Return a constant pattern with a single placeholder for the object, so
+   * that callers inspecting the format do not force its string conversion.
+   */
+  public String getMessageFormat() {
+    return "{}";
+  }
+
+  public Object[] getParameters() {
+    return new Object[] {getObject()};
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    getFormattedMessage();
+    out.defaultWriteObject();
+  }
+
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+
+    ObjectMessage that = (ObjectMessage) o;
+    String formatted = getFormattedMessage();
+    return !(formatted != null ? !formatted.equals(that.getFormattedMessage()) : that.getFormattedMessage() != null);
+  }
+
+  public int hashCode() {
+    String formatted = getFormattedMessage();
+    return formatted != null ? formatted.hashCode() : 0;
+  }
+
+  public String toString() {
+    return "ObjectMessage[object=" + getObject() + "]";
+  }
+}
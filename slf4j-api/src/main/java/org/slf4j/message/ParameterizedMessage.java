@@ -1,18 +1,44 @@
 package org.slf4j.message;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.text.SimpleDateFormat;
 import java.util.*;
 
+import org.slf4j.helpers.PatternTable;
+
 /**
+ * A message made of a pattern with "{}" placeholders and the arguments
+ * filling them.
+ *
+ * <p>
+ * The message holds a single copy of its arguments: the original objects,
+ * until it is frozen, then their string forms. It is frozen by
+ * {@link #freeze()} and when serialized. Code handing a message over to
+ * another thread, while the arguments may still change, should freeze it
+ * first. The formatted message is built on first use.
  *
+ * <p>
+ * The serialized form is the pattern, written as an object so that a stream
+ * writing the same pattern instance many times, as logging call sites do,
+ * only writes it once, followed by the string forms of the arguments.
  */
 public class ParameterizedMessage implements Message, Serializable {
-  private static final long serialVersionUID = -665975803997290697L;
+  private static final long serialVersionUID = -1457839165281734567L;
+
+  // serialized argument tags
+  private static final int NULL_ARG = 0;
+  private static final int UTF_ARG = 1;
+  private static final int STRING_ARG = 2;
+  // longest string sure to fit the 64KB limit of writeUTF
+  private static final int MAX_UTF_LENGTH = 65535 / 3;
 
   private String messagePattern;
-  private String[] stringArgs;
-  private transient Object[] argArray;
+  // the original arguments, or their string forms once frozen
+  private transient Object[] arguments;
+  private transient boolean frozen;
   private transient String formattedMessage;
   private transient Throwable throwable;
 
@@ -22,21 +48,25 @@ public class ParameterizedMessage implements Message, Serializable {
 
   public ParameterizedMessage(String messagePattern, String[] stringArgs, Throwable throwable) {
     this.messagePattern = messagePattern;
-    this.stringArgs = stringArgs;
+    this.arguments = stringArgs;
+    this.frozen = true;
     this.throwable = throwable;
   }
 
   /**
-   * <p>This method returns a ParameterizedMessage which contains the arguments converted to String
+   * <p>This method returns a ParameterizedMessage which contains the arguments
    * as well as an optional Throwable.</p>
    * <p/>
    * <p>If the last argument is a Throwable and is NOT used up by a placeholder in the message pattern it is returned
-   * in ParameterizedMessage.getThrowable() and won't be contained in the created String[].<br/>
+   * in ParameterizedMessage.getThrowable() and won't be contained in the parameters.<br/>
    * If it is used up ParameterizedMessage.getThrowable() will return null even if the last argument was a Throwable!</p>
+   * <p/>
+   * <p>The arguments are converted to strings when the message is formatted, frozen
+   * or serialized, not by this constructor. The array is kept as is when no Throwable
+   * is taken out of it.</p>
    *
    * @param messagePattern the message pattern that to be checked for placeholders.
-   * @param arguments      the argument array to be converted.
-   * @return a ParameterizedMessage containing the messagePattern, converted arguments and, optionally, a Throwable.
+   * @param arguments      the arguments.
    */
   public ParameterizedMessage(String messagePattern, Object[] arguments) {
     this.messagePattern = messagePattern;
@@ -56,29 +86,48 @@ public class ParameterizedMessage implements Message, Serializable {
 
   private void parseArguments(Object[] arguments) {
     int argsCount = countArgumentPlaceholders(messagePattern);
-    int resultArgCount = arguments.length;
-    if (argsCount < arguments.length) {
-      if (arguments[arguments.length - 1] instanceof Throwable) {
-        throwable = (Throwable) arguments[arguments.length - 1];
-        resultArgCount--;
-      }
+    throwable = null;
+    if (argsCount < arguments.length
+        && arguments[arguments.length - 1] instanceof Throwable) {
+      throwable = (Throwable) arguments[arguments.length - 1];
+      Object[] args = new Object[arguments.length - 1];
+      System.arraycopy(arguments, 0, args, 0, args.length);
+      arguments = args;
     }
-    argArray = new Object[resultArgCount];
-    for (int i=0; i < resultArgCount; ++i) {
-      argArray[i] = arguments[i];
+    this.arguments = arguments;
+    this.frozen = false;
+  }
+
+  /**
+   * Replace the arguments of this message by their string forms, so that
+   * later changes of the arguments do not show in the message. After this
+   * call, {@link #getParameters()} returns these strings.
+   */
+  public void freeze() {
+    if (!frozen) {
+      arguments = stringArguments();
+      frozen = true;
     }
+  }
 
-    if (argsCount == 1 && throwable == null && arguments.length > 1) {
-      // special case
-      stringArgs = new String[1];
-      stringArgs[0] = deepToString(arguments);
+  /**
+   * Return the arguments as formatted, without changing this message: a
+   * single string when they all fill a single placeholder.
+   */
+  private Object[] stringArguments() {
+    if (frozen || arguments == null) {
+      return arguments;
     }
-    else {
-      stringArgs = new String[resultArgCount];
-      for (int i = 0; i < stringArgs.length; i++) {
-        stringArgs[i] = deepToString(arguments[i]);
-      }
+    if (arguments.length > 1 && throwable == null
+        && countArgumentPlaceholders(messagePattern) == 1) {
+      // special case, the array fills the placeholder
+      return new String[] {deepToString(arguments)};
     }
+    String[] strings = new String[arguments.length];
+    for (int i = 0; i < strings.length; i++) {
+      strings[i] = deepToString(arguments[i]);
+    }
+    return strings;
   }
 
   public String getFormattedMessage() {
@@ -97,15 +146,17 @@ public class ParameterizedMessage implements Message, Serializable {
     this.formattedMessage = null;
   }
 
+  /**
+   * Return the arguments, without the Throwable, or their string forms if
+   * this message is frozen.
+   */
   public Object[] getParameters() {
-    if (argArray != null) {
-      return argArray;
-    }
-    return stringArgs;
+    return arguments;
   }
 
   public void setParameters(String[] parameters) {
-    this.stringArgs = parameters;
+    this.arguments = parameters;
+    this.frozen = true;
     this.formattedMessage = null;
   }
 
@@ -130,10 +181,54 @@ public class ParameterizedMessage implements Message, Serializable {
 
   private void formatMessage() {
     if (formattedMessage == null) {
-      formattedMessage = format(messagePattern, stringArgs);
+      formattedMessage = format(messagePattern, stringArguments());
     }
   }
 
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    freeze();
+    out.defaultWriteObject();
+    if (arguments == null) {
+      out.writeInt(-1);
+      return;
+    }
+    out.writeInt(arguments.length);
+    for (int i = 0; i < arguments.length; i++) {
+      String arg = (String) arguments[i];
+      if (arg == null) {
+        out.writeByte(NULL_ARG);
+      } else if (arg.length() <= MAX_UTF_LENGTH) {
+        out.writeByte(UTF_ARG);
+        out.writeUTF(arg);
+      } else {
+        out.writeByte(STRING_ARG);
+        out.writeObject(arg);
+      }
+    }
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException,
+      ClassNotFoundException {
+    in.defaultReadObject();
+    frozen = true;
+    int count = in.readInt();
+    if (count < 0) {
+      return;
+    }
+    String[] args = new String[count];
+    for (int i = 0; i < count; i++) {
+      int tag = in.readByte();
+      if (tag == UTF_ARG) {
+        args[i] = in.readUTF();
+      } else if (tag == STRING_ARG) {
+        args[i] = (String) in.readObject();
+      } else if (tag != NULL_ARG) {
+        throw new IOException("Unexpected argument tag " + tag);
+      }
+    }
+    arguments = args;
+  }
+
   public boolean equals(Object o) {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
@@ -143,7 +238,7 @@ public class ParameterizedMessage implements Message, Serializable {
     if (messagePattern != null ? !messagePattern.equals(that.messagePattern) : that.messagePattern != null) {
       return false;
     }
-    if (!Arrays.equals(stringArgs, that.stringArgs)) return false;
+    if (!Arrays.equals(stringArguments(), that.stringArguments())) return false;
     //if (throwable != null ? !throwable.equals(that.throwable) : that.throwable != null) return false;
 
     return true;
@@ -151,6 +246,7 @@ public class ParameterizedMessage implements Message, Serializable {
 
   public int hashCode() {
     int result = messagePattern != null ? messagePattern.hashCode() : 0;
+    Object[] stringArgs = stringArguments();
     result = 31 * result + (stringArgs != null ? Arrays.hashCode(stringArgs) : 0);
     return result;
   }
@@ -178,6 +274,19 @@ public class ParameterizedMessage implements Message, Serializable {
     if (messagePattern == null || arguments == null || arguments.length == 0) {
       return messagePattern;
     }
+    String[] segments = PatternTable.getSegments(messagePattern);
+    if (segments != null) {
+      StringBuilder result = new StringBuilder(segments[0]);
+      for (int i = 1; i < segments.length; i++) {
+        if (i <= arguments.length) {
+          result.append(arguments[i - 1]);
+        } else {
+          result.append(DELIM_START).append(DELIM_STOP);
+        }
+        result.append(segments[i]);
+      }
+      return result.toString();
+    }
 
     StringBuilder result = new StringBuilder();
     int escapeCounter = 0;
@@ -243,6 +352,10 @@ public class ParameterizedMessage implements Message, Serializable {
     if (messagePattern == null) {
       return 0;
     }
+    String[] segments = PatternTable.getSegments(messagePattern);
+    if (segments != null) {
+      return segments.length - 1;
+    }
 
     int delim = messagePattern.indexOf(DELIM_START);
 
@@ -308,7 +421,7 @@ public class ParameterizedMessage implements Message, Serializable {
    * @param str    the StringBuilder that o will be appended to
    * @param dejaVu a list of container identities that were already used.
    */
-  private static void recursiveDeepToString(Object o, StringBuilder str, Set dejaVu) {
+  static void recursiveDeepToString(Object o, StringBuilder str, Set dejaVu) {
     if (o == null) {
       str.append("null");
       return;
@@ -477,6 +590,6 @@ public class ParameterizedMessage implements Message, Serializable {
 
   public String toString() {
     return "ParameterizedMessage[messagePattern=" + messagePattern + ", stringArgs=" +
-        Arrays.toString(stringArgs) + ", throwable=" + throwable + "]";
+        Arrays.toString(stringArguments()) + ", throwable=" + throwable + "]";
   }
 }
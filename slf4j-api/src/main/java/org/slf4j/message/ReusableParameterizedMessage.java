@@ -0,0 +1,288 @@
+package org.slf4j.message;
+
+import java.io.ObjectStreamException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+
+/**
+ * A mutable counterpart of {@link ParameterizedMessage} which is recycled
+ * by the thread that logs it.
+ * <p>
+ * Each thread owns one instance, obtained with {@link #acquire()} and given
+ * back with {@link #release()}:
+ * <pre>
+ * ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(format, arg);
+ * try {
+ *   messageLogger.log(null, fqcn, level, msg, msg.getThrowable());
+ * } finally {
+ *   msg.release();
+ * }
+ * </pre>
+ * Populating and formatting the message neither copies the arguments nor
+ * allocates intermediate strings; the only allocation left is the formatted
+ * String handed to the logging system, and {@link #formatTo(StringBuilder)}
+ * avoids even that for callers which can consume characters.
+ * <p>
+ * If the message is still in use when the same thread acquires it again, as
+ * happens when the <code>toString()</code> method of an argument logs, a
+ * fresh instance is returned so that the outer message is left untouched.
+ * <p>
+ * A message which must outlive the call it was acquired for has to be copied
+ * with {@link #toImmutable()}. Serialization does this implicitly.
+ */
+public final class ReusableParameterizedMessage implements Message {
+  private static final long serialVersionUID = 4536829415247127893L;
+
+  private static final int INITIAL_ARGUMENTS = 4;
+  private static final int INITIAL_BUFFER = 128;
+  // larger buffers are dropped on release, lest a single huge message be
+  // retained by every thread which ever logged it
+  private static final int MAX_RETAINED_BUFFER = 1024;
+
+  private static final ThreadLocal CURRENT = new ThreadLocal();
+
+  private transient String messagePattern;
+  private transient Object[] arguments = new Object[INITIAL_ARGUMENTS];
+  private transient int argumentCount;
+  private transient int placeholderCount;
+  private transient Throwable throwable;
+  private transient StringBuilder buffer = new StringBuilder(INITIAL_BUFFER);
+  private transient String formattedMessage;
+  private transient boolean inUse;
+
+  private ReusableParameterizedMessage() {
+  }
+
+  /**
+   * Return the current thread's message, or a new one if it is already in
+   * use. The message must be given back with {@link #release()}.
+   */
+  public static ReusableParameterizedMessage acquire() {
+    ReusableParameterizedMessage msg = (ReusableParameterizedMessage) CURRENT.get();
+    if (msg == null) {
+      msg = new ReusableParameterizedMessage();
+      CURRENT.set(msg);
+    } else if (msg.inUse) {
+      // re-entrant logging, e.g. from the toString() method of an argument
+      msg = new ReusableParameterizedMessage();
+    }
+    msg.inUse = true;
+    return msg;
+  }
+
+  public static ReusableParameterizedMessage acquire(String messagePattern, Object arg) {
+    return acquire().set(messagePattern, arg);
+  }
+
+  public static ReusableParameterizedMessage acquire(String messagePattern, Object arg1, Object arg2) {
+    return acquire().set(messagePattern, arg1, arg2);
+  }
+
+  public static ReusableParameterizedMessage acquire(String messagePattern, Object[] arguments) {
+    return acquire().set(messagePattern, arguments);
+  }
+
+  /**
+   * Clear this message and make it available to the next {@link #acquire()}
+   * call of its thread.
+   */
+  public void release() {
+    clearArguments();
+    messagePattern = null;
+    formattedMessage = null;
+    if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+      buffer = new StringBuilder(INITIAL_BUFFER);
+    }
+    inUse = false;
+  }
+
+  public ReusableParameterizedMessage set(String messagePattern, Object arg) {
+    init(messagePattern, 1);
+    arguments[0] = arg;
+    argumentCount = 1;
+    extractThrowable();
+    return this;
+  }
+
+  public ReusableParameterizedMessage set(String messagePattern, Object arg1, Object arg2) {
+    init(messagePattern, 2);
+    arguments[0] = arg1;
+    arguments[1] = arg2;
+    argumentCount = 2;
+    extractThrowable();
+    return this;
+  }
+
+  public ReusableParameterizedMessage set(String messagePattern, Object[] args) {
+    int count = (args == null) ? 0 : args.length;
+    init(messagePattern, count);
+    for (int i = 0; i < count; i++) {
+      arguments[i] = args[i];
+    }
+    argumentCount = count;
+    extractThrowable();
+    return this;
+  }
+
+  private void init(String messagePattern, int count) {
+    clearArguments();
+    if (arguments.length < count) {
+      arguments = new Object[count];
+    }
+    this.messagePattern = messagePattern;
+    this.placeholderCount = ParameterizedMessage.countArgumentPlaceholders(messagePattern);
+    this.formattedMessage = null;
+  }
+
+  private void clearArguments() {
+    for (int i = 0; i < argumentCount; i++) {
+      arguments[i] = null;
+    }
+    argumentCount = 0;
+    throwable = null;
+  }
+
+  // same rule as ParameterizedMessage: a trailing Throwable which is not
+  // used up by a placeholder is the throwable of the event
+  private void extractThrowable() {
+    if (placeholderCount < argumentCount
+        && arguments[argumentCount - 1] instanceof Throwable) {
+      argumentCount--;
+      throwable = (Throwable) arguments[argumentCount];
+      arguments[argumentCount] = null;
+    }
+  }
+
+  public String getFormattedMessage() {
+    if (messagePattern == null || argumentCount == 0) {
+      return messagePattern;
+    }
+    if (formattedMessage == null) {
+      buffer.setLength(0);
+      formatTo(buffer);
+      formattedMessage = buffer.toString();
+    }
+    return formattedMessage;
+  }
+
+  /**
+   * Append the formatted message to <code>result</code>.
+   */
+  public void formatTo(StringBuilder result) {
+    if (formattedMessage != null) {
+      result.append(formattedMessage);
+      return;
+    }
+    if (messagePattern == null || argumentCount == 0) {
+      result.append(messagePattern);
+      return;
+    }
+    if (placeholderCount == 1 && argumentCount > 1) {
+      // special case of ParameterizedMessage, the array fills the placeholder
+      format(result, messagePattern, new Object[] {getParameters()}, 1);
+    } else {
+      format(result, messagePattern, arguments, argumentCount);
+    }
+  }
+
+  public String getMessageFormat() {
+    return messagePattern;
+  }
+
+  /**
+   * Return a copy of the arguments, without the throwable.
+   */
+  public Object[] getParameters() {
+    Object[] copy = new Object[argumentCount];
+    System.arraycopy(arguments, 0, copy, 0, argumentCount);
+    return copy;
+  }
+
+  public Throwable getThrowable() {
+    return throwable;
+  }
+
+  /**
+   * Return an immutable copy of this message, with arguments converted to
+   * strings, which remains valid after this message is released.
+   */
+  public Message toImmutable() {
+    Object[] args = new Object[argumentCount + (throwable == null ? 0 : 1)];
+    System.arraycopy(arguments, 0, args, 0, argumentCount);
+    if (throwable != null) {
+      args[argumentCount] = throwable;
+    }
+    ParameterizedMessage copy = new ParameterizedMessage(messagePattern, args);
+    copy.freeze();
+    return copy;
+  }
+
+  private Object writeReplace() throws ObjectStreamException {
+    return toImmutable();
+  }
+
+  public String toString() {
+    return "ReusableParameterizedMessage[messagePattern=" + messagePattern
+        + ", argumentCount=" + argumentCount + ", throwable=" + throwable + "]";
+  }
+
+  /**
+   * Same as {@link ParameterizedMessage#format(String, Object[])} except that
+   * arguments are appended as they are converted.
+   */
+  private static void format(StringBuilder result, String messagePattern,
+      Object[] arguments, int count) {
+    int escapeCounter = 0;
+    int currentArgument = 0;
+    int len = messagePattern.length();
+    for (int i = 0; i < len; i++) {
+      char curChar = messagePattern.charAt(i);
+      if (curChar == '\\') {
+        escapeCounter++;
+        continue;
+      }
+      if (curChar == '{' && i < len - 1 && messagePattern.charAt(i + 1) == '}') {
+        // write escaped escape chars
+        for (int j = escapeCounter / 2; j > 0; j--) {
+          result.append('\\');
+        }
+        if (escapeCounter % 2 == 1) {
+          result.append("{}");
+        } else {
+          if (currentArgument < count) {
+            appendArgument(result, arguments[currentArgument]);
+          } else {
+            result.append("{}");
+          }
+          currentArgument++;
+        }
+        i++;
+        escapeCounter = 0;
+        continue;
+      }
+      for (; escapeCounter > 0; escapeCounter--) {
+        result.append('\\');
+      }
+      result.append(curChar);
+    }
+  }
+
+  private static void appendArgument(StringBuilder result, Object o) {
+    if (o == null || o instanceof String) {
+      result.append((String) o);
+    } else if (o instanceof Integer || o instanceof Short || o instanceof Byte) {
+      result.append(((Number) o).intValue());
+    } else if (o instanceof Long) {
+      result.append(((Long) o).longValue());
+    } else if (o instanceof Boolean) {
+      result.append(((Boolean) o).booleanValue());
+    } else if (o instanceof Character) {
+      result.append(((Character) o).charValue());
+    } else if (o instanceof Object[] || o instanceof Map || o instanceof Collection) {
+      ParameterizedMessage.recursiveDeepToString(o, result, new HashSet());
+    } else {
+      ParameterizedMessage.recursiveDeepToString(o, result, null);
+    }
+  }
+}
@@ -0,0 +1,74 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.spi;
+
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+
+/**
+ * A filter deciding whether a logging statement is logged, evaluated by
+ * {@link org.slf4j.message.MessageLoggerWrapper} once the level is known to be
+ * enabled but before any message object or string is built from the pattern
+ * and its arguments.
+ * 
+ * <p>
+ * A filter returns {@link #DENY} to drop the statement, {@link #ACCEPT} to log
+ * it without consulting the following filters of a
+ * {@link org.slf4j.helpers.FilterChain}, or {@link #NEUTRAL} to leave the
+ * decision to them. Statements no filter denies are logged, the underlying
+ * logging system applying its own filtering afterwards.
+ * 
+ * <p>
+ * Filters are called on the logging thread, possibly by several threads at
+ * once, and must not log through the logger they filter.
+ * 
+ * @since 1.5.11
+ */
+public interface EventFilter {
+
+  final public int DENY = -1;
+  final public int NEUTRAL = 0;
+  final public int ACCEPT = 1;
+
+  /**
+   * Decide whether a logging statement is logged.
+   * 
+   * @param logger
+   *          the logger the statement is logged with
+   * @param level
+   *          the level of the statement, one of the
+   *          {@link LocationAwareLogger} level integers
+   * @param marker
+   *          the marker of the statement, or null
+   * @param pattern
+   *          the message pattern, or the message itself when logged without
+   *          arguments
+   * @param args
+   *          the raw arguments, null if none
+   * @return {@link #DENY}, {@link #NEUTRAL} or {@link #ACCEPT}
+   */
+  public int decide(Logger logger, int level, Marker marker, String pattern,
+      Object[] args);
+}
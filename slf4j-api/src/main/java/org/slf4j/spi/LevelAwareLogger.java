@@ -0,0 +1,67 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.spi;
+
+import org.slf4j.Marker;
+
+/**
+ * An <b>optional</b> extension of {@link LocationAwareLogger} for bindings
+ * which can tell whether a level, given as one of the
+ * {@link LocationAwareLogger} level constants, is enabled without a switch
+ * on the level. Bridges check once with {@link #isEnabled(int)} and dispatch
+ * with {@link #log(Marker, String, int, String, Throwable)}, so that a
+ * disabled bridged call costs a single branch.
+ * 
+ * <p>
+ * Bridges should not test for this interface themselves but go through
+ * {@link org.slf4j.helpers.LevelAwareLoggerAdapter}, which adapts bindings
+ * that do not implement it.
+ * 
+ * @since 1.5.11
+ */
+public interface LevelAwareLogger extends LocationAwareLogger {
+
+  /**
+   * Is the logger instance enabled for the given level?
+   * 
+   * @param level
+   *                one of {@link #TRACE_INT}, {@link #DEBUG_INT},
+   *                {@link #INFO_INT}, {@link #WARN_INT} or {@link #ERROR_INT}
+   * @return true if the level is enabled, false otherwise.
+   */
+  public boolean isEnabled(int level);
+
+  /**
+   * Similar to {@link #isEnabled(int)} method except that the marker data is
+   * also taken into account.
+   * 
+   * @param marker
+   *                The marker data to take into consideration
+   * @param level
+   *                one of the level constants of {@link LocationAwareLogger}
+   * @return true if the level is enabled, false otherwise.
+   */
+  public boolean isEnabled(Marker marker, int level);
+}
@@ -0,0 +1,72 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.spi;
+
+import java.util.Map;
+
+/**
+ * An optional extension of {@link MDCAdapter} for implementations which can
+ * hand out the current thread's context map as an immutable snapshot and
+ * later install such a snapshot without copying it.
+ * 
+ * <p>
+ * Code which carries the MDC across threads (executors, thread factories)
+ * would otherwise have to copy the map once when a task is submitted, once
+ * more when it is installed in the worker thread and a third time when the
+ * worker's own context is restored. Snapshots are treated as copy-on-write:
+ * a thread which modifies an installed snapshot gets a private copy first,
+ * so that a snapshot can be shared by any number of threads.
+ * 
+ * @since 1.5.11
+ */
+public interface SnapshotMDCAdapter extends MDCAdapter {
+
+  /**
+   * Return an immutable snapshot of the current thread's context map. The
+   * returned map may be shared with the current thread and with other
+   * snapshots and must not be modified. Returned value may be null if the
+   * current thread has no context.
+   * 
+   * @return an immutable view of the current thread's context map. May be
+   *         null.
+   */
+  public Map getSnapshot();
+
+  /**
+   * Install a snapshot previously obtained from {@link #getSnapshot()} as the
+   * current thread's context map, without copying it, and return the
+   * snapshot of the context it replaces. A null snapshot stands for an empty
+   * context.
+   * 
+   * <p>
+   * Calling this method again with the returned value restores the
+   * previous context exactly.
+   * 
+   * @param snapshot
+   *                the snapshot to install, may be null
+   * @return the snapshot of the context which was replaced. May be null.
+   */
+  public Map swapSnapshot(Map snapshot);
+}
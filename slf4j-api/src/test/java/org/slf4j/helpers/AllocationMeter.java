@@ -0,0 +1,89 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.helpers;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+
+/**
+ * Measures the number of bytes allocated by the current thread, on JVMs
+ * which support it (HotSpot 6 and later through
+ * <code>com.sun.management.ThreadMXBean</code>).
+ */
+public class AllocationMeter {
+
+  private static final Object BEAN = ManagementFactory.getThreadMXBean();
+  private static final Method ALLOCATED_BYTES = lookup();
+
+  private static Method lookup() {
+    try {
+      Class type = Class.forName("com.sun.management.ThreadMXBean");
+      if (!type.isInstance(BEAN)) {
+        return null;
+      }
+      return type.getMethod("getThreadAllocatedBytes",
+          new Class[] { long.class });
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  public static boolean isSupported() {
+    return ALLOCATED_BYTES != null && allocatedBytes() >= 0;
+  }
+
+  /**
+   * Return the number of bytes allocated so far by the current thread, or -1
+   * if unsupported.
+   */
+  public static long allocatedBytes() {
+    if (ALLOCATED_BYTES == null) {
+      return -1;
+    }
+    try {
+      Object[] args = new Object[] { new Long(Thread.currentThread().getId()) };
+      return ((Long) ALLOCATED_BYTES.invoke(BEAN, args)).longValue();
+    } catch (Exception e) {
+      return -1;
+    }
+  }
+
+  /**
+   * Return the average number of bytes allocated by one run of
+   * <code>r</code>, measured over <code>len</code> runs after as many runs
+   * of warm up.
+   */
+  public static double bytesPerRun(Runnable r, int len) {
+    for (int i = 0; i < len; i++) {
+      r.run();
+    }
+    long before = allocatedBytes();
+    for (int i = 0; i < len; i++) {
+      r.run();
+    }
+    long after = allocatedBytes();
+    return (after - before) / (double) len;
+  }
+}
@@ -0,0 +1,93 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.helpers;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+public class CachedDateFormatTest extends TestCase {
+
+  static final String PATTERN = "yyyy/MM/dd HH:mm:ss:SSS zzz";
+
+  long base = System.currentTimeMillis() / 1000 * 1000;
+
+  public void testFindMillis() {
+    assertEquals(20, CachedDateFormat.findMillis(new SimpleDateFormat(
+        PATTERN)));
+    assertEquals(CachedDateFormat.NO_MILLIS, CachedDateFormat
+        .findMillis(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss")));
+    assertEquals(CachedDateFormat.UNCACHEABLE, CachedDateFormat
+        .findMillis(new SimpleDateFormat("HH:mm:ss.S")));
+  }
+
+  public void testFormat() {
+    String[] patterns = { PATTERN, "yyyy-MM-dd HH:mm:ss", "HH:mm:ss.S",
+        "SSS 'ms' HH:mm:ss", "HH:mm:ss,SSSS" };
+    long[] times = { base, base + 1, base + 9, base + 10, base + 99,
+        base + 100, base + 999, base + 1000, base + 1001, base - 1, base + 5,
+        0, 999 };
+    for (int p = 0; p < patterns.length; p++) {
+      SimpleDateFormat reference = new SimpleDateFormat(patterns[p]);
+      CachedDateFormat cached = new CachedDateFormat(new SimpleDateFormat(
+          patterns[p]));
+      for (int i = 0; i < times.length; i++) {
+        assertEquals(patterns[p] + " " + times[i], reference.format(new Date(
+            times[i])), cached.format(times[i]));
+      }
+    }
+  }
+
+  public void testConcurrentFormat() throws InterruptedException {
+    final CachedDateFormat cached = new CachedDateFormat(new SimpleDateFormat(
+        PATTERN));
+    final String[] failure = new String[1];
+    Thread[] threads = new Thread[8];
+    for (int i = 0; i < threads.length; i++) {
+      final int seed = i;
+      threads[i] = new Thread() {
+        public void run() {
+          SimpleDateFormat reference = new SimpleDateFormat(PATTERN);
+          Random random = new Random(seed);
+          for (int j = 0; j < 20000 && failure[0] == null; j++) {
+            long time = base + random.nextInt(5000);
+            String expected = reference.format(new Date(time));
+            String actual = cached.format(time);
+            if (!expected.equals(actual)) {
+              failure[0] = expected + " != " + actual;
+            }
+          }
+        }
+      };
+      threads[i].start();
+    }
+    for (int i = 0; i < threads.length; i++) {
+      threads[i].join();
+    }
+    assertNull(failure[0], failure[0]);
+  }
+}
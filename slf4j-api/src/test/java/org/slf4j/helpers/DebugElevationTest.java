@@ -0,0 +1,106 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.helpers;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+public class DebugElevationTest extends TestCase {
+
+  BasicMDCAdapter mdc = new BasicMDCAdapter();
+
+  public DebugElevationTest(String name) {
+    super(name);
+  }
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    DebugElevation.configure("debugRequestId", null);
+  }
+
+  protected void tearDown() throws Exception {
+    mdc.clear();
+    DebugElevation.configure(null, null);
+    super.tearDown();
+  }
+
+  public void testDisabled() {
+    DebugElevation.configure(null, null);
+    mdc.put("debugRequestId", "42");
+    assertFalse(DebugElevation.isElevated());
+  }
+
+  public void testPutRemove() {
+    mdc.put("other", "42");
+    assertFalse(DebugElevation.isElevated());
+    mdc.put("debugRequestId", "42");
+    assertTrue(DebugElevation.isElevated());
+    mdc.remove("other");
+    assertTrue(DebugElevation.isElevated());
+    mdc.remove("debugRequestId");
+    assertFalse(DebugElevation.isElevated());
+  }
+
+  public void testValues() {
+    DebugElevation.configure("debugRequestId", "a,b");
+    mdc.put("debugRequestId", "c");
+    assertFalse(DebugElevation.isElevated());
+    mdc.put("debugRequestId", "b");
+    assertTrue(DebugElevation.isElevated());
+    mdc.put("debugRequestId", null);
+    assertFalse(DebugElevation.isElevated());
+  }
+
+  public void testSnapshots() {
+    mdc.put("debugRequestId", "42");
+    Map elevated = mdc.getSnapshot();
+    mdc.clear();
+    assertFalse(DebugElevation.isElevated());
+    Map previous = mdc.swapSnapshot(elevated);
+    assertTrue(DebugElevation.isElevated());
+    mdc.swapSnapshot(previous);
+    assertFalse(DebugElevation.isElevated());
+
+    Map context = new HashMap();
+    context.put("debugRequestId", "42");
+    mdc.setContextMap(context);
+    assertTrue(DebugElevation.isElevated());
+  }
+
+  public void testInherited() throws InterruptedException {
+    mdc.put("debugRequestId", "42");
+    final boolean[] elevated = new boolean[1];
+    Thread child = new Thread() {
+      public void run() {
+        elevated[0] = DebugElevation.isElevated();
+      }
+    };
+    child.start();
+    child.join();
+    assertTrue(elevated[0]);
+  }
+}
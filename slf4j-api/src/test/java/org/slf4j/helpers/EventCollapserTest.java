@@ -0,0 +1,111 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.helpers;
+
+import junit.framework.TestCase;
+
+public class EventCollapserTest extends TestCase {
+
+  static final int LEVEL = 40;
+
+  Exception newException(String msg) {
+    return new IllegalStateException(msg);
+  }
+
+  public void testFirstOccurrencePrintedInFull() {
+    EventCollapser collapser = new EventCollapser(8, 60000);
+    Exception e = newException("a");
+    assertNull(collapser.collapse("logger", LEVEL, "failed", e));
+  }
+
+  public void testRepeatsAreCollapsed() {
+    EventCollapser collapser = new EventCollapser(8, 60000);
+    String first = null;
+    String last = null;
+    for (int i = 0; i < 3; i++) {
+      // same stack each time, different messages do not matter
+      String result = collapser.collapse("logger", LEVEL, "failed",
+          newException("attempt " + i));
+      if (i == 0) {
+        first = result;
+      }
+      last = result;
+    }
+    assertNull(first);
+    assertTrue(last, last.startsWith("repeat #3 of java.lang.IllegalStateException@"));
+  }
+
+  public void testFingerprintComponents() {
+    Exception e = newException("a");
+    long fp = EventCollapser.fingerprint("logger", LEVEL, "failed", e, 8);
+    assertEquals(fp, EventCollapser.fingerprint("logger", LEVEL, "failed", e, 8));
+    assertTrue(fp != EventCollapser.fingerprint("other", LEVEL, "failed", e, 8));
+    assertTrue(fp != EventCollapser.fingerprint("logger", 30, "failed", e, 8));
+    assertTrue(fp != EventCollapser.fingerprint("logger", LEVEL, "other", e, 8));
+    assertTrue(fp != EventCollapser.fingerprint("logger", LEVEL, "failed",
+        new IllegalArgumentException(), 8));
+    assertTrue(fp != EventCollapser.fingerprint("logger", LEVEL, "failed",
+        new IllegalStateException("a", e), 8));
+  }
+
+  public void testCauseCycle() {
+    Exception a = new Exception("a");
+    Exception b = new Exception("b", a);
+    a.initCause(b);
+    EventCollapser collapser = new EventCollapser(8, 60000);
+    // returns despite the a -> b -> a cycle
+    assertNull(collapser.collapse("logger", LEVEL, "failed", a));
+    assertNotNull(collapser.collapse("logger", LEVEL, "failed", a));
+  }
+
+  public void testDifferentStacks() {
+    EventCollapser collapser = new EventCollapser(8, 60000);
+    assertNull(collapser.collapse("logger", LEVEL, "failed", newException("a")));
+    // created on another line, hence a different top frame
+    assertNull(collapser.collapse("logger", LEVEL, "failed",
+        new IllegalStateException("a")));
+  }
+
+  public void testWindowExpiry() {
+    EventCollapser collapser = new EventCollapser(8, 1000);
+    assertEquals(1, collapser.occurrence(42L, 0));
+    assertEquals(2, collapser.occurrence(42L, 500));
+    assertEquals(1, collapser.occurrence(42L, 1000));
+    assertEquals(2, collapser.occurrence(42L, 1001));
+  }
+
+  public void testNoThrowable() {
+    EventCollapser collapser = new EventCollapser(8, 60000);
+    assertNull(collapser.collapse("logger", LEVEL, "failed", null));
+    assertNull(collapser.collapse("logger", LEVEL, "failed", null));
+  }
+
+  public void testNewInstance() {
+    assertNull(EventCollapser.newInstance(null, null));
+    assertNull(EventCollapser.newInstance("0", null));
+    assertNotNull(EventCollapser.newInstance("1000", null));
+    assertNotNull(EventCollapser.newInstance(" 1000 ", "4"));
+  }
+}
@@ -0,0 +1,133 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.helpers;
+
+import junit.framework.TestCase;
+
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.spi.EventFilter;
+import org.slf4j.spi.LocationAwareLogger;
+
+public class EventFilterTest extends TestCase {
+
+  static final int INFO = LocationAwareLogger.INFO_INT;
+
+  Logger logger = NOPLogger.NOP_LOGGER;
+  BasicMarkerFactory markerFactory = new BasicMarkerFactory();
+
+  public void testMarkerFilter() {
+    Marker audit = markerFactory.getMarker("AUDIT");
+    Marker security = markerFactory.getMarker("SECURITY");
+    Marker other = markerFactory.getMarker("OTHER");
+    security.add(audit);
+    MarkerFilter filter = new MarkerFilter(audit, EventFilter.ACCEPT,
+        EventFilter.DENY);
+
+    assertEquals(EventFilter.ACCEPT, filter.decide(logger, INFO, audit, "m",
+        null));
+    assertEquals(EventFilter.ACCEPT, filter.decide(logger, INFO, security,
+        "m", null));
+    assertEquals(EventFilter.DENY, filter.decide(logger, INFO, other, "m",
+        null));
+    assertEquals(EventFilter.DENY, filter.decide(logger, INFO, null, "m",
+        null));
+  }
+
+  public void testDuplicateFilter() {
+    DuplicateFilter filter = new DuplicateFilter(60 * 1000L);
+    Object[] args = new Object[] { "alice", new Integer(3) };
+
+    assertEquals(EventFilter.NEUTRAL, filter.decide(logger, INFO, null,
+        "user {} failed {} times", args));
+    assertEquals(EventFilter.DENY, filter.decide(logger, INFO, null,
+        "user {} failed {} times", new Object[] { "alice", new Integer(3) }));
+    // other arguments, level or pattern
+    assertEquals(EventFilter.NEUTRAL, filter.decide(logger, INFO, null,
+        "user {} failed {} times", new Object[] { "bob", new Integer(3) }));
+    assertEquals(EventFilter.NEUTRAL, filter.decide(logger,
+        LocationAwareLogger.WARN_INT, null, "user {} failed {} times", args));
+    assertEquals(EventFilter.NEUTRAL, filter.decide(logger, INFO, null,
+        "user {} left", args));
+    assertEquals(EventFilter.NEUTRAL, filter.decide(logger, INFO, null,
+        "no args", null));
+    assertEquals(EventFilter.DENY, filter.decide(logger, INFO, null,
+        "no args", null));
+  }
+
+  public void testDuplicateFilterHashCollision() {
+    DuplicateFilter filter = new DuplicateFilter(60 * 1000L);
+    Object[] first = new Object[] { new Integer(1), new Integer(0) };
+    Object[] second = new Object[] { new Integer(0), new Integer(31) };
+    assertEquals(EventFilter.NEUTRAL, filter.decide(logger, INFO, null,
+        "{} {}", first));
+    // same argument hash, distinct statement
+    assertEquals(EventFilter.NEUTRAL, filter.decide(logger, INFO, null,
+        "{} {}", second));
+    assertEquals(EventFilter.DENY, filter.decide(logger, INFO, null, "{} {}",
+        new Object[] { new Integer(0), new Integer(31) }));
+  }
+
+  public void testDuplicateFilterCopiesArguments() {
+    DuplicateFilter filter = new DuplicateFilter(60 * 1000L);
+    Object[] args = new Object[] { "alice" };
+    assertEquals(EventFilter.NEUTRAL, filter.decide(logger, INFO, null,
+        "user {}", args));
+    // a reusable message recycling its array
+    args[0] = "bob";
+    assertEquals(EventFilter.DENY, filter.decide(logger, INFO, null,
+        "user {}", new Object[] { "alice" }));
+  }
+
+  public void testDuplicateFilterWindow() throws InterruptedException {
+    DuplicateFilter filter = new DuplicateFilter(20);
+    assertEquals(EventFilter.NEUTRAL, filter.decide(logger, INFO, null, "m",
+        null));
+    assertEquals(EventFilter.DENY, filter.decide(logger, INFO, null, "m",
+        null));
+    Thread.sleep(50);
+    assertEquals(EventFilter.NEUTRAL, filter.decide(logger, INFO, null, "m",
+        null));
+  }
+
+  public void testFilterChain() {
+    Marker audit = markerFactory.getMarker("AUDIT");
+    EventFilter denyAll = new EventFilter() {
+      public int decide(Logger logger, int level, Marker marker,
+          String pattern, Object[] args) {
+        return DENY;
+      }
+    };
+    FilterChain chain = new FilterChain(new EventFilter[] {
+        new MarkerFilter(audit, EventFilter.ACCEPT, EventFilter.NEUTRAL),
+        denyAll });
+
+    assertEquals(EventFilter.ACCEPT, chain.decide(logger, INFO, audit, "m",
+        null));
+    assertEquals(EventFilter.DENY, chain.decide(logger, INFO, null, "m", null));
+    assertEquals(EventFilter.NEUTRAL, new FilterChain(new EventFilter[0])
+        .decide(logger, INFO, null, "m", null));
+  }
+}
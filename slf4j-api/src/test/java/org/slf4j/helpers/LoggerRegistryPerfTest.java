@@ -0,0 +1,138 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.helpers;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+/**
+ * Heap retained by 50,000 logger names in a {@link LoggerRegistry} and in a
+ * <code>HashMap</code> keyed by the full names, as the binding factories
+ * used to keep them, and the time taken to look them up.
+ * 
+ * <p>
+ * The names mimic a large application: class names spread over a few
+ * hundred packages, and OSGi names made of a bundle symbolic name and
+ * version. The registered objects are shared, so that only the names and the
+ * structure are counted.
+ */
+public class LoggerRegistryPerfTest extends TestCase {
+
+  static final int LOGGERS = 50 * 1000;
+  static final Object LOGGER = new Object();
+
+  public LoggerRegistryPerfTest(String name) {
+    super(name);
+  }
+
+  static String name(int i) {
+    if (i % 5 == 0) {
+      // bundle symbolic name and version, as named by LogServiceImpl
+      return "org.example.bundle" + (i % 400) + ".1." + (i % 7) + "."
+          + (i / 5);
+    }
+    return "com.example.module" + (i % 40) + ".service" + (i % 9)
+        + ".impl.Component" + i;
+  }
+
+  static String[] names() {
+    String[] names = new String[LOGGERS];
+    for (int i = 0; i < LOGGERS; i++) {
+      names[i] = name(i);
+    }
+    return names;
+  }
+
+  public void testRetainedBytes() {
+    long before = usedMemory();
+    Map map = new HashMap();
+    String[] names = names();
+    for (int i = 0; i < LOGGERS; i++) {
+      map.put(names[i], LOGGER);
+    }
+    names = null;
+    long after = usedMemory();
+    assertEquals(LOGGERS, map.size());
+    System.out.println("HashMap: " + (after - before) / LOGGERS
+        + " bytes per logger name");
+    map = null;
+
+    before = usedMemory();
+    LoggerRegistry registry = new LoggerRegistry();
+    names = names();
+    for (int i = 0; i < LOGGERS; i++) {
+      registry.put(names[i], LOGGER);
+    }
+    names = null;
+    after = usedMemory();
+    assertEquals(LOGGERS, registry.size());
+    System.out.println("LoggerRegistry: " + (after - before) / LOGGERS
+        + " bytes per logger name");
+  }
+
+  static long usedMemory() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 4; i++) {
+      System.gc();
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        break;
+      }
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  public void testLookup() {
+    String[] names = names();
+    Map map = new HashMap();
+    LoggerRegistry registry = new LoggerRegistry();
+    for (int i = 0; i < LOGGERS; i++) {
+      map.put(names[i], LOGGER);
+      registry.put(names[i], LOGGER);
+    }
+    // look up other instances, as callers building names do
+    names = names();
+    for (int run = 0; run < 3; run++) {
+      long start = System.nanoTime();
+      for (int i = 0; i < LOGGERS; i++) {
+        synchronized (map) {
+          assertSame(LOGGER, map.get(names[i]));
+        }
+      }
+      long mapNanos = System.nanoTime() - start;
+      start = System.nanoTime();
+      for (int i = 0; i < LOGGERS; i++) {
+        assertSame(LOGGER, registry.get(names[i]));
+      }
+      long registryNanos = System.nanoTime() - start;
+      System.out.println("synchronized HashMap: " + mapNanos / LOGGERS
+          + " ns per lookup, LoggerRegistry: " + registryNanos / LOGGERS
+          + " ns per lookup");
+    }
+  }
+}
@@ -0,0 +1,167 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.helpers;
+
+import junit.framework.TestCase;
+
+public class LoggerRegistryTest extends TestCase {
+
+  LoggerRegistry registry = new LoggerRegistry();
+
+  public void testGetAndPut() {
+    assertNull(registry.get("a.b"));
+    Object ab = new Object();
+    registry.put("a.b", ab);
+    assertSame(ab, registry.get("a.b"));
+    assertNull(registry.get("a"));
+    assertNull(registry.get("a.b.c"));
+    assertNull(registry.get("a.bc"));
+    assertNull(registry.get("b"));
+    assertEquals(1, registry.size());
+
+    Object a = new Object();
+    registry.put("a", a);
+    assertSame(a, registry.get("a"));
+    assertSame(ab, registry.get("a.b"));
+    assertEquals(2, registry.size());
+
+    Object ab2 = new Object();
+    registry.put("a.b", ab2);
+    assertSame(ab2, registry.get("a.b"));
+    assertEquals(2, registry.size());
+  }
+
+  public void testOddNames() {
+    String[] names = { "", "ROOT", ".", "a.", ".a", "a..b", "a.b.", "..." };
+    for (int i = 0; i < names.length; i++) {
+      registry.put(names[i], names[i]);
+    }
+    for (int i = 0; i < names.length; i++) {
+      assertSame(names[i], registry.get(names[i]));
+      assertEquals(names[i], registry.getNode(names[i]).getName());
+    }
+    assertNull(registry.get("a"));
+    assertNull(registry.get("a.b"));
+    assertEquals(names.length, registry.size());
+  }
+
+  public void testNodes() {
+    LoggerRegistry.Node node = registry.put("org.slf4j.Foo", "foo");
+    assertEquals("org.slf4j.Foo", node.getName());
+    assertEquals("foo", node.getValue());
+    assertEquals("org.slf4j", node.getParent().getName());
+    assertNull(node.getParent().getValue());
+    assertSame(node.getParent(), registry.getNode("org.slf4j"));
+    assertEquals("", node.getParent().getParent().getParent().getName());
+    assertNull(node.getParent().getParent().getParent().getParent());
+    assertNull(registry.getNode("org.slf4j.Bar"));
+  }
+
+  public void testSharedSegments() {
+    LoggerRegistry.Node a = registry.put(new String("org.a.1.0"), "a");
+    LoggerRegistry.Node b = registry.put(new String("org.b.1.0"), "b");
+    assertNotSame(a, b);
+    assertSame(segment(a), segment(b));
+    assertSame(segment(a.getParent()), segment(b.getParent()));
+  }
+
+  private static String segment(LoggerRegistry.Node node) {
+    String name = node.getName();
+    return name.substring(name.lastIndexOf('.') + 1).intern();
+  }
+
+  public void testManyChildren() {
+    for (int i = 0; i < 5000; i++) {
+      registry.put("p.C" + i, new Integer(i));
+    }
+    for (int i = 0; i < 5000; i++) {
+      assertEquals(new Integer(i), registry.get("p.C" + i));
+    }
+    assertNull(registry.get("p.C5000"));
+    assertEquals(5000, registry.size());
+  }
+
+  public void testEffectiveLevel() {
+    assertEquals(LoggerRegistry.LEVEL_UNSET, registry.getEffectiveLevel("a"));
+    registry.setLevel("", 20);
+    LoggerRegistry.Node abc = registry.put("a.b.c", "abc");
+    assertEquals(20, registry.getEffectiveLevel(abc));
+    assertEquals(20, registry.getEffectiveLevel("x.y"));
+
+    registry.setLevel("a.b", 10);
+    assertEquals(10, registry.getEffectiveLevel(abc));
+    assertEquals(10, registry.getEffectiveLevel("a.b.d.e"));
+    assertEquals(20, registry.getEffectiveLevel("a"));
+    assertEquals(20, registry.getEffectiveLevel("a.bb"));
+    assertEquals(LoggerRegistry.LEVEL_UNSET, registry.getNode("a").getLevel());
+
+    registry.setLevel("a.b.c", 40);
+    assertEquals(40, registry.getEffectiveLevel(abc));
+    registry.setLevel("a.b", LoggerRegistry.LEVEL_UNSET);
+    assertEquals(40, registry.getEffectiveLevel(abc));
+    registry.setLevel("a.b.c", LoggerRegistry.LEVEL_UNSET);
+    assertEquals(20, registry.getEffectiveLevel(abc));
+    // setting levels registers no object
+    assertEquals(1, registry.size());
+  }
+
+  public void testConcurrentAccess() throws InterruptedException {
+    final String[] failure = new String[1];
+    Thread[] threads = new Thread[4];
+    for (int t = 0; t < threads.length; t++) {
+      final int offset = t;
+      threads[t] = new Thread() {
+        public void run() {
+          for (int i = 0; i < 2000 && failure[0] == null; i++) {
+            // the threads register overlapping names
+            int n = i + offset * 500;
+            String name = "org.x" + (n % 7) + ".C" + n;
+            Object value = registry.get(name);
+            if (value == null) {
+              synchronized (registry) {
+                value = registry.get(name);
+                if (value == null) {
+                  registry.put(name, name);
+                }
+              }
+            } else if (!name.equals(value)) {
+              failure[0] = name + " mapped to " + value;
+            }
+          }
+        }
+      };
+      threads[t].start();
+    }
+    for (int t = 0; t < threads.length; t++) {
+      threads[t].join();
+    }
+    assertNull(failure[0], failure[0]);
+    assertEquals(3500, registry.size());
+    for (int n = 0; n < 3500; n++) {
+      String name = "org.x" + (n % 7) + ".C" + n;
+      assertEquals(name, registry.get(name));
+    }
+  }
+}
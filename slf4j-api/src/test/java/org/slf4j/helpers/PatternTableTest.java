@@ -0,0 +1,72 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.helpers;
+
+import junit.framework.TestCase;
+
+import org.slf4j.message.ParameterizedMessage;
+
+public class PatternTableTest extends TestCase {
+
+  static final String TABLED = "tabled {} and {}";
+  // segments which scanning would not produce, telling the table was used
+  static final String MARKED = "marked {}";
+
+  static {
+    PatternTable.register(new String[][] {
+        { TABLED, "tabled ", " and ", "" }, { MARKED, "MARKED ", "!" } });
+  }
+
+  public PatternTableTest(String name) {
+    super(name);
+  }
+
+  public void testLookupByIdentity() {
+    assertNotNull(PatternTable.getSegments(TABLED));
+    assertNull(PatternTable.getSegments(new String(TABLED)));
+    assertNull(PatternTable.getSegments("not tabled {}"));
+  }
+
+  public void testMessageFormatter() {
+    assertEquals("MARKED x!", MessageFormatter.format(MARKED, "x"));
+    assertEquals("marked x", MessageFormatter.format(new String(MARKED), "x"));
+
+    assertEquals("tabled a and b", MessageFormatter.format(TABLED, "a", "b"));
+    assertEquals("tabled a and {}", MessageFormatter.format(TABLED, "a"));
+    assertEquals("tabled [1, 2] and null", MessageFormatter.arrayFormat(
+        TABLED, new Object[] { new int[] { 1, 2 }, null, "ignored" }));
+    assertEquals(TABLED, MessageFormatter.arrayFormat(TABLED, null));
+  }
+
+  public void testParameterizedMessage() {
+    assertEquals(1, ParameterizedMessage.countArgumentPlaceholders(MARKED));
+    assertEquals("MARKED x!", ParameterizedMessage.format(MARKED,
+        new Object[] { "x" }));
+    assertEquals("tabled a and {}", ParameterizedMessage.format(TABLED,
+        new Object[] { "a" }));
+    assertEquals("tabled a and b", new ParameterizedMessage(TABLED, "a", "b")
+        .getFormattedMessage());
+  }
+}
@@ -0,0 +1,98 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.helpers;
+
+import java.io.File;
+import java.io.IOException;
+
+import junit.framework.TestCase;
+
+/**
+ * Write throughput of {@link RollingFileSink} with and without roll overs.
+ * Compression runs in the background, so the throughput with frequent roll
+ * overs should stay close to the one without, and the slowest write should
+ * not grow with the size of the rolled files.
+ */
+public class RollingFileSinkPerfTest extends TestCase {
+
+  static final int EVENTS = 200 * 1000;
+  static final String EVENT = "1234 [main] INFO org.slf4j.helpers.RollingFileSinkPerfTest"
+      + " - Temperature set to 21. Old temperature was 19.\n";
+
+  File dir;
+
+  public RollingFileSinkPerfTest(String name) {
+    super(name);
+  }
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    dir = new File(System.getProperty("java.io.tmpdir"), "rfs-perf-"
+        + System.currentTimeMillis());
+  }
+
+  protected void tearDown() throws Exception {
+    File[] files = dir.listFiles();
+    if (files != null) {
+      for (int i = 0; i < files.length; i++) {
+        files[i].delete();
+      }
+    }
+    dir.delete();
+    super.tearDown();
+  }
+
+  public void testThroughput() throws IOException {
+    // warm up
+    run("warm up", 0, false);
+    run("no roll over", 0, false);
+    run("roll over every 256KB", 256 * 1024, false);
+    run("roll over every 256KB, gzip", 256 * 1024, true);
+  }
+
+  void run(String label, long maxFileSize, boolean compress)
+      throws IOException {
+    File file = new File(dir, "perf-" + System.currentTimeMillis() + ".log");
+    RollingFileSink sink = new RollingFileSink(file, maxFileSize, 0, 0, 0,
+        compress);
+    long slowest = 0;
+    long start = System.currentTimeMillis();
+    long last = start;
+    for (int i = 0; i < EVENTS; i++) {
+      sink.write(EVENT, null);
+      long now = System.currentTimeMillis();
+      if (now - last > slowest) {
+        slowest = now - last;
+      }
+      last = now;
+    }
+    long duration = last - start;
+    int rolled = sink.listRolledFiles(true).length;
+    sink.close(60000);
+    System.out.println(label + ": " + (EVENTS * 1000L / Math.max(1, duration))
+        + " events/s, " + rolled + " files rolled, slowest write " + slowest
+        + " ms");
+  }
+}
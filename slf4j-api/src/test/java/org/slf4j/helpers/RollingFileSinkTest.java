@@ -0,0 +1,261 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.helpers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import junit.framework.TestCase;
+
+public class RollingFileSinkTest extends TestCase {
+
+  // event times, later than the opening of the sinks
+  long T0;
+  File dir;
+  File file;
+
+  public RollingFileSinkTest(String name) {
+    super(name);
+  }
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    dir = new File(System.getProperty("java.io.tmpdir"), "rfs-"
+        + System.currentTimeMillis() + "-" + getName());
+    file = new File(dir, "test.log");
+    T0 = System.currentTimeMillis() + 1000;
+  }
+
+  protected void tearDown() throws Exception {
+    File[] files = dir.listFiles();
+    if (files != null) {
+      for (int i = 0; i < files.length; i++) {
+        files[i].delete();
+      }
+    }
+    dir.delete();
+    super.tearDown();
+  }
+
+  static String read(File f) throws IOException {
+    InputStream in = new FileInputStream(f);
+    if (f.getName().endsWith(RollingFileSink.GZ_SUFFIX)) {
+      in = new GZIPInputStream(in);
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buf = new byte[1024];
+    int n;
+    while ((n = in.read(buf)) != -1) {
+      out.write(buf, 0, n);
+    }
+    in.close();
+    return out.toString();
+  }
+
+  // the content of the rolled files, oldest first, then of the active file
+  String readAll(RollingFileSink sink) throws IOException {
+    StringBuffer sb = new StringBuffer();
+    File[] rolled = sink.listRolledFiles(true);
+    for (int i = 0; i < rolled.length; i++) {
+      sb.append(read(rolled[i]));
+    }
+    sb.append(read(file));
+    return sb.toString();
+  }
+
+  public void testAppend() throws IOException {
+    RollingFileSink sink = new RollingFileSink(file, 0, 0, 0, 0, false);
+    sink.write("a\n", null);
+    sink.close(1000);
+    sink = new RollingFileSink(file, 0, 0, 0, 0, false);
+    sink.write("b\n", null);
+    sink.close(1000);
+    assertEquals("a\nb\n", read(file));
+    assertEquals(0, sink.listRolledFiles(true).length);
+  }
+
+  public void testThrowable() throws IOException {
+    RollingFileSink sink = new RollingFileSink(file, 0, 0, 0, 0, false);
+    sink.write("a\n", new Exception("x"));
+    sink.close(1000);
+    String content = read(file);
+    assertTrue(content.startsWith("a\njava.lang.Exception: x"));
+    assertTrue(content.indexOf("testThrowable") > 0);
+  }
+
+  public void testRollOnSize() throws IOException {
+    RollingFileSink sink = new RollingFileSink(file, 100, 0, 0, 0, false);
+    StringBuffer expected = new StringBuffer();
+    for (int i = 0; i < 10; i++) {
+      String event = "event number " + i + " of ten, 27 b\n";
+      sink.write(event, null, T0 + i * 1000);
+      expected.append(event);
+    }
+    sink.close(1000);
+    File[] rolled = sink.listRolledFiles(true);
+    assertEquals(3, rolled.length);
+    for (int i = 0; i < rolled.length; i++) {
+      assertTrue(rolled[i].length() <= 100);
+    }
+    assertEquals(expected.toString(), readAll(sink));
+  }
+
+  public void testEventLargerThanFile() throws IOException {
+    RollingFileSink sink = new RollingFileSink(file, 10, 0, 0, 0, false);
+    sink.write("larger than ten bytes\n", null, T0);
+    sink.write("larger than ten bytes\n", null, T0 + 1000);
+    sink.close(1000);
+    // an event is never split, and never rolls an empty file
+    assertEquals(1, sink.listRolledFiles(true).length);
+    assertEquals("larger than ten bytes\n", read(file));
+  }
+
+  public void testRollOnTime() throws IOException {
+    RollingFileSink sink = new RollingFileSink(file, 0, 60000, 0, 0, false);
+    long start = RollingFileSink.nextRollTime(System.currentTimeMillis(),
+        60000);
+    sink.write("a\n", null, start - 1);
+    sink.write("b\n", null, start);
+    sink.write("c\n", null, start + 59999);
+    sink.write("d\n", null, start + 60000);
+    sink.close(1000);
+    File[] rolled = sink.listRolledFiles(true);
+    assertEquals(2, rolled.length);
+    assertEquals("a\n", read(rolled[0]));
+    assertEquals("b\nc\n", read(rolled[1]));
+    assertEquals("d\n", read(file));
+  }
+
+  public void testNextRollTime() {
+    long now = System.currentTimeMillis();
+    long next = RollingFileSink.nextRollTime(now, 1000);
+    assertTrue(next > now);
+    assertTrue(next <= now + 1000);
+    assertEquals(0, next % 1000);
+  }
+
+  public void testCompress() throws IOException {
+    RollingFileSink sink = new RollingFileSink(file, 100, 0, 0, 0, true);
+    StringBuffer expected = new StringBuffer();
+    for (int i = 0; i < 10; i++) {
+      String event = "event number " + i + " of ten, 27 b\n";
+      sink.write(event, null, T0 + i * 1000);
+      expected.append(event);
+    }
+    sink.close(10000);
+    File[] rolled = sink.listRolledFiles(true);
+    assertEquals(3, rolled.length);
+    for (int i = 0; i < rolled.length; i++) {
+      assertTrue(rolled[i].getName().endsWith(".gz"));
+    }
+    assertEquals(expected.toString(), readAll(sink));
+  }
+
+  public void testMaxHistory() throws IOException {
+    RollingFileSink sink = new RollingFileSink(file, 10, 0, 2, 0, true);
+    for (int i = 0; i < 6; i++) {
+      sink.write("event " + i + " of six\n", null, T0 + i * 1000);
+    }
+    sink.close(10000);
+    File[] rolled = sink.listRolledFiles(true);
+    assertEquals(2, rolled.length);
+    assertEquals("event 3 of six\n", read(rolled[0]));
+    assertEquals("event 4 of six\n", read(rolled[1]));
+  }
+
+  public void testMaxTotalSize() throws IOException {
+    RollingFileSink sink = new RollingFileSink(file, 10, 0, 0, 40, false);
+    for (int i = 0; i < 6; i++) {
+      sink.write("event " + i + " of six\n", null, T0 + i * 1000);
+    }
+    sink.close(10000);
+    File[] rolled = sink.listRolledFiles(true);
+    assertEquals(2, rolled.length);
+    assertEquals("event 3 of six\n", read(rolled[0]));
+  }
+
+  public void testRetentionOfFilesRolledWithinOneSecond() throws IOException {
+    dir.mkdirs();
+    String[] names = new String[] { "test.log.20100101-000001",
+        "test.log.20100101-000000-10", "test.log.20100101-000000",
+        "test.log.20100101-000000-2", "test.log.20100101-000000-1" };
+    for (int i = 0; i < names.length; i++) {
+      FileOutputStream fos = new FileOutputStream(new File(dir, names[i]));
+      fos.write((names[i] + "\n").getBytes());
+      fos.close();
+    }
+
+    RollingFileSink sink = new RollingFileSink(file, 0, 0, 3, 0, false);
+    sink.close(10000);
+    File[] rolled = sink.listRolledFiles(true);
+    assertEquals(3, rolled.length);
+    assertEquals("test.log.20100101-000000-2", rolled[0].getName());
+    assertEquals("test.log.20100101-000000-10", rolled[1].getName());
+    assertEquals("test.log.20100101-000001", rolled[2].getName());
+  }
+
+  public void testRecoverOnOpen() throws IOException {
+    dir.mkdirs();
+    File left = new File(dir, "test.log.20100101-000000");
+    FileOutputStream fos = new FileOutputStream(left);
+    fos.write("left\n".getBytes());
+    fos.close();
+    File tmp = new File(left + ".gz.tmp");
+    tmp.createNewFile();
+
+    RollingFileSink sink = new RollingFileSink(file, 0, 0, 0, 0, true);
+    sink.close(10000);
+    File[] rolled = sink.listRolledFiles(true);
+    assertEquals(1, rolled.length);
+    assertEquals("test.log.20100101-000000.gz", rolled[0].getName());
+    assertEquals("left\n", read(rolled[0]));
+  }
+
+  public void testNewInstance() throws IOException {
+    assertNull(RollingFileSink.newInstance(null, "1MB", null, null, null,
+        null));
+    assertNull(RollingFileSink.newInstance(file.getPath(), "lots", null,
+        null, null, null));
+    RollingFileSink sink = RollingFileSink.newInstance(file.getPath(),
+        "10 MB", "daily", "7", null, "false");
+    assertNotNull(sink);
+    sink.close(1000);
+    assertTrue(file.exists());
+  }
+
+  public void testParse() {
+    assertEquals(0, RollingFileSink.parseSize(null));
+    assertEquals(100, RollingFileSink.parseSize("100"));
+    assertEquals(10 * 1024, RollingFileSink.parseSize("10KB"));
+    assertEquals(2 * 1024 * 1024, RollingFileSink.parseSize("2 mb"));
+    assertEquals(60 * 60 * 1000, RollingFileSink.parsePeriod("hourly"));
+    assertEquals(500, RollingFileSink.parsePeriod("500"));
+  }
+}
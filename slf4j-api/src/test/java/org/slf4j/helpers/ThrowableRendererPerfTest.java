@@ -0,0 +1,114 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.helpers;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+
+import junit.framework.TestCase;
+
+/**
+ * Compares rendering the same exception, 64 frames deep with a cause 48
+ * frames deep, over and over with printStackTrace into a reused buffer and
+ * with {@link ThrowableRenderer} into a reused buffer, in nanoseconds and in
+ * bytes allocated per rendering.
+ */
+public class ThrowableRendererPerfTest extends TestCase {
+
+  static final int LEN = 20 * 1000;
+
+  Throwable t = nested(64, new RuntimeException("cause", nested(48, null)));
+  StringBuffer buf = new StringBuffer(16 * 1024);
+  PrintWriter writer = new PrintWriter(new Writer() {
+    public void write(char[] cbuf, int off, int len) {
+      buf.append(cbuf, off, len);
+    }
+
+    public void write(String str) {
+      buf.append(str);
+    }
+
+    public void flush() {
+    }
+
+    public void close() {
+    }
+  });
+  ThrowableRenderer renderer = new ThrowableRenderer();
+
+  public ThrowableRendererPerfTest(String name) {
+    super(name);
+  }
+
+  static Throwable nested(int depth, Throwable cause) {
+    if (depth == 0) {
+      return new IllegalStateException("at depth", cause);
+    }
+    return nested(depth - 1, cause);
+  }
+
+  public void testRepeatedStack() {
+    Runnable printed = new Runnable() {
+      public void run() {
+        buf.setLength(0);
+        t.printStackTrace(writer);
+        writer.flush();
+      }
+    };
+    Runnable rendered = new Runnable() {
+      public void run() {
+        buf.setLength(0);
+        renderer.render(t, buf);
+      }
+    };
+    loop(printed); // warm up
+    loop(rendered);
+
+    double printedNanos = loop(printed);
+    double renderedNanos = loop(rendered);
+    String printedBytes = "n/a";
+    String renderedBytes = "n/a";
+    if (AllocationMeter.isSupported()) {
+      printedBytes = Double.toString(AllocationMeter.bytesPerRun(printed, LEN));
+      renderedBytes = Double.toString(AllocationMeter
+          .bytesPerRun(rendered, LEN));
+    }
+    System.out.println("repeatedStack printedNanos=" + printedNanos
+        + " renderedNanos=" + renderedNanos + " printedBytes=" + printedBytes
+        + " renderedBytes=" + renderedBytes);
+  }
+
+  /**
+   * @return nanoseconds per rendering
+   */
+  double loop(Runnable r) {
+    long start = System.nanoTime();
+    for (int i = 0; i < LEN; i++) {
+      r.run();
+    }
+    long end = System.nanoTime();
+    return (end - start) / (double) LEN;
+  }
+}
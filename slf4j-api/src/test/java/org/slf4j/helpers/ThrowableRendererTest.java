@@ -0,0 +1,105 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.helpers;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.Method;
+
+import junit.framework.TestCase;
+
+public class ThrowableRendererTest extends TestCase {
+
+  ThrowableRenderer renderer = new ThrowableRenderer(64);
+
+  static String printed(Throwable t) {
+    StringWriter sw = new StringWriter();
+    PrintWriter pw = new PrintWriter(sw);
+    t.printStackTrace(pw);
+    pw.flush();
+    return sw.toString();
+  }
+
+  static Throwable nested(int depth, Throwable cause) {
+    if (depth == 0) {
+      return new IllegalStateException("at the bottom", cause);
+    }
+    return nested(depth - 1, cause);
+  }
+
+  public void testSimple() {
+    Throwable t = new Exception("simple");
+    assertEquals(printed(t), renderer.render(t));
+  }
+
+  public void testCauses() {
+    Throwable root = nested(5, null);
+    Throwable middle = new RuntimeException("middle", root);
+    Throwable top = nested(3, middle);
+    assertEquals(printed(top), renderer.render(top));
+    // again, from the cache
+    assertEquals(printed(top), renderer.render(top));
+  }
+
+  public void testCircularReference() {
+    Exception a = new Exception("a");
+    Exception b = new Exception("b", a);
+    a.initCause(b);
+    assertEquals(printed(a), renderer.render(a));
+  }
+
+  public void testSuppressed() throws Exception {
+    Method addSuppressed;
+    try {
+      addSuppressed = Throwable.class.getMethod("addSuppressed",
+          new Class[] { Throwable.class });
+    } catch (NoSuchMethodException e) {
+      // before Java 7
+      return;
+    }
+    Throwable t = nested(2, new Exception("cause"));
+    Throwable suppressed = nested(4, new Exception("cause of suppressed"));
+    addSuppressed.invoke(t, new Object[] { suppressed });
+    assertEquals(printed(t), renderer.render(t));
+  }
+
+  public void testAppends() {
+    StringBuffer buf = new StringBuffer("prefix ");
+    Throwable t = new Exception("appended");
+    renderer.render(t, buf);
+    assertEquals("prefix " + printed(t), buf.toString());
+  }
+
+  public void testFrameCache() {
+    StackTraceElement[][] traces = new StackTraceElement[2][];
+    for (int i = 0; i < traces.length; i++) {
+      traces[i] = new Exception().getStackTrace();
+    }
+    String first = renderer.getFrameString(traces[0][0]);
+    assertEquals(traces[0][0].toString(), first);
+    assertNotSame(traces[0][0], traces[1][0]);
+    assertSame(first, renderer.getFrameString(traces[1][0]));
+  }
+}
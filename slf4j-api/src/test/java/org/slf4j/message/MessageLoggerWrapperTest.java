@@ -0,0 +1,115 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.message;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.helpers.BasicMarkerFactory;
+import org.slf4j.spi.LocationAwareLogger;
+
+public class MessageLoggerWrapperTest extends TestCase {
+
+  static final String[] LEVELS = { "trace", "debug", "info", "warn", "error" };
+
+  Marker marker = new BasicMarkerFactory().getMarker("WRAPPER");
+  Exception exception = new Exception("just a test.");
+
+  // the marker of every log call reaching the backend
+  List markers = new ArrayList();
+
+  InvocationHandler recorder = new InvocationHandler() {
+    public Object invoke(Object proxy, Method method, Object[] args) {
+      String name = method.getName();
+      if (name.startsWith("is")) {
+        return Boolean.TRUE;
+      } else if (name.equals("getName")) {
+        return "wrapper";
+      } else if (name.equals("log")) {
+        markers.add(args[0]);
+      }
+      return null;
+    }
+  };
+
+  MessageLoggerWrapper wrap(Class loggerInterface) {
+    Logger logger = (Logger) Proxy.newProxyInstance(getClass()
+        .getClassLoader(), new Class[] { loggerInterface }, recorder);
+    return new MessageLoggerWrapper(logger, MessageLoggerWrapper.class
+        .getName());
+  }
+
+  void logWithMarker(MessageLoggerWrapper wrapper) throws Exception {
+    Class c = MessageLoggerWrapper.class;
+    Object[] argArray = new Object[] { "a", "b", "c" };
+    for (int i = 0; i < LEVELS.length; i++) {
+      String level = LEVELS[i];
+      c.getMethod(level, new Class[] { Marker.class, Message.class })
+          .invoke(wrapper, new Object[] { marker, new SimpleMessage("m") });
+      c.getMethod(level,
+          new Class[] { Marker.class, Message.class, Throwable.class })
+          .invoke(wrapper,
+              new Object[] { marker, new SimpleMessage("m"), exception });
+      c.getMethod(level, new Class[] { Marker.class, String.class })
+          .invoke(wrapper, new Object[] { marker, "m" });
+      c.getMethod(level,
+          new Class[] { Marker.class, String.class, Throwable.class })
+          .invoke(wrapper, new Object[] { marker, "m", exception });
+      c.getMethod(level,
+          new Class[] { Marker.class, String.class, Object.class })
+          .invoke(wrapper, new Object[] { marker, "m {}", "a" });
+      c.getMethod(level,
+          new Class[] { Marker.class, String.class, Object.class, Object.class })
+          .invoke(wrapper, new Object[] { marker, "m {} {}", "a", "b" });
+      c.getMethod(level,
+          new Class[] { Marker.class, String.class, Object[].class })
+          .invoke(wrapper, new Object[] { marker, "m {} {} {}", argArray });
+    }
+  }
+
+  void assertMarkers() {
+    assertEquals(7 * LEVELS.length, markers.size());
+    for (int i = 0; i < markers.size(); i++) {
+      assertSame("call " + i, marker, markers.get(i));
+    }
+  }
+
+  public void testMarkerReachesMessageLogger() throws Exception {
+    logWithMarker(wrap(MessageLogger.class));
+    assertMarkers();
+  }
+
+  public void testMarkerReachesLocationAwareLogger() throws Exception {
+    logWithMarker(wrap(LocationAwareLogger.class));
+    assertMarkers();
+  }
+}
@@ -0,0 +1,178 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.message;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+import junit.framework.TestCase;
+
+/**
+ * Heap retained per {@link ParameterizedMessage} and serialization
+ * throughput, compared with the former layout keeping the arguments both as
+ * objects and as strings and serializing the strings as a
+ * <code>String[]</code>.
+ */
+public class ParameterizedMessagePerfTest extends TestCase {
+
+  static final int RETAINED = 200 * 1000;
+  static final int SERIALIZED = 100 * 1000;
+  static final String PATTERN = "user {} logged in from {} after {} attempts";
+
+  public ParameterizedMessagePerfTest(String name) {
+    super(name);
+  }
+
+  /**
+   * The former layout: the original arguments, their string forms and the
+   * pattern, serialized with the default mechanism.
+   */
+  static class EagerMessage implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    String messagePattern;
+    String[] stringArgs;
+    transient Object[] argArray;
+    transient String formattedMessage;
+    transient Throwable throwable;
+
+    EagerMessage(String messagePattern, Object[] arguments) {
+      this.messagePattern = messagePattern;
+      argArray = new Object[arguments.length];
+      System.arraycopy(arguments, 0, argArray, 0, arguments.length);
+      stringArgs = new String[arguments.length];
+      for (int i = 0; i < arguments.length; i++) {
+        stringArgs[i] = ParameterizedMessage.deepToString(arguments[i]);
+      }
+    }
+  }
+
+  static Object[] arguments(int i) {
+    return new Object[] { "user" + (i % 1000), new Long(0x0A000000L + i),
+        new Integer(i % 5) };
+  }
+
+  static Object lazy(int i) {
+    return new ParameterizedMessage(PATTERN, arguments(i));
+  }
+
+  static Object frozen(int i) {
+    ParameterizedMessage msg = new ParameterizedMessage(PATTERN, arguments(i));
+    msg.freeze();
+    return msg;
+  }
+
+  static Object eager(int i) {
+    return new EagerMessage(PATTERN, arguments(i));
+  }
+
+  public void testRetainedBytes() {
+    // the arguments themselves are retained by every layout
+    long args = retained(0);
+    System.out.println("arguments alone: " + args + " bytes per message");
+    System.out.println("eager layout: " + (retained(1) - args)
+        + " bytes per message");
+    System.out.println("lazy ParameterizedMessage: " + (retained(2) - args)
+        + " bytes per message");
+    System.out.println("frozen ParameterizedMessage: " + (retained(3) - args)
+        + " bytes per message");
+  }
+
+  long retained(int layout) {
+    Object[] kept = new Object[RETAINED];
+    long before = usedMemory();
+    for (int i = 0; i < RETAINED; i++) {
+      switch (layout) {
+      case 0:
+        kept[i] = arguments(i);
+        break;
+      case 1:
+        kept[i] = eager(i);
+        break;
+      case 2:
+        kept[i] = lazy(i);
+        break;
+      default:
+        kept[i] = frozen(i);
+      }
+    }
+    long after = usedMemory();
+    // keep the messages reachable until measured
+    assertNotNull(kept[RETAINED - 1]);
+    return (after - before) / RETAINED;
+  }
+
+  static long usedMemory() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 4; i++) {
+      System.gc();
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        break;
+      }
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  public void testSerialization() throws Exception {
+    // warm up
+    serialize(false);
+    serialize(true);
+    serialize(false);
+    serialize(true);
+  }
+
+  void serialize(boolean eager) throws IOException, ClassNotFoundException {
+    Object[] messages = new Object[SERIALIZED];
+    for (int i = 0; i < SERIALIZED; i++) {
+      messages[i] = eager ? eager(i) : lazy(i);
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * SERIALIZED);
+    long start = System.currentTimeMillis();
+    ObjectOutputStream out = new ObjectOutputStream(bytes);
+    for (int i = 0; i < SERIALIZED; i++) {
+      out.writeObject(messages[i]);
+    }
+    out.close();
+    long written = System.currentTimeMillis();
+    ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(
+        bytes.toByteArray()));
+    for (int i = 0; i < SERIALIZED; i++) {
+      assertNotNull(in.readObject());
+    }
+    long read = System.currentTimeMillis();
+    System.out.println((eager ? "eager layout" : "ParameterizedMessage")
+        + ": " + (bytes.size() / SERIALIZED) + " bytes per message, "
+        + (SERIALIZED * 1000L / Math.max(1, written - start))
+        + " messages/s written, "
+        + (SERIALIZED * 1000L / Math.max(1, read - written))
+        + " messages/s read");
+  }
+}
@@ -0,0 +1,150 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.message;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+public class ParameterizedMessageTest extends TestCase {
+
+  Exception e = new Exception("test");
+
+  public void testLazyConversion() {
+    StringBuffer mutable = new StringBuffer("before");
+    ParameterizedMessage msg = new ParameterizedMessage("value {}", mutable);
+    mutable.append(" after");
+    assertEquals("value before after", msg.getFormattedMessage());
+    assertSame(mutable, msg.getParameters()[0]);
+  }
+
+  public void testFreeze() {
+    StringBuffer mutable = new StringBuffer("before");
+    ParameterizedMessage msg = new ParameterizedMessage("value {}", mutable);
+    msg.freeze();
+    mutable.append(" after");
+    assertEquals("value before", msg.getFormattedMessage());
+    assertEquals("before", msg.getParameters()[0]);
+  }
+
+  public void testThrowable() {
+    ParameterizedMessage msg = new ParameterizedMessage("value {}",
+        new Object[] { "a", e });
+    assertSame(e, msg.getThrowable());
+    assertEquals(1, msg.getParameters().length);
+    assertEquals("value a", msg.getFormattedMessage());
+
+    // used up by the placeholder
+    msg = new ParameterizedMessage("{} {}", "a", e);
+    assertNull(msg.getThrowable());
+    assertEquals("a " + e, msg.getFormattedMessage());
+  }
+
+  public void testArrayFillsSinglePlaceholder() {
+    ParameterizedMessage msg = new ParameterizedMessage("values {}",
+        new Object[] { "a", new Integer(1) });
+    assertEquals("values [a, 1]", msg.getFormattedMessage());
+    assertEquals(2, msg.getParameters().length);
+    msg.freeze();
+    assertEquals(Arrays.asList(new Object[] { "[a, 1]" }), Arrays.asList(msg
+        .getParameters()));
+    assertEquals("values [a, 1]", msg.getFormattedMessage());
+  }
+
+  public void testEquals() {
+    ParameterizedMessage lazy = new ParameterizedMessage("a {} b {}",
+        new Integer(1), null);
+    ParameterizedMessage frozen = new ParameterizedMessage("a {} b {}",
+        new String[] { "1", null }, null);
+    assertEquals(frozen, lazy);
+    assertEquals(frozen.hashCode(), lazy.hashCode());
+    assertFalse(lazy.equals(new ParameterizedMessage("a {} b {}", "1", "2")));
+  }
+
+  public void testSerialization() throws Exception {
+    StringBuffer longArg = new StringBuffer();
+    for (int i = 0; i < 30000; i++) {
+      longArg.append('\u20ac');
+    }
+    ParameterizedMessage msg = new ParameterizedMessage("{} {} {}",
+        new Object[] { new Integer(1), null, longArg, e });
+
+    ParameterizedMessage read = (ParameterizedMessage) roundTrip(
+        new Object[] { msg })[0];
+    assertEquals(msg.getFormattedMessage(), read.getFormattedMessage());
+    assertEquals(msg, read);
+    assertNull(read.getThrowable());
+    assertEquals("1", read.getParameters()[0]);
+    assertNull(read.getParameters()[1]);
+
+    read = (ParameterizedMessage) roundTrip(
+        new Object[] { new ParameterizedMessage("no arguments", null) })[0];
+    assertEquals("no arguments", read.getFormattedMessage());
+    assertNull(read.getParameters());
+  }
+
+  public void testSerializedPatternIsShared() throws Exception {
+    String pattern = "user {} logged in after {} attempts";
+    ParameterizedMessage first = new ParameterizedMessage(pattern, "alice",
+        new Integer(1));
+    ParameterizedMessage second = new ParameterizedMessage(pattern, "bob",
+        new Integer(2));
+    int one = serialize(new Object[] { first }).length;
+    int two = serialize(new Object[] { first, second }).length;
+    // the second message refers back to the pattern and class description
+    assertTrue("second message took " + (two - one) + " bytes",
+        two - one < pattern.length());
+
+    Object[] read = roundTrip(new Object[] { first, second });
+    assertSame(((Message) read[0]).getMessageFormat(), ((Message) read[1])
+        .getMessageFormat());
+    assertEquals("user bob logged in after 2 attempts", ((Message) read[1])
+        .getFormattedMessage());
+  }
+
+  static byte[] serialize(Object[] objects) throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ObjectOutputStream out = new ObjectOutputStream(bytes);
+    for (int i = 0; i < objects.length; i++) {
+      out.writeObject(objects[i]);
+    }
+    out.close();
+    return bytes.toByteArray();
+  }
+
+  static Object[] roundTrip(Object[] objects) throws Exception {
+    ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(
+        serialize(objects)));
+    Object[] read = new Object[objects.length];
+    for (int i = 0; i < read.length; i++) {
+      read[i] = in.readObject();
+    }
+    return read;
+  }
+}
@@ -0,0 +1,172 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.message;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Date;
+
+import junit.framework.TestCase;
+
+import org.slf4j.helpers.AllocationMeter;
+
+public class ReusableParameterizedMessageTest extends TestCase {
+
+  Integer i1 = new Integer(1);
+  Integer i2 = new Integer(2);
+  Exception e = new Exception("test");
+
+  public ReusableParameterizedMessageTest(String name) {
+    super(name);
+  }
+
+  private void assertSameAsParameterized(String pattern, Object[] args) {
+    ParameterizedMessage expected = new ParameterizedMessage(pattern, args);
+    ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(pattern, args);
+    try {
+      assertEquals(expected.getFormattedMessage(), msg.getFormattedMessage());
+      assertEquals(expected.getThrowable(), msg.getThrowable());
+    } finally {
+      msg.release();
+    }
+  }
+
+  public void testFormatting() {
+    assertSameAsParameterized(null, new Object[] { i1 });
+    assertSameAsParameterized("no placeholder", null);
+    assertSameAsParameterized("no placeholder", new Object[] { i1 });
+    assertSameAsParameterized("Value is {}.", new Object[] { i1 });
+    assertSameAsParameterized("Value is {}.", new Object[] { null });
+    assertSameAsParameterized("{}{}", new Object[] { i1, "a" });
+    assertSameAsParameterized("{} and {} and {}", new Object[] { i1, i2 });
+    assertSameAsParameterized("Escaped \\{} and {}", new Object[] { i1 });
+    assertSameAsParameterized("Double \\\\{} and {}", new Object[] { i1, i2 });
+    assertSameAsParameterized("Trailing \\", new Object[] { i1 });
+    assertSameAsParameterized("{ } and {", new Object[] { i1 });
+    assertSameAsParameterized("Array {}", new Object[] { new int[] { 1, 2 } });
+    assertSameAsParameterized("Nested {}", new Object[] { new Object[] { i1,
+        new Object[] { "x", null } } });
+    assertSameAsParameterized("Values {}", new Object[] { "a", "b", "c" });
+    assertSameAsParameterized("Long {} {}", new Object[] { new Long(7),
+        Boolean.TRUE });
+    assertSameAsParameterized("Date {}", new Object[] { new Date(0) });
+  }
+
+  public void testThrowable() {
+    assertSameAsParameterized("Failed {}", new Object[] { i1, e });
+    assertSameAsParameterized("Failed {} {}", new Object[] { i1, e });
+    assertSameAsParameterized("Failed", new Object[] { e });
+
+    ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(
+        "Failed {}", i1, e);
+    assertSame(e, msg.getThrowable());
+    assertTrue(Arrays.equals(new Object[] { i1 }, msg.getParameters()));
+    msg.release();
+  }
+
+  public void testReuse() {
+    ReusableParameterizedMessage first = ReusableParameterizedMessage.acquire(
+        "a {}", i1);
+    assertEquals("a 1", first.getFormattedMessage());
+    first.release();
+
+    ReusableParameterizedMessage second = ReusableParameterizedMessage.acquire(
+        "b {} {}", i1, i2);
+    assertSame(first, second);
+    assertEquals("b 1 2", second.getFormattedMessage());
+    assertNull(second.getThrowable());
+    second.release();
+  }
+
+  public void testReentrantAcquire() {
+    final ReusableParameterizedMessage outer = ReusableParameterizedMessage.acquire();
+    final String[] inner = new String[1];
+    Object loggingArgument = new Object() {
+      public String toString() {
+        ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(
+            "inner {}", "x");
+        assertNotSame(outer, msg);
+        inner[0] = msg.getFormattedMessage();
+        msg.release();
+        return "arg";
+      }
+    };
+    outer.set("outer {}", loggingArgument);
+    assertEquals("outer arg", outer.getFormattedMessage());
+    assertEquals("inner x", inner[0]);
+    outer.release();
+  }
+
+  public void testToImmutable() throws Exception {
+    StringBuffer mutable = new StringBuffer("before");
+    ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(
+        "value {}", mutable, e);
+    Message copy = msg.toImmutable();
+    msg.release();
+    mutable.append(" after");
+
+    assertEquals("value before", copy.getFormattedMessage());
+    assertSame(e, ((ParameterizedMessage) copy).getThrowable());
+  }
+
+  public void testSerialization() throws Exception {
+    ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(
+        "value {}", i1);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ObjectOutputStream out = new ObjectOutputStream(bytes);
+    out.writeObject(msg);
+    out.close();
+    msg.release();
+
+    ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(
+        bytes.toByteArray()));
+    Object read = in.readObject();
+    assertTrue(read instanceof ParameterizedMessage);
+    assertEquals("value 1", ((Message) read).getFormattedMessage());
+  }
+
+  public void testFormatToDoesNotAllocate() {
+    if (!AllocationMeter.isSupported()) {
+      return;
+    }
+    final StringBuilder sb = new StringBuilder(256);
+    final Integer value = new Integer(42);
+    Runnable r = new Runnable() {
+      public void run() {
+        ReusableParameterizedMessage msg = ReusableParameterizedMessage.acquire(
+            "user {} logged in after {} attempts", "alice", value);
+        sb.setLength(0);
+        msg.formatTo(sb);
+        msg.release();
+      }
+    };
+    double bytes = AllocationMeter.bytesPerRun(r, 100000);
+    assertEquals("user alice logged in after 42 attempts", sb.toString());
+    assertTrue("allocated " + bytes + " bytes per message", bytes < 1);
+  }
+}
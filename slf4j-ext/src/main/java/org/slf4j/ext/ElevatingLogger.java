@@ -0,0 +1,328 @@
+package org.slf4j.ext;
+
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+import org.slf4j.helpers.DebugElevation;
+import org.slf4j.helpers.MessageFormatter;
+import org.slf4j.spi.LocationAwareLogger;
+
+/**
+ * A {@link LoggerWrapper} enabling debug and trace events for the threads
+ * whose MDC elevates debugging, see {@link DebugElevation}, for instance to
+ * follow the requests of one customer without enabling DEBUG for a whole
+ * package.
+ *
+ * <p>Events enabled by the wrapped logger are passed on unchanged. Events
+ * enabled only by elevation would be discarded by the binding, whatever the
+ * decorator reports, so they are logged at the lowest of INFO, WARN and
+ * ERROR which the wrapped logger enables, with the {@link #ELEVATED_DEBUG} or
+ * {@link #ELEVATED_TRACE} marker telling their original level. The marker of
+ * the event, if any, is added as a child of a detached copy of these markers.
+ *
+ * <p>On threads where debugging is not elevated, checking a disabled level
+ * costs the check of the wrapped logger and one thread local read.
+ *
+ * @since 1.5.11
+ */
+public class ElevatingLogger extends LoggerWrapper {
+
+  private static final String FQCN = ElevatingLogger.class.getName();
+
+  public static final Marker ELEVATED_DEBUG = MarkerFactory.getMarker("ELEVATED_DEBUG");
+  public static final Marker ELEVATED_TRACE = MarkerFactory.getMarker("ELEVATED_TRACE");
+
+  public ElevatingLogger(Logger logger) {
+    // the wrapped methods are invoked through super, the caller of interest
+    // is thus the one calling this class
+    super(logger, FQCN);
+  }
+
+  /**
+   * Log an event enabled by elevation only.
+   */
+  private void elevate(int level, Marker marker, String msg, Throwable t) {
+    Marker elevated = (level == LocationAwareLogger.TRACE_INT) ? ELEVATED_TRACE
+        : ELEVATED_DEBUG;
+    if (marker != null) {
+      elevated = MarkerFactory.getDetachedMarker(elevated.getName());
+      elevated.add(marker);
+    }
+    int target;
+    if (logger.isInfoEnabled(elevated)) {
+      target = LocationAwareLogger.INFO_INT;
+    } else if (logger.isWarnEnabled(elevated)) {
+      target = LocationAwareLogger.WARN_INT;
+    } else if (logger.isErrorEnabled(elevated)) {
+      target = LocationAwareLogger.ERROR_INT;
+    } else {
+      return;
+    }
+    if (instanceofLAL) {
+      ((LocationAwareLogger) logger).log(elevated, FQCN, target, msg, t);
+      return;
+    }
+    switch (target) {
+    case LocationAwareLogger.INFO_INT:
+      logger.info(elevated, msg, t);
+      break;
+    case LocationAwareLogger.WARN_INT:
+      logger.warn(elevated, msg, t);
+      break;
+    default:
+      logger.error(elevated, msg, t);
+    }
+  }
+
+  /**
+   * Return true if the underlying logger enables the level or if debugging is
+   * elevated for the current thread.
+   */
+  public boolean isTraceEnabled() {
+    return logger.isTraceEnabled() || DebugElevation.isElevated();
+  }
+
+  /**
+   * Return true if the underlying logger enables the level or if debugging is
+   * elevated for the current thread.
+   */
+  public boolean isTraceEnabled(Marker marker) {
+    return logger.isTraceEnabled(marker) || DebugElevation.isElevated();
+  }
+
+  /**
+   * Delegate to the underlying logger, or log the event as elevated.
+   */
+  public void trace(String msg) {
+    if (logger.isTraceEnabled()) {
+      super.trace(msg);
+    } else if (DebugElevation.isElevated()) {
+      elevate(LocationAwareLogger.TRACE_INT, null, msg, null);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger, or log the event as elevated.
+   */
+  public void trace(String format, Object arg) {
+    if (logger.isTraceEnabled()) {
+      super.trace(format, arg);
+    } else if (DebugElevation.isElevated()) {
+      elevate(LocationAwareLogger.TRACE_INT, null, MessageFormatter.format(format, arg), null);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger, or log the event as elevated.
+   */
+  public void trace(String format, Object arg1, Object arg2) {
+    if (logger.isTraceEnabled()) {
+      super.trace(format, arg1, arg2);
+    } else if (DebugElevation.isElevated()) {
+      elevate(LocationAwareLogger.TRACE_INT, null, MessageFormatter.format(format, arg1, arg2), null);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger, or log the event as elevated.
+   */
+  public void trace(String format, Object[] argArray) {
+    if (logger.isTraceEnabled()) {
+      super.trace(format, argArray);
+    } else if (DebugElevation.isElevated()) {
+      elevate(LocationAwareLogger.TRACE_INT, null, MessageFormatter.arrayFormat(format, argArray), null);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger, or log the event as elevated.
+   */
+  public void trace(String msg, Throwable t) {
+    if (logger.isTraceEnabled()) {
+      super.trace(msg, t);
+    } else if (DebugElevation.isElevated()) {
+      elevate(LocationAwareLogger.TRACE_INT, null, msg, t);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger, or log the event as elevated.
+   */
+  public void trace(Marker marker, String msg) {
+    if (logger.isTraceEnabled()) {
+      super.trace(marker, msg);
+    } else if (DebugElevation.isElevated()) {
+      elevate(LocationAwareLogger.TRACE_INT, marker, msg, null);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger, or log the event as elevated.
+   */
+  public void trace(Marker marker, String format, Object arg) {
+    if (logger.isTraceEnabled()) {
+      super.trace(marker, format, arg);
+    } else if (DebugElevation.isElevated()) {
+      elevate(LocationAwareLogger.TRACE_INT, marker, MessageFormatter.format(format, arg), null);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger, or log the event as elevated.
+   */
+  public void trace(Marker marker, String format, Object arg1, Object arg2) {
+    if (logger.isTraceEnabled()) {
+      super.trace(marker, format, arg1, arg2);
+    } else if (DebugElevation.isElevated()) {
+      elevate(LocationAwareLogger.TRACE_INT, marker, MessageFormatter.format(format, arg1, arg2), null);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger, or log the event as elevated.
+   */
+  public void trace(Marker marker, String format, Object[] argArray) {
+    if (logger.isTraceEnabled()) {
+      super.trace(marker, format, argArray);
+    } else if (DebugElevation.isElevated()) {
+      elevate(LocationAwareLogger.TRACE_INT, marker, MessageFormatter.arrayFormat(format, argArray), null);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger, or log the event as elevated.
+   */
+  public void trace(Marker marker, String msg, Throwable t) {
+    if (logger.isTraceEnabled()) {
+      super.trace(marker, msg, t);
+    } else if (DebugElevation.isElevated()) {
+      elevate(LocationAwareLogger.TRACE_INT, marker, msg, t);
+    }
+  }
+
+  /**
+   * Return true if the underlying logger enables the level or if debugging is
+   * elevated for the current thread.
+   */
+  public boolean isDebugEnabled() {
+    return logger.isDebugEnabled() || DebugElevation.isElevated();
+  }
+
+  /**
+   * Return true if the underlying logger enables the level or if debugging is
+   * elevated for the current thread.
+   */
+  public boolean isDebugEnabled(Marker marker) {
+    return logger.isDebugEnabled(marker) || DebugElevation.isElevated();
+  }
+
+  /**
+   * Delegate to the underlying logger, or log the event as elevated.
+   */
+  public void debug(String msg) {
+    if (logger.isDebugEnabled()) {
+      super.debug(msg);
+    } else if (DebugElevation.isElevated()) {
+      elevate(LocationAwareLogger.DEBUG_INT, null, msg, null);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger, or log the event as elevated.
+   */
+  public void debug(String format, Object arg) {
+    if (logger.isDebugEnabled()) {
+      super.debug(format, arg);
+    } else if (DebugElevation.isElevated()) {
+      elevate(LocationAwareLogger.DEBUG_INT, null, MessageFormatter.format(format, arg), null);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger, or log the event as elevated.
+   */
+  public void debug(String format, Object arg1, Object arg2) {
+    if (logger.isDebugEnabled()) {
+      super.debug(format, arg1, arg2);
+    } else if (DebugElevation.isElevated()) {
+      elevate(LocationAwareLogger.DEBUG_INT, null, MessageFormatter.format(format, arg1, arg2), null);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger, or log the event as elevated.
+   */
+  public void debug(String format, Object[] argArray) {
+    if (logger.isDebugEnabled()) {
+      super.debug(format, argArray);
+    } else if (DebugElevation.isElevated()) {
+      elevate(LocationAwareLogger.DEBUG_INT, null, MessageFormatter.arrayFormat(format, argArray), null);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger, or log the event as elevated.
+   */
+  public void debug(String msg, Throwable t) {
+    if (logger.isDebugEnabled()) {
+      super.debug(msg, t);
+    } else if (DebugElevation.isElevated()) {
+      elevate(LocationAwareLogger.DEBUG_INT, null, msg, t);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger, or log the event as elevated.
+   */
+  public void debug(Marker marker, String msg) {
+    if (logger.isDebugEnabled()) {
+      super.debug(marker, msg);
+    } else if (DebugElevation.isElevated()) {
+      elevate(LocationAwareLogger.DEBUG_INT, marker, msg, null);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger, or log the event as elevated.
+   */
+  public void debug(Marker marker, String format, Object arg) {
+    if (logger.isDebugEnabled()) {
+      super.debug(marker, format, arg);
+    } else if (DebugElevation.isElevated()) {
+      elevate(LocationAwareLogger.DEBUG_INT, marker, MessageFormatter.format(format, arg), null);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger, or log the event as elevated.
+   */
+  public void debug(Marker marker, String format, Object arg1, Object arg2) {
+    if (logger.isDebugEnabled()) {
+      super.debug(marker, format, arg1, arg2);
+    } else if (DebugElevation.isElevated()) {
+      elevate(LocationAwareLogger.DEBUG_INT, marker, MessageFormatter.format(format, arg1, arg2), null);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger, or log the event as elevated.
+   */
+  public void debug(Marker marker, String format, Object[] argArray) {
+    if (logger.isDebugEnabled()) {
+      super.debug(marker, format, argArray);
+    } else if (DebugElevation.isElevated()) {
+      elevate(LocationAwareLogger.DEBUG_INT, marker, MessageFormatter.arrayFormat(format, argArray), null);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger, or log the event as elevated.
+   */
+  public void debug(Marker marker, String msg, Throwable t) {
+    if (logger.isDebugEnabled()) {
+      super.debug(marker, msg, t);
+    } else if (DebugElevation.isElevated()) {
+      elevate(LocationAwareLogger.DEBUG_INT, marker, msg, t);
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package org.slf4j.ext;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Durations, in nanoseconds, of the invocations of a method traced with
+ * {@link XLogger#entry()} and {@link XLogger#exit(Span)}.
+ *
+ * <p>Durations are counted in buckets whose width grows with the duration:
+ * exact below 16 ns, then eight buckets per power of two, so that the
+ * percentiles returned are within 12.5% of the recorded durations. Recording
+ * is lock-free and takes a fixed amount of memory, about 4 KB per histogram.
+ *
+ * @since 1.5.11
+ */
+public class LatencyHistogram {
+
+  static final int LINEAR_BUCKETS = 16;
+  static final int SUB_BUCKETS = 8;
+  static final int BUCKETS = LINEAR_BUCKETS + (64 - 4) * SUB_BUCKETS;
+
+  private final String name;
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * @param name the name of the measured method, used by {@link #toString()}
+   */
+  public LatencyHistogram(String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  static int bucket(long nanos) {
+    if (nanos < LINEAR_BUCKETS) {
+      return nanos < 0 ? 0 : (int) nanos;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+    int sub = (int) (nanos >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+    return LINEAR_BUCKETS + (exponent - 4) * SUB_BUCKETS + sub;
+  }
+
+  /**
+   * Return the largest duration counted in bucket <code>b</code>.
+   */
+  static long upperBound(int b) {
+    if (b < LINEAR_BUCKETS) {
+      return b;
+    }
+    int exponent = (b - LINEAR_BUCKETS) / SUB_BUCKETS + 4;
+    int sub = (b - LINEAR_BUCKETS) % SUB_BUCKETS;
+    return ((SUB_BUCKETS + 1L + sub) << (exponent - 3)) - 1;
+  }
+
+  /**
+   * Record one invocation lasting <code>nanos</code> nanoseconds.
+   */
+  public void record(long nanos) {
+    counts.incrementAndGet(bucket(nanos));
+    count.incrementAndGet();
+    long current;
+    while (nanos > (current = max.get())) {
+      if (max.compareAndSet(current, nanos)) {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Return the number of invocations recorded.
+   */
+  public long getCount() {
+    return count.get();
+  }
+
+  /**
+   * Return the longest duration recorded, 0 if none.
+   */
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * Return a duration which <code>percentile</code> percent of the recorded
+   * invocations did not exceed, 0 if none was recorded.
+   *
+   * @param percentile between 0 and 100, for example 99.9
+   */
+  public long getPercentile(double percentile) {
+    long[] snapshot = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+    long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return Math.min(upperBound(i), max.get());
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Return a summary such as
+   * "OrderService.save count=1200 p50=8191ns p99=61439ns max=70212ns".
+   */
+  public String toString() {
+    return name + " count=" + getCount() + " p50=" + getPercentile(50)
+        + "ns p99=" + getPercentile(99) + "ns max=" + getMax() + "ns";
+  }
+}
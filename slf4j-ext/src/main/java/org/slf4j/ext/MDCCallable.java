@@ -0,0 +1,45 @@
+package org.slf4j.ext;
+
+import java.util.concurrent.Callable;
+
+/**
+ * A {@link Callable} which runs its task with the MDC captured when it was
+ * created. The context of the executing thread is restored afterwards.
+ */
+public class MDCCallable<V> implements Callable<V> {
+
+  private final Callable<V> task;
+  private final MDCSnapshot snapshot;
+
+  /**
+   * Wrap <code>task</code> with the MDC of the current thread.
+   */
+  public MDCCallable(Callable<V> task) {
+    this(task, MDCSnapshot.capture());
+  }
+
+  public MDCCallable(Callable<V> task, MDCSnapshot snapshot) {
+    if (task == null || snapshot == null) {
+      throw new NullPointerException();
+    }
+    this.task = task;
+    this.snapshot = snapshot;
+  }
+
+  public V call() throws Exception {
+    Object previous = snapshot.attach();
+    try {
+      return task.call();
+    } finally {
+      snapshot.detach(previous);
+    }
+  }
+
+  public MDCSnapshot getSnapshot() {
+    return snapshot;
+  }
+
+  public String toString() {
+    return task.toString();
+  }
+}
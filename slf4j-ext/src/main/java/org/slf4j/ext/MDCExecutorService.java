@@ -0,0 +1,57 @@
+package org.slf4j.ext;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@link ExecutorService} which propagates the MDC of the submitting
+ * thread to its tasks.
+ *
+ * <p>The context is captured once per task, at submission, and swapped in and
+ * out around the execution by {@link MDCRunnable}. All other operations are
+ * delegated. <code>submit</code>, <code>invokeAll</code> and
+ * <code>invokeAny</code> are built on {@link #execute(Runnable)} and thus
+ * propagate the context as well.
+ *
+ * <p>Wrapping an executor which runs each task in a virtual thread
+ * (<code>Executors.newVirtualThreadPerTaskExecutor()</code> on Java 21) is
+ * fine: no locks are held while a task runs.
+ */
+public class MDCExecutorService extends AbstractExecutorService {
+
+  private final ExecutorService delegate;
+
+  public MDCExecutorService(ExecutorService delegate) {
+    if (delegate == null) {
+      throw new NullPointerException();
+    }
+    this.delegate = delegate;
+  }
+
+  public void execute(Runnable command) {
+    delegate.execute(new MDCRunnable(command, MDCSnapshot.capture()));
+  }
+
+  public void shutdown() {
+    delegate.shutdown();
+  }
+
+  public List<Runnable> shutdownNow() {
+    return delegate.shutdownNow();
+  }
+
+  public boolean isShutdown() {
+    return delegate.isShutdown();
+  }
+
+  public boolean isTerminated() {
+    return delegate.isTerminated();
+  }
+
+  public boolean awaitTermination(long timeout, TimeUnit unit)
+      throws InterruptedException {
+    return delegate.awaitTermination(timeout, unit);
+  }
+}
@@ -0,0 +1,44 @@
+package org.slf4j.ext;
+
+/**
+ * A {@link Runnable} which runs its task with the MDC captured when it was
+ * created. The context of the executing thread is restored afterwards, so
+ * pooled threads never leak context from one task to the next.
+ */
+public class MDCRunnable implements Runnable {
+
+  private final Runnable task;
+  private final MDCSnapshot snapshot;
+
+  /**
+   * Wrap <code>task</code> with the MDC of the current thread.
+   */
+  public MDCRunnable(Runnable task) {
+    this(task, MDCSnapshot.capture());
+  }
+
+  public MDCRunnable(Runnable task, MDCSnapshot snapshot) {
+    if (task == null || snapshot == null) {
+      throw new NullPointerException();
+    }
+    this.task = task;
+    this.snapshot = snapshot;
+  }
+
+  public void run() {
+    Object previous = snapshot.attach();
+    try {
+      task.run();
+    } finally {
+      snapshot.detach(previous);
+    }
+  }
+
+  public MDCSnapshot getSnapshot() {
+    return snapshot;
+  }
+
+  public String toString() {
+    return task.toString();
+  }
+}
@@ -0,0 +1,135 @@
+package org.slf4j.ext;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.slf4j.MDC;
+import org.slf4j.spi.MDCAdapter;
+import org.slf4j.spi.SnapshotMDCAdapter;
+
+/**
+ * An immutable copy of a thread's MDC which can be installed in other threads.
+ *
+ * <p>A snapshot is captured once, typically when a task is handed to another
+ * thread, and installed around each execution of the task with
+ * {@link #attach()} and {@link #detach(Object)}:
+ *
+ * <pre>
+ * Object previous = snapshot.attach();
+ * try {
+ *   task.run();
+ * } finally {
+ *   snapshot.detach(previous);
+ * }
+ * </pre>
+ *
+ * <p>When the MDC adapter implements {@link SnapshotMDCAdapter} neither
+ * capturing nor attaching nor detaching copies the context map: the same
+ * immutable map is swapped in and out of the worker thread. Other adapters
+ * fall back to {@link MDCAdapter#getCopyOfContextMap()} and
+ * {@link MDCAdapter#setContextMap(Map)}.
+ *
+ * <p>No locks are taken, so snapshots are safe to use on virtual threads.
+ */
+public final class MDCSnapshot {
+
+  private final MDCAdapter adapter;
+  private final Map contextMap;
+
+  private MDCSnapshot(MDCAdapter adapter, Map contextMap) {
+    this.adapter = adapter;
+    this.contextMap = contextMap;
+  }
+
+  /**
+   * Capture the MDC of the current thread.
+   */
+  public static MDCSnapshot capture() {
+    return capture(MDC.getMDCAdapter());
+  }
+
+  /**
+   * Capture the context of the current thread as held by
+   * <code>adapter</code>.
+   */
+  public static MDCSnapshot capture(MDCAdapter adapter) {
+    if (adapter == null) {
+      throw new IllegalArgumentException("adapter cannot be null");
+    }
+    Map map;
+    if (adapter instanceof SnapshotMDCAdapter) {
+      map = ((SnapshotMDCAdapter) adapter).getSnapshot();
+    } else {
+      map = adapter.getCopyOfContextMap();
+    }
+    if (map != null && map.isEmpty()) {
+      map = null;
+    }
+    return new MDCSnapshot(adapter, map);
+  }
+
+  /**
+   * Wrap <code>task</code> so that it runs with the MDC of the current thread.
+   */
+  public static Runnable wrap(Runnable task) {
+    return new MDCRunnable(task, capture());
+  }
+
+  /**
+   * Wrap <code>task</code> so that it runs with the MDC of the current thread.
+   */
+  public static <V> Callable<V> wrap(Callable<V> task) {
+    return new MDCCallable<V>(task, capture());
+  }
+
+  /**
+   * Return the captured context as an unmodifiable map, never null.
+   */
+  @SuppressWarnings("unchecked")
+  public Map<String, String> getContextMap() {
+    if (contextMap == null) {
+      return Collections.emptyMap();
+    }
+    return Collections.unmodifiableMap(contextMap);
+  }
+
+  /**
+   * Install this snapshot as the MDC of the current thread.
+   *
+   * @return the replaced context, to be passed to {@link #detach(Object)}
+   */
+  public Object attach() {
+    if (adapter instanceof SnapshotMDCAdapter) {
+      return ((SnapshotMDCAdapter) adapter).swapSnapshot(contextMap);
+    }
+    Map previous = adapter.getCopyOfContextMap();
+    install(contextMap);
+    return previous;
+  }
+
+  /**
+   * Restore the context replaced by {@link #attach()}.
+   *
+   * @param previous the value returned by the matching <code>attach()</code>
+   */
+  public void detach(Object previous) {
+    if (adapter instanceof SnapshotMDCAdapter) {
+      ((SnapshotMDCAdapter) adapter).swapSnapshot((Map) previous);
+    } else {
+      install((Map) previous);
+    }
+  }
+
+  private void install(Map map) {
+    if (map == null) {
+      adapter.clear();
+    } else {
+      adapter.setContextMap(map);
+    }
+  }
+
+  public String toString() {
+    return "MDCSnapshot" + getContextMap();
+  }
+}
@@ -0,0 +1,39 @@
+package org.slf4j.ext;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * A {@link ThreadFactory} whose threads start with the MDC of the thread which
+ * created them.
+ *
+ * <p>This replaces the implicit copy made by an
+ * <code>InheritableThreadLocal</code>, which is not performed at all by
+ * thread factories that disable inheritance, such as some virtual thread
+ * factories on Java 21. Pass such a factory, e.g.
+ * <code>Thread.ofVirtual().factory()</code>, as the delegate. The snapshot is
+ * installed without taking any lock, so virtual threads are never pinned to
+ * their carrier while their context is set up or torn down.
+ */
+public class MDCThreadFactory implements ThreadFactory {
+
+  private final ThreadFactory delegate;
+
+  /**
+   * Wrap {@link Executors#defaultThreadFactory()}.
+   */
+  public MDCThreadFactory() {
+    this(Executors.defaultThreadFactory());
+  }
+
+  public MDCThreadFactory(ThreadFactory delegate) {
+    if (delegate == null) {
+      throw new NullPointerException();
+    }
+    this.delegate = delegate;
+  }
+
+  public Thread newThread(Runnable r) {
+    return delegate.newThread(new MDCRunnable(r, MDCSnapshot.capture()));
+  }
+}
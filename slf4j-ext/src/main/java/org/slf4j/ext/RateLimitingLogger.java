@@ -0,0 +1,700 @@
+package org.slf4j.ext;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.helpers.MessageFormatter;
+import org.slf4j.spi.LocationAwareLogger;
+
+/**
+ * A {@link LoggerWrapper} protecting the underlying logger against log storms.
+ *
+ * <p>Every enabled event has to acquire a permit from a token bucket before it
+ * is handed to the wrapped logger. Buckets are kept either per level of the
+ * logger or per message pattern, the latter being a cheap stand-in for the
+ * call site since patterns are almost always string literals. Optionally only
+ * one event in <code>sampleRate</code> is considered at all.
+ *
+ * <p>Events which are dropped are discarded before their message is formatted
+ * or their throwable rendered. The number of dropped events is reported
+ * periodically, at the level of the dropped events, as
+ * "Suppressed 48211 events from X".
+ *
+ * <p>The buckets are lock-free: acquiring a permit is a single compare and
+ * set on an <code>AtomicLong</code> holding the theoretical arrival time of
+ * the next event.
+ */
+public class RateLimitingLogger extends LoggerWrapper {
+
+  private static final String FQCN = RateLimitingLogger.class.getName();
+
+  static final String SUMMARY_PATTERN = "Suppressed {} events from {}";
+
+  /**
+   * Maximum number of message patterns tracked individually in
+   * {@link Scope#PATTERN} mode. Beyond this limit events share the bucket of
+   * their level so that dynamically built messages cannot exhaust the heap.
+   */
+  static final int MAX_PATTERNS = 1024;
+
+  /**
+   * The granularity at which permits are accounted.
+   */
+  public enum Scope {
+    /** One bucket per logger and level. */
+    LEVEL,
+    /** One bucket per message pattern (i.e. per call site). */
+    PATTERN
+  }
+
+  private final long intervalNanos;
+  private final long toleranceNanos;
+  private final int sampleRate;
+  private final long summaryIntervalNanos;
+  private final Scope scope;
+
+  private final Bucket[] levelBuckets = new Bucket[5];
+  private final ConcurrentMap<String, Bucket> patternBuckets;
+
+  /**
+   * Create a RateLimitingLogger keeping one bucket per level and reporting
+   * suppressed events once a minute.
+   *
+   * @param logger the underlying logger
+   * @param permitsPerSecond sustained number of events let through per second
+   * @param burst number of events which may be let through at once
+   */
+  public RateLimitingLogger(Logger logger, double permitsPerSecond, int burst) {
+    this(logger, permitsPerSecond, burst, 1, Scope.LEVEL, 60000L);
+  }
+
+  /**
+   * Create a RateLimitingLogger.
+   *
+   * @param logger the underlying logger
+   * @param permitsPerSecond sustained number of events let through per second
+   * @param burst number of events which may be let through at once
+   * @param sampleRate only one event out of sampleRate is considered, 1
+   * disables sampling
+   * @param scope the granularity of the buckets
+   * @param summaryIntervalMillis minimum delay between two reports of
+   * suppressed events for the same bucket
+   */
+  public RateLimitingLogger(Logger logger, double permitsPerSecond, int burst,
+      int sampleRate, Scope scope, long summaryIntervalMillis) {
+    // the wrapped methods are invoked through super, the caller of interest
+    // is thus the one calling this class
+    super(logger, FQCN);
+    if (permitsPerSecond <= 0) {
+      throw new IllegalArgumentException("permitsPerSecond must be positive");
+    }
+    if (burst < 1 || sampleRate < 1) {
+      throw new IllegalArgumentException("burst and sampleRate must be at least 1");
+    }
+    this.intervalNanos = Math.max(1L, (long) (1000000000L / permitsPerSecond));
+    this.toleranceNanos = intervalNanos * (burst - 1);
+    this.sampleRate = sampleRate;
+    this.scope = scope;
+    this.summaryIntervalNanos = summaryIntervalMillis * 1000000L;
+    long now = System.nanoTime();
+    for (int i = 0; i < levelBuckets.length; i++) {
+      levelBuckets[i] = new Bucket(logger.getName() + " at level "
+          + levelName(i * 10), i * 10, now);
+    }
+    this.patternBuckets = (scope == Scope.PATTERN) ? new ConcurrentHashMap<String, Bucket>()
+        : null;
+  }
+
+  /**
+   * Report the events suppressed so far, regardless of the summary interval.
+   */
+  public void flushSummary() {
+    long now = System.nanoTime();
+    for (int i = 0; i < levelBuckets.length; i++) {
+      summarize(levelBuckets[i], now);
+    }
+    if (patternBuckets != null) {
+      Iterator<Bucket> it = patternBuckets.values().iterator();
+      while (it.hasNext()) {
+        summarize(it.next(), now);
+      }
+    }
+  }
+
+  /**
+   * Decide whether an enabled event may be logged. Neither the pattern nor the
+   * arguments are inspected beyond the identity of the pattern.
+   */
+  private boolean admit(int level, String pattern) {
+    Bucket bucket = bucketFor(level, pattern);
+    long now = System.nanoTime();
+    if (sampleRate == 1 || bucket.sampled.getAndIncrement() % sampleRate == 0) {
+      if (bucket.tryAcquire(now, intervalNanos, toleranceNanos)) {
+        if (bucket.suppressed.get() != 0 && now - bucket.lastSummary.get() >= summaryIntervalNanos) {
+          summarize(bucket, now);
+        }
+        return true;
+      }
+    }
+    bucket.suppressed.incrementAndGet();
+    if (now - bucket.lastSummary.get() >= summaryIntervalNanos) {
+      summarize(bucket, now);
+    }
+    return false;
+  }
+
+  private Bucket bucketFor(int level, String pattern) {
+    Bucket levelBucket = levelBuckets[level / 10];
+    if (scope != Scope.PATTERN || pattern == null) {
+      return levelBucket;
+    }
+    Bucket bucket = patternBuckets.get(pattern);
+    if (bucket == null) {
+      if (patternBuckets.size() >= MAX_PATTERNS) {
+        return levelBucket;
+      }
+      bucket = new Bucket(pattern, level, System.nanoTime());
+      Bucket existing = patternBuckets.putIfAbsent(pattern, bucket);
+      if (existing != null) {
+        bucket = existing;
+      }
+    }
+    return bucket;
+  }
+
+  private void summarize(Bucket bucket, long now) {
+    long last = bucket.lastSummary.get();
+    // only one thread gets to report a given interval
+    if (!bucket.lastSummary.compareAndSet(last, now)) {
+      return;
+    }
+    long count = bucket.suppressed.getAndSet(0);
+    if (count == 0) {
+      return;
+    }
+    Long boxed = Long.valueOf(count);
+    if (instanceofLAL) {
+      String msg = MessageFormatter.format(SUMMARY_PATTERN, boxed, bucket.name);
+      ((LocationAwareLogger) logger).log(null, FQCN, bucket.level, msg, null);
+      return;
+    }
+    switch (bucket.level) {
+    case LocationAwareLogger.TRACE_INT:
+      logger.trace(SUMMARY_PATTERN, boxed, bucket.name);
+      break;
+    case LocationAwareLogger.DEBUG_INT:
+      logger.debug(SUMMARY_PATTERN, boxed, bucket.name);
+      break;
+    case LocationAwareLogger.INFO_INT:
+      logger.info(SUMMARY_PATTERN, boxed, bucket.name);
+      break;
+    case LocationAwareLogger.WARN_INT:
+      logger.warn(SUMMARY_PATTERN, boxed, bucket.name);
+      break;
+    default:
+      logger.error(SUMMARY_PATTERN, boxed, bucket.name);
+    }
+  }
+
+  private static String levelName(int level) {
+    switch (level) {
+    case LocationAwareLogger.TRACE_INT:
+      return "TRACE";
+    case LocationAwareLogger.DEBUG_INT:
+      return "DEBUG";
+    case LocationAwareLogger.INFO_INT:
+      return "INFO";
+    case LocationAwareLogger.WARN_INT:
+      return "WARN";
+    default:
+      return "ERROR";
+    }
+  }
+
+  /**
+   * A token bucket expressed as a theoretical arrival time (GCRA): an event
+   * conforms if it does not arrive more than the tolerance ahead of schedule.
+   */
+  private static final class Bucket {
+    final String name;
+    final int level;
+    final AtomicLong arrival;
+    final AtomicLong sampled = new AtomicLong();
+    final AtomicLong suppressed = new AtomicLong();
+    final AtomicLong lastSummary;
+
+    Bucket(String name, int level, long now) {
+      this.name = name;
+      this.level = level;
+      this.arrival = new AtomicLong(now);
+      this.lastSummary = new AtomicLong(now);
+    }
+
+    boolean tryAcquire(long now, long interval, long tolerance) {
+      for (;;) {
+        long tat = arrival.get();
+        long base = (tat - now > 0) ? tat : now;
+        if (base - now > tolerance) {
+          return false;
+        }
+        if (arrival.compareAndSet(tat, base + interval)) {
+          return true;
+        }
+      }
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void trace(String msg) {
+    if (logger.isTraceEnabled() && admit(LocationAwareLogger.TRACE_INT, msg)) {
+      super.trace(msg);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void trace(String format, Object arg) {
+    if (logger.isTraceEnabled() && admit(LocationAwareLogger.TRACE_INT, format)) {
+      super.trace(format, arg);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void trace(String format, Object arg1, Object arg2) {
+    if (logger.isTraceEnabled() && admit(LocationAwareLogger.TRACE_INT, format)) {
+      super.trace(format, arg1, arg2);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void trace(String format, Object[] argArray) {
+    if (logger.isTraceEnabled() && admit(LocationAwareLogger.TRACE_INT, format)) {
+      super.trace(format, argArray);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void trace(String msg, Throwable t) {
+    if (logger.isTraceEnabled() && admit(LocationAwareLogger.TRACE_INT, msg)) {
+      super.trace(msg, t);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void trace(Marker marker, String msg) {
+    if (logger.isTraceEnabled() && admit(LocationAwareLogger.TRACE_INT, msg)) {
+      super.trace(marker, msg);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void trace(Marker marker, String format, Object arg) {
+    if (logger.isTraceEnabled() && admit(LocationAwareLogger.TRACE_INT, format)) {
+      super.trace(marker, format, arg);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void trace(Marker marker, String format, Object arg1, Object arg2) {
+    if (logger.isTraceEnabled() && admit(LocationAwareLogger.TRACE_INT, format)) {
+      super.trace(marker, format, arg1, arg2);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void trace(Marker marker, String format, Object[] argArray) {
+    if (logger.isTraceEnabled() && admit(LocationAwareLogger.TRACE_INT, format)) {
+      super.trace(marker, format, argArray);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void trace(Marker marker, String msg, Throwable t) {
+    if (logger.isTraceEnabled() && admit(LocationAwareLogger.TRACE_INT, msg)) {
+      super.trace(marker, msg, t);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void debug(String msg) {
+    if (logger.isDebugEnabled() && admit(LocationAwareLogger.DEBUG_INT, msg)) {
+      super.debug(msg);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void debug(String format, Object arg) {
+    if (logger.isDebugEnabled() && admit(LocationAwareLogger.DEBUG_INT, format)) {
+      super.debug(format, arg);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void debug(String format, Object arg1, Object arg2) {
+    if (logger.isDebugEnabled() && admit(LocationAwareLogger.DEBUG_INT, format)) {
+      super.debug(format, arg1, arg2);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void debug(String format, Object[] argArray) {
+    if (logger.isDebugEnabled() && admit(LocationAwareLogger.DEBUG_INT, format)) {
+      super.debug(format, argArray);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void debug(String msg, Throwable t) {
+    if (logger.isDebugEnabled() && admit(LocationAwareLogger.DEBUG_INT, msg)) {
+      super.debug(msg, t);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void debug(Marker marker, String msg) {
+    if (logger.isDebugEnabled() && admit(LocationAwareLogger.DEBUG_INT, msg)) {
+      super.debug(marker, msg);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void debug(Marker marker, String format, Object arg) {
+    if (logger.isDebugEnabled() && admit(LocationAwareLogger.DEBUG_INT, format)) {
+      super.debug(marker, format, arg);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void debug(Marker marker, String format, Object arg1, Object arg2) {
+    if (logger.isDebugEnabled() && admit(LocationAwareLogger.DEBUG_INT, format)) {
+      super.debug(marker, format, arg1, arg2);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void debug(Marker marker, String format, Object[] argArray) {
+    if (logger.isDebugEnabled() && admit(LocationAwareLogger.DEBUG_INT, format)) {
+      super.debug(marker, format, argArray);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void debug(Marker marker, String msg, Throwable t) {
+    if (logger.isDebugEnabled() && admit(LocationAwareLogger.DEBUG_INT, msg)) {
+      super.debug(marker, msg, t);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void info(String msg) {
+    if (logger.isInfoEnabled() && admit(LocationAwareLogger.INFO_INT, msg)) {
+      super.info(msg);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void info(String format, Object arg) {
+    if (logger.isInfoEnabled() && admit(LocationAwareLogger.INFO_INT, format)) {
+      super.info(format, arg);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void info(String format, Object arg1, Object arg2) {
+    if (logger.isInfoEnabled() && admit(LocationAwareLogger.INFO_INT, format)) {
+      super.info(format, arg1, arg2);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void info(String format, Object[] argArray) {
+    if (logger.isInfoEnabled() && admit(LocationAwareLogger.INFO_INT, format)) {
+      super.info(format, argArray);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void info(String msg, Throwable t) {
+    if (logger.isInfoEnabled() && admit(LocationAwareLogger.INFO_INT, msg)) {
+      super.info(msg, t);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void info(Marker marker, String msg) {
+    if (logger.isInfoEnabled() && admit(LocationAwareLogger.INFO_INT, msg)) {
+      super.info(marker, msg);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void info(Marker marker, String format, Object arg) {
+    if (logger.isInfoEnabled() && admit(LocationAwareLogger.INFO_INT, format)) {
+      super.info(marker, format, arg);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void info(Marker marker, String format, Object arg1, Object arg2) {
+    if (logger.isInfoEnabled() && admit(LocationAwareLogger.INFO_INT, format)) {
+      super.info(marker, format, arg1, arg2);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void info(Marker marker, String format, Object[] argArray) {
+    if (logger.isInfoEnabled() && admit(LocationAwareLogger.INFO_INT, format)) {
+      super.info(marker, format, argArray);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void info(Marker marker, String msg, Throwable t) {
+    if (logger.isInfoEnabled() && admit(LocationAwareLogger.INFO_INT, msg)) {
+      super.info(marker, msg, t);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void warn(String msg) {
+    if (logger.isWarnEnabled() && admit(LocationAwareLogger.WARN_INT, msg)) {
+      super.warn(msg);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void warn(String format, Object arg) {
+    if (logger.isWarnEnabled() && admit(LocationAwareLogger.WARN_INT, format)) {
+      super.warn(format, arg);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void warn(String format, Object arg1, Object arg2) {
+    if (logger.isWarnEnabled() && admit(LocationAwareLogger.WARN_INT, format)) {
+      super.warn(format, arg1, arg2);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void warn(String format, Object[] argArray) {
+    if (logger.isWarnEnabled() && admit(LocationAwareLogger.WARN_INT, format)) {
+      super.warn(format, argArray);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void warn(String msg, Throwable t) {
+    if (logger.isWarnEnabled() && admit(LocationAwareLogger.WARN_INT, msg)) {
+      super.warn(msg, t);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void warn(Marker marker, String msg) {
+    if (logger.isWarnEnabled() && admit(LocationAwareLogger.WARN_INT, msg)) {
+      super.warn(marker, msg);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void warn(Marker marker, String format, Object arg) {
+    if (logger.isWarnEnabled() && admit(LocationAwareLogger.WARN_INT, format)) {
+      super.warn(marker, format, arg);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void warn(Marker marker, String format, Object arg1, Object arg2) {
+    if (logger.isWarnEnabled() && admit(LocationAwareLogger.WARN_INT, format)) {
+      super.warn(marker, format, arg1, arg2);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void warn(Marker marker, String format, Object[] argArray) {
+    if (logger.isWarnEnabled() && admit(LocationAwareLogger.WARN_INT, format)) {
+      super.warn(marker, format, argArray);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void warn(Marker marker, String msg, Throwable t) {
+    if (logger.isWarnEnabled() && admit(LocationAwareLogger.WARN_INT, msg)) {
+      super.warn(marker, msg, t);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void error(String msg) {
+    if (logger.isErrorEnabled() && admit(LocationAwareLogger.ERROR_INT, msg)) {
+      super.error(msg);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void error(String format, Object arg) {
+    if (logger.isErrorEnabled() && admit(LocationAwareLogger.ERROR_INT, format)) {
+      super.error(format, arg);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void error(String format, Object arg1, Object arg2) {
+    if (logger.isErrorEnabled() && admit(LocationAwareLogger.ERROR_INT, format)) {
+      super.error(format, arg1, arg2);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void error(String format, Object[] argArray) {
+    if (logger.isErrorEnabled() && admit(LocationAwareLogger.ERROR_INT, format)) {
+      super.error(format, argArray);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void error(String msg, Throwable t) {
+    if (logger.isErrorEnabled() && admit(LocationAwareLogger.ERROR_INT, msg)) {
+      super.error(msg, t);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void error(Marker marker, String msg) {
+    if (logger.isErrorEnabled() && admit(LocationAwareLogger.ERROR_INT, msg)) {
+      super.error(marker, msg);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void error(Marker marker, String format, Object arg) {
+    if (logger.isErrorEnabled() && admit(LocationAwareLogger.ERROR_INT, format)) {
+      super.error(marker, format, arg);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void error(Marker marker, String format, Object arg1, Object arg2) {
+    if (logger.isErrorEnabled() && admit(LocationAwareLogger.ERROR_INT, format)) {
+      super.error(marker, format, arg1, arg2);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void error(Marker marker, String format, Object[] argArray) {
+    if (logger.isErrorEnabled() && admit(LocationAwareLogger.ERROR_INT, format)) {
+      super.error(marker, format, argArray);
+    }
+  }
+
+  /**
+   * Delegate to the underlying logger if the event is admitted.
+   */
+  public void error(Marker marker, String msg, Throwable t) {
+    if (logger.isErrorEnabled() && admit(LocationAwareLogger.ERROR_INT, msg)) {
+      super.error(marker, msg, t);
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package org.slf4j.ext;
+
+/**
+ * A method invocation traced by an {@link XLogger}, timed with
+ * <code>System.nanoTime()</code> from its entry event to its exit event.
+ *
+ * <pre>
+ * Span span = logger.entry(order);
+ * ...
+ * logger.exit(span, result);
+ * </pre>
+ *
+ * logs "entry with (order)" then "exit with (result) after 1234 ns". Spans of
+ * nested invocations are independent, each one measuring its own invocation.
+ *
+ * <p>When flow tracing is disabled, the entry methods return {@link #NOP},
+ * which records no time and is ignored by the exit methods, so that a
+ * disabled trace costs no allocation.
+ *
+ * @since 1.5.11
+ */
+public final class Span {
+
+  /**
+   * The span returned while flow tracing is disabled.
+   */
+  public static final Span NOP = new Span(0L);
+
+  private final long startNanos;
+  private LatencyHistogram histogram;
+
+  Span(long startNanos) {
+    this.startNanos = startNanos;
+  }
+
+  /**
+   * Tell whether this span was timed, that is, whether it is not
+   * {@link #NOP}.
+   */
+  public boolean isTimed() {
+    return this != NOP;
+  }
+
+  /**
+   * Return the number of nanoseconds elapsed since the entry, 0 for
+   * {@link #NOP}.
+   */
+  public long elapsedNanos() {
+    return this == NOP ? 0L : System.nanoTime() - startNanos;
+  }
+
+  /**
+   * Have the exit of this span record its duration in <code>histogram</code>,
+   * typically one histogram per traced method.
+   *
+   * @return this span
+   */
+  public Span recordTo(LatencyHistogram histogram) {
+    if (this != NOP) {
+      this.histogram = histogram;
+    }
+    return this;
+  }
+
+  LatencyHistogram getHistogram() {
+    return histogram;
+  }
+}
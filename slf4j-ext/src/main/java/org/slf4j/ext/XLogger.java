@@ -27,6 +27,8 @@ public class XLogger extends LoggerWrapper implements Logger {
 
   static String EXIT_MESSAGE_0 = "exit";
   static String EXIT_MESSAGE_1 = "exit with ({})";
+  static String TIMED_EXIT_MESSAGE_0 = "exit after {} ns";
+  static String TIMED_EXIT_MESSAGE_1 = "exit with ({}) after {} ns";
 
   static String ENTRY_MESSAGE_0 = "entry";
   static String ENTRY_MESSAGE_1 = "entry with ({})";
@@ -85,13 +87,84 @@ public class XLogger extends LoggerWrapper implements Logger {
     super(logger, LoggerWrapper.class.getName());
   }
 
+  /**
+   * Log method entry.
+   *
+   * @return a span to pass to {@link #exit(Span)}, {@link Span#NOP} if flow
+   *         tracing is disabled
+   * @since 1.5.11
+   */
+  public Span entry() {
+    if (instanceofLAL && logger.isTraceEnabled(ENTRY_MARKER)) {
+      return logEntry(ENTRY_MESSAGE_0);
+    }
+    return Span.NOP;
+  }
+
+  /**
+   * Log method entry.
+   *
+   * @param arg
+   *                supplied parameter
+   * @return a span to pass to {@link #exit(Span)}, {@link Span#NOP} if flow
+   *         tracing is disabled
+   * @since 1.5.11
+   */
+  public Span entry(Object arg) {
+    if (instanceofLAL && logger.isTraceEnabled(ENTRY_MARKER)) {
+      return logEntry(MessageFormatter.format(ENTRY_MESSAGE_1, arg));
+    }
+    return Span.NOP;
+  }
+
+  /**
+   * Log method entry.
+   *
+   * @param arg1
+   *                first supplied parameter
+   * @param arg2
+   *                second supplied parameter
+   * @return a span to pass to {@link #exit(Span)}, {@link Span#NOP} if flow
+   *         tracing is disabled
+   * @since 1.5.11
+   */
+  public Span entry(Object arg1, Object arg2) {
+    if (instanceofLAL && logger.isTraceEnabled(ENTRY_MARKER)) {
+      return logEntry(MessageFormatter.format(ENTRY_MESSAGE_2, arg1, arg2));
+    }
+    return Span.NOP;
+  }
+
+  /**
+   * Log method entry.
+   *
+   * @param arg1
+   *                first supplied parameter
+   * @param arg2
+   *                second supplied parameter
+   * @param arg3
+   *                third supplied parameter
+   * @return a span to pass to {@link #exit(Span)}, {@link Span#NOP} if flow
+   *         tracing is disabled
+   * @since 1.5.11
+   */
+  public Span entry(Object arg1, Object arg2, Object arg3) {
+    if (instanceofLAL && logger.isTraceEnabled(ENTRY_MARKER)) {
+      return logEntry(MessageFormatter.arrayFormat(ENTRY_MESSAGE_3,
+          new Object[] { arg1, arg2, arg3 }));
+    }
+    return Span.NOP;
+  }
+
   /**
    * Log method entry.
    *
    * @param argArray
    *                supplied parameters
+   * @return a span to pass to {@link #exit(Span)}, {@link Span#NOP} if flow
+   *         tracing is disabled
    */
-  public void entry(Object... argArray) {
+  public Span entry(Object... argArray) {
     if (instanceofLAL && logger.isTraceEnabled(ENTRY_MARKER)) {
       String messagePattern = null;
       if (argArray.length < ENTRY_MESSAGE_ARRAY_LEN) {
@@ -101,9 +174,16 @@ public class XLogger extends LoggerWrapper implements Logger {
       }
       String formattedMessage = MessageFormatter.arrayFormat(messagePattern,
           argArray);
-      ((LocationAwareLogger) logger).log(ENTRY_MARKER, FQCN,
-          LocationAwareLogger.TRACE_INT, formattedMessage, null);
+      return logEntry(formattedMessage);
     }
+    return Span.NOP;
+  }
+
+  private Span logEntry(String formattedMessage) {
+    ((LocationAwareLogger) logger).log(ENTRY_MARKER, FQCN,
+        LocationAwareLogger.TRACE_INT, formattedMessage, null);
+    // started once logged, so as not to count the logging itself
+    return new Span(System.nanoTime());
   }
 
   /**
@@ -130,6 +210,66 @@ public class XLogger extends LoggerWrapper implements Logger {
     }
   }
 
+  /**
+   * Log the exit of the method entered with <code>span</code>, and the time
+   * elapsed since the entry. If the span records to a
+   * {@link LatencyHistogram}, the time is recorded even if flow tracing was
+   * disabled since the entry.
+   *
+   * @param span
+   *                the span returned by the entry method
+   * @since 1.5.11
+   */
+  public void exit(Span span) {
+    if (span == null) {
+      // exit(null) used to log a null result
+      exit((Object) null);
+      return;
+    }
+    long elapsed = stop(span);
+    if (instanceofLAL && logger.isTraceEnabled(ENTRY_MARKER)) {
+      String formattedMessage = span.isTimed() ? MessageFormatter.format(
+          TIMED_EXIT_MESSAGE_0, Long.valueOf(elapsed)) : EXIT_MESSAGE_0;
+      ((LocationAwareLogger) logger).log(EXIT_MARKER, FQCN,
+          LocationAwareLogger.TRACE_INT, formattedMessage, null);
+    }
+  }
+
+  /**
+   * Log the exit of the method entered with <code>span</code>, its result
+   * and the time elapsed since the entry.
+   *
+   * @param span
+   *                the span returned by the entry method
+   * @param result
+   *                The result of the method being exited
+   * @see #exit(Span)
+   * @since 1.5.11
+   */
+  public void exit(Span span, Object result) {
+    long elapsed = span == null ? 0L : stop(span);
+    if (instanceofLAL && logger.isTraceEnabled(ENTRY_MARKER)) {
+      String formattedMessage;
+      if (span != null && span.isTimed()) {
+        formattedMessage = MessageFormatter.format(TIMED_EXIT_MESSAGE_1,
+            result, Long.valueOf(elapsed));
+      } else {
+        formattedMessage = MessageFormatter.format(EXIT_MESSAGE_1, result);
+      }
+      ((LocationAwareLogger) logger).log(EXIT_MARKER, FQCN,
+          LocationAwareLogger.TRACE_INT, formattedMessage, null);
+    }
+  }
+
+  private static long stop(Span span) {
+    long elapsed = span.elapsedNanos();
+    LatencyHistogram histogram = span.getHistogram();
+    if (histogram != null) {
+      histogram.record(elapsed);
+    }
+    return elapsed;
+  }
+
   /**
    * Log an exception being thrown. The generated log event uses Level ERROR.
    *
@@ -0,0 +1,492 @@
+package org.slf4j.journal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.helpers.MessageFormatter;
+import org.slf4j.helpers.Util;
+import org.slf4j.spi.LocationAwareLogger;
+
+/**
+ * A binary log written to a rolling set of memory-mapped files.
+ *
+ * <p>Events are recorded without formatting their message: a record holds the
+ * timestamp, level, logger, message pattern, arguments, thread id and marker
+ * of the event, with logger names, patterns and markers replaced by ids which
+ * are defined once per segment. Primitive and string arguments are stored as
+ * they are, other objects as their <code>toString()</code>. Appending an
+ * event therefore amounts to a few stores into the mapped segment, with no
+ * text formatting and no system call; the operating system writes the pages
+ * back to the file, even if the JVM crashes.
+ *
+ * <p>Segments are named <code>name.NNNNNNNNNN.journal</code> after their
+ * sequence number. When a segment is full the next one is mapped and the
+ * oldest segments beyond <code>maxSegments</code> are deleted. Opening a
+ * journal always starts a new segment after the existing ones.
+ *
+ * <p>Events are recorded through the loggers returned by
+ * {@link #getLogger(String)} and turned back into text by
+ * {@link JournalDecoder}.
+ *
+ * @since 1.5.11
+ */
+public class Journal {
+
+  public static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+  public static final int DEFAULT_MAX_SEGMENTS = 8;
+
+  static final int MIN_SEGMENT_SIZE = 4096;
+
+  private final File directory;
+  private final String name;
+  private final int segmentSize;
+  private final int maxSegments;
+
+  private final ConcurrentMap<String, JournalLogger> loggers = new ConcurrentHashMap<String, JournalLogger>();
+  private final AtomicLong droppedCount = new AtomicLong();
+  private volatile int level = LocationAwareLogger.TRACE_INT;
+
+  // the fields below are guarded by this
+  private final Map<String, Integer> loggerIds = new HashMap<String, Integer>();
+  private final Map<String, Integer> patternIds = new HashMap<String, Integer>();
+  private final Map<String, Integer> markerIds = new HashMap<String, Integer>();
+  private MappedByteBuffer buffer;
+  private long sequence;
+  private boolean closed;
+
+  public Journal(File directory, String name) throws IOException {
+    this(directory, name, DEFAULT_SEGMENT_SIZE, DEFAULT_MAX_SEGMENTS);
+  }
+
+  public Journal(File directory, String name, int segmentSize, int maxSegments)
+      throws IOException {
+    if (name == null || name.length() == 0) {
+      throw new IllegalArgumentException("name cannot be empty");
+    }
+    if (segmentSize < MIN_SEGMENT_SIZE) {
+      throw new IllegalArgumentException("segmentSize must be at least "
+          + MIN_SEGMENT_SIZE);
+    }
+    if (maxSegments < 1) {
+      throw new IllegalArgumentException("maxSegments must be at least 1");
+    }
+    directory.mkdirs();
+    if (!directory.isDirectory()) {
+      throw new IOException("Cannot create journal directory " + directory);
+    }
+    this.directory = directory;
+    this.name = name;
+    this.segmentSize = segmentSize;
+    this.maxSegments = maxSegments;
+    synchronized (this) {
+      sequence = lastSequence() + 1;
+      openSegment();
+    }
+  }
+
+  public File getDirectory() {
+    return directory;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Return the logger of the given name, which records its events in this
+   * journal.
+   */
+  public Logger getLogger(String loggerName) {
+    JournalLogger logger = loggers.get(loggerName);
+    if (logger == null) {
+      JournalLogger newLogger = new JournalLogger(this, loggerName);
+      logger = loggers.putIfAbsent(loggerName, newLogger);
+      if (logger == null) {
+        logger = newLogger;
+      }
+    }
+    return logger;
+  }
+
+  /**
+   * Return the lowest level recorded, one of the
+   * {@link LocationAwareLogger} level constants. Defaults to TRACE.
+   */
+  public int getLevel() {
+    return level;
+  }
+
+  public void setLevel(int level) {
+    this.level = level;
+  }
+
+  boolean isEnabled(int level) {
+    return level >= this.level;
+  }
+
+  /**
+   * Return the number of events which were not recorded, because they were
+   * larger than a segment or the journal was closed.
+   */
+  public long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  /**
+   * Return the sequence number of the segment being written.
+   */
+  public synchronized long getSequence() {
+    return sequence;
+  }
+
+  /**
+   * Force the segment being written to the storage device. This is only
+   * needed to survive an operating system crash.
+   */
+  public synchronized void flush() {
+    if (!closed) {
+      buffer.force();
+    }
+  }
+
+  /**
+   * Flush and close this journal. Events logged afterwards are dropped.
+   */
+  public synchronized void close() {
+    if (!closed) {
+      buffer.force();
+      // the mapping itself is released when the buffer is collected
+      buffer = null;
+      closed = true;
+    }
+  }
+
+  void append(int level, String loggerName, Marker marker, String pattern,
+      Object[] args, Throwable t) {
+    long timestamp = System.currentTimeMillis();
+    long threadId = Thread.currentThread().getId();
+    int argCount = (args == null) ? 0 : Math.min(args.length, JournalFormat.MAX_ARGUMENTS);
+
+    // call toString() outside the lock: it is foreign code, which may even log
+    Object[] values = args;
+    int size = JournalFormat.EVENT_FIXED_SIZE;
+    for (int i = 0; i < argCount; i++) {
+      Object arg = args[i];
+      byte tag = tagOf(arg);
+      if (tag == JournalFormat.ARG_OBJECT) {
+        if (values == args) {
+          values = new Object[argCount];
+          System.arraycopy(args, 0, values, 0, argCount);
+        }
+        values[i] = asString(arg);
+      }
+      size += 1 + payloadSize(tag, values[i]);
+    }
+    String[] throwableLines = null;
+    if (t != null) {
+      throwableLines = render(t);
+      for (int i = 0; i < throwableLines.length; i++) {
+        size += JournalFormat.sizeOf(throwableLines[i]);
+      }
+    }
+    String markerName = (marker == null) ? null : marker.getName();
+
+    synchronized (this) {
+      if (closed) {
+        droppedCount.incrementAndGet();
+        return;
+      }
+      Integer loggerId;
+      Integer patternId;
+      Integer markerId;
+      for (boolean rolled = false;; rolled = true) {
+        int required = size;
+        loggerId = loggerIds.get(loggerName);
+        if (loggerId == null) {
+          required += JournalFormat.definitionSize(loggerName);
+        }
+        patternId = null;
+        if (pattern != null) {
+          patternId = patternIds.get(pattern);
+          if (patternId == null) {
+            required += JournalFormat.definitionSize(pattern);
+          }
+        }
+        markerId = null;
+        if (markerName != null) {
+          markerId = markerIds.get(markerName);
+          if (markerId == null) {
+            required += JournalFormat.definitionSize(markerName);
+          }
+        }
+        // keep room for the terminating zero length
+        if (required + 4 <= buffer.remaining()) {
+          break;
+        }
+        if (rolled || !roll()) {
+          droppedCount.incrementAndGet();
+          return;
+        }
+      }
+
+      if (loggerId == null) {
+        loggerId = define(JournalFormat.RECORD_LOGGER, loggerIds, loggerName);
+      }
+      if (pattern != null && patternId == null) {
+        patternId = define(JournalFormat.RECORD_PATTERN, patternIds, pattern);
+      }
+      if (markerName != null && markerId == null) {
+        markerId = define(JournalFormat.RECORD_MARKER, markerIds, markerName);
+      }
+
+      int start = beginRecord(JournalFormat.RECORD_EVENT);
+      buffer.putLong(timestamp);
+      buffer.put((byte) level);
+      buffer.putInt(loggerId.intValue());
+      buffer.putInt(patternId == null ? JournalFormat.NO_ID : patternId.intValue());
+      buffer.putLong(threadId);
+      buffer.putInt(markerId == null ? JournalFormat.NO_ID : markerId.intValue());
+      buffer.put((byte) argCount);
+      for (int i = 0; i < argCount; i++) {
+        putArgument(tagOf(args[i]), values[i]);
+      }
+      if (throwableLines == null) {
+        buffer.putInt(0);
+      } else {
+        buffer.putInt(throwableLines.length);
+        for (int i = 0; i < throwableLines.length; i++) {
+          putString(throwableLines[i]);
+        }
+      }
+      endRecord(start);
+    }
+  }
+
+  private Integer define(byte type, Map<String, Integer> ids, String value) {
+    Integer id = new Integer(ids.size());
+    ids.put(value, id);
+    int start = beginRecord(type);
+    buffer.putInt(id.intValue());
+    putString(value);
+    endRecord(start);
+    return id;
+  }
+
+  private int beginRecord(byte type) {
+    int start = buffer.position();
+    buffer.putInt(0);
+    buffer.put(type);
+    return start;
+  }
+
+  // the length goes in last, so that a record cut short by a crash reads as
+  // the end of the segment
+  private void endRecord(int start) {
+    buffer.putInt(start, buffer.position() - start);
+  }
+
+  private void putString(String s) {
+    int len = s.length();
+    buffer.putInt(len);
+    for (int i = 0; i < len; i++) {
+      buffer.putChar(s.charAt(i));
+    }
+  }
+
+  private void putArgument(byte tag, Object value) {
+    buffer.put(tag);
+    switch (tag) {
+    case JournalFormat.ARG_NULL:
+      break;
+    case JournalFormat.ARG_STRING:
+    case JournalFormat.ARG_OBJECT:
+      putString((String) value);
+      break;
+    case JournalFormat.ARG_BOOLEAN:
+      buffer.put(((Boolean) value).booleanValue() ? (byte) 1 : (byte) 0);
+      break;
+    case JournalFormat.ARG_BYTE:
+      buffer.put(((Byte) value).byteValue());
+      break;
+    case JournalFormat.ARG_SHORT:
+      buffer.putShort(((Short) value).shortValue());
+      break;
+    case JournalFormat.ARG_CHAR:
+      buffer.putChar(((Character) value).charValue());
+      break;
+    case JournalFormat.ARG_INT:
+      buffer.putInt(((Integer) value).intValue());
+      break;
+    case JournalFormat.ARG_LONG:
+      buffer.putLong(((Long) value).longValue());
+      break;
+    case JournalFormat.ARG_FLOAT:
+      buffer.putFloat(((Float) value).floatValue());
+      break;
+    case JournalFormat.ARG_DOUBLE:
+      buffer.putDouble(((Double) value).doubleValue());
+      break;
+    default:
+      throw new IllegalStateException("Unknown argument tag " + tag);
+    }
+  }
+
+  static byte tagOf(Object arg) {
+    if (arg == null) {
+      return JournalFormat.ARG_NULL;
+    } else if (arg instanceof String) {
+      return JournalFormat.ARG_STRING;
+    } else if (arg instanceof Integer) {
+      return JournalFormat.ARG_INT;
+    } else if (arg instanceof Long) {
+      return JournalFormat.ARG_LONG;
+    } else if (arg instanceof Boolean) {
+      return JournalFormat.ARG_BOOLEAN;
+    } else if (arg instanceof Double) {
+      return JournalFormat.ARG_DOUBLE;
+    } else if (arg instanceof Float) {
+      return JournalFormat.ARG_FLOAT;
+    } else if (arg instanceof Character) {
+      return JournalFormat.ARG_CHAR;
+    } else if (arg instanceof Short) {
+      return JournalFormat.ARG_SHORT;
+    } else if (arg instanceof Byte) {
+      return JournalFormat.ARG_BYTE;
+    } else {
+      return JournalFormat.ARG_OBJECT;
+    }
+  }
+
+  private static int payloadSize(byte tag, Object value) {
+    switch (tag) {
+    case JournalFormat.ARG_NULL:
+      return 0;
+    case JournalFormat.ARG_STRING:
+    case JournalFormat.ARG_OBJECT:
+      return JournalFormat.sizeOf((String) value);
+    case JournalFormat.ARG_BOOLEAN:
+    case JournalFormat.ARG_BYTE:
+      return 1;
+    case JournalFormat.ARG_SHORT:
+    case JournalFormat.ARG_CHAR:
+      return 2;
+    case JournalFormat.ARG_INT:
+    case JournalFormat.ARG_FLOAT:
+      return 4;
+    default:
+      return 8;
+    }
+  }
+
+  // the text MessageFormatter would have produced for the argument
+  private static String asString(Object arg) {
+    if (arg.getClass().isArray()) {
+      return MessageFormatter.format("{}", arg);
+    }
+    try {
+      return arg.toString();
+    } catch (Throwable t) {
+      System.err.println("SLF4J: Failed toString() invocation on an object of type ["
+          + arg.getClass().getName() + "]");
+      t.printStackTrace();
+      return "[FAILED toString()]";
+    }
+  }
+
+  /**
+   * Render <code>t</code> as the lines printed by
+   * {@link Throwable#printStackTrace()}, without eliding common frames.
+   */
+  static String[] render(Throwable t) {
+    List<String> lines = new ArrayList<String>();
+    Map<Throwable, Object> seen = new IdentityHashMap<Throwable, Object>();
+    String prefix = "";
+    while (t != null && !seen.containsKey(t)) {
+      seen.put(t, null);
+      lines.add(prefix + t);
+      StackTraceElement[] trace = t.getStackTrace();
+      for (int i = 0; i < trace.length; i++) {
+        lines.add("\tat " + trace[i]);
+      }
+      prefix = "Caused by: ";
+      t = t.getCause();
+    }
+    return lines.toArray(new String[lines.size()]);
+  }
+
+  private boolean roll() {
+    sequence++;
+    try {
+      openSegment();
+      return true;
+    } catch (IOException e) {
+      Util.reportFailure("Failed to open segment " + sequence + " of journal "
+          + name + ", closing it", e);
+      buffer = null;
+      closed = true;
+      return false;
+    }
+  }
+
+  private void openSegment() throws IOException {
+    File file = new File(directory, JournalFormat.segmentName(name, sequence));
+    RandomAccessFile raf = new RandomAccessFile(file, "rw");
+    try {
+      raf.setLength(0);
+      raf.setLength(segmentSize);
+      // the mapping remains valid once the file is closed
+      buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    } finally {
+      raf.close();
+    }
+    buffer.putInt(JournalFormat.MAGIC);
+    buffer.putShort(JournalFormat.VERSION);
+    buffer.putLong(sequence);
+    buffer.putLong(System.currentTimeMillis());
+    loggerIds.clear();
+    patternIds.clear();
+    markerIds.clear();
+    deleteExpiredSegments();
+  }
+
+  private void deleteExpiredSegments() {
+    String[] fileNames = directory.list();
+    if (fileNames == null) {
+      return;
+    }
+    for (int i = 0; i < fileNames.length; i++) {
+      long s = JournalFormat.parseSequence(name, fileNames[i]);
+      if (s >= 0 && s <= sequence - maxSegments) {
+        new File(directory, fileNames[i]).delete();
+      }
+    }
+  }
+
+  private long lastSequence() {
+    long last = -1;
+    String[] fileNames = directory.list();
+    if (fileNames != null) {
+      for (int i = 0; i < fileNames.length; i++) {
+        last = Math.max(last, JournalFormat.parseSequence(name, fileNames[i]));
+      }
+    }
+    return last;
+  }
+
+  public String toString() {
+    return "Journal[" + new File(directory, name) + "]";
+  }
+}
@@ -0,0 +1,254 @@
+package org.slf4j.journal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.helpers.MessageFormatter;
+import org.slf4j.spi.LocationAwareLogger;
+
+/**
+ * Turns {@link Journal} segments back into text, formatting messages with
+ * {@link MessageFormatter}.
+ *
+ * <p>From the command line:
+ *
+ * <pre>
+ * java org.slf4j.journal.JournalDecoder (segment | directory)...
+ * </pre>
+ *
+ * prints the events of the given segments, or of all the segments found in
+ * the given directories in sequence order, one event per line:
+ *
+ * <pre>
+ * 2010-03-14 15:09:26.535 [thread-1] DEBUG com.foo.Bar MARKER - message
+ * </pre>
+ *
+ * followed by the stack trace of the throwable, if any.
+ *
+ * @since 1.5.11
+ */
+public class JournalDecoder {
+
+  private final PrintWriter out;
+  private final SimpleDateFormat dateFormat = new SimpleDateFormat(
+      "yyyy-MM-dd HH:mm:ss.SSS");
+  private final Date date = new Date();
+
+  // definitions of the segment being decoded
+  private final Map<Integer, String> loggers = new HashMap<Integer, String>();
+  private final Map<Integer, String> patterns = new HashMap<Integer, String>();
+  private final Map<Integer, String> markers = new HashMap<Integer, String>();
+
+  public JournalDecoder(PrintWriter out) {
+    this.out = out;
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length == 0) {
+      System.err.println("Usage: java " + JournalDecoder.class.getName()
+          + " (segment | directory)...");
+      System.exit(1);
+    }
+    PrintWriter out = new PrintWriter(new OutputStreamWriter(System.out));
+    JournalDecoder decoder = new JournalDecoder(out);
+    try {
+      for (int i = 0; i < args.length; i++) {
+        File file = new File(args[i]);
+        if (file.isDirectory()) {
+          File[] segments = listSegments(file);
+          for (int j = 0; j < segments.length; j++) {
+            decoder.decode(segments[j]);
+          }
+        } else {
+          decoder.decode(file);
+        }
+      }
+    } finally {
+      out.flush();
+    }
+  }
+
+  /**
+   * Return the segments found in <code>directory</code>, sorted by journal
+   * name and sequence number.
+   */
+  public static File[] listSegments(File directory) {
+    File[] files = directory.listFiles();
+    if (files == null) {
+      return new File[0];
+    }
+    List<File> segments = new ArrayList<File>();
+    for (int i = 0; i < files.length; i++) {
+      if (files[i].isFile()
+          && files[i].getName().endsWith(JournalFormat.SEGMENT_SUFFIX)) {
+        segments.add(files[i]);
+      }
+    }
+    File[] result = segments.toArray(new File[segments.size()]);
+    // sequence numbers are zero padded
+    Arrays.sort(result);
+    return result;
+  }
+
+  /**
+   * Print the events of <code>segment</code> and return their number.
+   */
+  public int decode(File segment) throws IOException {
+    RandomAccessFile raf = new RandomAccessFile(segment, "r");
+    ByteBuffer buffer;
+    try {
+      buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0,
+          raf.length());
+    } finally {
+      raf.close();
+    }
+    if (buffer.remaining() < JournalFormat.SEGMENT_HEADER_SIZE
+        || buffer.getInt() != JournalFormat.MAGIC) {
+      throw new IOException(segment + " is not a journal segment");
+    }
+    short version = buffer.getShort();
+    if (version != JournalFormat.VERSION) {
+      throw new IOException(segment + " has unsupported version " + version);
+    }
+    // sequence and creation time
+    buffer.getLong();
+    buffer.getLong();
+
+    loggers.clear();
+    patterns.clear();
+    markers.clear();
+    int events = 0;
+    while (buffer.remaining() >= JournalFormat.RECORD_HEADER_SIZE) {
+      int start = buffer.position();
+      int length = buffer.getInt();
+      if (length < JournalFormat.RECORD_HEADER_SIZE
+          || length > buffer.remaining() + 4) {
+        // end of the data, or a record cut short by a crash
+        break;
+      }
+      byte type = buffer.get();
+      switch (type) {
+      case JournalFormat.RECORD_EVENT:
+        decodeEvent(buffer);
+        events++;
+        break;
+      case JournalFormat.RECORD_LOGGER:
+        define(buffer, loggers);
+        break;
+      case JournalFormat.RECORD_PATTERN:
+        define(buffer, patterns);
+        break;
+      case JournalFormat.RECORD_MARKER:
+        define(buffer, markers);
+        break;
+      default:
+        // written by a later version, skipped
+      }
+      buffer.position(start + length);
+    }
+    out.flush();
+    return events;
+  }
+
+  private static void define(ByteBuffer buffer, Map<Integer, String> ids) {
+    Integer id = new Integer(buffer.getInt());
+    ids.put(id, getString(buffer));
+  }
+
+  private void decodeEvent(ByteBuffer buffer) {
+    long timestamp = buffer.getLong();
+    int level = buffer.get();
+    String logger = loggers.get(new Integer(buffer.getInt()));
+    String pattern = patterns.get(new Integer(buffer.getInt()));
+    long threadId = buffer.getLong();
+    String marker = markers.get(new Integer(buffer.getInt()));
+    Object[] args = new Object[buffer.get()];
+    for (int i = 0; i < args.length; i++) {
+      args[i] = getArgument(buffer);
+    }
+
+    date.setTime(timestamp);
+    StringBuilder line = new StringBuilder(128);
+    line.append(dateFormat.format(date));
+    line.append(" [thread-").append(threadId).append("] ");
+    line.append(levelName(level)).append(' ');
+    line.append(logger);
+    if (marker != null) {
+      line.append(' ').append(marker);
+    }
+    line.append(" - ");
+    line.append(MessageFormatter.arrayFormat(pattern, args));
+    out.println(line);
+
+    int throwableLines = buffer.getInt();
+    for (int i = 0; i < throwableLines; i++) {
+      out.println(getString(buffer));
+    }
+  }
+
+  private static Object getArgument(ByteBuffer buffer) {
+    byte tag = buffer.get();
+    switch (tag) {
+    case JournalFormat.ARG_NULL:
+      return null;
+    case JournalFormat.ARG_STRING:
+    case JournalFormat.ARG_OBJECT:
+      return getString(buffer);
+    case JournalFormat.ARG_BOOLEAN:
+      return Boolean.valueOf(buffer.get() != 0);
+    case JournalFormat.ARG_BYTE:
+      return new Byte(buffer.get());
+    case JournalFormat.ARG_SHORT:
+      return new Short(buffer.getShort());
+    case JournalFormat.ARG_CHAR:
+      return new Character(buffer.getChar());
+    case JournalFormat.ARG_INT:
+      return new Integer(buffer.getInt());
+    case JournalFormat.ARG_LONG:
+      return new Long(buffer.getLong());
+    case JournalFormat.ARG_FLOAT:
+      return new Float(buffer.getFloat());
+    case JournalFormat.ARG_DOUBLE:
+      return new Double(buffer.getDouble());
+    default:
+      throw new IllegalStateException("Unknown argument tag " + tag);
+    }
+  }
+
+  private static String getString(ByteBuffer buffer) {
+    char[] chars = new char[buffer.getInt()];
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = buffer.getChar();
+    }
+    return new String(chars);
+  }
+
+  private static String levelName(int level) {
+    switch (level) {
+    case LocationAwareLogger.TRACE_INT:
+      return "TRACE";
+    case LocationAwareLogger.DEBUG_INT:
+      return "DEBUG";
+    case LocationAwareLogger.INFO_INT:
+      return "INFO";
+    case LocationAwareLogger.WARN_INT:
+      return "WARN";
+    case LocationAwareLogger.ERROR_INT:
+      return "ERROR";
+    default:
+      return "LEVEL" + level;
+    }
+  }
+}
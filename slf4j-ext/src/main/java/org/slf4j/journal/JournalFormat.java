@@ -0,0 +1,102 @@
+package org.slf4j.journal;
+
+/**
+ * Layout of journal segments, shared by {@link Journal} and
+ * {@link JournalDecoder}.
+ *
+ * <p>A segment starts with a header (magic, version, sequence number,
+ * creation time) followed by records. Every record starts with its total
+ * length as an int, written after the rest of the record, and a type byte. A
+ * zero length marks the end of the data written to the segment.
+ *
+ * <p>Logger names, message patterns and marker names are written once per
+ * segment in definition records (id, string) and referenced by id from event
+ * records, so that each segment can be decoded on its own.
+ *
+ * <p>Event records hold: timestamp (long), level (byte), logger id (int),
+ * pattern id (int, -1 for null), thread id (long), marker id (int, -1 for
+ * none), argument count (byte), the tagged arguments and the throwable, if
+ * any, as a count of lines followed by the lines.
+ *
+ * <p>Strings are written as a char count followed by UTF-16 chars, which lets
+ * the size of a record be known before it is written. All values are big
+ * endian.
+ */
+final class JournalFormat {
+
+  static final int MAGIC = 0x534c464a; // "SLFJ"
+  static final short VERSION = 1;
+
+  static final int SEGMENT_HEADER_SIZE = 4 + 2 + 8 + 8;
+  static final String SEGMENT_SUFFIX = ".journal";
+
+  static final byte RECORD_EVENT = 1;
+  static final byte RECORD_LOGGER = 2;
+  static final byte RECORD_PATTERN = 3;
+  static final byte RECORD_MARKER = 4;
+
+  // length, type
+  static final int RECORD_HEADER_SIZE = 4 + 1;
+  // timestamp, level, logger, pattern, thread, marker, argument count,
+  // throwable line count
+  static final int EVENT_FIXED_SIZE = RECORD_HEADER_SIZE + 8 + 1 + 4 + 4 + 8 + 4 + 1 + 4;
+  static final int DEFINITION_FIXED_SIZE = RECORD_HEADER_SIZE + 4;
+
+  static final int NO_ID = -1;
+  static final int MAX_ARGUMENTS = 127;
+
+  static final byte ARG_NULL = 0;
+  static final byte ARG_STRING = 1;
+  // the toString() of an object which is not a string nor a primitive
+  static final byte ARG_OBJECT = 2;
+  static final byte ARG_BOOLEAN = 3;
+  static final byte ARG_BYTE = 4;
+  static final byte ARG_SHORT = 5;
+  static final byte ARG_CHAR = 6;
+  static final byte ARG_INT = 7;
+  static final byte ARG_LONG = 8;
+  static final byte ARG_FLOAT = 9;
+  static final byte ARG_DOUBLE = 10;
+
+  private JournalFormat() {
+  }
+
+  static int sizeOf(String s) {
+    return 4 + 2 * s.length();
+  }
+
+  static int definitionSize(String s) {
+    return DEFINITION_FIXED_SIZE + sizeOf(s);
+  }
+
+  static String segmentName(String name, long sequence) {
+    String digits = Long.toString(sequence);
+    StringBuilder sb = new StringBuilder(name.length() + 20);
+    sb.append(name).append('.');
+    for (int i = digits.length(); i < 10; i++) {
+      sb.append('0');
+    }
+    return sb.append(digits).append(SEGMENT_SUFFIX).toString();
+  }
+
+  /**
+   * Return the sequence number of a segment file name, or -1 if
+   * <code>fileName</code> is not a segment of the journal <code>name</code>.
+   */
+  static long parseSequence(String name, String fileName) {
+    if (!fileName.startsWith(name + ".") || !fileName.endsWith(SEGMENT_SUFFIX)) {
+      return -1;
+    }
+    String digits = fileName.substring(name.length() + 1, fileName.length()
+        - SEGMENT_SUFFIX.length());
+    if (digits.length() == 0) {
+      return -1;
+    }
+    for (int i = 0; i < digits.length(); i++) {
+      if (!Character.isDigit(digits.charAt(i))) {
+        return -1;
+      }
+    }
+    return Long.parseLong(digits);
+  }
+}
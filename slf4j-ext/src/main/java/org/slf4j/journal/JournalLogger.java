@@ -0,0 +1,384 @@
+package org.slf4j.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.spi.LocationAwareLogger;
+
+/**
+ * A logger which records its events in a {@link Journal}, without formatting
+ * them.
+ *
+ * <p>Instances are obtained from {@link Journal#getLogger(String)}. A logger
+ * is enabled for the levels at or above the level of its journal; markers are
+ * recorded but do not take part in the decision.
+ *
+ * @since 1.5.11
+ */
+public class JournalLogger implements Logger {
+
+  private static final int TRACE = LocationAwareLogger.TRACE_INT;
+  private static final int DEBUG = LocationAwareLogger.DEBUG_INT;
+  private static final int INFO = LocationAwareLogger.INFO_INT;
+  private static final int WARN = LocationAwareLogger.WARN_INT;
+  private static final int ERROR = LocationAwareLogger.ERROR_INT;
+
+  private final Journal journal;
+  private final String name;
+
+  JournalLogger(Journal journal, String name) {
+    this.journal = journal;
+    this.name = name;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public Journal getJournal() {
+    return journal;
+  }
+
+  public boolean isTraceEnabled() {
+    return journal.isEnabled(TRACE);
+  }
+
+  public boolean isTraceEnabled(Marker marker) {
+    return journal.isEnabled(TRACE);
+  }
+
+  public void trace(String msg) {
+    if (journal.isEnabled(TRACE)) {
+      journal.append(TRACE, name, null, msg, null, null);
+    }
+  }
+
+  public void trace(String format, Object arg) {
+    if (journal.isEnabled(TRACE)) {
+      journal.append(TRACE, name, null, format, new Object[] { arg }, null);
+    }
+  }
+
+  public void trace(String format, Object arg1, Object arg2) {
+    if (journal.isEnabled(TRACE)) {
+      journal.append(TRACE, name, null, format, new Object[] { arg1, arg2 }, null);
+    }
+  }
+
+  public void trace(String format, Object[] argArray) {
+    if (journal.isEnabled(TRACE)) {
+      journal.append(TRACE, name, null, format, argArray, null);
+    }
+  }
+
+  public void trace(String msg, Throwable t) {
+    if (journal.isEnabled(TRACE)) {
+      journal.append(TRACE, name, null, msg, null, t);
+    }
+  }
+
+  public void trace(Marker marker, String msg) {
+    if (journal.isEnabled(TRACE)) {
+      journal.append(TRACE, name, marker, msg, null, null);
+    }
+  }
+
+  public void trace(Marker marker, String format, Object arg) {
+    if (journal.isEnabled(TRACE)) {
+      journal.append(TRACE, name, marker, format, new Object[] { arg }, null);
+    }
+  }
+
+  public void trace(Marker marker, String format, Object arg1, Object arg2) {
+    if (journal.isEnabled(TRACE)) {
+      journal.append(TRACE, name, marker, format, new Object[] { arg1, arg2 }, null);
+    }
+  }
+
+  public void trace(Marker marker, String format, Object[] argArray) {
+    if (journal.isEnabled(TRACE)) {
+      journal.append(TRACE, name, marker, format, argArray, null);
+    }
+  }
+
+  public void trace(Marker marker, String msg, Throwable t) {
+    if (journal.isEnabled(TRACE)) {
+      journal.append(TRACE, name, marker, msg, null, t);
+    }
+  }
+
+  public boolean isDebugEnabled() {
+    return journal.isEnabled(DEBUG);
+  }
+
+  public boolean isDebugEnabled(Marker marker) {
+    return journal.isEnabled(DEBUG);
+  }
+
+  public void debug(String msg) {
+    if (journal.isEnabled(DEBUG)) {
+      journal.append(DEBUG, name, null, msg, null, null);
+    }
+  }
+
+  public void debug(String format, Object arg) {
+    if (journal.isEnabled(DEBUG)) {
+      journal.append(DEBUG, name, null, format, new Object[] { arg }, null);
+    }
+  }
+
+  public void debug(String format, Object arg1, Object arg2) {
+    if (journal.isEnabled(DEBUG)) {
+      journal.append(DEBUG, name, null, format, new Object[] { arg1, arg2 }, null);
+    }
+  }
+
+  public void debug(String format, Object[] argArray) {
+    if (journal.isEnabled(DEBUG)) {
+      journal.append(DEBUG, name, null, format, argArray, null);
+    }
+  }
+
+  public void debug(String msg, Throwable t) {
+    if (journal.isEnabled(DEBUG)) {
+      journal.append(DEBUG, name, null, msg, null, t);
+    }
+  }
+
+  public void debug(Marker marker, String msg) {
+    if (journal.isEnabled(DEBUG)) {
+      journal.append(DEBUG, name, marker, msg, null, null);
+    }
+  }
+
+  public void debug(Marker marker, String format, Object arg) {
+    if (journal.isEnabled(DEBUG)) {
+      journal.append(DEBUG, name, marker, format, new Object[] { arg }, null);
+    }
+  }
+
+  public void debug(Marker marker, String format, Object arg1, Object arg2) {
+    if (journal.isEnabled(DEBUG)) {
+      journal.append(DEBUG, name, marker, format, new Object[] { arg1, arg2 }, null);
+    }
+  }
+
+  public void debug(Marker marker, String format, Object[] argArray) {
+    if (journal.isEnabled(DEBUG)) {
+      journal.append(DEBUG, name, marker, format, argArray, null);
+    }
+  }
+
+  public void debug(Marker marker, String msg, Throwable t) {
+    if (journal.isEnabled(DEBUG)) {
+      journal.append(DEBUG, name, marker, msg, null, t);
+    }
+  }
+
+  public boolean isInfoEnabled() {
+    return journal.isEnabled(INFO);
+  }
+
+  public boolean isInfoEnabled(Marker marker) {
+    return journal.isEnabled(INFO);
+  }
+
+  public void info(String msg) {
+    if (journal.isEnabled(INFO)) {
+      journal.append(INFO, name, null, msg, null, null);
+    }
+  }
+
+  public void info(String format, Object arg) {
+    if (journal.isEnabled(INFO)) {
+      journal.append(INFO, name, null, format, new Object[] { arg }, null);
+    }
+  }
+
+  public void info(String format, Object arg1, Object arg2) {
+    if (journal.isEnabled(INFO)) {
+      journal.append(INFO, name, null, format, new Object[] { arg1, arg2 }, null);
+    }
+  }
+
+  public void info(String format, Object[] argArray) {
+    if (journal.isEnabled(INFO)) {
+      journal.append(INFO, name, null, format, argArray, null);
+    }
+  }
+
+  public void info(String msg, Throwable t) {
+    if (journal.isEnabled(INFO)) {
+      journal.append(INFO, name, null, msg, null, t);
+    }
+  }
+
+  public void info(Marker marker, String msg) {
+    if (journal.isEnabled(INFO)) {
+      journal.append(INFO, name, marker, msg, null, null);
+    }
+  }
+
+  public void info(Marker marker, String format, Object arg) {
+    if (journal.isEnabled(INFO)) {
+      journal.append(INFO, name, marker, format, new Object[] { arg }, null);
+    }
+  }
+
+  public void info(Marker marker, String format, Object arg1, Object arg2) {
+    if (journal.isEnabled(INFO)) {
+      journal.append(INFO, name, marker, format, new Object[] { arg1, arg2 }, null);
+    }
+  }
+
+  public void info(Marker marker, String format, Object[] argArray) {
+    if (journal.isEnabled(INFO)) {
+      journal.append(INFO, name, marker, format, argArray, null);
+    }
+  }
+
+  public void info(Marker marker, String msg, Throwable t) {
+    if (journal.isEnabled(INFO)) {
+      journal.append(INFO, name, marker, msg, null, t);
+    }
+  }
+
+  public boolean isWarnEnabled() {
+    return journal.isEnabled(WARN);
+  }
+
+  public boolean isWarnEnabled(Marker marker) {
+    return journal.isEnabled(WARN);
+  }
+
+  public void warn(String msg) {
+    if (journal.isEnabled(WARN)) {
+      journal.append(WARN, name, null, msg, null, null);
+    }
+  }
+
+  public void warn(String format, Object arg) {
+    if (journal.isEnabled(WARN)) {
+      journal.append(WARN, name, null, format, new Object[] { arg }, null);
+    }
+  }
+
+  public void warn(String format, Object arg1, Object arg2) {
+    if (journal.isEnabled(WARN)) {
+      journal.append(WARN, name, null, format, new Object[] { arg1, arg2 }, null);
+    }
+  }
+
+  public void warn(String format, Object[] argArray) {
+    if (journal.isEnabled(WARN)) {
+      journal.append(WARN, name, null, format, argArray, null);
+    }
+  }
+
+  public void warn(String msg, Throwable t) {
+    if (journal.isEnabled(WARN)) {
+      journal.append(WARN, name, null, msg, null, t);
+    }
+  }
+
+  public void warn(Marker marker, String msg) {
+    if (journal.isEnabled(WARN)) {
+      journal.append(WARN, name, marker, msg, null, null);
+    }
+  }
+
+  public void warn(Marker marker, String format, Object arg) {
+    if (journal.isEnabled(WARN)) {
+      journal.append(WARN, name, marker, format, new Object[] { arg }, null);
+    }
+  }
+
+  public void warn(Marker marker, String format, Object arg1, Object arg2) {
+    if (journal.isEnabled(WARN)) {
+      journal.append(WARN, name, marker, format, new Object[] { arg1, arg2 }, null);
+    }
+  }
+
+  public void warn(Marker marker, String format, Object[] argArray) {
+    if (journal.isEnabled(WARN)) {
+      journal.append(WARN, name, marker, format, argArray, null);
+    }
+  }
+
+  public void warn(Marker marker, String msg, Throwable t) {
+    if (journal.isEnabled(WARN)) {
+      journal.append(WARN, name, marker, msg, null, t);
+    }
+  }
+
+  public boolean isErrorEnabled() {
+    return journal.isEnabled(ERROR);
+  }
+
+  public boolean isErrorEnabled(Marker marker) {
+    return journal.isEnabled(ERROR);
+  }
+
+  public void error(String msg) {
+    if (journal.isEnabled(ERROR)) {
+      journal.append(ERROR, name, null, msg, null, null);
+    }
+  }
+
+  public void error(String format, Object arg) {
+    if (journal.isEnabled(ERROR)) {
+      journal.append(ERROR, name, null, format, new Object[] { arg }, null);
+    }
+  }
+
+  public void error(String format, Object arg1, Object arg2) {
+    if (journal.isEnabled(ERROR)) {
+      journal.append(ERROR, name, null, format, new Object[] { arg1, arg2 }, null);
+    }
+  }
+
+  public void error(String format, Object[] argArray) {
+    if (journal.isEnabled(ERROR)) {
+      journal.append(ERROR, name, null, format, argArray, null);
+    }
+  }
+
+  public void error(String msg, Throwable t) {
+    if (journal.isEnabled(ERROR)) {
+      journal.append(ERROR, name, null, msg, null, t);
+    }
+  }
+
+  public void error(Marker marker, String msg) {
+    if (journal.isEnabled(ERROR)) {
+      journal.append(ERROR, name, marker, msg, null, null);
+    }
+  }
+
+  public void error(Marker marker, String format, Object arg) {
+    if (journal.isEnabled(ERROR)) {
+      journal.append(ERROR, name, marker, format, new Object[] { arg }, null);
+    }
+  }
+
+  public void error(Marker marker, String format, Object arg1, Object arg2) {
+    if (journal.isEnabled(ERROR)) {
+      journal.append(ERROR, name, marker, format, new Object[] { arg1, arg2 }, null);
+    }
+  }
+
+  public void error(Marker marker, String format, Object[] argArray) {
+    if (journal.isEnabled(ERROR)) {
+      journal.append(ERROR, name, marker, format, argArray, null);
+    }
+  }
+
+  public void error(Marker marker, String msg, Throwable t) {
+    if (journal.isEnabled(ERROR)) {
+      journal.append(ERROR, name, marker, msg, null, t);
+    }
+  }
+
+  public String toString() {
+    return "JournalLogger[" + name + "]";
+  }
+}
@@ -0,0 +1,619 @@
+package org.slf4j.json;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.slf4j.Marker;
+import org.slf4j.message.Message;
+import org.slf4j.message.ParameterizedMessage;
+import org.slf4j.message.ReusableParameterizedMessage;
+import org.slf4j.message.StructuredDataId;
+import org.slf4j.message.StructuredDataMessage;
+import org.slf4j.spi.LocationAwareLogger;
+
+/**
+ * Encodes logging events as single-line JSON objects, writing escaped UTF-8
+ * straight into a reusable {@link ByteBuffer}.
+ *
+ * <p>An event is encoded as:
+ *
+ * <pre>
+ * {"timestamp":1268579366535,"level":"INFO","logger":"com.foo.Bar",
+ *  "thread":"main","marker":{"name":"AUDIT","references":[...]},
+ *  "mdc":{"user":"alice"},"message":"Hello world","format":"Hello {}",
+ *  "parameters":["world"],"structuredData":{"id":"...","type":"...",
+ *  "data":{...}},"throwable":{"class":"...","message":"...",
+ *  "frames":["..."],"cause":{...}}}
+ * </pre>
+ *
+ * followed by a newline. Absent fields are omitted. The message is formatted
+ * into the buffer as it is escaped, and parameters keep their JSON type:
+ * numbers, booleans and null are written as such, arrays as arrays and other
+ * objects as the string of their <code>toString()</code>.
+ *
+ * <p>The buffer grows, up to <code>maxCapacity</code>, for events which do not
+ * fit; an event which does not fit in <code>maxCapacity</code> bytes is
+ * encoded without its parameters, MDC and stack trace, and with its message
+ * cut short. The buffer returned by the <code>encode</code> methods is only
+ * valid until the next call. Instances are not thread safe: use one per
+ * thread, or one per sink under the lock of the sink.
+ *
+ * @since 1.5.11
+ */
+public class JsonEventEncoder {
+
+  public static final int DEFAULT_INITIAL_CAPACITY = 1024;
+  public static final int DEFAULT_MAX_CAPACITY = 1024 * 1024;
+
+  // message length kept for events over maxCapacity
+  static final int TRUNCATED_MESSAGE_LENGTH = 1024;
+  // how deep marker references and nested arrays are followed
+  static final int MAX_DEPTH = 16;
+
+  private static final byte[] HEX = { '0', '1', '2', '3', '4', '5', '6', '7',
+      '8', '9', 'a', 'b', 'c', 'd', 'e', 'f' };
+
+  private final int maxCapacity;
+  // events are written into the array, which backs the returned buffer
+  private byte[] bytes;
+  private int pos;
+  private ByteBuffer buffer;
+  private boolean truncated;
+
+  public JsonEventEncoder() {
+    this(DEFAULT_INITIAL_CAPACITY, DEFAULT_MAX_CAPACITY);
+  }
+
+  public JsonEventEncoder(int initialCapacity, int maxCapacity) {
+    if (initialCapacity < 256 || maxCapacity < initialCapacity) {
+      throw new IllegalArgumentException("invalid capacities");
+    }
+    this.maxCapacity = maxCapacity;
+    this.bytes = new byte[initialCapacity];
+    this.buffer = ByteBuffer.wrap(bytes);
+  }
+
+  /**
+   * Encode an event logged through the {@link org.slf4j.Logger} interface,
+   * whose message is formatted as {@link org.slf4j.helpers.MessageFormatter}
+   * would.
+   *
+   * @param level
+   *          one of the {@link LocationAwareLogger} level constants
+   * @param mdc
+   *          the MDC of the event, may be null
+   * @return the encoded event, ready to be read
+   */
+  public ByteBuffer encode(long timestamp, int level, String loggerName,
+      String threadName, Marker marker, Map mdc, String format, Object[] args,
+      Throwable t) {
+    try {
+      pos = 0;
+      beginEvent(timestamp, level, loggerName, threadName, marker, mdc);
+      writeMessage(format, args);
+      endEvent(t);
+    } catch (BufferOverflowException e) {
+      encodeTruncated(timestamp, level, loggerName, threadName, marker, format);
+    }
+    return result();
+  }
+
+  /**
+   * Encode an event carrying a {@link Message}.
+   * {@link StructuredDataMessage}s add their id, type and data.
+   *
+   * @see #encode(long, int, String, String, Marker, Map, String, Object[],
+   *      Throwable)
+   */
+  public ByteBuffer encode(long timestamp, int level, String loggerName,
+      String threadName, Marker marker, Map mdc, Message message, Throwable t) {
+    try {
+      pos = 0;
+      beginEvent(timestamp, level, loggerName, threadName, marker, mdc);
+      writeMessage(message);
+      endEvent(t);
+    } catch (BufferOverflowException e) {
+      encodeTruncated(timestamp, level, loggerName, threadName, marker,
+          message == null ? null : message.getMessageFormat());
+    }
+    return result();
+  }
+
+  private ByteBuffer result() {
+    buffer.clear();
+    buffer.limit(pos);
+    return buffer;
+  }
+
+  // make room for n more bytes, or throw BufferOverflowException past
+  // maxCapacity
+  private void ensure(int n) {
+    if (pos + n <= bytes.length) {
+      return;
+    }
+    if (pos + n > maxCapacity) {
+      throw new BufferOverflowException();
+    }
+    int capacity = Math.min(Math.max(bytes.length * 2, pos + n), maxCapacity);
+    byte[] larger = new byte[capacity];
+    System.arraycopy(bytes, 0, larger, 0, pos);
+    bytes = larger;
+    buffer = ByteBuffer.wrap(bytes);
+  }
+
+  private void put(byte b) {
+    if (pos == bytes.length) {
+      ensure(1);
+    }
+    bytes[pos++] = b;
+  }
+
+  private void encodeTruncated(long timestamp, int level,
+      String loggerName, String threadName, Marker marker, String message) {
+    truncated = true;
+    try {
+      pos = 0;
+      beginEvent(timestamp, level, loggerName, threadName, marker, null);
+      if (message != null) {
+        if (message.length() > TRUNCATED_MESSAGE_LENGTH) {
+          message = message.substring(0, TRUNCATED_MESSAGE_LENGTH);
+        }
+        writeName("message");
+        writeString(message);
+      }
+      writeName("truncated");
+      putAscii("true");
+      endEvent(null);
+    } catch (BufferOverflowException e) {
+      // a logger or thread name longer than maxCapacity
+      pos = 0;
+      putAscii("{\"timestamp\":");
+      writeLong(timestamp);
+      putAscii(",\"truncated\":true}\n");
+    } finally {
+      truncated = false;
+    }
+  }
+
+  private void beginEvent(long timestamp, int level, String loggerName,
+      String threadName, Marker marker, Map mdc) {
+    putAscii("{\"timestamp\":");
+    writeLong(timestamp);
+    putAscii(",\"level\":\"");
+    putAscii(levelName(level));
+    put((byte) '"');
+    if (loggerName != null) {
+      writeName("logger");
+      writeString(loggerName);
+    }
+    if (threadName != null) {
+      writeName("thread");
+      writeString(threadName);
+    }
+    if (marker != null) {
+      writeName("marker");
+      writeMarker(marker, 0);
+    }
+    if (mdc != null && !mdc.isEmpty() && !truncated) {
+      writeName("mdc");
+      writeMap(mdc);
+    }
+  }
+
+  private void endEvent(Throwable t) {
+    if (t != null && !truncated) {
+      writeName("throwable");
+      writeThrowable(t);
+    }
+    put((byte) '}');
+    put((byte) '\n');
+  }
+
+  private void writeMessage(Message message) {
+    if (message instanceof StructuredDataMessage) {
+      StructuredDataMessage sdm = (StructuredDataMessage) message;
+      if (sdm.getMessageFormat() != null) {
+        writeName("message");
+        writeString(sdm.getMessageFormat());
+      }
+      writeName("structuredData");
+      put((byte) '{');
+      boolean first = true;
+      StructuredDataId id = sdm.getId();
+      if (id != null && id.getName() != null) {
+        putAscii("\"id\":");
+        writeString(id.getEnterpriseNumber() > 0 ? id.getName() + "@"
+            + id.getEnterpriseNumber() : id.getName());
+        first = false;
+      }
+      if (sdm.getType() != null) {
+        putAscii(first ? "\"type\":" : ",\"type\":");
+        writeString(sdm.getType());
+        first = false;
+      }
+      putAscii(first ? "\"data\":" : ",\"data\":");
+      writeMap(sdm.getData());
+      put((byte) '}');
+    } else if (message instanceof ParameterizedMessage
+        || message instanceof ReusableParameterizedMessage) {
+      String format = message.getMessageFormat();
+      Object[] args = message.getParameters();
+      if (args != null && args.length > 1
+          && ParameterizedMessage.countArgumentPlaceholders(format) == 1) {
+        // the array fills the single placeholder
+        args = new Object[] { args };
+      }
+      writeMessage(format, args);
+    } else if (message != null) {
+      String text = message.getFormattedMessage();
+      if (text != null) {
+        writeName("message");
+        writeString(text);
+      }
+    }
+  }
+
+  private void writeMessage(String format, Object[] args) {
+    if (format == null) {
+      return;
+    }
+    writeName("message");
+    put((byte) '"');
+    if (args == null || args.length == 0) {
+      putEscaped(format);
+    } else {
+      putFormatted(format, args);
+    }
+    put((byte) '"');
+    if (args != null && args.length > 0) {
+      writeName("format");
+      writeString(format);
+      if (!truncated) {
+        writeName("parameters");
+        writeArray(args, 0);
+      }
+    }
+  }
+
+  // substitute placeholders as MessageFormatter does, escaping as we go
+  private void putFormatted(String format, Object[] args) {
+    int escapeCounter = 0;
+    int currentArgument = 0;
+    int len = format.length();
+    for (int i = 0; i < len; i++) {
+      char c = format.charAt(i);
+      if (c == '\\') {
+        escapeCounter++;
+        continue;
+      }
+      if (c == '{' && i < len - 1 && format.charAt(i + 1) == '}') {
+        for (int j = escapeCounter / 2; j > 0; j--) {
+          putAscii("\\\\");
+        }
+        if (escapeCounter % 2 == 1) {
+          putAscii("{}");
+        } else {
+          if (currentArgument < args.length) {
+            putArgumentText(args[currentArgument]);
+          } else {
+            putAscii("{}");
+          }
+          currentArgument++;
+        }
+        i++;
+        escapeCounter = 0;
+        continue;
+      }
+      for (; escapeCounter > 0; escapeCounter--) {
+        putAscii("\\\\");
+      }
+      putEscaped(c);
+    }
+    for (; escapeCounter > 0; escapeCounter--) {
+      putAscii("\\\\");
+    }
+  }
+
+  // the text of an argument within the message
+  private void putArgumentText(Object o) {
+    if (o == null) {
+      putAscii("null");
+    } else if (o instanceof String) {
+      putEscaped((String) o);
+    } else if (o instanceof Integer || o instanceof Long || o instanceof Short
+        || o instanceof Byte) {
+      writeLong(((Number) o).longValue());
+    } else if (o instanceof Boolean) {
+      putAscii(((Boolean) o).booleanValue() ? "true" : "false");
+    } else if (o instanceof Character) {
+      putEscaped(((Character) o).charValue());
+    } else if (o.getClass().isArray() || o instanceof Map
+        || o instanceof Collection) {
+      putEscaped(ParameterizedMessage.deepToString(o));
+    } else {
+      putEscaped(safeToString(o));
+    }
+  }
+
+  private void writeArray(Object[] array, int depth) {
+    put((byte) '[');
+    for (int i = 0; i < array.length; i++) {
+      if (i > 0) {
+        put((byte) ',');
+      }
+      writeValue(array[i], depth + 1);
+    }
+    put((byte) ']');
+  }
+
+  // a parameter, keeping its JSON type
+  private void writeValue(Object o, int depth) {
+    if (o == null) {
+      putAscii("null");
+    } else if (o instanceof String) {
+      writeString((String) o);
+    } else if (o instanceof Integer || o instanceof Long || o instanceof Short
+        || o instanceof Byte) {
+      writeLong(((Number) o).longValue());
+    } else if (o instanceof Boolean) {
+      putAscii(((Boolean) o).booleanValue() ? "true" : "false");
+    } else if (o instanceof Double || o instanceof Float) {
+      double d = ((Number) o).doubleValue();
+      if (Double.isNaN(d) || Double.isInfinite(d)) {
+        // not representable in JSON
+        writeString(o.toString());
+      } else {
+        putAscii(o.toString());
+      }
+    } else if (o instanceof Object[] && depth < MAX_DEPTH) {
+      writeArray((Object[]) o, depth);
+    } else if (o.getClass().isArray() || o instanceof Map
+        || o instanceof Collection) {
+      writeString(ParameterizedMessage.deepToString(o));
+    } else {
+      writeString(safeToString(o));
+    }
+  }
+
+  private void writeMarker(Marker marker, int depth) {
+    putAscii("{\"name\":");
+    writeString(marker.getName());
+    if (marker.hasReferences() && depth < MAX_DEPTH) {
+      putAscii(",\"references\":[");
+      Iterator it = marker.iterator();
+      boolean first = true;
+      while (it.hasNext()) {
+        if (!first) {
+          put((byte) ',');
+        }
+        writeMarker((Marker) it.next(), depth + 1);
+        first = false;
+      }
+      put((byte) ']');
+    }
+    put((byte) '}');
+  }
+
+  private void writeMap(Map map) {
+    put((byte) '{');
+    Iterator it = map.entrySet().iterator();
+    boolean first = true;
+    while (it.hasNext()) {
+      Map.Entry entry = (Map.Entry) it.next();
+      if (!first) {
+        put((byte) ',');
+      }
+      writeString(String.valueOf(entry.getKey()));
+      put((byte) ':');
+      Object value = entry.getValue();
+      if (value == null) {
+        putAscii("null");
+      } else {
+        writeString(value instanceof String ? (String) value
+            : safeToString(value));
+      }
+      first = false;
+    }
+    put((byte) '}');
+  }
+
+  private void writeThrowable(Throwable t) {
+    int open = 0;
+    while (true) {
+      open++;
+      putAscii("{\"class\":");
+      writeString(t.getClass().getName());
+      String message = t.getMessage();
+      if (message != null) {
+        putAscii(",\"message\":");
+        writeString(message);
+      }
+      putAscii(",\"frames\":[");
+      StackTraceElement[] frames = t.getStackTrace();
+      for (int i = 0; i < frames.length; i++) {
+        if (i > 0) {
+          put((byte) ',');
+        }
+        writeFrame(frames[i]);
+      }
+      put((byte) ']');
+      Throwable cause = t.getCause();
+      if (cause == null || cause == t || open >= MAX_DEPTH) {
+        break;
+      }
+      putAscii(",\"cause\":");
+      t = cause;
+    }
+    for (; open > 0; open--) {
+      put((byte) '}');
+    }
+  }
+
+  // as StackTraceElement.toString(), without building the string
+  private void writeFrame(StackTraceElement frame) {
+    put((byte) '"');
+    putEscaped(frame.getClassName());
+    put((byte) '.');
+    putEscaped(frame.getMethodName());
+    put((byte) '(');
+    String fileName = frame.getFileName();
+    if (frame.isNativeMethod()) {
+      putAscii("Native Method");
+    } else if (fileName == null) {
+      putAscii("Unknown Source");
+    } else {
+      putEscaped(fileName);
+      if (frame.getLineNumber() >= 0) {
+        put((byte) ':');
+        writeLong(frame.getLineNumber());
+      }
+    }
+    putAscii(")\"");
+  }
+
+  private void writeName(String name) {
+    put((byte) ',');
+    put((byte) '"');
+    putAscii(name);
+    put((byte) '"');
+    put((byte) ':');
+  }
+
+  private void writeString(String s) {
+    put((byte) '"');
+    putEscaped(s);
+    put((byte) '"');
+  }
+
+  private void putAscii(String s) {
+    int len = s.length();
+    ensure(len);
+    for (int i = 0; i < len; i++) {
+      bytes[pos++] = (byte) s.charAt(i);
+    }
+  }
+
+  private void writeLong(long value) {
+    if (value == Long.MIN_VALUE) {
+      putAscii("-9223372036854775808");
+      return;
+    }
+    if (value < 0) {
+      put((byte) '-');
+      value = -value;
+    }
+    int digits = 1;
+    for (long v = value; v >= 10; v /= 10) {
+      digits++;
+    }
+    ensure(digits);
+    for (int i = digits - 1; i >= 0; i--) {
+      bytes[pos + i] = (byte) ('0' + (int) (value % 10));
+      value /= 10;
+    }
+    pos += digits;
+  }
+
+  private void putEscaped(String s) {
+    int len = s.length();
+    // enough for plain ASCII, the rest makes room for itself
+    ensure(len);
+    for (int i = 0; i < len; i++) {
+      char c = s.charAt(i);
+      if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+        if (pos == bytes.length) {
+          ensure(1);
+        }
+        bytes[pos++] = (byte) c;
+      } else if (Character.isHighSurrogate(c) && i + 1 < len
+          && Character.isLowSurrogate(s.charAt(i + 1))) {
+        int cp = Character.toCodePoint(c, s.charAt(++i));
+        put((byte) (0xF0 | (cp >> 18)));
+        put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+        put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+        put((byte) (0x80 | (cp & 0x3F)));
+      } else {
+        putEscaped(c);
+      }
+    }
+  }
+
+  private void putEscaped(char c) {
+    if (c >= 0x20 && c < 0x80) {
+      if (c == '"' || c == '\\') {
+        put((byte) '\\');
+      }
+      put((byte) c);
+    } else if (c < 0x20) {
+      switch (c) {
+      case '\n':
+        putAscii("\\n");
+        break;
+      case '\r':
+        putAscii("\\r");
+        break;
+      case '\t':
+        putAscii("\\t");
+        break;
+      case '\b':
+        putAscii("\\b");
+        break;
+      case '\f':
+        putAscii("\\f");
+        break;
+      default:
+        putUnicodeEscape(c);
+      }
+    } else if (c < 0x800) {
+      put((byte) (0xC0 | (c >> 6)));
+      put((byte) (0x80 | (c & 0x3F)));
+    } else if ((c >= '\uD800' && c <= '\uDFFF') || c == '\u2028'
+        || c == '\u2029') {
+      // unpaired surrogates are not valid UTF-8; the line and paragraph
+      // separators end JavaScript lines
+      putUnicodeEscape(c);
+    } else {
+      put((byte) (0xE0 | (c >> 12)));
+      put((byte) (0x80 | ((c >> 6) & 0x3F)));
+      put((byte) (0x80 | (c & 0x3F)));
+    }
+  }
+
+  private void putUnicodeEscape(char c) {
+    put((byte) '\\');
+    put((byte) 'u');
+    put(HEX[(c >> 12) & 0xF]);
+    put(HEX[(c >> 8) & 0xF]);
+    put(HEX[(c >> 4) & 0xF]);
+    put(HEX[c & 0xF]);
+  }
+
+  private static String safeToString(Object o) {
+    try {
+      return String.valueOf(o);
+    } catch (Throwable t) {
+      System.err.println("SLF4J: Failed toString() invocation on an object of type ["
+          + o.getClass().getName() + "]");
+      t.printStackTrace();
+      return "[FAILED toString()]";
+    }
+  }
+
+  static String levelName(int level) {
+    switch (level) {
+    case LocationAwareLogger.TRACE_INT:
+      return "TRACE";
+    case LocationAwareLogger.DEBUG_INT:
+      return "DEBUG";
+    case LocationAwareLogger.INFO_INT:
+      return "INFO";
+    case LocationAwareLogger.WARN_INT:
+      return "WARN";
+    default:
+      return "ERROR";
+    }
+  }
+}
@@ -52,6 +52,8 @@ import org.slf4j.MarkerFactory;
 public class Profiler implements TimeInstrument {
 
   final static String PROFILER_MARKER_NAME = "PROFILER";
+  final static Marker PROFILER_MARKER = MarkerFactory
+      .getMarker(PROFILER_MARKER_NAME);
 
   final static int MIN_SW_NAME_LENGTH = 24;
   final static int MIN_SW_ELAPSED_TIME_NUMBER_LENGTH = 9;
@@ -61,6 +63,10 @@ public class Profiler implements TimeInstrument {
 
   List<TimeInstrument> childTimeInstrumentList = new ArrayList<TimeInstrument>();
 
+  // the child instruments of the run before the last reset(), reused by the
+  // next run when it starts them in the same order under the same names
+  TimeInstrument[] slots;
+
   // optional field
   ProfilerRegistry profilerRegistry;
   // optional field
@@ -101,19 +107,80 @@ public class Profiler implements TimeInstrument {
    */
   public void start(String name) {
     stopLastTimeInstrument();
-    StopWatch childSW = new StopWatch(name);
+    int index = childTimeInstrumentList.size();
+    TimeInstrument slot = getSlot(index);
+    StopWatch childSW;
+    if (slot instanceof StopWatch && sameName(slot, name)) {
+      childSW = (StopWatch) slot;
+      childSW.start(name);
+    } else {
+      childSW = new StopWatch(name);
+      setSlot(index, childSW);
+    }
     childTimeInstrumentList.add(childSW);
   }
 
   public Profiler startNested(String name) {
     stopLastTimeInstrument();
-    Profiler nestedProfiler = new Profiler(name);
+    int index = childTimeInstrumentList.size();
+    TimeInstrument slot = getSlot(index);
+    Profiler nestedProfiler;
+    if (slot instanceof Profiler && sameName(slot, name)) {
+      nestedProfiler = (Profiler) slot;
+      nestedProfiler.reset();
+    } else {
+      nestedProfiler = new Profiler(name);
+      setSlot(index, nestedProfiler);
+    }
     nestedProfiler.registerWith(profilerRegistry);
     nestedProfiler.setLogger(logger);
     childTimeInstrumentList.add(nestedProfiler);
     return nestedProfiler;
   }
 
+  /**
+   * Restart this profiler for a new run, keeping its child time instruments.
+   * 
+   * <p>
+   * A run calling {@link #start(String)} and {@link #startNested(String)} in
+   * the same order and with the same names as the previous one reuses the
+   * instruments of that run, so that profiling a request with a profiler kept
+   * in a thread local allocates nothing once the first request is profiled.
+   * Instruments obtained from the previous run, including those returned by
+   * {@link #getCopyOfChildTimeInstruments()}, are restarted by the new run.
+   * 
+   * @since 1.5.11
+   */
+  public void reset() {
+    // ArrayList.clear() keeps the backing array
+    childTimeInstrumentList.clear();
+    globalStopWatch.start(name);
+  }
+
+  private TimeInstrument getSlot(int index) {
+    if (slots == null || index >= slots.length) {
+      return null;
+    }
+    return slots[index];
+  }
+
+  private void setSlot(int index, TimeInstrument instrument) {
+    if (slots == null) {
+      slots = new TimeInstrument[4];
+    } else if (index >= slots.length) {
+      TimeInstrument[] grown = new TimeInstrument[slots.length * 2];
+      System.arraycopy(slots, 0, grown, 0, slots.length);
+      slots = grown;
+    }
+    slots[index] = instrument;
+  }
+
+  private static boolean sameName(TimeInstrument instrument, String name) {
+    String slotName = instrument.getName();
+    // names are most often the same literal
+    return slotName == name || (slotName != null && slotName.equals(name));
+  }
+
   TimeInstrument getLastTimeInstrument() {
     if (childTimeInstrumentList.size() > 0) {
       return childTimeInstrumentList.get(childTimeInstrumentList.size() - 1);
@@ -191,24 +258,52 @@ public class Profiler implements TimeInstrument {
 
   @Override
   public String toString() {
-    DurationUnit du = Util.selectDurationUnitForDisplay(globalStopWatch);
-    return buildProfilerString(du, TOP_PROFILER_FIRST_PREFIX, TOTAL_ELAPSED, "");
+    return render();
   }
 
   public void log() {
-    Marker profilerMarker = MarkerFactory.getMarker(PROFILER_MARKER_NAME);
     if (logger == null) {
       throw new NullPointerException(
           "If you invoke the log() method, then you must associate a logger with this profiler.");
     }
-    if (logger.isDebugEnabled(profilerMarker)) {
-      DurationUnit du = Util.selectDurationUnitForDisplay(globalStopWatch);
-      String r = buildProfilerString(du, TOP_PROFILER_FIRST_PREFIX,
-          TOTAL_ELAPSED, "");
-      logger.debug(profilerMarker, SpacePadder.LINE_SEP + r);
+    if (logger.isDebugEnabled(PROFILER_MARKER)) {
+      logger.debug(PROFILER_MARKER, SpacePadder.LINE_SEP + render());
     }
   }
 
+  /**
+   * Log this profiler at level WARN if its total elapsed time is at least
+   * <code>thresholdNanos</code>, at level DEBUG as {@link #log()} does
+   * otherwise.
+   * 
+   * <p>
+   * The profile is only rendered if the level it is logged at is enabled,
+   * which lets a profiler run on every request with DEBUG disabled and still
+   * report the slow ones.
+   * 
+   * @param thresholdNanos
+   *          the total elapsed time, in nanoseconds, from which this profiler
+   *          is logged at level WARN
+   * @since 1.5.11
+   */
+  public void log(long thresholdNanos) {
+    if (logger == null) {
+      throw new NullPointerException(
+          "If you invoke the log() method, then you must associate a logger with this profiler.");
+    }
+    if (globalStopWatch.elapsedTime() < thresholdNanos) {
+      log();
+    } else if (logger.isWarnEnabled(PROFILER_MARKER)) {
+      logger.warn(PROFILER_MARKER, SpacePadder.LINE_SEP + render());
+    }
+  }
+
+  private String render() {
+    DurationUnit du = Util.selectDurationUnitForDisplay(globalStopWatch);
+    return buildProfilerString(du, TOP_PROFILER_FIRST_PREFIX, TOTAL_ELAPSED,
+        "");
+  }
+
 
   /**
    * Return a copy of the child instrument list for this Profiler instance.
@@ -0,0 +1,326 @@
+package org.slf4j.syslog;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.slf4j.message.Message;
+import org.slf4j.message.StructuredDataId;
+import org.slf4j.message.StructuredDataMessage;
+import org.slf4j.spi.LocationAwareLogger;
+
+/**
+ * Writes events as RFC 5424 syslog messages into byte buffers, without
+ * intermediate strings.
+ *
+ * <p>The fields which do not change from one event to the next, host name,
+ * application name and process id, are encoded once. Messages which do not
+ * fit in the buffer are truncated, as RFC 5424 allows; the structured data
+ * is replaced by the nil value rather than cut short.
+ */
+final class SyslogEncoder {
+
+  /**
+   * Room left at the start of the buffer for the octet count of RFC 6587
+   * framing: up to ten digits and a space.
+   */
+  static final int LENGTH_PREFIX_SIZE = 11;
+
+  // room for the longest header, see RFC 5424 section 6
+  static final int MIN_MESSAGE_SIZE = 1024;
+
+  private static final byte NILVALUE = '-';
+  private static final byte[] BOM = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+  private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+  private final int facility;
+  // " HOSTNAME APP-NAME PROCID "
+  private final byte[] header;
+
+  SyslogEncoder(int facility, String hostName, String appName, String procId) {
+    if (facility < 0 || facility > 23) {
+      throw new IllegalArgumentException("facility must be between 0 and 23");
+    }
+    this.facility = facility;
+    StringBuilder sb = new StringBuilder();
+    sb.append(' ').append(headerField(hostName, 255));
+    sb.append(' ').append(headerField(appName, 48));
+    sb.append(' ').append(headerField(procId, 128));
+    sb.append(' ');
+    header = new byte[sb.length()];
+    for (int i = 0; i < header.length; i++) {
+      header[i] = (byte) sb.charAt(i);
+    }
+  }
+
+  /**
+   * Return <code>value</code> reduced to printable US-ASCII and
+   * <code>maxLength</code> chars, or the nil value if it is empty.
+   */
+  static String headerField(String value, int maxLength) {
+    if (value == null || value.length() == 0) {
+      return "-";
+    }
+    int len = Math.min(value.length(), maxLength);
+    StringBuilder sb = new StringBuilder(len);
+    for (int i = 0; i < len; i++) {
+      char c = value.charAt(i);
+      sb.append(c > ' ' && c < 127 ? c : '_');
+    }
+    return sb.toString();
+  }
+
+  static int severity(int level) {
+    if (level >= LocationAwareLogger.ERROR_INT) {
+      return 3;
+    } else if (level >= LocationAwareLogger.WARN_INT) {
+      return 4;
+    } else if (level >= LocationAwareLogger.INFO_INT) {
+      return 6;
+    } else {
+      return 7;
+    }
+  }
+
+  /**
+   * Encode an event into <code>buffer</code>, which is left ready to be
+   * written. With <code>octetCounting</code> the message is preceded by its
+   * length as RFC 6587 requires over TCP.
+   */
+  void encode(ByteBuffer buffer, long timestamp, int level, Message message,
+      boolean octetCounting) {
+    buffer.clear();
+    int start = octetCounting ? LENGTH_PREFIX_SIZE : 0;
+    buffer.position(start);
+
+    buffer.put((byte) '<');
+    putInt(buffer, facility * 8 + severity(level));
+    buffer.put((byte) '>');
+    buffer.put((byte) '1');
+    buffer.put((byte) ' ');
+    putTimestamp(buffer, timestamp);
+    buffer.put(header);
+
+    StructuredDataMessage sdm = null;
+    String text;
+    if (message instanceof StructuredDataMessage) {
+      sdm = (StructuredDataMessage) message;
+      putName(buffer, sdm.getType(), 32);
+      text = sdm.getMessageFormat();
+    } else {
+      buffer.put(NILVALUE);
+      text = (message == null) ? null : message.getFormattedMessage();
+    }
+    buffer.put((byte) ' ');
+
+    int sdStart = buffer.position();
+    if (sdm == null || !putStructuredData(buffer, sdm)) {
+      buffer.position(sdStart);
+      buffer.put(NILVALUE);
+    }
+
+    if (text != null && text.length() > 0 && buffer.remaining() > 1) {
+      buffer.put((byte) ' ');
+      if (!isAscii(text) && buffer.remaining() > BOM.length) {
+        buffer.put(BOM);
+      }
+      putUtf8(buffer, text);
+    }
+
+    buffer.flip();
+    if (octetCounting) {
+      int length = buffer.limit() - start;
+      int prefixStart = start - 1 - digits(length);
+      buffer.position(prefixStart);
+      putInt(buffer, length);
+      buffer.put((byte) ' ');
+      buffer.position(prefixStart);
+    }
+  }
+
+  // [SD-ID PARAM-NAME="PARAM-VALUE" ...], false if it does not fit
+  private static boolean putStructuredData(ByteBuffer buffer,
+      StructuredDataMessage sdm) {
+    StructuredDataId id = sdm.getId();
+    if (id == null || id.getName() == null) {
+      return false;
+    }
+    // the SD-ID, its parameter names and the nil value are ASCII: at most one
+    // byte per char
+    if (buffer.remaining() < 2 + 32) {
+      return false;
+    }
+    buffer.put((byte) '[');
+    putName(buffer, id.toString(), 32);
+    Iterator it = sdm.getData().entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry entry = (Map.Entry) it.next();
+      String key = String.valueOf(entry.getKey());
+      String value = String.valueOf(entry.getValue());
+      // worst case: 3 bytes for each char of the value
+      if (buffer.remaining() < 1 + Math.min(key.length(), 32) + 2
+          + 3 * value.length() + 1 + 1) {
+        return false;
+      }
+      buffer.put((byte) ' ');
+      putName(buffer, key, 32);
+      buffer.put((byte) '=');
+      buffer.put((byte) '"');
+      putParamValue(buffer, value);
+      buffer.put((byte) '"');
+    }
+    if (!buffer.hasRemaining()) {
+      return false;
+    }
+    buffer.put((byte) ']');
+    return true;
+  }
+
+  // SD-NAME: printable US-ASCII except '=', SP, ']' and '"'
+  private static void putName(ByteBuffer buffer, String name, int maxLength) {
+    if (name == null || name.length() == 0) {
+      buffer.put(NILVALUE);
+      return;
+    }
+    int len = Math.min(name.length(), maxLength);
+    for (int i = 0; i < len; i++) {
+      char c = name.charAt(i);
+      if (c <= ' ' || c >= 127 || c == '=' || c == ']' || c == '"') {
+        c = '_';
+      }
+      buffer.put((byte) c);
+    }
+  }
+
+  private static void putParamValue(ByteBuffer buffer, String value) {
+    int len = value.length();
+    for (int i = 0; i < len; i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\' || c == ']') {
+        buffer.put((byte) '\\');
+        buffer.put((byte) c);
+      } else if (c < 0x80) {
+        buffer.put((byte) c);
+      } else {
+        i = putUtf8Char(buffer, value, i);
+      }
+    }
+  }
+
+  /**
+   * Write <code>s</code> as UTF-8, stopping at the last whole character
+   * which fits.
+   */
+  static void putUtf8(ByteBuffer buffer, String s) {
+    int len = s.length();
+    for (int i = 0; i < len; i++) {
+      char c = s.charAt(i);
+      if (c < 0x80) {
+        if (!buffer.hasRemaining()) {
+          return;
+        }
+        buffer.put((byte) c);
+      } else {
+        if (buffer.remaining() < 4) {
+          return;
+        }
+        i = putUtf8Char(buffer, s, i);
+      }
+    }
+  }
+
+  // return the index of the last char consumed
+  private static int putUtf8Char(ByteBuffer buffer, String s, int i) {
+    char c = s.charAt(i);
+    if (c < 0x800) {
+      buffer.put((byte) (0xC0 | (c >> 6)));
+      buffer.put((byte) (0x80 | (c & 0x3F)));
+    } else if (Character.isHighSurrogate(c) && i + 1 < s.length()
+        && Character.isLowSurrogate(s.charAt(i + 1))) {
+      int cp = Character.toCodePoint(c, s.charAt(++i));
+      buffer.put((byte) (0xF0 | (cp >> 18)));
+      buffer.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+      buffer.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+      buffer.put((byte) (0x80 | (cp & 0x3F)));
+    } else if (c >= '\uD800' && c <= '\uDFFF') {
+      // unpaired surrogate
+      buffer.put((byte) '?');
+    } else {
+      buffer.put((byte) (0xE0 | (c >> 12)));
+      buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+      buffer.put((byte) (0x80 | (c & 0x3F)));
+    }
+    return i;
+  }
+
+  private static boolean isAscii(String s) {
+    int len = s.length();
+    for (int i = 0; i < len; i++) {
+      if (s.charAt(i) >= 0x80) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Write <code>millis</code> as an RFC 3339 UTC timestamp, e.g.
+   * 2010-03-14T15:09:26.535Z.
+   */
+  static void putTimestamp(ByteBuffer buffer, long millis) {
+    long days = millis / MILLIS_PER_DAY;
+    long millisOfDay = millis % MILLIS_PER_DAY;
+    if (millisOfDay < 0) {
+      days--;
+      millisOfDay += MILLIS_PER_DAY;
+    }
+    // civil date from days since the epoch, after H. Hinnant's algorithm
+    long z = days + 719468;
+    long era = (z >= 0 ? z : z - 146096) / 146097;
+    long doe = z - era * 146097;
+    long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+    long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+    long mp = (5 * doy + 2) / 153;
+    int day = (int) (doy - (153 * mp + 2) / 5 + 1);
+    int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+    int year = (int) (yoe + era * 400 + (month <= 2 ? 1 : 0));
+
+    int ms = (int) millisOfDay;
+    putDigits(buffer, year, 4);
+    buffer.put((byte) '-');
+    putDigits(buffer, month, 2);
+    buffer.put((byte) '-');
+    putDigits(buffer, day, 2);
+    buffer.put((byte) 'T');
+    putDigits(buffer, ms / 3600000, 2);
+    buffer.put((byte) ':');
+    putDigits(buffer, (ms / 60000) % 60, 2);
+    buffer.put((byte) ':');
+    putDigits(buffer, (ms / 1000) % 60, 2);
+    buffer.put((byte) '.');
+    putDigits(buffer, ms % 1000, 3);
+    buffer.put((byte) 'Z');
+  }
+
+  private static void putDigits(ByteBuffer buffer, int value, int count) {
+    int pos = buffer.position();
+    for (int i = count - 1; i >= 0; i--) {
+      buffer.put(pos + i, (byte) ('0' + value % 10));
+      value /= 10;
+    }
+    buffer.position(pos + count);
+  }
+
+  private static void putInt(ByteBuffer buffer, int value) {
+    putDigits(buffer, value, digits(value));
+  }
+
+  private static int digits(int value) {
+    int digits = 1;
+    while (value >= 10) {
+      value /= 10;
+      digits++;
+    }
+    return digits;
+  }
+}
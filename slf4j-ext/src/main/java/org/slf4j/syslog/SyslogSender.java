@@ -0,0 +1,554 @@
+package org.slf4j.syslog;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.helpers.Util;
+import org.slf4j.message.Message;
+import org.slf4j.message.StructuredDataMessage;
+
+/**
+ * Ships events to a syslog server as RFC 5424 messages, over TCP with the
+ * octet counting framing of RFC 6587 or over UDP with one message per
+ * datagram.
+ *
+ * <p>{@link #send(int, Message)} encodes the event into a pooled direct
+ * buffer on the calling thread and queues it; it never blocks. A single I/O
+ * thread drains the queue: over TCP up to <code>batchSize</code> queued
+ * messages go out in one gathering write on a non-blocking
+ * {@link SocketChannel}, straight from the buffers they were encoded in, which
+ * then return to the pool. {@link StructuredDataMessage}s are sent with their
+ * type as MSGID, their SD-ELEMENT as STRUCTURED-DATA and their message as MSG;
+ * other messages are sent as MSG alone.
+ *
+ * <p>The queue holds at most <code>backlog</code> messages. Events sent while
+ * it is full, typically because the server is unreachable, are dropped and
+ * counted. After a connection failure the I/O thread reconnects with an
+ * exponential backoff between <code>minBackoff</code> and
+ * <code>maxBackoff</code> milliseconds; a message which was being written
+ * when the connection broke is sent again in full on the new connection.
+ *
+ * <p>The sender is configured with its setters, then started with
+ * {@link #start()}:
+ *
+ * <pre>
+ * SyslogSender sender = new SyslogSender(SyslogSender.Protocol.TCP, &quot;loghost&quot;, 601);
+ * sender.setAppName(&quot;billing&quot;);
+ * sender.start();
+ * ...
+ * sender.send(LocationAwareLogger.INFO_INT, structuredDataMessage);
+ * ...
+ * sender.stop(1000);
+ * </pre>
+ *
+ * @since 1.5.11
+ */
+public class SyslogSender {
+
+  public enum Protocol {
+    TCP, UDP
+  }
+
+  public static final int FACILITY_USER = 1;
+  public static final int DEFAULT_BACKLOG = 10000;
+  public static final int DEFAULT_BATCH_SIZE = 64;
+  public static final int DEFAULT_MAX_MESSAGE_SIZE = 2048;
+  public static final long DEFAULT_MIN_BACKOFF = 100;
+  public static final long DEFAULT_MAX_BACKOFF = 30000;
+
+  static final long POLL_INTERVAL = 100;
+  static final long CONNECT_TIMEOUT = 5000;
+
+  private final Protocol protocol;
+  private final InetSocketAddress address;
+
+  private int facility = FACILITY_USER;
+  private String hostName;
+  private String appName;
+  private String procId;
+  private int backlog = DEFAULT_BACKLOG;
+  private int batchSize = DEFAULT_BATCH_SIZE;
+  private int maxMessageSize = DEFAULT_MAX_MESSAGE_SIZE;
+  private long minBackoff = DEFAULT_MIN_BACKOFF;
+  private long maxBackoff = DEFAULT_MAX_BACKOFF;
+
+  private volatile boolean running;
+  private SyslogEncoder encoder;
+  private BlockingQueue<ByteBuffer> queue;
+  private final ConcurrentLinkedQueue<ByteBuffer> pool = new ConcurrentLinkedQueue<ByteBuffer>();
+  private final AtomicInteger allocated = new AtomicInteger();
+  private int maxBuffers;
+  private Thread worker;
+  // events still queued when the I/O thread gave up
+  private volatile int droppedOnStop;
+
+  private final AtomicLong sentCount = new AtomicLong();
+  private final AtomicLong droppedCount = new AtomicLong();
+
+  public SyslogSender(Protocol protocol, String host, int port) {
+    if (protocol == null) {
+      throw new IllegalArgumentException("protocol cannot be null");
+    }
+    this.protocol = protocol;
+    this.address = new InetSocketAddress(host, port);
+    this.hostName = localHostName();
+    this.procId = processId();
+  }
+
+  public Protocol getProtocol() {
+    return protocol;
+  }
+
+  public InetSocketAddress getAddress() {
+    return address;
+  }
+
+  /**
+   * Set the syslog facility, between 0 and 23. Defaults to 1, user-level
+   * messages.
+   */
+  public void setFacility(int facility) {
+    checkNotStarted();
+    if (facility < 0 || facility > 23) {
+      throw new IllegalArgumentException("facility must be between 0 and 23");
+    }
+    this.facility = facility;
+  }
+
+  /**
+   * Set the HOSTNAME field. Defaults to the name of the local host.
+   */
+  public void setHostName(String hostName) {
+    checkNotStarted();
+    this.hostName = hostName;
+  }
+
+  /**
+   * Set the APP-NAME field. Defaults to the nil value.
+   */
+  public void setAppName(String appName) {
+    checkNotStarted();
+    this.appName = appName;
+  }
+
+  /**
+   * Set the PROCID field. Defaults to the process id, where the JVM reveals
+   * it.
+   */
+  public void setProcId(String procId) {
+    checkNotStarted();
+    this.procId = procId;
+  }
+
+  /**
+   * Set the number of messages which may wait for the I/O thread.
+   */
+  public void setBacklog(int backlog) {
+    checkNotStarted();
+    if (backlog < 1) {
+      throw new IllegalArgumentException("backlog must be at least 1");
+    }
+    this.backlog = backlog;
+  }
+
+  /**
+   * Set the number of messages sent in one gathering write over TCP.
+   */
+  public void setBatchSize(int batchSize) {
+    checkNotStarted();
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("batchSize must be at least 1");
+    }
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Set the size in bytes above which messages are truncated. RFC 5424 only
+   * guarantees that receivers accept 480 bytes and recommends 2048.
+   */
+  public void setMaxMessageSize(int maxMessageSize) {
+    checkNotStarted();
+    if (maxMessageSize < SyslogEncoder.MIN_MESSAGE_SIZE) {
+      throw new IllegalArgumentException("maxMessageSize must be at least "
+          + SyslogEncoder.MIN_MESSAGE_SIZE);
+    }
+    this.maxMessageSize = maxMessageSize;
+  }
+
+  /**
+   * Set the bounds, in milliseconds, of the delay between two connection
+   * attempts.
+   */
+  public void setBackoff(long minBackoff, long maxBackoff) {
+    checkNotStarted();
+    if (minBackoff < 1 || maxBackoff < minBackoff) {
+      throw new IllegalArgumentException("invalid backoff bounds");
+    }
+    this.minBackoff = minBackoff;
+    this.maxBackoff = maxBackoff;
+  }
+
+  private void checkNotStarted() {
+    if (worker != null) {
+      throw new IllegalStateException("sender already started");
+    }
+  }
+
+  public synchronized void start() {
+    checkNotStarted();
+    encoder = new SyslogEncoder(facility, hostName, appName, procId);
+    queue = new ArrayBlockingQueue<ByteBuffer>(backlog);
+    // queued messages and those being written; a thread which finds them all
+    // in use drops its event
+    maxBuffers = backlog + batchSize;
+    running = true;
+    worker = new Thread(new Worker(), "SyslogSender-" + address);
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  /**
+   * Stop accepting events and give the I/O thread up to
+   * <code>timeoutMillis</code> to send the queued ones. Return true if every
+   * queued event was sent.
+   */
+  public boolean stop(long timeoutMillis) throws InterruptedException {
+    Thread w;
+    synchronized (this) {
+      w = worker;
+      running = false;
+    }
+    if (w == null) {
+      return true;
+    }
+    w.join(timeoutMillis);
+    if (w.isAlive()) {
+      w.interrupt();
+      w.join();
+    }
+    return queue.isEmpty() && droppedOnStop == 0;
+  }
+
+  /**
+   * Queue an event. Return false if it was dropped, because the sender is
+   * not running or the backlog is full.
+   *
+   * @param level
+   *          one of the level constants of
+   *          {@link org.slf4j.spi.LocationAwareLogger}
+   */
+  public boolean send(int level, Message message) {
+    if (!running) {
+      droppedCount.incrementAndGet();
+      return false;
+    }
+    ByteBuffer buffer = acquireBuffer();
+    if (buffer == null) {
+      droppedCount.incrementAndGet();
+      return false;
+    }
+    encoder.encode(buffer, System.currentTimeMillis(), level, message,
+        protocol == Protocol.TCP);
+    if (!queue.offer(buffer)) {
+      releaseBuffer(buffer);
+      droppedCount.incrementAndGet();
+      return false;
+    }
+    return true;
+  }
+
+  public long getSentCount() {
+    return sentCount.get();
+  }
+
+  public long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  /**
+   * Return the number of messages waiting for the I/O thread.
+   */
+  public int getBacklogSize() {
+    return (queue == null) ? 0 : queue.size();
+  }
+
+  private ByteBuffer acquireBuffer() {
+    ByteBuffer buffer = pool.poll();
+    if (buffer == null) {
+      if (allocated.incrementAndGet() > maxBuffers) {
+        allocated.decrementAndGet();
+        return null;
+      }
+      int capacity = maxMessageSize;
+      if (protocol == Protocol.TCP) {
+        capacity += SyslogEncoder.LENGTH_PREFIX_SIZE;
+      }
+      buffer = ByteBuffer.allocateDirect(capacity);
+    }
+    return buffer;
+  }
+
+  private void releaseBuffer(ByteBuffer buffer) {
+    pool.offer(buffer);
+  }
+
+  private static String localHostName() {
+    try {
+      return InetAddress.getLocalHost().getHostName();
+    } catch (UnknownHostException e) {
+      return null;
+    }
+  }
+
+  private static String processId() {
+    // "pid@host" on the usual JVMs
+    String name = ManagementFactory.getRuntimeMXBean().getName();
+    int at = name.indexOf('@');
+    return (at > 0) ? name.substring(0, at) : null;
+  }
+
+  public String toString() {
+    return "SyslogSender[" + protocol + " " + address + "]";
+  }
+
+  /**
+   * The I/O thread. Only this thread touches the channel and the batch.
+   */
+  private class Worker implements Runnable {
+
+    private final ByteBuffer[] batch = new ByteBuffer[batchSize];
+    // where each message of the batch starts, to resend it in full
+    private final int[] starts = new int[batchSize];
+    private final List<ByteBuffer> drained = new ArrayList<ByteBuffer>(batchSize);
+    private int first;
+    private int count;
+
+    private Selector selector;
+    private SelectableChannel channel;
+    private SelectionKey key;
+    private long backoff = minBackoff;
+    private long nextAttempt;
+    private boolean failureReported;
+
+    public void run() {
+      try {
+        selector = Selector.open();
+        loop();
+      } catch (InterruptedException e) {
+        // stop() ran out of time
+      } catch (IOException e) {
+        Util.reportFailure("Syslog sender to " + address + " failed", e);
+      } finally {
+        int dropped = discard();
+        droppedOnStop = dropped;
+        droppedCount.addAndGet(dropped);
+        close();
+        try {
+          if (selector != null) {
+            selector.close();
+          }
+        } catch (IOException e) {
+          // ignored
+        }
+      }
+    }
+
+    private void loop() throws InterruptedException, IOException {
+      while (true) {
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+        if (first == count) {
+          recycle();
+          if (!running && queue.isEmpty()) {
+            return;
+          }
+          if (!fill()) {
+            continue;
+          }
+        }
+        if (channel == null) {
+          if (!running) {
+            // nobody to send the rest to
+            return;
+          }
+          long wait = nextAttempt - System.currentTimeMillis();
+          if (wait > 0) {
+            Thread.sleep(Math.min(wait, POLL_INTERVAL));
+            continue;
+          }
+          if (!connect()) {
+            continue;
+          }
+        }
+        try {
+          if (protocol == Protocol.TCP) {
+            writeStream();
+          } else {
+            writeDatagrams();
+          }
+        } catch (IOException e) {
+          connectionFailed(e);
+        }
+      }
+    }
+
+    // take the next batch from the queue, false if none came in time
+    private boolean fill() throws InterruptedException {
+      ByteBuffer buffer = queue.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+      if (buffer == null) {
+        return false;
+      }
+      add(buffer);
+      if (batchSize > 1) {
+        queue.drainTo(drained, batchSize - 1);
+        for (int i = 0; i < drained.size(); i++) {
+          add(drained.get(i));
+        }
+        drained.clear();
+      }
+      return true;
+    }
+
+    private void add(ByteBuffer buffer) {
+      starts[count] = buffer.position();
+      batch[count++] = buffer;
+    }
+
+    private void recycle() {
+      for (int i = 0; i < count; i++) {
+        releaseBuffer(batch[i]);
+        batch[i] = null;
+      }
+      first = 0;
+      count = 0;
+    }
+
+    private int discard() {
+      int dropped = count - first;
+      recycle();
+      ByteBuffer buffer;
+      while ((buffer = queue.poll()) != null) {
+        releaseBuffer(buffer);
+        dropped++;
+      }
+      return dropped;
+    }
+
+    private void writeStream() throws IOException {
+      SocketChannel socket = (SocketChannel) channel;
+      socket.write(batch, first, count - first);
+      int before = first;
+      while (first < count && !batch[first].hasRemaining()) {
+        first++;
+      }
+      sentCount.addAndGet(first - before);
+      if (first < count) {
+        awaitWritable();
+      }
+    }
+
+    private void writeDatagrams() throws IOException {
+      DatagramChannel datagram = (DatagramChannel) channel;
+      while (first < count) {
+        if (datagram.write(batch[first]) == 0) {
+          awaitWritable();
+          return;
+        }
+        first++;
+        sentCount.incrementAndGet();
+      }
+    }
+
+    private void awaitWritable() throws IOException {
+      key.interestOps(SelectionKey.OP_WRITE);
+      selector.select(POLL_INTERVAL);
+      selector.selectedKeys().clear();
+      key.interestOps(0);
+    }
+
+    private boolean connect() {
+      try {
+        if (protocol == Protocol.TCP) {
+          SocketChannel socket = SocketChannel.open();
+          channel = socket;
+          socket.configureBlocking(false);
+          socket.socket().setTcpNoDelay(true);
+          key = socket.register(selector, 0);
+          if (!socket.connect(address)) {
+            key.interestOps(SelectionKey.OP_CONNECT);
+            long deadline = System.currentTimeMillis() + CONNECT_TIMEOUT;
+            while (!socket.finishConnect()) {
+              long wait = deadline - System.currentTimeMillis();
+              if (wait <= 0) {
+                throw new IOException("Connection timed out");
+              }
+              selector.select(wait);
+              selector.selectedKeys().clear();
+            }
+            key.interestOps(0);
+          }
+        } else {
+          DatagramChannel datagram = DatagramChannel.open();
+          channel = datagram;
+          datagram.configureBlocking(false);
+          datagram.connect(address);
+          key = datagram.register(selector, 0);
+        }
+        backoff = minBackoff;
+        failureReported = false;
+        return true;
+      } catch (IOException e) {
+        connectionFailed(e);
+        return false;
+      }
+    }
+
+    private void connectionFailed(IOException e) {
+      if (!failureReported) {
+        // once per outage, not once per attempt
+        Util.reportFailure("Lost connection to syslog server " + address
+            + ", retrying", e);
+        failureReported = true;
+      }
+      close();
+      // a message cut short went to a connection which is gone: send it again
+      for (int i = first; i < count; i++) {
+        batch[i].position(starts[i]);
+      }
+      nextAttempt = System.currentTimeMillis() + backoff;
+      backoff = Math.min(backoff * 2, maxBackoff);
+    }
+
+    private void close() {
+      if (channel != null) {
+        try {
+          channel.close();
+          // flush the cancelled key
+          selector.selectNow();
+        } catch (IOException e) {
+          // ignored
+        }
+        channel = null;
+        key = null;
+      }
+    }
+  }
+}
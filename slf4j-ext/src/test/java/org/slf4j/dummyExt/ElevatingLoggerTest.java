@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.dummyExt;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.spi.LoggingEvent;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.slf4j.ext.ElevatingLogger;
+import org.slf4j.helpers.DebugElevation;
+
+public class ElevatingLoggerTest extends TestCase {
+
+  ListAppender listAppender;
+  org.apache.log4j.Logger log4jLogger;
+  ElevatingLogger logger;
+
+  final static String EXPECTED_FILE_NAME = "ElevatingLoggerTest.java";
+
+  public ElevatingLoggerTest(String name) {
+    super(name);
+  }
+
+  public void setUp() throws Exception {
+    super.setUp();
+    listAppender = new ListAppender();
+    listAppender.extractLocationInfo = true;
+    log4jLogger = org.apache.log4j.Logger.getLogger("Elevating");
+    log4jLogger.addAppender(listAppender);
+    log4jLogger.setLevel(Level.INFO);
+    log4jLogger.setAdditivity(false);
+    logger = new ElevatingLogger(LoggerFactory.getLogger("Elevating"));
+    DebugElevation.configure("debugRequestId", null);
+  }
+
+  public void tearDown() throws Exception {
+    MDC.clear();
+    DebugElevation.configure(null, null);
+    log4jLogger.removeAppender(listAppender);
+    super.tearDown();
+  }
+
+  public void testNotElevated() {
+    assertFalse(logger.isDebugEnabled());
+    assertFalse(logger.isTraceEnabled());
+    logger.debug("hidden {}", "debug");
+    logger.trace("hidden trace");
+    assertEquals(0, listAppender.list.size());
+  }
+
+  public void testElevatedByKey() {
+    MDC.put("debugRequestId", "42");
+    assertTrue(logger.isDebugEnabled());
+    assertTrue(logger.isTraceEnabled());
+    logger.debug("shown {}", "debug");
+    logger.trace("shown trace", new Exception());
+    assertEquals(2, listAppender.list.size());
+    LoggingEvent le = listAppender.list.get(0);
+    assertEquals("shown debug", le.getMessage());
+    assertEquals(Level.INFO, le.getLevel());
+    assertEquals(EXPECTED_FILE_NAME, le.getLocationInformation().getFileName());
+    assertNotNull(listAppender.list.get(1).getThrowableInformation());
+
+    MDC.remove("debugRequestId");
+    assertFalse(logger.isDebugEnabled());
+    logger.debug("hidden");
+    assertEquals(2, listAppender.list.size());
+  }
+
+  public void testElevatedByValue() {
+    DebugElevation.configure("debugRequestId", "7, 42");
+    MDC.put("debugRequestId", "41");
+    assertFalse(logger.isDebugEnabled());
+    MDC.put("debugRequestId", "42");
+    assertTrue(logger.isDebugEnabled());
+    MDC.put("debugRequestId", "43");
+    assertFalse(logger.isDebugEnabled());
+  }
+
+  public void testClearAndSetContextMap() {
+    MDC.put("debugRequestId", "42");
+    MDC.clear();
+    assertFalse(logger.isDebugEnabled());
+    Map<String, String> context = new HashMap<String, String>();
+    context.put("debugRequestId", "42");
+    MDC.setContextMap(context);
+    assertTrue(logger.isDebugEnabled());
+  }
+
+  public void testOtherThreadsNotElevated() throws InterruptedException {
+    final boolean[] enabled = new boolean[1];
+    Thread other = new Thread() {
+      public void run() {
+        enabled[0] = logger.isDebugEnabled();
+      }
+    };
+    other.start();
+    MDC.put("debugRequestId", "42");
+    other.join();
+    assertTrue(logger.isDebugEnabled());
+    assertFalse(enabled[0]);
+  }
+
+  public void testEnabledLevelUnchanged() {
+    log4jLogger.setLevel(Level.DEBUG);
+    MDC.put("debugRequestId", "42");
+    logger.debug("plain debug");
+    assertEquals(Level.DEBUG, listAppender.list.get(0).getLevel());
+  }
+
+  public void testLowestEnabledLevel() {
+    log4jLogger.setLevel(Level.ERROR);
+    MDC.put("debugRequestId", "42");
+    logger.debug("as error");
+    assertEquals(Level.ERROR, listAppender.list.get(0).getLevel());
+  }
+}
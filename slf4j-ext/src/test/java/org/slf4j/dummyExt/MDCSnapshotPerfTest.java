@@ -0,0 +1,92 @@
+package org.slf4j.dummyExt;
+
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.slf4j.ext.MDCRunnable;
+import org.slf4j.ext.MDCSnapshot;
+import org.slf4j.helpers.BasicMDCAdapter;
+import org.slf4j.spi.MDCAdapter;
+
+/**
+ * Compares the per task overhead of carrying a ten entry MDC to another
+ * thread, using shared snapshots and using the copying
+ * getCopyOfContextMap/setContextMap protocol. Tasks are run inline so that
+ * only the cost of capture, attach and detach is measured.
+ */
+public class MDCSnapshotPerfTest extends TestCase {
+
+  static final int LEN = 1000 * 1000;
+
+  public MDCSnapshotPerfTest(String name) {
+    super(name);
+  }
+
+  public void testSubmissionOverhead() {
+    BasicMDCAdapter snapshotting = new BasicMDCAdapter();
+    final BasicMDCAdapter basic = new BasicMDCAdapter();
+    MDCAdapter copying = new MDCAdapter() {
+      public void put(String key, String val) {
+        basic.put(key, val);
+      }
+
+      public String get(String key) {
+        return basic.get(key);
+      }
+
+      public void remove(String key) {
+        basic.remove(key);
+      }
+
+      public void clear() {
+        basic.clear();
+      }
+
+      public Map getCopyOfContextMap() {
+        return basic.getCopyOfContextMap();
+      }
+
+      public void setContextMap(Map contextMap) {
+        basic.setContextMap(contextMap);
+      }
+    };
+    for (int i = 0; i < 10; i++) {
+      snapshotting.put("key" + i, "value" + i);
+      copying.put("key" + i, "value" + i);
+    }
+
+    loop(null, LEN); // warm up
+    loop(snapshotting, LEN);
+    loop(copying, LEN);
+
+    double plain = loop(null, LEN);
+    double snapshot = loop(snapshotting, LEN);
+    double copy = loop(copying, LEN);
+    System.out.println("mdcPropagation entries=10 plainNanos=" + plain
+        + " snapshotNanos=" + snapshot + " copyNanos=" + copy);
+  }
+
+  /**
+   * @return nanoseconds per task
+   */
+  double loop(MDCAdapter adapter, int len) {
+    final int[] counter = new int[1];
+    Runnable task = new Runnable() {
+      public void run() {
+        counter[0]++;
+      }
+    };
+    long start = System.nanoTime();
+    for (int i = 0; i < len; i++) {
+      if (adapter == null) {
+        task.run();
+      } else {
+        new MDCRunnable(task, MDCSnapshot.capture(adapter)).run();
+      }
+    }
+    long end = System.nanoTime();
+    assertEquals(len, counter[0]);
+    return (end - start) / (double) len;
+  }
+}
@@ -0,0 +1,134 @@
+package org.slf4j.dummyExt;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.slf4j.MDC;
+import org.slf4j.ext.MDCCallable;
+import org.slf4j.ext.MDCExecutorService;
+import org.slf4j.ext.MDCRunnable;
+import org.slf4j.ext.MDCSnapshot;
+import org.slf4j.ext.MDCThreadFactory;
+import org.slf4j.helpers.BasicMDCAdapter;
+
+public class MDCSnapshotTest extends TestCase {
+
+  public MDCSnapshotTest(String name) {
+    super(name);
+  }
+
+  public void tearDown() throws Exception {
+    MDC.clear();
+    super.tearDown();
+  }
+
+  public void testExecutorPropagatesContext() throws Exception {
+    ExecutorService executor = new MDCExecutorService(Executors
+        .newSingleThreadExecutor());
+    try {
+      Callable<String> readUser = new Callable<String>() {
+        public String call() {
+          return MDC.get("user");
+        }
+      };
+      MDC.put("user", "alice");
+      Future<String> first = executor.submit(readUser);
+      MDC.put("user", "bob");
+      Future<String> second = executor.submit(readUser);
+      MDC.remove("user");
+      Future<String> third = executor.submit(readUser);
+
+      assertEquals("alice", first.get());
+      assertEquals("bob", second.get());
+      assertNull(third.get());
+    } finally {
+      executor.shutdown();
+      assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+  }
+
+  public void testWorkerContextIsRestored() throws Exception {
+    MDC.put("user", "alice");
+    MDCRunnable task = new MDCRunnable(new Runnable() {
+      public void run() {
+        assertEquals("alice", MDC.get("user"));
+        MDC.put("user", "changed by task");
+      }
+    });
+    MDC.put("user", "worker");
+    task.run();
+    assertEquals("worker", MDC.get("user"));
+    assertEquals("alice", task.getSnapshot().getContextMap().get("user"));
+  }
+
+  public void testThreadFactory() throws Exception {
+    MDC.put("request", "42");
+    final String[] seen = new String[1];
+    ThreadFactory factory = new MDCThreadFactory();
+    Thread thread = factory.newThread(new Runnable() {
+      public void run() {
+        seen[0] = MDC.get("request");
+      }
+    });
+    MDC.clear();
+    thread.start();
+    thread.join();
+    assertEquals("42", seen[0]);
+  }
+
+  public void testSnapshotAdapterSharesMap() throws Exception {
+    BasicMDCAdapter adapter = new BasicMDCAdapter();
+    adapter.put("k", "v");
+    MDCSnapshot a = MDCSnapshot.capture(adapter);
+    MDCSnapshot b = MDCSnapshot.capture(adapter);
+    assertEquals("v", a.getContextMap().get("k"));
+    assertEquals(b.getContextMap(), a.getContextMap());
+
+    adapter.put("k", "w");
+    assertEquals("v", a.getContextMap().get("k"));
+
+    Object previous = a.attach();
+    assertEquals("v", adapter.get("k"));
+    adapter.put("other", "x");
+    a.detach(previous);
+    assertEquals("w", adapter.get("k"));
+    assertNull(adapter.get("other"));
+    assertNull(a.getContextMap().get("other"));
+  }
+
+  public void testSwapSnapshotCopiesForeignMap() throws Exception {
+    BasicMDCAdapter adapter = new BasicMDCAdapter();
+    Map<String, String> mine = new HashMap<String, String>();
+    mine.put("k", "v");
+    Map previous = adapter.swapSnapshot(mine);
+    assertEquals("v", adapter.get("k"));
+    adapter.put("k", "w");
+    adapter.put("other", "x");
+    adapter.remove("k");
+    adapter.swapSnapshot(previous);
+    assertEquals(1, mine.size());
+    assertEquals("v", mine.get("k"));
+  }
+
+  public void testCallableWithEmptyContext() throws Exception {
+    MDCCallable<Map<String, String>> task = new MDCCallable<Map<String, String>>(
+        new Callable<Map<String, String>>() {
+          @SuppressWarnings("unchecked")
+          public Map<String, String> call() {
+            return MDC.getCopyOfContextMap();
+          }
+        });
+    MDC.put("worker", "yes");
+    Map<String, String> seen = task.call();
+    assertTrue(seen == null || seen.isEmpty());
+    assertEquals("yes", MDC.get("worker"));
+  }
+}
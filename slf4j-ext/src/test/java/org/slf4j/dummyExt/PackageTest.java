@@ -9,6 +9,9 @@ public class PackageTest extends TestCase {
     suite.addTestSuite(MDCStrLookupTest.class);
     suite.addTestSuite(XLoggerTest.class);
     suite.addTestSuite(EventLoggerTest.class);
+    suite.addTestSuite(RateLimitingLoggerTest.class);
+    suite.addTestSuite(MDCSnapshotTest.class);
+    suite.addTestSuite(ElevatingLoggerTest.class);
     return suite;
   }
 }
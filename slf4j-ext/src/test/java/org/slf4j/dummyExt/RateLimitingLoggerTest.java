@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2004-2008 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.dummyExt;
+
+import junit.framework.TestCase;
+
+import org.apache.log4j.spi.LoggingEvent;
+import org.slf4j.LoggerFactory;
+import org.slf4j.ext.RateLimitingLogger;
+
+public class RateLimitingLoggerTest extends TestCase {
+
+  ListAppender listAppender;
+  org.apache.log4j.Logger log4jLogger;
+
+  final static String EXPECTED_FILE_NAME = "RateLimitingLoggerTest.java";
+
+  public RateLimitingLoggerTest(String name) {
+    super(name);
+  }
+
+  public void setUp() throws Exception {
+    super.setUp();
+    listAppender = new ListAppender();
+    listAppender.extractLocationInfo = true;
+    log4jLogger = org.apache.log4j.Logger.getLogger("RateLimited");
+    log4jLogger.addAppender(listAppender);
+    log4jLogger.setLevel(org.apache.log4j.Level.INFO);
+    log4jLogger.setAdditivity(false);
+  }
+
+  public void tearDown() throws Exception {
+    log4jLogger.removeAppender(listAppender);
+    super.tearDown();
+  }
+
+  RateLimitingLogger newLogger(int burst, int sampleRate, RateLimitingLogger.Scope scope) {
+    // a rate this low guarantees that no permit is refilled during the test
+    return new RateLimitingLogger(LoggerFactory.getLogger("RateLimited"),
+        0.001, burst, sampleRate, scope, 3600000L);
+  }
+
+  public void testBurst() {
+    RateLimitingLogger logger = newLogger(3, 1, RateLimitingLogger.Scope.LEVEL);
+    for (int i = 0; i < 10; i++) {
+      logger.warn("storm {}", new Integer(i));
+    }
+    assertEquals(3, listAppender.list.size());
+    LoggingEvent le = listAppender.list.get(2);
+    assertEquals("storm 2", le.getMessage());
+    assertEquals(EXPECTED_FILE_NAME, le.getLocationInformation().getFileName());
+  }
+
+  public void testDisabledEventsDoNotConsumePermits() {
+    RateLimitingLogger logger = newLogger(1, 1, RateLimitingLogger.Scope.LEVEL);
+    for (int i = 0; i < 10; i++) {
+      logger.debug("hidden");
+    }
+    logger.warn("visible");
+    logger.flushSummary();
+    assertEquals(1, listAppender.list.size());
+  }
+
+  public void testLevelsHaveSeparateBuckets() {
+    RateLimitingLogger logger = newLogger(1, 1, RateLimitingLogger.Scope.LEVEL);
+    logger.info("a");
+    logger.info("b");
+    logger.warn("c");
+    logger.error("d");
+    assertEquals(3, listAppender.list.size());
+  }
+
+  public void testPatternScope() {
+    RateLimitingLogger logger = newLogger(1, 1, RateLimitingLogger.Scope.PATTERN);
+    for (int i = 0; i < 5; i++) {
+      logger.warn("first {}", new Integer(i));
+      logger.warn("second {}", new Integer(i));
+    }
+    assertEquals(2, listAppender.list.size());
+    assertEquals("first 0", listAppender.list.get(0).getMessage());
+    assertEquals("second 0", listAppender.list.get(1).getMessage());
+  }
+
+  public void testSampling() {
+    RateLimitingLogger logger = new RateLimitingLogger(LoggerFactory
+        .getLogger("RateLimited"), 1000000, 100, 4,
+        RateLimitingLogger.Scope.LEVEL, 3600000L);
+    for (int i = 0; i < 10; i++) {
+      logger.info("sample {}", new Integer(i));
+    }
+    assertEquals(3, listAppender.list.size());
+    assertEquals("sample 0", listAppender.list.get(0).getMessage());
+    assertEquals("sample 4", listAppender.list.get(1).getMessage());
+    assertEquals("sample 8", listAppender.list.get(2).getMessage());
+  }
+
+  public void testDroppedArgumentsAreNotFormatted() {
+    RateLimitingLogger logger = newLogger(1, 1, RateLimitingLogger.Scope.LEVEL);
+    final int[] calls = new int[1];
+    Object arg = new Object() {
+      public String toString() {
+        calls[0]++;
+        return "arg";
+      }
+    };
+    for (int i = 0; i < 10; i++) {
+      logger.warn("expensive {}", arg);
+    }
+    assertEquals(1, calls[0]);
+  }
+
+  public void testSummary() {
+    RateLimitingLogger logger = newLogger(2, 1, RateLimitingLogger.Scope.LEVEL);
+    for (int i = 0; i < 10; i++) {
+      logger.warn("storm");
+    }
+    logger.flushSummary();
+    assertEquals(3, listAppender.list.size());
+    LoggingEvent le = listAppender.list.get(2);
+    assertEquals("Suppressed 8 events from RateLimited at level WARN", le
+        .getMessage());
+    assertEquals(org.apache.log4j.Level.WARN, le.getLevel());
+
+    // nothing left to report
+    logger.flushSummary();
+    assertEquals(3, listAppender.list.size());
+  }
+}
@@ -28,6 +28,8 @@ import junit.framework.TestCase;
 
 import org.apache.log4j.spi.LocationInfo;
 import org.apache.log4j.spi.LoggingEvent;
+import org.slf4j.ext.LatencyHistogram;
+import org.slf4j.ext.Span;
 import org.slf4j.ext.XLogger;
 import org.slf4j.ext.XLoggerFactory;
 
@@ -133,7 +135,7 @@ public class XLoggerTest extends TestCase {
   // See http://bugzilla.slf4j.org/show_bug.cgi?id=114
   public void testLocationExtraction_Bug114() {
     XLogger logger = XLoggerFactory.getXLogger("UnitTest");
-    int line = 137; // next line is line number 134
+    int line = 139; // next line is line number 139
     logger.exit(); 
     logger.debug("hello");
 
@@ -154,4 +156,70 @@ public class XLoggerTest extends TestCase {
     }
 
   }
+
+  public void testSpans() {
+    XLogger logger = XLoggerFactory.getXLogger("UnitTest");
+    LatencyHistogram histogram = new LatencyHistogram("testSpans");
+    Span outer = logger.entry("a", "b");
+    Span inner = logger.entry("c", "d", "e").recordTo(histogram);
+    assertTrue(outer.isTimed());
+    assertNotSame(outer, inner);
+    logger.exit(inner, "f");
+    logger.exit(outer);
+
+    assertEquals(4, listAppender.list.size());
+    verify((LoggingEvent) listAppender.list.get(0), "entry with (a, b)");
+    verify((LoggingEvent) listAppender.list.get(1), "entry with (c, d, e)");
+    String exit = (String) ((LoggingEvent) listAppender.list.get(2)).getMessage();
+    assertTrue(exit, exit.matches("exit with \\(f\\) after \\d+ ns"));
+    exit = (String) ((LoggingEvent) listAppender.list.get(3)).getMessage();
+    assertTrue(exit, exit.matches("exit after \\d+ ns"));
+    assertEquals(EXPECTED_FILE_NAME, ((LoggingEvent) listAppender.list.get(3))
+        .getLocationInformation().getFileName());
+    assertEquals(1, histogram.getCount());
+  }
+
+  public void testDisabledSpans() {
+    XLogger logger = XLoggerFactory.getXLogger("UnitTest");
+    log4jRoot.setLevel(org.apache.log4j.Level.DEBUG);
+    LatencyHistogram histogram = new LatencyHistogram("testDisabledSpans");
+    assertSame(Span.NOP, logger.entry());
+    assertSame(Span.NOP, logger.entry("a"));
+    assertSame(Span.NOP, logger.entry("a", "b", "c", "d"));
+    Span span = logger.entry("a", "b").recordTo(histogram);
+    assertSame(Span.NOP, span);
+    logger.exit(span, "c");
+    logger.exit(span);
+    assertEquals(0, listAppender.list.size());
+    assertEquals(0, histogram.getCount());
+
+    // enabled after the entry: no duration is known
+    log4jRoot.setLevel(org.apache.log4j.Level.TRACE);
+    logger.exit(span, "c");
+    logger.exit(span);
+    verify((LoggingEvent) listAppender.list.get(0), "exit with (c)");
+    verify((LoggingEvent) listAppender.list.get(1), "exit");
+  }
+
+  public void testNullResult() {
+    XLogger logger = XLoggerFactory.getXLogger("UnitTest");
+    logger.exit(null);
+    verify((LoggingEvent) listAppender.list.get(0), "exit with (null)");
+  }
+
+  public void testLatencyHistogram() {
+    LatencyHistogram histogram = new LatencyHistogram("m");
+    assertEquals(0, histogram.getPercentile(50));
+    for (long nanos = 1; nanos <= 1000; nanos++) {
+      histogram.record(nanos * 1000);
+    }
+    assertEquals(1000, histogram.getCount());
+    assertEquals(1000000, histogram.getMax());
+    long p50 = histogram.getPercentile(50);
+    assertTrue("p50 " + p50, p50 >= 500000 && p50 <= 500000 * 9 / 8);
+    long p99 = histogram.getPercentile(99);
+    assertTrue("p99 " + p99, p99 >= 990000 && p99 <= 1000000);
+    assertEquals(1000000, histogram.getPercentile(100));
+    assertTrue(histogram.toString().startsWith("m count=1000 p50="));
+  }
 }
@@ -0,0 +1,81 @@
+package org.slf4j.journal;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+import junit.framework.TestCase;
+
+import org.slf4j.Logger;
+import org.slf4j.helpers.MessageFormatter;
+
+/**
+ * Compares the cost of journaling an event with the cost of formatting it and
+ * writing it to a buffered file.
+ */
+public class JournalPerfTest extends TestCase {
+
+  static final int WARMUP = 200000;
+  static final int RUNS = 2000000;
+
+  File directory;
+
+  public JournalPerfTest(String name) {
+    super(name);
+  }
+
+  public void setUp() throws Exception {
+    super.setUp();
+    directory = File.createTempFile("journal", "");
+    directory.delete();
+    directory.mkdirs();
+  }
+
+  public void tearDown() throws Exception {
+    File[] files = directory.listFiles();
+    for (int i = 0; files != null && i < files.length; i++) {
+      files[i].delete();
+    }
+    directory.delete();
+    super.tearDown();
+  }
+
+  public void testJournalVersusFormatting() throws IOException {
+    Journal journal = new Journal(directory, "perf", 64 * 1024 * 1024, 2);
+    Logger logger = journal.getLogger("org.slf4j.journal.JournalPerfTest");
+    Writer writer = new BufferedWriter(new FileWriter(new File(directory,
+        "perf.log")));
+    try {
+      journalLoop(logger, WARMUP);
+      formatLoop(writer, WARMUP);
+      double journalNs = journalLoop(logger, RUNS);
+      double formatNs = formatLoop(writer, RUNS);
+      System.out.println("journal:         " + journalNs + " ns/event");
+      System.out.println("format + write:  " + formatNs + " ns/event");
+    } finally {
+      journal.close();
+      writer.close();
+    }
+  }
+
+  double journalLoop(Logger logger, int len) {
+    long start = System.nanoTime();
+    for (int i = 0; i < len; i++) {
+      logger.debug("request {} took {} ms", "GET /index.html", new Integer(i));
+    }
+    return (System.nanoTime() - start) / (double) len;
+  }
+
+  double formatLoop(Writer writer, int len) throws IOException {
+    long start = System.nanoTime();
+    for (int i = 0; i < len; i++) {
+      String msg = MessageFormatter.format("request {} took {} ms",
+          "GET /index.html", new Integer(i));
+      writer.write(System.currentTimeMillis() + " [" + Thread.currentThread().getName()
+          + "] DEBUG org.slf4j.journal.JournalPerfTest - " + msg + "\n");
+    }
+    return (System.nanoTime() - start) / (double) len;
+  }
+}
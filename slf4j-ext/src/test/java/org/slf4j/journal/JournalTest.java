@@ -0,0 +1,214 @@
+package org.slf4j.journal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import junit.framework.TestCase;
+
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+import org.slf4j.helpers.MessageFormatter;
+import org.slf4j.spi.LocationAwareLogger;
+
+public class JournalTest extends TestCase {
+
+  File directory;
+  Journal journal;
+
+  public JournalTest(String name) {
+    super(name);
+  }
+
+  public void setUp() throws Exception {
+    super.setUp();
+    directory = File.createTempFile("journal", "");
+    directory.delete();
+  }
+
+  public void tearDown() throws Exception {
+    if (journal != null) {
+      journal.close();
+    }
+    File[] files = directory.listFiles();
+    for (int i = 0; files != null && i < files.length; i++) {
+      files[i].delete();
+    }
+    directory.delete();
+    super.tearDown();
+  }
+
+  String[] decode() throws IOException {
+    journal.flush();
+    StringWriter sw = new StringWriter();
+    JournalDecoder decoder = new JournalDecoder(new PrintWriter(sw));
+    File[] segments = JournalDecoder.listSegments(directory);
+    for (int i = 0; i < segments.length; i++) {
+      decoder.decode(segments[i]);
+    }
+    String text = sw.toString();
+    return text.length() == 0 ? new String[0] : text.split("\r?\n");
+  }
+
+  static String message(String line) {
+    return line.substring(line.indexOf(" - ") + 3);
+  }
+
+  public void testArgumentsRoundTrip() throws IOException {
+    journal = new Journal(directory, "test");
+    Logger logger = journal.getLogger("a.b.C");
+    Object[] args = new Object[] { "s", null, Boolean.TRUE, new Byte((byte) 1),
+        new Short((short) 2), new Character('c'), new Integer(3), new Long(4),
+        new Float(5.5f), new Double(6.25), new StringBuffer("sb"),
+        new int[] { 7, 8 }, new Object[] { "x", new Object[] { "y" } } };
+    String pattern = "{} {} {} {} {} {} {} {} {} {} {} {} {}";
+    logger.info(pattern, args);
+    logger.debug("one {}", "arg");
+    logger.warn("two {} {}", new Integer(1), new Integer(2));
+    logger.error("plain");
+    logger.trace(null);
+
+    String[] lines = decode();
+    assertEquals(5, lines.length);
+    assertEquals(MessageFormatter.arrayFormat(pattern, args), message(lines[0]));
+    assertTrue(lines[0], lines[0].indexOf(" INFO a.b.C - ") > 0);
+    assertEquals("one arg", message(lines[1]));
+    assertTrue(lines[1].indexOf(" DEBUG ") > 0);
+    assertEquals("two 1 2", message(lines[2]));
+    assertTrue(lines[2].indexOf(" WARN ") > 0);
+    assertEquals("plain", message(lines[3]));
+    assertTrue(lines[3].indexOf(" ERROR ") > 0);
+    assertEquals("null", message(lines[4]));
+    assertTrue(lines[4].indexOf("[thread-" + Thread.currentThread().getId()
+        + "] TRACE") > 0);
+  }
+
+  public void testMarkerAndThrowable() throws IOException {
+    journal = new Journal(directory, "test");
+    Logger logger = journal.getLogger("x");
+    Marker marker = MarkerFactory.getMarker("AUDIT");
+    Exception e = new IllegalStateException("outer", new RuntimeException("inner"));
+    logger.error(marker, "failed", e);
+
+    String[] lines = decode();
+    assertTrue(lines[0], lines[0].endsWith(" ERROR x AUDIT - failed"));
+    assertEquals("java.lang.IllegalStateException: outer", lines[1]);
+    assertTrue(lines[2], lines[2].startsWith("\tat org.slf4j.journal.JournalTest"));
+    int cause = -1;
+    for (int i = 0; i < lines.length; i++) {
+      if (lines[i].equals("Caused by: java.lang.RuntimeException: inner")) {
+        cause = i;
+      }
+    }
+    assertTrue(cause > 2);
+  }
+
+  public void testLevel() throws IOException {
+    journal = new Journal(directory, "test");
+    journal.setLevel(LocationAwareLogger.INFO_INT);
+    Logger logger = journal.getLogger("x");
+    assertFalse(logger.isDebugEnabled());
+    assertTrue(logger.isInfoEnabled());
+    logger.debug("hidden {}", "arg");
+    logger.info("shown");
+    String[] lines = decode();
+    assertEquals(1, lines.length);
+    assertEquals("shown", message(lines[0]));
+  }
+
+  public void testSameLoggerInstance() throws IOException {
+    journal = new Journal(directory, "test");
+    assertSame(journal.getLogger("x"), journal.getLogger("x"));
+  }
+
+  public void testRollingAndRetention() throws IOException {
+    journal = new Journal(directory, "test", Journal.MIN_SEGMENT_SIZE, 3);
+    Logger logger = journal.getLogger("roll");
+    int count = 1000;
+    for (int i = 0; i < count; i++) {
+      logger.info("event {}", new Integer(i));
+    }
+    assertTrue(journal.getSequence() > 3);
+    File[] segments = JournalDecoder.listSegments(directory);
+    assertEquals(3, segments.length);
+
+    // every retained segment decodes on its own, and the events are the
+    // last ones logged
+    String[] lines = decode();
+    assertTrue(lines.length > 0);
+    for (int i = 0; i < lines.length; i++) {
+      assertEquals("event " + (count - lines.length + i), message(lines[i]));
+    }
+    assertEquals(0, journal.getDroppedCount());
+  }
+
+  public void testReopenStartsNewSegment() throws IOException {
+    journal = new Journal(directory, "test");
+    journal.getLogger("x").info("first");
+    journal.close();
+    journal = new Journal(directory, "test");
+    assertEquals(1, journal.getSequence());
+    journal.getLogger("x").info("second");
+    String[] lines = decode();
+    assertEquals(2, lines.length);
+    assertEquals("first", message(lines[0]));
+    assertEquals("second", message(lines[1]));
+  }
+
+  public void testOversizedEventIsDropped() throws IOException {
+    journal = new Journal(directory, "test", Journal.MIN_SEGMENT_SIZE, 2);
+    Logger logger = journal.getLogger("x");
+    logger.info("{}", new String(new char[Journal.MIN_SEGMENT_SIZE]));
+    logger.info("after");
+    assertEquals(1, journal.getDroppedCount());
+    String[] lines = decode();
+    assertEquals("after", message(lines[lines.length - 1]));
+  }
+
+  public void testClosedJournalDropsEvents() throws IOException {
+    journal = new Journal(directory, "test");
+    journal.close();
+    journal.getLogger("x").info("late");
+    assertEquals(1, journal.getDroppedCount());
+  }
+
+  public void testReentrantToString() throws IOException {
+    journal = new Journal(directory, "test");
+    final Logger logger = journal.getLogger("x");
+    Object nested = new Object() {
+      public String toString() {
+        logger.info("nested");
+        return "outer-arg";
+      }
+    };
+    logger.info("outer {}", nested);
+    String[] lines = decode();
+    assertEquals(2, lines.length);
+    assertEquals("nested", message(lines[0]));
+    assertEquals("outer outer-arg", message(lines[1]));
+  }
+
+  public void testConcurrentAppends() throws Exception {
+    journal = new Journal(directory, "test", 64 * 1024, 1000);
+    final int threads = 4;
+    final int events = 2000;
+    Thread[] workers = new Thread[threads];
+    for (int i = 0; i < threads; i++) {
+      final Logger logger = journal.getLogger("worker" + i);
+      workers[i] = new Thread() {
+        public void run() {
+          for (int j = 0; j < events; j++) {
+            logger.debug("event {} of {}", new Integer(j), getName());
+          }
+        }
+      };
+      workers[i].start();
+    }
+    for (int i = 0; i < threads; i++) {
+      workers[i].join();
+    }
+    assertEquals(threads * events, decode().length);
+  }
+}
@@ -0,0 +1,12 @@
+package org.slf4j.journal;
+
+import junit.framework.*;
+
+public class PackageTest extends TestCase {
+
+  public static Test suite() {
+    TestSuite suite = new TestSuite();
+    suite.addTestSuite(JournalTest.class);
+    return suite;
+  }
+}
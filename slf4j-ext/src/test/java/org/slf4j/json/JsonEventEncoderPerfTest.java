@@ -0,0 +1,97 @@
+package org.slf4j.json;
+
+import java.io.UnsupportedEncodingException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.slf4j.helpers.MessageFormatter;
+import org.slf4j.spi.LocationAwareLogger;
+
+import com.google.gson.Gson;
+
+/**
+ * Compares the cost of turning an event into bytes with JsonEventEncoder,
+ * with plain text formatting, and with Gson serializing a map of the event
+ * fields.
+ */
+public class JsonEventEncoderPerfTest extends TestCase {
+
+  static final int WARMUP = 200000;
+  static final int RUNS = 1000000;
+
+  static final String LOGGER = "org.slf4j.json.JsonEventEncoderPerfTest";
+  static final String FORMAT = "request {} took {} ms";
+
+  Map mdc = new HashMap();
+  long sink;
+
+  public JsonEventEncoderPerfTest(String name) {
+    super(name);
+  }
+
+  public void setUp() throws Exception {
+    super.setUp();
+    mdc.put("user", "alice");
+    mdc.put("session", "0x5f3a");
+  }
+
+  public void testCompare() throws Exception {
+    JsonEventEncoder encoder = new JsonEventEncoder();
+    Gson gson = new Gson();
+
+    encoderLoop(encoder, WARMUP);
+    textLoop(WARMUP);
+    gsonLoop(gson, WARMUP);
+
+    System.out.println("JsonEventEncoder:      " + encoderLoop(encoder, RUNS)
+        + " ns/event");
+    System.out.println("text formatting:       " + textLoop(RUNS) + " ns/event");
+    System.out.println("Gson over a field map: " + gsonLoop(gson, RUNS)
+        + " ns/event");
+  }
+
+  double encoderLoop(JsonEventEncoder encoder, int len) {
+    long start = System.nanoTime();
+    for (int i = 0; i < len; i++) {
+      sink += encoder.encode(System.currentTimeMillis(),
+          LocationAwareLogger.INFO_INT, LOGGER, "main", null, mdc, FORMAT,
+          new Object[] { "GET /index.html", new Integer(i) }, null).remaining();
+    }
+    return (System.nanoTime() - start) / (double) len;
+  }
+
+  double textLoop(int len) throws UnsupportedEncodingException {
+    long start = System.nanoTime();
+    for (int i = 0; i < len; i++) {
+      StringBuilder sb = new StringBuilder(128);
+      sb.append(System.currentTimeMillis()).append(" [main] INFO ").append(
+          LOGGER).append(" ").append(mdc).append(" - ");
+      sb.append(MessageFormatter.format(FORMAT, "GET /index.html",
+          new Integer(i)));
+      sb.append('\n');
+      sink += sb.toString().getBytes("UTF-8").length;
+    }
+    return (System.nanoTime() - start) / (double) len;
+  }
+
+  double gsonLoop(Gson gson, int len) throws UnsupportedEncodingException {
+    long start = System.nanoTime();
+    for (int i = 0; i < len; i++) {
+      Object[] args = new Object[] { "GET /index.html", new Integer(i) };
+      Map event = new LinkedHashMap();
+      event.put("timestamp", new Long(System.currentTimeMillis()));
+      event.put("level", "INFO");
+      event.put("logger", LOGGER);
+      event.put("thread", "main");
+      event.put("mdc", mdc);
+      event.put("message", MessageFormatter.arrayFormat(FORMAT, args));
+      event.put("format", FORMAT);
+      event.put("parameters", args);
+      sink += (gson.toJson(event) + "\n").getBytes("UTF-8").length;
+    }
+    return (System.nanoTime() - start) / (double) len;
+  }
+}
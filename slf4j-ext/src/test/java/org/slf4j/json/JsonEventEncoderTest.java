@@ -0,0 +1,176 @@
+package org.slf4j.json;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.slf4j.Marker;
+import org.slf4j.helpers.BasicMarkerFactory;
+import org.slf4j.helpers.MessageFormatter;
+import org.slf4j.message.ParameterizedMessage;
+import org.slf4j.message.SimpleMessage;
+import org.slf4j.message.StructuredDataMessage;
+import org.slf4j.spi.LocationAwareLogger;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+public class JsonEventEncoderTest extends TestCase {
+
+  static final int INFO = LocationAwareLogger.INFO_INT;
+
+  JsonEventEncoder encoder = new JsonEventEncoder();
+
+  public JsonEventEncoderTest(String name) {
+    super(name);
+  }
+
+  static String text(ByteBuffer buffer) throws Exception {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return new String(bytes, "UTF-8");
+  }
+
+  static JsonObject parse(ByteBuffer buffer) throws Exception {
+    String text = text(buffer);
+    assertTrue(text.endsWith("\n"));
+    assertEquals(text.indexOf('\n'), text.length() - 1);
+    return new JsonParser().parse(text).getAsJsonObject();
+  }
+
+  public void testFields() throws Exception {
+    Marker marker = new BasicMarkerFactory().getMarker("AUDIT");
+    marker.add(new BasicMarkerFactory().getMarker("SECURITY"));
+    Map mdc = new HashMap();
+    mdc.put("user", "alice");
+    JsonObject json = parse(encoder.encode(1268579366535L, INFO, "a.b.C",
+        "main", marker, mdc, "Hello {}", new Object[] { "world" }, null));
+
+    assertEquals(1268579366535L, json.get("timestamp").getAsLong());
+    assertEquals("INFO", json.get("level").getAsString());
+    assertEquals("a.b.C", json.get("logger").getAsString());
+    assertEquals("main", json.get("thread").getAsString());
+    JsonObject m = json.get("marker").getAsJsonObject();
+    assertEquals("AUDIT", m.get("name").getAsString());
+    assertEquals("SECURITY", m.get("references").getAsJsonArray().get(0)
+        .getAsJsonObject().get("name").getAsString());
+    assertEquals("alice", json.get("mdc").getAsJsonObject().get("user")
+        .getAsString());
+    assertEquals("Hello world", json.get("message").getAsString());
+    assertEquals("Hello {}", json.get("format").getAsString());
+    assertEquals("world", json.get("parameters").getAsJsonArray().get(0)
+        .getAsString());
+    assertNull(json.get("throwable"));
+  }
+
+  public void testAbsentFieldsAreOmitted() throws Exception {
+    String text = text(encoder.encode(0, LocationAwareLogger.WARN_INT, null,
+        null, null, null, "plain", null, null));
+    assertEquals("{\"timestamp\":0,\"level\":\"WARN\",\"message\":\"plain\"}\n",
+        text);
+  }
+
+  public void testMessageMatchesMessageFormatter() throws Exception {
+    String[] formats = { "{} {} {}", "\\{} {}", "\\\\{} {}", "a\\b {}",
+        "{}{}", "trailing \\", "missing {} {}", "none" };
+    Object[] args = { new Integer(-12), new int[] { 1, 2 }, "q\"uote" };
+    for (int i = 0; i < formats.length; i++) {
+      JsonObject json = parse(encoder.encode(0, INFO, "x", "t", null, null,
+          formats[i], args, null));
+      assertEquals(formats[i], MessageFormatter.arrayFormat(formats[i], args),
+          json.get("message").getAsString());
+    }
+  }
+
+  public void testParameterTypes() throws Exception {
+    Object[] args = { null, Boolean.TRUE, new Long(Long.MIN_VALUE),
+        new Double(1.5), new Double(Double.NaN), new Character('c'),
+        new Object[] { "x", new Integer(1) }, new int[] { 3 }, new StringBuffer("sb") };
+    JsonArray p = parse(encoder.encode(0, INFO, "x", "t", null, null,
+        "{}", args, null)).get("parameters").getAsJsonArray();
+    assertTrue(p.get(0).isJsonNull());
+    assertTrue(p.get(1).getAsBoolean());
+    assertEquals(Long.MIN_VALUE, p.get(2).getAsLong());
+    assertEquals(1.5, p.get(3).getAsDouble(), 0);
+    assertEquals("NaN", p.get(4).getAsString());
+    assertEquals("c", p.get(5).getAsString());
+    assertEquals("x", p.get(6).getAsJsonArray().get(0).getAsString());
+    assertEquals(1, p.get(6).getAsJsonArray().get(1).getAsInt());
+    assertEquals("[3]", p.get(7).getAsString());
+    assertEquals("sb", p.get(8).getAsString());
+  }
+
+  public void testEscaping() throws Exception {
+    String s = "q\" b\\ n\n t\t c\u0001 e\u00e9 k\u20ac s\uD83D\uDE00 u\uD800 l\u2028";
+    String text = text(encoder.encode(0, INFO, "x", "t", null, null, s, null,
+        null));
+    assertTrue(text, text.indexOf("q\\\" b\\\\ n\\n t\\t c\\u0001 e\u00e9 k\u20ac "
+        + "s\uD83D\uDE00 u\\ud800 l\\u2028") > 0);
+    JsonObject json = new JsonParser().parse(text).getAsJsonObject();
+    assertEquals(s, json.get("message").getAsString());
+  }
+
+  public void testThrowable() throws Exception {
+    Exception e = new IllegalStateException("outer", new RuntimeException());
+    JsonObject t = parse(encoder.encode(0, LocationAwareLogger.ERROR_INT, "x",
+        "t", null, null, "failed", null, e)).get("throwable").getAsJsonObject();
+    assertEquals("java.lang.IllegalStateException", t.get("class").getAsString());
+    assertEquals("outer", t.get("message").getAsString());
+    JsonArray frames = t.get("frames").getAsJsonArray();
+    assertEquals(e.getStackTrace().length, frames.size());
+    assertEquals(e.getStackTrace()[0].toString(), frames.get(0).getAsString());
+    JsonObject cause = t.get("cause").getAsJsonObject();
+    assertEquals("java.lang.RuntimeException", cause.get("class").getAsString());
+    assertNull(cause.get("message"));
+  }
+
+  public void testMessages() throws Exception {
+    StructuredDataMessage sdm = new StructuredDataMessage("Transfer@18060",
+        "Transfer Complete", "Audit");
+    sdm.put("ToAccount", "123");
+    JsonObject json = parse(encoder.encode(0, INFO, "x", "t", null, null, sdm,
+        null));
+    assertEquals("Transfer Complete", json.get("message").getAsString());
+    JsonObject sd = json.get("structuredData").getAsJsonObject();
+    assertEquals("Transfer@18060", sd.get("id").getAsString());
+    assertEquals("Audit", sd.get("type").getAsString());
+    assertEquals("123", sd.get("data").getAsJsonObject().get("ToAccount")
+        .getAsString());
+
+    json = parse(encoder.encode(0, INFO, "x", "t", null, null,
+        new ParameterizedMessage("a {} b {}", "1", "2"), null));
+    assertEquals("a 1 b 2", json.get("message").getAsString());
+
+    json = parse(encoder.encode(0, INFO, "x", "t", null, null,
+        new SimpleMessage("simple {}"), null));
+    assertEquals("simple {}", json.get("message").getAsString());
+  }
+
+  public void testBufferGrowsAndTruncates() throws Exception {
+    JsonEventEncoder small = new JsonEventEncoder(256, 4096);
+    StringBuffer sb = new StringBuffer();
+    for (int i = 0; i < 300; i++) {
+      sb.append('x');
+    }
+    JsonObject json = parse(small.encode(0, INFO, "x", "t", null, null,
+        sb.toString(), null, null));
+    assertEquals(sb.toString(), json.get("message").getAsString());
+
+    for (int i = 0; i < 5000; i++) {
+      sb.append('y');
+    }
+    json = parse(small.encode(0, INFO, "x", "t", null, null, "{}",
+        new Object[] { sb.toString() }, null));
+    assertTrue(json.get("truncated").getAsBoolean());
+    assertEquals("{}", json.get("message").getAsString());
+    assertNull(json.get("parameters"));
+
+    // the encoder is still usable afterwards
+    json = parse(small.encode(0, INFO, "x", "t", null, null, "ok", null, null));
+    assertEquals("ok", json.get("message").getAsString());
+    assertNull(json.get("truncated"));
+  }
+}
@@ -0,0 +1,81 @@
+package org.slf4j.profiler;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+
+import junit.framework.TestCase;
+
+/**
+ * Compares the cost of profiling a request with a new profiler tree per
+ * request and with a profiler tree reset between requests, in nanoseconds
+ * and, on JVMs which can tell, in bytes allocated per request.
+ */
+public class ProfilerPerfTest extends TestCase {
+
+  static final int LEN = 1000 * 1000;
+
+  public ProfilerPerfTest(String name) {
+    super(name);
+  }
+
+  public void testProfiledRequest() {
+    loop(false, LEN); // warm up
+    loop(true, LEN);
+
+    long before = allocatedBytes();
+    double fresh = loop(false, LEN);
+    long middle = allocatedBytes();
+    double reset = loop(true, LEN);
+    long after = allocatedBytes();
+    System.out.println("profiledRequest freshNanos=" + fresh + " resetNanos="
+        + reset + " freshBytes=" + perRequest(middle - before, before)
+        + " resetBytes=" + perRequest(after - middle, before));
+  }
+
+  /**
+   * @return nanoseconds per request
+   */
+  double loop(boolean reuse, int len) {
+    Profiler profiler = new Profiler("request");
+    long start = System.nanoTime();
+    for (int i = 0; i < len; i++) {
+      if (reuse) {
+        profiler.reset();
+      } else {
+        profiler = new Profiler("request");
+      }
+      profiler.start("parse");
+      profiler.start("lookup");
+      Profiler nested = profiler.startNested("render");
+      nested.start("header");
+      nested.start("body");
+      profiler.start("flush");
+      profiler.stop();
+    }
+    long end = System.nanoTime();
+    assertEquals(4, profiler.childTimeInstrumentList.size());
+    return (end - start) / (double) len;
+  }
+
+  static String perRequest(long bytes, long before) {
+    if (before < 0) {
+      return "n/a";
+    }
+    return Double.toString(bytes / (double) LEN);
+  }
+
+  /**
+   * Return the number of bytes allocated so far by the current thread, or -1
+   * if the JVM cannot tell.
+   */
+  static long allocatedBytes() {
+    try {
+      Object bean = ManagementFactory.getThreadMXBean();
+      Method m = Class.forName("com.sun.management.ThreadMXBean").getMethod(
+          "getThreadAllocatedBytes", long.class);
+      return (Long) m.invoke(bean, Thread.currentThread().getId());
+    } catch (Exception e) {
+      return -1;
+    }
+  }
+}
@@ -24,10 +24,14 @@
 
 package org.slf4j.profiler;
 
+import java.util.List;
+
 import junit.framework.TestCase;
 
+import org.apache.log4j.spi.LoggingEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.dummyExt.ListAppender;
 
 public class ProfilerTest  extends TestCase {
 
@@ -107,6 +111,86 @@ public class ProfilerTest  extends TestCase {
     
   }
 
+  public void testResetReusesInstruments() {
+    Profiler profiler = new Profiler("REUSE");
+    profiler.start("doX");
+    Profiler nested = profiler.startNested("subtask");
+    doSubtask(nested);
+    profiler.stop();
+    List<TimeInstrument> first = profiler.getCopyOfChildTimeInstruments();
+    List<TimeInstrument> firstNested = nested.getCopyOfChildTimeInstruments();
+
+    profiler.reset();
+    assertEquals(TimeInstrumentStatus.STARTED, profiler.getStatus());
+    assertEquals(0, profiler.childTimeInstrumentList.size());
+    profiler.start("doX");
+    assertSame(nested, profiler.startNested("subtask"));
+    doSubtask(nested);
+    profiler.stop();
+
+    // verify
+    profiler.sanityCheck();
+    List<TimeInstrument> second = profiler.getCopyOfChildTimeInstruments();
+    assertEquals(2, second.size());
+    assertSame(first.get(0), second.get(0));
+    assertSame(first.get(1), second.get(1));
+    List<TimeInstrument> secondNested = nested.getCopyOfChildTimeInstruments();
+    assertEquals(2, secondNested.size());
+    assertSame(firstNested.get(0), secondNested.get(0));
+    assertSame(firstNested.get(1), secondNested.get(1));
+  }
+
+  public void testResetWithDifferentShape() {
+    Profiler profiler = new Profiler("SHAPE");
+    profiler.start("doX");
+    profiler.start("doY");
+    profiler.stop();
+    List<TimeInstrument> first = profiler.getCopyOfChildTimeInstruments();
+
+    profiler.reset();
+    profiler.start("doX");
+    Profiler nested = profiler.startNested("doY");
+    nested.start("n1");
+    profiler.start("doZ");
+    profiler.stop();
+
+    // verify
+    profiler.sanityCheck();
+    List<TimeInstrument> second = profiler.getCopyOfChildTimeInstruments();
+    assertEquals(3, second.size());
+    assertSame(first.get(0), second.get(0));
+    assertSame(nested, second.get(1));
+    assertEquals("doZ", second.get(2).getName());
+  }
+
+  public void testLogWithThreshold() {
+    ListAppender listAppender = new ListAppender();
+    org.apache.log4j.Logger log4jLogger = org.apache.log4j.Logger
+        .getLogger(ProfilerTest.class);
+    log4jLogger.addAppender(listAppender);
+    log4jLogger.setLevel(org.apache.log4j.Level.INFO);
+    try {
+      Profiler profiler = new Profiler("THRESHOLD");
+      profiler.setLogger(logger);
+      profiler.start("doX");
+      doX(2);
+      profiler.stop();
+
+      // below the threshold, logged at DEBUG which is disabled
+      profiler.log(Long.MAX_VALUE);
+      assertEquals(0, listAppender.list.size());
+
+      profiler.log(1000000L);
+      assertEquals(1, listAppender.list.size());
+      LoggingEvent event = (LoggingEvent) listAppender.list.get(0);
+      assertEquals(org.apache.log4j.Level.WARN, event.getLevel());
+      assertTrue(event.getRenderedMessage().indexOf("[doX]") != -1);
+    } finally {
+      log4jLogger.removeAppender(listAppender);
+      log4jLogger.setLevel(null);
+    }
+  }
+
   private void doX(int millis) {
     delay(millis);
   }
@@ -0,0 +1,13 @@
+package org.slf4j.syslog;
+
+import junit.framework.*;
+
+public class PackageTest extends TestCase {
+
+  public static Test suite() {
+    TestSuite suite = new TestSuite();
+    suite.addTestSuite(SyslogEncoderTest.class);
+    suite.addTestSuite(SyslogSenderTest.class);
+    return suite;
+  }
+}
@@ -0,0 +1,102 @@
+package org.slf4j.syslog;
+
+import java.nio.ByteBuffer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+import junit.framework.TestCase;
+
+import org.slf4j.message.ParameterizedMessage;
+import org.slf4j.message.StructuredDataMessage;
+import org.slf4j.spi.LocationAwareLogger;
+
+public class SyslogEncoderTest extends TestCase {
+
+  static final long TIMESTAMP = 1268579366535L;
+  static final String TIMESTAMP_TEXT = "2010-03-14T15:09:26.535Z";
+
+  SyslogEncoder encoder = new SyslogEncoder(SyslogSender.FACILITY_USER,
+      "host", "app", "42");
+  ByteBuffer buffer = ByteBuffer.allocate(SyslogEncoder.MIN_MESSAGE_SIZE
+      + SyslogEncoder.LENGTH_PREFIX_SIZE);
+
+  public SyslogEncoderTest(String name) {
+    super(name);
+  }
+
+  String encode(int level, org.slf4j.message.Message message,
+      boolean octetCounting) throws Exception {
+    encoder.encode(buffer, TIMESTAMP, level, message, octetCounting);
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return new String(bytes, "UTF-8");
+  }
+
+  public void testStructuredData() throws Exception {
+    StructuredDataMessage msg = new StructuredDataMessage("Transfer@18060",
+        "Transfer Complete", "Audit");
+    msg.put("ToAccount", "123");
+    assertEquals("<14>1 " + TIMESTAMP_TEXT
+        + " host app 42 Audit [Transfer@18060 ToAccount=\"123\"] Transfer Complete",
+        encode(LocationAwareLogger.INFO_INT, msg, false));
+  }
+
+  public void testOctetCounting() throws Exception {
+    String text = encode(LocationAwareLogger.ERROR_INT, new ParameterizedMessage(
+        "a {}", new Object[] { "b" }), true);
+    String expected = "<11>1 " + TIMESTAMP_TEXT + " host app 42 - - a b";
+    assertEquals(expected.length() + " " + expected, text);
+  }
+
+  public void testSeverities() {
+    assertEquals(7, SyslogEncoder.severity(LocationAwareLogger.TRACE_INT));
+    assertEquals(7, SyslogEncoder.severity(LocationAwareLogger.DEBUG_INT));
+    assertEquals(6, SyslogEncoder.severity(LocationAwareLogger.INFO_INT));
+    assertEquals(4, SyslogEncoder.severity(LocationAwareLogger.WARN_INT));
+    assertEquals(3, SyslogEncoder.severity(LocationAwareLogger.ERROR_INT));
+  }
+
+  public void testEscaping() throws Exception {
+    StructuredDataMessage msg = new StructuredDataMessage("id", null, "T Y=P");
+    msg.put("k", "a\"b\\c]d");
+    String text = encode(LocationAwareLogger.WARN_INT, msg, false);
+    assertTrue(text, text.endsWith(" host app 42 T_Y_P [id k=\"a\\\"b\\\\c\\]d\"]"));
+  }
+
+  public void testUtf8MessageHasBom() throws Exception {
+    String text = encode(LocationAwareLogger.INFO_INT, new ParameterizedMessage(
+        "caf\u00e9 \uD83D\uDE00", null), false);
+    assertTrue(text, text.endsWith(" - - \uFEFFcaf\u00e9 \uD83D\uDE00"));
+  }
+
+  public void testTruncation() throws Exception {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 2000; i++) {
+      sb.append('\u00e9');
+    }
+    StructuredDataMessage msg = new StructuredDataMessage("id", sb.toString(), "T");
+    msg.put("k", "v");
+    String text = encode(LocationAwareLogger.INFO_INT, msg, true);
+    int space = text.indexOf(' ');
+    int length = Integer.parseInt(text.substring(0, space));
+    assertEquals(length, text.substring(space + 1).getBytes("UTF-8").length);
+    // filled up to the last whole character
+    assertTrue(length > SyslogEncoder.MIN_MESSAGE_SIZE - 4);
+    assertTrue(text.indexOf("[id k=\"v\"] \uFEFF\u00e9\u00e9") > 0);
+    assertTrue(text.endsWith("\u00e9"));
+  }
+
+  public void testTimestamps() {
+    SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+    format.setTimeZone(TimeZone.getTimeZone("UTC"));
+    long[] samples = { 0, 1, -1, 951782400000L, 951868799999L, 4107542400000L,
+        TIMESTAMP, -86400001L, 253402300799999L };
+    for (int i = 0; i < samples.length; i++) {
+      ByteBuffer b = ByteBuffer.allocate(64);
+      SyslogEncoder.putTimestamp(b, samples[i]);
+      assertEquals(format.format(new Date(samples[i])), new String(b.array(), 0, b
+          .position()));
+    }
+  }
+}
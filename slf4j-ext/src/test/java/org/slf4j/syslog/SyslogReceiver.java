@@ -0,0 +1,219 @@
+package org.slf4j.syslog;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An in-process syslog server for tests: it accepts RFC 6587 octet counted
+ * messages over TCP, one connection after the other, or datagrams over UDP,
+ * and queues the messages it receives.
+ */
+public class SyslogReceiver {
+
+  private final SyslogSender.Protocol protocol;
+  private final boolean keepMessages;
+  private final BlockingQueue<String> messages = new LinkedBlockingQueue<String>();
+  private final AtomicLong receivedCount = new AtomicLong();
+  private final AtomicLong connectionCount = new AtomicLong();
+
+  private ServerSocketChannel server;
+  private DatagramChannel datagram;
+  private volatile SocketChannel client;
+  private volatile boolean running;
+  private Thread thread;
+
+  /**
+   * @param keepMessages
+   *          false to only count the messages, for benchmarks
+   */
+  public SyslogReceiver(SyslogSender.Protocol protocol, boolean keepMessages) {
+    this.protocol = protocol;
+    this.keepMessages = keepMessages;
+  }
+
+  /**
+   * Start listening on <code>port</code> of the loopback interface, 0 for any
+   * free port.
+   */
+  public void start(int port) throws IOException {
+    InetSocketAddress address = new InetSocketAddress("127.0.0.1", port);
+    if (protocol == SyslogSender.Protocol.TCP) {
+      server = ServerSocketChannel.open();
+      server.socket().setReuseAddress(true);
+      server.socket().bind(address);
+    } else {
+      datagram = DatagramChannel.open();
+      datagram.socket().setReuseAddress(true);
+      datagram.socket().bind(address);
+    }
+    running = true;
+    thread = new Thread(new Runnable() {
+      public void run() {
+        try {
+          if (server != null) {
+            acceptLoop();
+          } else {
+            datagramLoop();
+          }
+        } catch (IOException e) {
+          if (running) {
+            e.printStackTrace();
+          }
+        }
+      }
+    }, "SyslogReceiver");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  public int getPort() {
+    return (server != null) ? server.socket().getLocalPort() : datagram
+        .socket().getLocalPort();
+  }
+
+  public void stop() throws IOException, InterruptedException {
+    running = false;
+    if (server != null) {
+      server.close();
+    } else {
+      datagram.close();
+    }
+    SocketChannel c = client;
+    if (c != null) {
+      c.close();
+    }
+    thread.join(10000);
+  }
+
+  /**
+   * Close the current TCP connection, as a server restart would, and wait
+   * until the receiving thread is done with it, so that nothing more is read
+   * from that connection once this method returns.
+   */
+  public void dropConnection() throws IOException, InterruptedException {
+    SocketChannel c = client;
+    if (c == null) {
+      return;
+    }
+    c.close();
+    long deadline = System.currentTimeMillis() + 10000;
+    synchronized (this) {
+      while (client == c) {
+        long left = deadline - System.currentTimeMillis();
+        if (left <= 0) {
+          throw new IOException("Connection not released");
+        }
+        wait(left);
+      }
+    }
+  }
+
+  public String poll(long timeoutMillis) throws InterruptedException {
+    return messages.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+  }
+
+  public long getReceivedCount() {
+    return receivedCount.get();
+  }
+
+  public long getConnectionCount() {
+    return connectionCount.get();
+  }
+
+  /**
+   * Wait until <code>count</code> messages were received, return false on
+   * timeout.
+   */
+  public boolean awaitCount(long count, long timeoutMillis)
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + timeoutMillis;
+    while (receivedCount.get() < count) {
+      if (System.currentTimeMillis() > deadline) {
+        return false;
+      }
+      Thread.sleep(5);
+    }
+    return true;
+  }
+
+  private void acceptLoop() throws IOException {
+    while (running) {
+      SocketChannel c = server.accept();
+      client = c;
+      connectionCount.incrementAndGet();
+      try {
+        readFrames(c);
+      } catch (ClosedChannelException e) {
+        // dropConnection() or stop()
+      } catch (IOException e) {
+        // the sender went away
+      } finally {
+        c.close();
+        synchronized (this) {
+          client = null;
+          notifyAll();
+        }
+      }
+    }
+  }
+
+  private void readFrames(SocketChannel c) throws IOException {
+    ByteBuffer in = ByteBuffer.allocate(64 * 1024);
+    while (c.read(in) >= 0) {
+      in.flip();
+      while (true) {
+        // LEN SP SYSLOG-MSG
+        int mark = in.position();
+        int length = 0;
+        boolean complete = false;
+        while (in.hasRemaining()) {
+          byte b = in.get();
+          if (b == ' ') {
+            complete = true;
+            break;
+          }
+          if (b < '0' || b > '9') {
+            throw new IOException("Bad frame length");
+          }
+          length = length * 10 + (b - '0');
+        }
+        if (!complete || in.remaining() < length) {
+          in.position(mark);
+          break;
+        }
+        received(in, length);
+      }
+      in.compact();
+    }
+  }
+
+  private void datagramLoop() throws IOException {
+    ByteBuffer in = ByteBuffer.allocate(64 * 1024);
+    while (running) {
+      in.clear();
+      datagram.receive(in);
+      in.flip();
+      received(in, in.remaining());
+    }
+  }
+
+  private void received(ByteBuffer in, int length) throws IOException {
+    if (keepMessages) {
+      byte[] bytes = new byte[length];
+      in.get(bytes);
+      messages.add(new String(bytes, "UTF-8"));
+    } else {
+      in.position(in.position() + length);
+    }
+    receivedCount.incrementAndGet();
+  }
+}
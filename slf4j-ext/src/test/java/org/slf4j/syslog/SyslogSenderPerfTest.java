@@ -0,0 +1,62 @@
+package org.slf4j.syslog;
+
+import junit.framework.TestCase;
+
+import org.slf4j.message.StructuredDataMessage;
+import org.slf4j.spi.LocationAwareLogger;
+
+/**
+ * Measures how many events per second reach an in-process receiver over TCP,
+ * with and without batching.
+ */
+public class SyslogSenderPerfTest extends TestCase {
+
+  static final int WARMUP = 100000;
+  static final int RUNS = 1000000;
+
+  public SyslogSenderPerfTest(String name) {
+    super(name);
+  }
+
+  public void testThroughput() throws Exception {
+    StructuredDataMessage msg = new StructuredDataMessage("Transfer@18060",
+        "Transfer Complete", "Audit");
+    msg.put("ToAccount", "123456");
+    msg.put("FromAccount", "654321");
+    msg.put("Amount", "100.00");
+
+    run("TCP, batch of 1:  ", SyslogSender.Protocol.TCP, 1, msg);
+    run("TCP, batch of 64: ", SyslogSender.Protocol.TCP, 64, msg);
+  }
+
+  void run(String label, SyslogSender.Protocol protocol, int batchSize,
+      StructuredDataMessage msg) throws Exception {
+    SyslogReceiver receiver = new SyslogReceiver(protocol, false);
+    receiver.start(0);
+    SyslogSender sender = new SyslogSender(protocol, "127.0.0.1", receiver
+        .getPort());
+    sender.setBatchSize(batchSize);
+    sender.start();
+    try {
+      loop(sender, msg, WARMUP);
+      receiver.awaitCount(WARMUP, 60000);
+      long start = System.nanoTime();
+      loop(sender, msg, RUNS);
+      assertTrue(receiver.awaitCount(WARMUP + RUNS, 60000));
+      double seconds = (System.nanoTime() - start) / 1e9;
+      System.out.println(label + (long) (RUNS / seconds) + " events/s");
+    } finally {
+      sender.stop(10000);
+      receiver.stop();
+    }
+  }
+
+  // a full backlog is waited out rather than counted as a drop
+  void loop(SyslogSender sender, StructuredDataMessage msg, int len) {
+    for (int i = 0; i < len; i++) {
+      while (!sender.send(LocationAwareLogger.INFO_INT, msg)) {
+        Thread.yield();
+      }
+    }
+  }
+}
@@ -0,0 +1,167 @@
+package org.slf4j.syslog;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+
+import junit.framework.TestCase;
+
+import org.slf4j.message.StructuredDataMessage;
+import org.slf4j.spi.LocationAwareLogger;
+
+public class SyslogSenderTest extends TestCase {
+
+  SyslogReceiver receiver;
+  SyslogSender sender;
+
+  public SyslogSenderTest(String name) {
+    super(name);
+  }
+
+  public void tearDown() throws Exception {
+    if (sender != null) {
+      sender.stop(1000);
+    }
+    if (receiver != null) {
+      receiver.stop();
+    }
+    super.tearDown();
+  }
+
+  static StructuredDataMessage event(int i) {
+    StructuredDataMessage msg = new StructuredDataMessage("Transfer@18060",
+        "Transfer " + i, "Audit");
+    msg.put("index", Integer.toString(i));
+    return msg;
+  }
+
+  static int freePort() throws IOException {
+    ServerSocket socket = new ServerSocket(0);
+    try {
+      return socket.getLocalPort();
+    } finally {
+      socket.close();
+    }
+  }
+
+  SyslogSender newSender(SyslogSender.Protocol protocol, int port) {
+    SyslogSender s = new SyslogSender(protocol, "127.0.0.1", port);
+    s.setHostName("host");
+    s.setAppName("test");
+    s.setProcId("1");
+    s.setBackoff(10, 50);
+    return s;
+  }
+
+  void assertReceived(int from, int to) throws InterruptedException {
+    for (int i = from; i < to; i++) {
+      String msg = receiver.poll(5000);
+      assertNotNull("event " + i + " not received", msg);
+      assertTrue(msg, msg.startsWith("<14>1 "));
+      assertTrue(msg, msg.endsWith(" host test 1 Audit [Transfer@18060 index=\""
+          + i + "\"] Transfer " + i));
+    }
+  }
+
+  void deliver(SyslogSender.Protocol protocol) throws Exception {
+    receiver = new SyslogReceiver(protocol, true);
+    receiver.start(0);
+    sender = newSender(protocol, receiver.getPort());
+    sender.start();
+    for (int i = 0; i < 100; i++) {
+      assertTrue(sender.send(LocationAwareLogger.INFO_INT, event(i)));
+    }
+    assertReceived(0, 100);
+    // the counters are updated after the write
+    assertTrue(sender.stop(1000));
+    assertEquals(100, sender.getSentCount());
+    assertEquals(0, sender.getDroppedCount());
+  }
+
+  public void testTcpDelivery() throws Exception {
+    deliver(SyslogSender.Protocol.TCP);
+  }
+
+  public void testUdpDelivery() throws Exception {
+    deliver(SyslogSender.Protocol.UDP);
+  }
+
+  public void testServerStartsLate() throws Exception {
+    int port = freePort();
+    sender = newSender(SyslogSender.Protocol.TCP, port);
+    sender.start();
+    for (int i = 0; i < 5; i++) {
+      sender.send(LocationAwareLogger.INFO_INT, event(i));
+    }
+    Thread.sleep(100);
+    assertEquals(0, sender.getSentCount());
+    receiver = new SyslogReceiver(SyslogSender.Protocol.TCP, true);
+    receiver.start(port);
+    assertReceived(0, 5);
+  }
+
+  public void testReconnect() throws Exception {
+    receiver = new SyslogReceiver(SyslogSender.Protocol.TCP, true);
+    receiver.start(0);
+    sender = newSender(SyslogSender.Protocol.TCP, receiver.getPort());
+    sender.start();
+    sender.send(LocationAwareLogger.INFO_INT, event(0));
+    assertReceived(0, 1);
+    receiver.dropConnection();
+
+    // events written before the sender notices the broken connection are
+    // lost, as with any syslog over plain TCP
+    long deadline = System.currentTimeMillis() + 10000;
+    String msg = null;
+    while (msg == null && System.currentTimeMillis() < deadline) {
+      sender.send(LocationAwareLogger.INFO_INT, event(1));
+      msg = receiver.poll(20);
+    }
+    assertNotNull(msg);
+    assertEquals(2, receiver.getConnectionCount());
+  }
+
+  public void testBacklogIsBounded() throws Exception {
+    sender = newSender(SyslogSender.Protocol.TCP, freePort());
+    sender.setBacklog(10);
+    sender.setBatchSize(1);
+    sender.setBackoff(60000, 60000);
+    sender.start();
+    int accepted = 0;
+    for (int i = 0; i < 100; i++) {
+      if (sender.send(LocationAwareLogger.INFO_INT, event(i))) {
+        accepted++;
+      }
+    }
+    // the queue and the message held by the I/O thread
+    assertTrue("accepted " + accepted, accepted <= 11);
+    assertEquals(100 - accepted, sender.getDroppedCount());
+    assertFalse(sender.stop(1000));
+    assertEquals(100, sender.getDroppedCount());
+    assertFalse(sender.send(LocationAwareLogger.INFO_INT, event(0)));
+    sender = null;
+  }
+
+  public void testStopSendsQueuedEvents() throws Exception {
+    receiver = new SyslogReceiver(SyslogSender.Protocol.TCP, false);
+    receiver.start(0);
+    sender = newSender(SyslogSender.Protocol.TCP, receiver.getPort());
+    sender.start();
+    for (int i = 0; i < 1000; i++) {
+      sender.send(LocationAwareLogger.INFO_INT, event(i));
+    }
+    assertTrue(sender.stop(5000));
+    assertEquals(1000, sender.getSentCount());
+    assertTrue(receiver.awaitCount(1000, 5000));
+    sender = null;
+  }
+
+  public void testConfigurationIsFrozenOnStart() throws Exception {
+    sender = newSender(SyslogSender.Protocol.UDP, freePort());
+    sender.start();
+    try {
+      sender.setAppName("other");
+      fail();
+    } catch (IllegalStateException e) {
+    }
+  }
+}
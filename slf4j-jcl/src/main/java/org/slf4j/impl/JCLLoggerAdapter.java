@@ -35,6 +35,12 @@ import org.slf4j.helpers.MessageFormatter;
  * org.apache.commons.logging.Log} in conformance with the {@link Logger}
  * interface.
  * 
+ * <p>Commons-logging has no way to pass on the caller of a log statement, so
+ * this adapter implements neither {@link org.slf4j.spi.LocationAwareLogger}
+ * nor {@link org.slf4j.spi.LevelAwareLogger}, which extends it. Bridges reach
+ * it through {@link org.slf4j.helpers.LevelAwareLoggerAdapter} and its switch
+ * on the level.</p>
+ * 
  * @author Ceki G&uuml;lc&uuml;
  */
 public final class JCLLoggerAdapter extends MarkerIgnoringBase {
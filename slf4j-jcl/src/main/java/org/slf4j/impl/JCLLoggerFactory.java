@@ -33,12 +33,10 @@
 
 package org.slf4j.impl;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import org.apache.commons.logging.LogFactory;
 import org.slf4j.ILoggerFactory;
 import org.slf4j.Logger;
+import org.slf4j.helpers.LoggerRegistry;
 
 /**
  * JCLLoggerFactory is an implementation of {@link ILoggerFactory} returning the
@@ -49,10 +47,10 @@ import org.slf4j.Logger;
 public class JCLLoggerFactory implements ILoggerFactory {
 
   // key: name (String), value: a JCLLoggerAdapter;
-  Map loggerMap;
+  LoggerRegistry loggerRegistry;
 
   public JCLLoggerFactory() {
-    loggerMap = new HashMap();
+    loggerRegistry = new LoggerRegistry();
   }
 
   /*
@@ -61,14 +59,16 @@ public class JCLLoggerFactory implements ILoggerFactory {
    * @see org.slf4j.ILoggerFactory#getLogger(java.lang.String)
    */
   public Logger getLogger(String name) {
-    Logger logger = null;
-    // protect against concurrent access of loggerMap
-    synchronized (this) {
-      logger = (Logger) loggerMap.get(name);
-      if (logger == null) {
-        org.apache.commons.logging.Log jclLogger = LogFactory.getLog(name);
-        logger = new JCLLoggerAdapter(jclLogger, name);
-        loggerMap.put(name, logger);
+    Logger logger = (Logger) loggerRegistry.get(name);
+    if (logger == null) {
+      // protect against concurrent creation of the same logger
+      synchronized (this) {
+        logger = (Logger) loggerRegistry.get(name);
+        if (logger == null) {
+          org.apache.commons.logging.Log jclLogger = LogFactory.getLog(name);
+          logger = new JCLLoggerAdapter(jclLogger, name);
+          loggerRegistry.put(name, logger);
+        }
       }
     }
     return logger;
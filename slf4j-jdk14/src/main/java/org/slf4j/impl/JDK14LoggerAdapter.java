@@ -38,10 +38,12 @@ import java.util.logging.LogRecord;
 
 import org.slf4j.Logger;
 import org.slf4j.Marker;
-import org.slf4j.message.Message;
-import org.slf4j.message.MessageLogger;
+import org.slf4j.helpers.EventCollapser;
 import org.slf4j.helpers.MarkerIgnoringBase;
 import org.slf4j.helpers.MessageFormatter;
+import org.slf4j.message.Message;
+import org.slf4j.message.MessageLogger;
+import org.slf4j.spi.LevelAwareLogger;
 import org.slf4j.spi.LocationAwareLogger;
 
 /**
@@ -50,21 +52,40 @@ import org.slf4j.spi.LocationAwareLogger;
  * mentioned in this class refer to those defined in the java.util.logging
  * package.
  *
+ * <p>Setting the <code>org.slf4j.jdk14.collapseWindow</code> system property
+ * to a number of milliseconds collapses repetitions of the same exception
+ * logged from the same place: within the window, only the first occurrence is
+ * handed to java.util.logging with its throwable, the following ones carry a
+ * "repeat #k of &lt;fingerprint&gt;" mark instead. The number of stack frames
+ * used to recognize repetitions is set by
+ * <code>org.slf4j.jdk14.collapseDepth</code>.
+ *
  * @author Ceki G&uuml;lc&uuml;
  * @author Peter Royal
  */
 public final class JDK14LoggerAdapter extends MarkerIgnoringBase implements
-    MessageLogger {
+    MessageLogger, LevelAwareLogger {
 
   private static final long serialVersionUID = -8053026990503422791L;
 
   final java.util.logging.Logger logger;
 
+  // not serialized, readResolve returns the logger of the factory
+  private final transient EventCollapser collapser;
+
   // WARN: JDK14LoggerAdapter constructor should have only package access so
   // that only JDK14LoggerFactory be able to create one.
   JDK14LoggerAdapter(java.util.logging.Logger logger) {
+    this(logger, COLLAPSER);
+  }
+
+  /**
+   * @param collapser the collapser of repeated exceptions, or null
+   */
+  JDK14LoggerAdapter(java.util.logging.Logger logger, EventCollapser collapser) {
     this.logger = logger;
     this.name = logger.getName();
+    this.collapser = collapser;
   }
 
   /**
@@ -95,7 +116,7 @@ public final class JDK14LoggerAdapter extends MarkerIgnoringBase implements
    */
   public void trace(Message msg, Throwable t) {
     if (logger.isLoggable(Level.FINEST)) {
-      log(SELF, Level.FINEST, msg.getFormattedMessage(), t);
+      log(SELF, Level.FINEST, msg, t);
     }
   }
 
@@ -120,7 +141,7 @@ public final class JDK14LoggerAdapter extends MarkerIgnoringBase implements
    */
   public void trace(Marker marker, Message msg, Throwable t) {
      if (logger.isLoggable(Level.FINEST)) {
-      log(SELF, Level.FINEST, msg.getFormattedMessage(), t);
+      log(SELF, Level.FINEST, msg, t);
     }
   }
 
@@ -243,7 +264,7 @@ public final class JDK14LoggerAdapter extends MarkerIgnoringBase implements
    */
   public void debug(Message msg, Throwable t) {
     if (logger.isLoggable(Level.FINE)) {
-      log(SELF, Level.FINE, msg.getFormattedMessage(), t);
+      log(SELF, Level.FINE, msg, t);
     }
   }
 
@@ -268,7 +289,7 @@ public final class JDK14LoggerAdapter extends MarkerIgnoringBase implements
    */
   public void debug(Marker marker, Message msg, Throwable t) {
      if (logger.isLoggable(Level.FINE)) {
-      log(SELF, Level.FINE, msg.getFormattedMessage(), t);
+      log(SELF, Level.FINE, msg, t);
     }
   }
   /**
@@ -389,7 +410,7 @@ public final class JDK14LoggerAdapter extends MarkerIgnoringBase implements
    */
   public void info(Message msg, Throwable t) {
     if (logger.isLoggable(Level.INFO)) {
-      log(SELF, Level.INFO, msg.getFormattedMessage(), t);
+      log(SELF, Level.INFO, msg, t);
     }
   }
 
@@ -414,7 +435,7 @@ public final class JDK14LoggerAdapter extends MarkerIgnoringBase implements
    */
   public void info(Marker marker, Message msg, Throwable t) {
      if (logger.isLoggable(Level.INFO)) {
-      log(SELF, Level.INFO, msg.getFormattedMessage(), t);
+      log(SELF, Level.INFO, msg, t);
     }
   }
   /**
@@ -537,7 +558,7 @@ public final class JDK14LoggerAdapter extends MarkerIgnoringBase implements
    */
   public void warn(Message msg, Throwable t) {
     if (logger.isLoggable(Level.WARNING)) {
-      log(SELF, Level.WARNING, msg.getFormattedMessage(), t);
+      log(SELF, Level.WARNING, msg, t);
     }
   }
 
@@ -562,7 +583,7 @@ public final class JDK14LoggerAdapter extends MarkerIgnoringBase implements
    */
   public void warn(Marker marker, Message msg, Throwable t) {
      if (logger.isLoggable(Level.WARNING)) {
-      log(SELF, Level.WARNING, msg.getFormattedMessage(), t);
+      log(SELF, Level.WARNING, msg, t);
     }
   }
   /**
@@ -685,7 +706,7 @@ public final class JDK14LoggerAdapter extends MarkerIgnoringBase implements
    */
   public void error(Message msg, Throwable t) {
     if (logger.isLoggable(Level.SEVERE)) {
-      log(SELF, Level.SEVERE, msg.getFormattedMessage(), t);
+      log(SELF, Level.SEVERE, msg, t);
     }
   }
 
@@ -710,7 +731,7 @@ public final class JDK14LoggerAdapter extends MarkerIgnoringBase implements
    */
   public void error(Marker marker, Message msg, Throwable t) {
      if (logger.isLoggable(Level.SEVERE)) {
-      log(SELF, Level.SEVERE, msg.getFormattedMessage(), t);      
+      log(SELF, Level.SEVERE, msg, t);      
     }
   }
   /**
@@ -817,6 +838,28 @@ public final class JDK14LoggerAdapter extends MarkerIgnoringBase implements
    * @param t
    */
   private void log(String callerFQCN, Level level, String msg, Throwable t) {
+    log(callerFQCN, level, msg, msg, t);
+  }
+
+  /**
+   * Log a message, collapsing repetitions of its throwable by the message
+   * pattern rather than by the formatted text.
+   */
+  private void log(String callerFQCN, Level level, Message msg, Throwable t) {
+    String text = msg.getFormattedMessage();
+    String pattern = msg.getMessageFormat();
+    log(callerFQCN, level, pattern == null ? text : pattern, text, t);
+  }
+
+  private void log(String callerFQCN, Level level, String pattern, String msg,
+      Throwable t) {
+    if (t != null && collapser != null) {
+      String repeat = collapser.collapse(getName(), level.intValue(), pattern, t);
+      if (repeat != null) {
+        msg = msg + " [" + repeat + "]";
+        t = null;
+      }
+    }
     // millis and thread are filled by the constructor
     LogRecord record = new LogRecord(level, msg);
     record.setLoggerName(getName());
@@ -829,6 +872,19 @@ public final class JDK14LoggerAdapter extends MarkerIgnoringBase implements
   static String SELF = JDK14LoggerAdapter.class.getName();
   static String SUPER = MarkerIgnoringBase.class.getName();
 
+  static final String COLLAPSE_WINDOW_KEY = "org.slf4j.jdk14.collapseWindow";
+  static final String COLLAPSE_DEPTH_KEY = "org.slf4j.jdk14.collapseDepth";
+  private static final EventCollapser COLLAPSER = EventCollapser.newInstance(
+      getSystemProperty(COLLAPSE_WINDOW_KEY), getSystemProperty(COLLAPSE_DEPTH_KEY));
+
+  private static String getSystemProperty(String key) {
+    try {
+      return System.getProperty(key);
+    } catch (SecurityException e) {
+      return null;
+    }
+  }
+
   /**
    * Fill in caller data if possible.
    *
@@ -888,7 +944,7 @@ public final class JDK14LoggerAdapter extends MarkerIgnoringBase implements
     // http://bugzilla.slf4j.org/show_bug.cgi?id=90
     if(logger.isLoggable(julLevel)) {
       String msgStr = MessageFormatter.arrayFormat(format, argArray);
-      log(callerFQCN, julLevel, msgStr, t);
+      log(callerFQCN, julLevel, format, msgStr, t);
     }
   }
 
@@ -900,29 +956,56 @@ public final class JDK14LoggerAdapter extends MarkerIgnoringBase implements
     // do not perform this check. See also
     // http://bugzilla.slf4j.org/show_bug.cgi?id=90
     if(logger.isLoggable(julLevel)) {
-      log(callerFQCN, julLevel, data.getFormattedMessage(), t);
+      log(callerFQCN, julLevel, data, t);
+    }
+  }
+
+  /**
+   * Log a batch of messages. The level is checked and the caller is looked up
+   * once for the whole batch, each message is then logged as a LogRecord of
+   * its own.
+   */
+  public void log(Marker marker, String callerFQCN, int level, Message[] batch, int off, int len) {
+    Level julLevel = getLevel(level);
+    if (len <= 0 || !logger.isLoggable(julLevel)) {
+      return;
+    }
+    LogRecord first = null;
+    for (int i = off; i < off + len; i++) {
+      LogRecord record = new LogRecord(julLevel, batch[i].getFormattedMessage());
+      record.setLoggerName(getName());
+      if (first == null) {
+        fillCallerData(callerFQCN, record);
+        first = record;
+      } else {
+        record.setSourceClassName(first.getSourceClassName());
+        record.setSourceMethodName(first.getSourceMethodName());
+      }
+      logger.log(record);
     }
   }
 
+  public boolean isEnabled(int level) {
+    return logger.isLoggable(getLevel(level));
+  }
+
+  public boolean isEnabled(Marker marker, int level) {
+    return logger.isLoggable(getLevel(level));
+  }
+
+  // java.util.logging levels indexed by LocationAwareLogger level
+  private static final Level[] LEVELS = new Level[LocationAwareLogger.ERROR_INT + 1];
+  static {
+    LEVELS[LocationAwareLogger.TRACE_INT] = Level.FINEST;
+    LEVELS[LocationAwareLogger.DEBUG_INT] = Level.FINE;
+    LEVELS[LocationAwareLogger.INFO_INT] = Level.INFO;
+    LEVELS[LocationAwareLogger.WARN_INT] = Level.WARNING;
+    LEVELS[LocationAwareLogger.ERROR_INT] = Level.SEVERE;
+  }
+
   private Level getLevel(int level) {
-    Level julLevel;
-    switch (level) {
-    case LocationAwareLogger.TRACE_INT:
-      julLevel = Level.FINEST;
-      break;
-    case LocationAwareLogger.DEBUG_INT:
-      julLevel = Level.FINE;
-      break;
-    case LocationAwareLogger.INFO_INT:
-      julLevel = Level.INFO;
-      break;
-    case LocationAwareLogger.WARN_INT:
-      julLevel = Level.WARNING;
-      break;
-    case LocationAwareLogger.ERROR_INT:
-      julLevel = Level.SEVERE;
-      break;
-    default:
+    Level julLevel = (level >= 0 && level < LEVELS.length) ? LEVELS[level] : null;
+    if (julLevel == null) {
       throw new IllegalStateException("Level number " + level + " is not recognized.");
     }
     return julLevel;
@@ -35,9 +35,7 @@ package org.slf4j.impl;
 
 import org.slf4j.Logger;
 import org.slf4j.ILoggerFactory;
-
-import java.util.HashMap;
-import java.util.Map;
+import org.slf4j.helpers.LoggerRegistry;
 
 /**
  * JDK14LoggerFactory is an implementation of {@link ILoggerFactory} returning
@@ -48,10 +46,10 @@ import java.util.Map;
 public class JDK14LoggerFactory implements ILoggerFactory {
 
   // key: name (String), value: a JDK14LoggerAdapter;
-  Map loggerMap;
+  LoggerRegistry loggerRegistry;
 
   public JDK14LoggerFactory() {
-    loggerMap = new HashMap();
+    loggerRegistry = new LoggerRegistry();
   }
 
   /*
@@ -59,20 +57,22 @@ public class JDK14LoggerFactory implements ILoggerFactory {
    * 
    * @see org.slf4j.ILoggerFactory#getLogger(java.lang.String)
    */
-  public synchronized Logger getLogger(String name) {
-    Logger ulogger = null;
-    // protect against concurrent access of loggerMap
-    synchronized (this) {
-      // the root logger is called "" in JUL
-      if(name.equalsIgnoreCase(Logger.ROOT_LOGGER_NAME)) {
-        name = "";
-      }
-      ulogger = (Logger) loggerMap.get(name);
-      if (ulogger == null) {
-        java.util.logging.Logger logger = java.util.logging.Logger
-            .getLogger(name);
-        ulogger = new JDK14LoggerAdapter(logger);
-        loggerMap.put(name, ulogger);
+  public Logger getLogger(String name) {
+    // the root logger is called "" in JUL
+    if(name.equalsIgnoreCase(Logger.ROOT_LOGGER_NAME)) {
+      name = "";
+    }
+    Logger ulogger = (Logger) loggerRegistry.get(name);
+    if (ulogger == null) {
+      // protect against concurrent creation of the same logger
+      synchronized (this) {
+        ulogger = (Logger) loggerRegistry.get(name);
+        if (ulogger == null) {
+          java.util.logging.Logger logger = java.util.logging.Logger
+              .getLogger(name);
+          ulogger = new JDK14LoggerAdapter(logger);
+          loggerRegistry.put(name, ulogger);
+        }
       }
     }
     return ulogger;
@@ -0,0 +1,108 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.impl;
+
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import junit.framework.TestCase;
+
+import org.slf4j.message.Message;
+import org.slf4j.message.SimpleMessage;
+import org.slf4j.spi.LocationAwareLogger;
+
+/**
+ * Compares, per message, logging batches of 1, 16 and 256 messages with
+ * one log(Marker, String, int, Message[], int, int) call and with one
+ * log(Marker, String, int, Message, Throwable) call per message. The
+ * handler discards the records, what is measured is the level check, the
+ * caller lookup and the LogRecord construction.
+ */
+public class BatchLoggingPerfTest extends TestCase {
+
+  static final int MESSAGES = 256 * 100;
+  static final String FQCN = BatchLoggingPerfTest.class.getName();
+
+  java.util.logging.Logger julLogger = java.util.logging.Logger
+      .getLogger(BatchLoggingPerfTest.class.getName());
+  JDK14LoggerAdapter adapter = new JDK14LoggerAdapter(julLogger);
+
+  public BatchLoggingPerfTest(String name) {
+    super(name);
+  }
+
+  public void setUp() throws Exception {
+    julLogger.setUseParentHandlers(false);
+    julLogger.setLevel(Level.INFO);
+    julLogger.addHandler(new Handler() {
+      public void publish(LogRecord record) {
+      }
+
+      public void flush() {
+      }
+
+      public void close() {
+      }
+    });
+  }
+
+  public void testBatchSizes() {
+    int[] sizes = new int[] { 1, 16, 256 };
+    for (int i = 0; i < sizes.length; i++) {
+      loop(sizes[i], true); // warm up
+      loop(sizes[i], false);
+    }
+    for (int i = 0; i < sizes.length; i++) {
+      double batched = loop(sizes[i], true);
+      double single = loop(sizes[i], false);
+      System.out.println("jdk14 batchSize=" + sizes[i] + " batchedNanos="
+          + batched + " singleNanos=" + single);
+    }
+  }
+
+  /**
+   * @return nanoseconds per message
+   */
+  double loop(int size, boolean batched) {
+    Message[] batch = new Message[size];
+    for (int i = 0; i < size; i++) {
+      batch[i] = new SimpleMessage("record " + i);
+    }
+    int rounds = MESSAGES / size;
+    long start = System.nanoTime();
+    for (int r = 0; r < rounds; r++) {
+      if (batched) {
+        adapter.log(null, FQCN, LocationAwareLogger.INFO_INT, batch, 0, size);
+      } else {
+        for (int i = 0; i < size; i++) {
+          adapter.log(null, FQCN, LocationAwareLogger.INFO_INT, batch[i], null);
+        }
+      }
+    }
+    long end = System.nanoTime();
+    return (end - start) / (double) (rounds * size);
+  }
+}
@@ -0,0 +1,156 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import junit.framework.TestCase;
+
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+import org.slf4j.helpers.BasicMarkerFactory;
+import org.slf4j.helpers.DuplicateFilter;
+import org.slf4j.helpers.FilterChain;
+import org.slf4j.helpers.MDCFilter;
+import org.slf4j.helpers.MarkerFilter;
+import org.slf4j.message.Message;
+import org.slf4j.message.MessageLoggerWrapper;
+import org.slf4j.message.SimpleMessage;
+import org.slf4j.spi.EventFilter;
+import org.slf4j.spi.LocationAwareLogger;
+
+public class FilteredWrapperTest extends TestCase {
+
+  static final String FQCN = MessageLoggerWrapper.class.getName();
+
+  java.util.logging.Logger julLogger = java.util.logging.Logger
+      .getLogger(FilteredWrapperTest.class.getName());
+  JDK14LoggerAdapter adapter = new JDK14LoggerAdapter(julLogger);
+  List records = new ArrayList();
+  Handler handler = new Handler() {
+    public void publish(LogRecord record) {
+      records.add(record.getMessage());
+    }
+
+    public void flush() {
+    }
+
+    public void close() {
+    }
+  };
+  Marker noisy = new BasicMarkerFactory().getMarker("NOISY");
+
+  // counts the times it is turned into a string
+  static class Arg {
+    int rendered;
+
+    public String toString() {
+      rendered++;
+      return "arg";
+    }
+  }
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    julLogger.setUseParentHandlers(false);
+    julLogger.setLevel(Level.INFO);
+    julLogger.addHandler(handler);
+  }
+
+  protected void tearDown() throws Exception {
+    julLogger.removeHandler(handler);
+    julLogger.setLevel(null);
+    julLogger.setUseParentHandlers(true);
+    MDC.clear();
+    super.tearDown();
+  }
+
+  public void testDeniedBeforeFormatting() {
+    MessageLoggerWrapper wrapper = new MessageLoggerWrapper(adapter, FQCN,
+        new MarkerFilter(noisy, EventFilter.DENY, EventFilter.NEUTRAL));
+    Arg arg = new Arg();
+    wrapper.info(noisy, "x={}", arg);
+    wrapper.warn(noisy, "x={} y={}", arg, arg);
+    wrapper.error(noisy, "x={}", new Object[] { arg });
+    assertEquals(0, records.size());
+    assertEquals(0, arg.rendered);
+
+    wrapper.info("x={}", arg);
+    assertEquals(1, records.size());
+    assertEquals("x=arg", records.get(0));
+    assertEquals(1, arg.rendered);
+  }
+
+  public void testMDCAcceptsBeforeDuplicates() {
+    FilterChain chain = new FilterChain(new EventFilter[] {
+        new MDCFilter("debugRequestId", "42", EventFilter.ACCEPT,
+            EventFilter.NEUTRAL), new DuplicateFilter(60 * 1000L) });
+    MessageLoggerWrapper wrapper = new MessageLoggerWrapper(adapter, FQCN,
+        chain);
+    wrapper.info("retrying {}", "job");
+    wrapper.info("retrying {}", "job");
+    assertEquals(1, records.size());
+
+    MDC.put("debugRequestId", "42");
+    wrapper.info("retrying {}", "job");
+    wrapper.info("retrying {}", "job");
+    assertEquals(3, records.size());
+  }
+
+  public void testDisabledLevelNotFiltered() {
+    final int[] calls = new int[1];
+    EventFilter counting = new EventFilter() {
+      public int decide(org.slf4j.Logger logger, int level, Marker marker,
+          String pattern, Object[] args) {
+        calls[0]++;
+        return NEUTRAL;
+      }
+    };
+    MessageLoggerWrapper wrapper = new MessageLoggerWrapper(adapter, FQCN,
+        counting);
+    wrapper.debug("x={}", "y");
+    wrapper.log(null, FQCN, LocationAwareLogger.DEBUG_INT, "x", null);
+    assertEquals(0, calls[0]);
+    wrapper.log(null, FQCN, LocationAwareLogger.INFO_INT, "x", null);
+    assertEquals(1, calls[0]);
+    assertEquals(1, records.size());
+  }
+
+  public void testBatch() {
+    MessageLoggerWrapper wrapper = new MessageLoggerWrapper(adapter, FQCN,
+        new DuplicateFilter(60 * 1000L));
+    Message[] batch = new Message[] { new SimpleMessage("a"),
+        new SimpleMessage("b"), new SimpleMessage("a"), new SimpleMessage("c") };
+    wrapper.log(null, FQCN, LocationAwareLogger.INFO_INT, batch, 0, 4);
+    assertEquals(3, records.size());
+    assertEquals("a", records.get(0));
+    assertEquals("b", records.get(1));
+    assertEquals("c", records.get(2));
+  }
+}
@@ -0,0 +1,103 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import junit.framework.TestCase;
+
+import org.slf4j.message.Message;
+import org.slf4j.message.MessageLoggerWrapper;
+import org.slf4j.message.SimpleMessage;
+import org.slf4j.spi.LocationAwareLogger;
+
+public class JDK14BatchLoggingTest extends TestCase {
+
+  static final String FQCN = MessageLoggerWrapper.class.getName();
+
+  java.util.logging.Logger julLogger = java.util.logging.Logger
+      .getLogger(JDK14BatchLoggingTest.class.getName());
+  List records = new ArrayList();
+  Handler handler = new Handler() {
+    public void publish(LogRecord record) {
+      records.add(record);
+    }
+
+    public void flush() {
+    }
+
+    public void close() {
+    }
+  };
+  MessageLoggerWrapper wrapper = new MessageLoggerWrapper(
+      new JDK14LoggerAdapter(julLogger), FQCN);
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    julLogger.setUseParentHandlers(false);
+    julLogger.setLevel(Level.INFO);
+    julLogger.addHandler(handler);
+  }
+
+  protected void tearDown() throws Exception {
+    julLogger.removeHandler(handler);
+    julLogger.setLevel(null);
+    julLogger.setUseParentHandlers(true);
+    super.tearDown();
+  }
+
+  Message[] batch(int len) {
+    Message[] batch = new Message[len];
+    for (int i = 0; i < len; i++) {
+      batch[i] = new SimpleMessage("record " + i);
+    }
+    return batch;
+  }
+
+  public void testBatch() {
+    wrapper.log(null, FQCN, LocationAwareLogger.WARN_INT, batch(5), 1, 3);
+    assertEquals(3, records.size());
+    for (int i = 0; i < 3; i++) {
+      LogRecord record = (LogRecord) records.get(i);
+      assertEquals(Level.WARNING, record.getLevel());
+      assertEquals("record " + (i + 1), record.getMessage());
+      assertEquals(julLogger.getName(), record.getLoggerName());
+      // the caller is looked up once and shared by the whole batch
+      assertEquals(JDK14BatchLoggingTest.class.getName(), record
+          .getSourceClassName());
+      assertEquals("testBatch", record.getSourceMethodName());
+    }
+  }
+
+  public void testDisabledLevel() {
+    wrapper.log(null, FQCN, LocationAwareLogger.DEBUG_INT, batch(5), 0, 5);
+    wrapper.log(null, FQCN, LocationAwareLogger.INFO_INT, batch(5), 0, 0);
+    assertEquals(0, records.size());
+  }
+}
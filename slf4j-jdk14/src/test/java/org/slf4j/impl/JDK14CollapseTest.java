@@ -0,0 +1,106 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+import junit.framework.TestCase;
+
+import org.slf4j.helpers.EventCollapser;
+import org.slf4j.message.MessageLoggerWrapper;
+
+public class JDK14CollapseTest extends TestCase {
+
+  java.util.logging.Logger julLogger = java.util.logging.Logger
+      .getLogger(JDK14CollapseTest.class.getName());
+  List records = new ArrayList();
+  Handler handler = new Handler() {
+    public void publish(LogRecord record) {
+      records.add(record);
+    }
+
+    public void flush() {
+    }
+
+    public void close() {
+    }
+  };
+  MessageLoggerWrapper wrapper = new MessageLoggerWrapper(
+      new JDK14LoggerAdapter(julLogger, EventCollapser.newInstance("60000",
+          null)), MessageLoggerWrapper.class.getName());
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    julLogger.setUseParentHandlers(false);
+    julLogger.addHandler(handler);
+  }
+
+  protected void tearDown() throws Exception {
+    julLogger.removeHandler(handler);
+    julLogger.setUseParentHandlers(true);
+    super.tearDown();
+  }
+
+  // the same stack trace on every call
+  static Exception failure() {
+    return new IllegalStateException("boom");
+  }
+
+  LogRecord record(int index) {
+    return (LogRecord) records.get(index);
+  }
+
+  public void testRepeatsWithDifferentArguments() {
+    Exception[] failures = new Exception[3];
+    for (int i = 0; i < 3; i++) {
+      failures[i] = failure();
+      wrapper.error("request {} failed", new Integer(i), failures[i]);
+    }
+    assertEquals(3, records.size());
+    assertEquals("request 0 failed", record(0).getMessage());
+    assertSame(failures[0], record(0).getThrown());
+    for (int i = 1; i < 3; i++) {
+      String message = record(i).getMessage();
+      assertTrue(message, message.startsWith("request " + i + " failed [repeat #"
+          + (i + 1) + " of java.lang.IllegalStateException@"));
+      assertNull(record(i).getThrown());
+    }
+  }
+
+  public void testDifferentPatterns() {
+    for (int i = 0; i < 2; i++) {
+      wrapper.error("first {} failed", new Integer(i), failure());
+      wrapper.error("second {} failed", new Integer(i), failure());
+    }
+    assertEquals(4, records.size());
+    assertNotNull(record(0).getThrown());
+    assertNotNull(record(1).getThrown());
+    assertNull(record(2).getThrown());
+    assertNull(record(3).getThrown());
+  }
+}
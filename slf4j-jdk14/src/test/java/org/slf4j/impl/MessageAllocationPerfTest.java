@@ -0,0 +1,112 @@
+/* 
+ * Copyright (c) 2004-2007 QOS.CH
+ * 
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute, and/or sell copies of  the Software, and to permit persons
+ * to whom  the Software is furnished  to do so, provided  that the above
+ * copyright notice(s) and this permission notice appear in all copies of
+ * the  Software and  that both  the above  copyright notice(s)  and this
+ * permission notice appear in supporting documentation.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR  A PARTICULAR PURPOSE AND NONINFRINGEMENT
+ * OF  THIRD PARTY  RIGHTS. IN  NO EVENT  SHALL THE  COPYRIGHT  HOLDER OR
+ * HOLDERS  INCLUDED IN  THIS  NOTICE BE  LIABLE  FOR ANY  CLAIM, OR  ANY
+ * SPECIAL INDIRECT  OR CONSEQUENTIAL DAMAGES, OR  ANY DAMAGES WHATSOEVER
+ * RESULTING FROM LOSS  OF USE, DATA OR PROFITS, WHETHER  IN AN ACTION OF
+ * CONTRACT, NEGLIGENCE  OR OTHER TORTIOUS  ACTION, ARISING OUT OF  OR IN
+ * CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ * 
+ * Except as  contained in  this notice, the  name of a  copyright holder
+ * shall not be used in advertising or otherwise to promote the sale, use
+ * or other dealings in this Software without prior written authorization
+ * of the copyright holder.
+ *
+ */
+
+package org.slf4j.impl;
+
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import junit.framework.TestCase;
+
+import org.slf4j.helpers.AllocationMeter;
+import org.slf4j.message.MessageLoggerWrapper;
+import org.slf4j.message.ParameterizedMessage;
+import org.slf4j.spi.LocationAwareLogger;
+
+/**
+ * Measures the bytes allocated per event on the
+ * log(Marker, String, int, Message, Throwable) path, with a freshly built
+ * ParameterizedMessage and with the recycled message used by
+ * MessageLoggerWrapper. The floor is the same event logged with a
+ * preformatted constant string, i.e. the allocations of java.util.logging
+ * itself (LogRecord, caller data).
+ */
+public class MessageAllocationPerfTest extends TestCase {
+
+  static final int LEN = 100 * 1000;
+  static final String FQCN = MessageAllocationPerfTest.class.getName();
+
+  java.util.logging.Logger julLogger = java.util.logging.Logger
+      .getLogger(MessageAllocationPerfTest.class.getName());
+  JDK14LoggerAdapter adapter = new JDK14LoggerAdapter(julLogger);
+  MessageLoggerWrapper wrapper = new MessageLoggerWrapper(adapter, FQCN);
+  Integer attempts = new Integer(3);
+
+  public MessageAllocationPerfTest(String name) {
+    super(name);
+  }
+
+  public void setUp() throws Exception {
+    julLogger.setUseParentHandlers(false);
+    julLogger.setLevel(Level.INFO);
+    julLogger.addHandler(new Handler() {
+      public void publish(LogRecord record) {
+      }
+
+      public void flush() {
+      }
+
+      public void close() {
+      }
+    });
+  }
+
+  public void testBytesPerEvent() {
+    if (!AllocationMeter.isSupported()) {
+      return;
+    }
+    double floor = AllocationMeter.bytesPerRun(new Runnable() {
+      public void run() {
+        adapter.log(null, FQCN, LocationAwareLogger.INFO_INT,
+            "user alice logged in after 3 attempts", null);
+      }
+    }, LEN);
+    double parameterized = AllocationMeter.bytesPerRun(new Runnable() {
+      public void run() {
+        ParameterizedMessage msg = new ParameterizedMessage(
+            "user {} logged in after {} attempts", new Object[] { "alice",
+                attempts });
+        adapter.log(null, FQCN, LocationAwareLogger.INFO_INT, msg, msg
+            .getThrowable());
+      }
+    }, LEN);
+    double reusable = AllocationMeter.bytesPerRun(new Runnable() {
+      public void run() {
+        wrapper.info("user {} logged in after {} attempts", "alice", attempts);
+      }
+    }, LEN);
+    System.out.println("jdk14 bytesPerEvent floor=" + floor
+        + " parameterized=" + parameterized + " reusable=" + reusable);
+    assertTrue(reusable < parameterized);
+  }
+}
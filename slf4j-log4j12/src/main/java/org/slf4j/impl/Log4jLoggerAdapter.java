@@ -28,12 +28,14 @@ package org.slf4j.impl;
 import java.io.Serializable;
 
 import org.apache.log4j.Level;
+import org.apache.log4j.spi.LoggingEvent;
 import org.slf4j.Logger;
 import org.slf4j.Marker;
 import org.slf4j.message.Message;
 import org.slf4j.message.MessageLogger;
 import org.slf4j.helpers.MarkerIgnoringBase;
 import org.slf4j.helpers.MessageFormatter;
+import org.slf4j.spi.LevelAwareLogger;
 import org.slf4j.spi.LocationAwareLogger;
 
 /**
@@ -53,7 +55,7 @@ import org.slf4j.spi.LocationAwareLogger;
  * @author Ceki G&uuml;lc&uuml;
  */
 public final class Log4jLoggerAdapter extends MarkerIgnoringBase implements
-    MessageLogger, Serializable {
+    MessageLogger, LevelAwareLogger, Serializable {
 
   private static final long serialVersionUID = 6182834493563598289L;
 
@@ -841,28 +843,62 @@ public final class Log4jLoggerAdapter extends MarkerIgnoringBase implements
    * @param t
    */
   public void log(Marker marker, String callerFQCN, int level, Message data, Throwable t) {
-    logger.log(callerFQCN, getLog4jLevel(level), data.getFormattedMessage(), t);
+    Level log4jLevel = getLog4jLevel(level);
+    if (logger.isEnabledFor(log4jLevel)) {
+      logger.log(callerFQCN, log4jLevel, data.getFormattedMessage(), t);
+    }
+  }
+
+  /**
+   * Log a batch of messages. The level is checked once for the whole batch,
+   * each message is then handed to the appenders as a LoggingEvent of its own.
+   *
+   * @param marker
+   * @param callerFQCN The fully qualified class name of the <b>caller</b>
+   * @param level
+   * @param batch
+   * @param off
+   * @param len
+   */
+  public void log(Marker marker, String callerFQCN, int level, Message[] batch, int off, int len) {
+    Level log4jLevel = getLog4jLevel(level);
+    if (len <= 0 || !logger.isEnabledFor(log4jLevel)) {
+      return;
+    }
+    for (int i = off; i < off + len; i++) {
+      logger.callAppenders(new LoggingEvent(callerFQCN, logger, log4jLevel,
+          batch[i].getFormattedMessage(), null));
+    }
+  }
+
+  public boolean isEnabled(int level) {
+    return logger.isEnabledFor(getLog4jLevel(level));
+  }
+
+  public boolean isEnabled(Marker marker, int level) {
+    return logger.isEnabledFor(getLog4jLevel(level));
+  }
+
+  // log4j levels indexed by LocationAwareLogger level, TRACE is mapped as
+  // DEBUG by log4j versions prior to 1.2.12
+  private static final Level[] LEVELS = new Level[LocationAwareLogger.ERROR_INT + 1];
+  static {
+    Level trace;
+    try {
+      trace = Level.TRACE;
+    } catch (NoSuchFieldError e) {
+      trace = Level.DEBUG;
+    }
+    LEVELS[LocationAwareLogger.TRACE_INT] = trace;
+    LEVELS[LocationAwareLogger.DEBUG_INT] = Level.DEBUG;
+    LEVELS[LocationAwareLogger.INFO_INT] = Level.INFO;
+    LEVELS[LocationAwareLogger.WARN_INT] = Level.WARN;
+    LEVELS[LocationAwareLogger.ERROR_INT] = Level.ERROR;
   }
 
   private Level getLog4jLevel(int level) {
-    Level log4jLevel;
-    switch (level) {
-    case LocationAwareLogger.TRACE_INT:
-      log4jLevel = traceCapable ? Level.TRACE : Level.DEBUG;
-      break;
-    case LocationAwareLogger.DEBUG_INT:
-      log4jLevel = Level.DEBUG;
-      break;
-    case LocationAwareLogger.INFO_INT:
-      log4jLevel = Level.INFO;
-      break;
-    case LocationAwareLogger.WARN_INT:
-      log4jLevel = Level.WARN;
-      break;
-    case LocationAwareLogger.ERROR_INT:
-      log4jLevel = Level.ERROR;
-      break;
-    default:
+    Level log4jLevel = (level >= 0 && level < LEVELS.length) ? LEVELS[level] : null;
+    if (log4jLevel == null) {
       throw new IllegalStateException("Level number " + level + " is not recognized.");
     }
     return log4jLevel;
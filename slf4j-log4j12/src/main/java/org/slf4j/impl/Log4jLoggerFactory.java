@@ -33,12 +33,10 @@
 
 package org.slf4j.impl;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import org.apache.log4j.LogManager;
 import org.slf4j.ILoggerFactory;
 import org.slf4j.Logger;
+import org.slf4j.helpers.LoggerRegistry;
 
 /**
  * Log4jLoggerFactory is an implementation of {@link ILoggerFactory} returning
@@ -49,10 +47,10 @@ import org.slf4j.Logger;
 public class Log4jLoggerFactory implements ILoggerFactory {
 
   // key: name (String), value: a Log4jLoggerAdapter;
-  Map loggerMap;
+  LoggerRegistry loggerRegistry;
 
   public Log4jLoggerFactory() {
-    loggerMap = new HashMap();
+    loggerRegistry = new LoggerRegistry();
   }
 
   /*
@@ -61,19 +59,21 @@ public class Log4jLoggerFactory implements ILoggerFactory {
    * @see org.slf4j.ILoggerFactory#getLogger(java.lang.String)
    */
   public Logger getLogger(String name) {
-    Logger slf4jLogger = null;
-    // protect against concurrent access of loggerMap
-    synchronized (this) {
-        slf4jLogger = (Logger) loggerMap.get(name);
-      if (slf4jLogger == null) {
-        org.apache.log4j.Logger log4jLogger;
-        if(name.equalsIgnoreCase(Logger.ROOT_LOGGER_NAME)) {
-           log4jLogger = LogManager.getRootLogger();
-        } else {
-          log4jLogger = LogManager.getLogger(name);
+    Logger slf4jLogger = (Logger) loggerRegistry.get(name);
+    if (slf4jLogger == null) {
+      // protect against concurrent creation of the same logger
+      synchronized (this) {
+        slf4jLogger = (Logger) loggerRegistry.get(name);
+        if (slf4jLogger == null) {
+          org.apache.log4j.Logger log4jLogger;
+          if(name.equalsIgnoreCase(Logger.ROOT_LOGGER_NAME)) {
+             log4jLogger = LogManager.getRootLogger();
+          } else {
+            log4jLogger = LogManager.getLogger(name);
+          }
+          slf4jLogger = new Log4jLoggerAdapter(log4jLogger);
+          loggerRegistry.put(name, slf4jLogger);
         }
-        slf4jLogger = new Log4jLoggerAdapter(log4jLogger);
-        loggerMap.put(name, slf4jLogger);
       }
     }
     return slf4jLogger;
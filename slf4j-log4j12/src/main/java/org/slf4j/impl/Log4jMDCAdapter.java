@@ -4,6 +4,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
+import org.slf4j.helpers.DebugElevation;
 import org.slf4j.spi.MDCAdapter;
 
 public class Log4jMDCAdapter implements MDCAdapter {
@@ -13,6 +14,7 @@ public class Log4jMDCAdapter implements MDCAdapter {
     if (map != null) {
       map.clear();
     }
+    DebugElevation.contextChanged(null);
   }
 
   public String get(String key) {
@@ -33,10 +35,12 @@ public class Log4jMDCAdapter implements MDCAdapter {
    */
   public void put(String key, String val) {
     org.apache.log4j.MDC.put(key, val);
+    DebugElevation.keyPut(key, val);
   }
 
   public void remove(String key) {
     org.apache.log4j.MDC.remove(key);
+    DebugElevation.keyRemoved(key);
   }
 
   public Map getCopyOfContextMap() {
@@ -60,5 +64,6 @@ public class Log4jMDCAdapter implements MDCAdapter {
       old.clear();
       old.putAll(contextMap);
     }
+    DebugElevation.contextChanged(contextMap);
   }
 }
@@ -0,0 +1,85 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.impl;
+
+import junit.framework.TestCase;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.spi.LoggingEvent;
+import org.slf4j.ListAppender;
+import org.slf4j.message.Message;
+import org.slf4j.message.MessageLoggerWrapper;
+import org.slf4j.message.SimpleMessage;
+import org.slf4j.spi.LocationAwareLogger;
+
+public class Log4jBatchLoggingTest extends TestCase {
+
+  static final String FQCN = MessageLoggerWrapper.class.getName();
+
+  org.apache.log4j.Logger log4jLogger = org.apache.log4j.Logger
+      .getLogger(Log4jBatchLoggingTest.class);
+  ListAppender listAppender = new ListAppender();
+  MessageLoggerWrapper wrapper = new MessageLoggerWrapper(
+      new Log4jLoggerAdapter(log4jLogger), FQCN);
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    listAppender.extractLocationInfo = true;
+    log4jLogger.addAppender(listAppender);
+    log4jLogger.setLevel(Level.INFO);
+  }
+
+  protected void tearDown() throws Exception {
+    log4jLogger.removeAppender(listAppender);
+    log4jLogger.setLevel(null);
+    super.tearDown();
+  }
+
+  Message[] batch(int len) {
+    Message[] batch = new Message[len];
+    for (int i = 0; i < len; i++) {
+      batch[i] = new SimpleMessage("record " + i);
+    }
+    return batch;
+  }
+
+  public void testBatch() {
+    wrapper.log(null, FQCN, LocationAwareLogger.WARN_INT, batch(5), 1, 3);
+    assertEquals(3, listAppender.list.size());
+    for (int i = 0; i < 3; i++) {
+      LoggingEvent event = (LoggingEvent) listAppender.list.get(i);
+      assertEquals(Level.WARN, event.getLevel());
+      assertEquals("record " + (i + 1), event.getMessage());
+      assertEquals(Log4jBatchLoggingTest.class.getName(), event
+          .getLocationInformation().getClassName());
+    }
+  }
+
+  public void testDisabledLevel() {
+    wrapper.log(null, FQCN, LocationAwareLogger.DEBUG_INT, batch(5), 0, 5);
+    wrapper.log(null, FQCN, LocationAwareLogger.INFO_INT, batch(5), 0, 0);
+    assertEquals(0, listAppender.list.size());
+  }
+}
@@ -0,0 +1,80 @@
+package org.slf4j.impl;
+
+import junit.framework.TestCase;
+
+import org.apache.log4j.AppenderSkeleton;
+import org.apache.log4j.Level;
+import org.apache.log4j.spi.LoggingEvent;
+import org.slf4j.helpers.AllocationMeter;
+import org.slf4j.message.MessageLoggerWrapper;
+import org.slf4j.message.ParameterizedMessage;
+import org.slf4j.spi.LocationAwareLogger;
+
+/**
+ * Measures the bytes allocated per event on the
+ * log(Marker, String, int, Message, Throwable) path, with a freshly built
+ * ParameterizedMessage and with the recycled message used by
+ * MessageLoggerWrapper. The floor is the same event logged with a
+ * preformatted constant string, i.e. the allocations of log4j itself.
+ */
+public class MessageAllocationPerfTest extends TestCase {
+
+  static final int LEN = 100 * 1000;
+  static final String FQCN = MessageAllocationPerfTest.class.getName();
+
+  org.apache.log4j.Logger log4jLogger = org.apache.log4j.Logger
+      .getLogger(MessageAllocationPerfTest.class);
+  Log4jLoggerAdapter adapter = new Log4jLoggerAdapter(log4jLogger);
+  MessageLoggerWrapper wrapper = new MessageLoggerWrapper(adapter, FQCN);
+  Integer attempts = new Integer(3);
+
+  public MessageAllocationPerfTest(String name) {
+    super(name);
+  }
+
+  protected void setUp() throws Exception {
+    log4jLogger.setAdditivity(false);
+    log4jLogger.setLevel(Level.INFO);
+    log4jLogger.removeAllAppenders();
+    log4jLogger.addAppender(new AppenderSkeleton() {
+      protected void append(LoggingEvent event) {
+      }
+
+      public void close() {
+      }
+
+      public boolean requiresLayout() {
+        return false;
+      }
+    });
+  }
+
+  public void testBytesPerEvent() {
+    if (!AllocationMeter.isSupported()) {
+      return;
+    }
+    double floor = AllocationMeter.bytesPerRun(new Runnable() {
+      public void run() {
+        adapter.log(null, FQCN, LocationAwareLogger.INFO_INT,
+            "user alice logged in after 3 attempts", null);
+      }
+    }, LEN);
+    double parameterized = AllocationMeter.bytesPerRun(new Runnable() {
+      public void run() {
+        ParameterizedMessage msg = new ParameterizedMessage(
+            "user {} logged in after {} attempts", new Object[] { "alice",
+                attempts });
+        adapter.log(null, FQCN, LocationAwareLogger.INFO_INT, msg, msg
+            .getThrowable());
+      }
+    }, LEN);
+    double reusable = AllocationMeter.bytesPerRun(new Runnable() {
+      public void run() {
+        wrapper.info("user {} logged in after {} attempts", "alice", attempts);
+      }
+    }, LEN);
+    System.out.println("log4j12 bytesPerEvent floor=" + floor
+        + " parameterized=" + parameterized + " reusable=" + reusable);
+    assertTrue(reusable < parameterized);
+  }
+}
@@ -33,12 +33,16 @@
 package org.slf4j.osgi.integration.logservice.test;
 
 import java.util.ArrayList;
+import java.util.Enumeration;
 import java.util.List;
 
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.Constants;
 import org.osgi.framework.ServiceReference;
+import org.osgi.service.log.LogEntry;
+import org.osgi.service.log.LogListener;
+import org.osgi.service.log.LogReaderService;
 import org.osgi.service.log.LogService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -171,6 +175,115 @@ public class LogServiceBundleTest extends ConfigurableBundleCreatorTests impleme
 		context.ungetService(ref);
 	}
     
+	/**
+	 * The LogService of a bundle is kept by the factory once the bundle no
+	 * longer uses it.
+	 */
+	public void testLogServiceSharedPerBundle() {
+		BundleContext context = getBundleContext();
+		ServiceReference ref = context.getServiceReference(LogService.class.getName());
+		Object first = context.getService(ref);
+		context.ungetService(ref);
+		Object second = context.getService(ref);
+		context.ungetService(ref);
+		assertNotNull(first);
+		assertSame(first, second);
+	}
+
+	public void testLogReaderService() {
+		BundleContext context = getBundleContext();
+		ServiceReference logRef = context.getServiceReference(LogService.class.getName());
+		ServiceReference readerRef = context.getServiceReference(LogReaderService.class.getName());
+		assertNotNull("LogReaderService reference is null", readerRef);
+		LogService logService = (LogService) context.getService(logRef);
+		LogReaderService reader = (LogReaderService) context.getService(readerRef);
+
+		final List received = new ArrayList();
+		LogListener listener = new LogListener() {
+			public void logged(LogEntry entry) {
+				received.add(entry);
+			}
+		};
+		reader.addLogListener(listener);
+		Exception exception = new Exception("just a test.");
+		logService.log(LogService.LOG_DEBUG, "reader debug");
+		logService.log(logRef, LogService.LOG_ERROR, "reader error", exception);
+		reader.removeLogListener(listener);
+		logService.log(LogService.LOG_INFO, "reader info");
+
+		assertEquals(2, received.size());
+		LogEntry debug = (LogEntry) received.get(0);
+		assertEquals(LogService.LOG_DEBUG, debug.getLevel());
+		assertEquals("reader debug", debug.getMessage());
+		assertNull(debug.getServiceReference());
+		assertNull(debug.getException());
+		assertEquals(context.getBundle(), debug.getBundle());
+		LogEntry error = (LogEntry) received.get(1);
+		assertEquals(LogService.LOG_ERROR, error.getLevel());
+		// the message is kept as logged, without the reference
+		assertEquals("reader error", error.getMessage());
+		assertEquals(logRef, error.getServiceReference());
+		assertSame(exception, error.getException());
+
+		// most recent first
+		Enumeration log = reader.getLog();
+		assertEquals("reader info", ((LogEntry) log.nextElement()).getMessage());
+		assertSame(error, log.nextElement());
+		assertSame(debug, log.nextElement());
+
+		context.ungetService(readerRef);
+		context.ungetService(logRef);
+	}
+
+	/**
+	 * Concurrent writers overwrite the oldest entries; the entries read back
+	 * are in order for each writer and bounded by the capacity.
+	 */
+	public void testLogReaderServiceConcurrentWriters() throws InterruptedException {
+		BundleContext context = getBundleContext();
+		ServiceReference logRef = context.getServiceReference(LogService.class.getName());
+		ServiceReference readerRef = context.getServiceReference(LogReaderService.class.getName());
+		final LogService logService = (LogService) context.getService(logRef);
+		LogReaderService reader = (LogReaderService) context.getService(readerRef);
+
+		final int writes = 1000;
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			final String prefix = "writer" + t + " ";
+			threads[t] = new Thread() {
+				public void run() {
+					for (int i = 0; i < writes; i++) {
+						logService.log(LogService.LOG_DEBUG, prefix + i);
+					}
+				}
+			};
+			threads[t].start();
+		}
+		for (int t = 0; t < threads.length; t++) {
+			threads[t].join();
+		}
+
+		int[] previous = new int[threads.length];
+		for (int t = 0; t < threads.length; t++) {
+			previous[t] = writes;
+		}
+		int count = 0;
+		for (Enumeration log = reader.getLog(); log.hasMoreElements();) {
+			LogEntry entry = (LogEntry) log.nextElement();
+			String message = entry.getMessage();
+			int t = message.charAt("writer".length()) - '0';
+			int i = Integer.parseInt(message.substring(message.indexOf(' ') + 1));
+			assertTrue(message + " out of order", i < previous[t]);
+			previous[t] = i;
+			count++;
+		}
+		// the default capacity, all of it overwritten by the writers
+		assertEquals(100, count);
+
+		context.ungetService(readerRef);
+		context.ungetService(logRef);
+	}
+
     private void exerciseLogService(LogService logService, ServiceReference ref){
         logService.log(ref, LogService.LOG_DEBUG, "Loaded bundles" );
         logService.log(ref, LogService.LOG_INFO, "Found LogService. " );
@@ -0,0 +1,433 @@
+package org.slf4j.processor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+import com.sun.source.tree.ArrayTypeTree;
+import com.sun.source.tree.BinaryTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.ImportTree;
+import com.sun.source.tree.LiteralTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.NewArrayTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.ParameterizedTypeTree;
+import com.sun.source.tree.ParenthesizedTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreePathScanner;
+import com.sun.source.util.Trees;
+
+/**
+ * Finds the logging calls of a compilation unit whose pattern is a
+ * constant, checks their number of arguments and collects their patterns.
+ *
+ * <p>
+ * Method bodies are not attributed yet when annotation processors run, so
+ * the types of receivers and arguments are worked out from declarations:
+ * local variables, parameters, fields, and the return types of methods
+ * invoked on a known type. Calls whose receiver cannot be shown to be an
+ * <code>org.slf4j.Logger</code> are left alone, and so are arguments whose
+ * count cannot be told for sure, such as a variable which may be an
+ * <code>Object[]</code>.
+ */
+class CallScanner extends TreePathScanner<Void, Void> {
+
+  private static final String[] LEVELS = { "trace", "debug", "info", "warn",
+      "error" };
+
+  private final Trees trees;
+  private final Elements elements;
+  private final Types types;
+  private final TypeMirror loggerType;
+  private final TypeMirror markerType;
+  private final TypeMirror throwableType;
+  // null when mismatches are ignored
+  private final Diagnostic.Kind mismatchKind;
+  private final Set<String> patterns;
+
+  private CompilationUnitTree unit;
+  // innermost last
+  private final List<TypeElement> enclosingTypes = new ArrayList<TypeElement>();
+  // locals and parameters of the method being scanned, name -> type tree
+  private Map<String, Tree> locals = new HashMap<String, Tree>();
+
+  CallScanner(Trees trees, Elements elements, Types types,
+      Diagnostic.Kind mismatchKind, Set<String> patterns) {
+    this.trees = trees;
+    this.elements = elements;
+    this.types = types;
+    this.mismatchKind = mismatchKind;
+    this.patterns = patterns;
+    this.loggerType = erasedType("org.slf4j.Logger");
+    this.markerType = erasedType("org.slf4j.Marker");
+    this.throwableType = erasedType("java.lang.Throwable");
+  }
+
+  private TypeMirror erasedType(String name) {
+    TypeElement te = elements.getTypeElement(name);
+    return te == null ? null : types.erasure(te.asType());
+  }
+
+  /**
+   * Tell whether org.slf4j.Logger is on the class path at all.
+   */
+  boolean isEnabled() {
+    return loggerType != null;
+  }
+
+  void scan(CompilationUnitTree unit) {
+    this.unit = unit;
+    enclosingTypes.clear();
+    locals.clear();
+    scan(trees.getPath(unit, unit), null);
+  }
+
+  @Override
+  public Void visitClass(ClassTree tree, Void p) {
+    Element e = trees.getElement(getCurrentPath());
+    // local and anonymous classes are not entered yet
+    boolean entered = e instanceof TypeElement;
+    if (entered) {
+      enclosingTypes.add((TypeElement) e);
+    }
+    try {
+      return super.visitClass(tree, p);
+    } finally {
+      if (entered) {
+        enclosingTypes.remove(enclosingTypes.size() - 1);
+      }
+    }
+  }
+
+  @Override
+  public Void visitMethod(MethodTree tree, Void p) {
+    Map<String, Tree> outer = locals;
+    locals = new HashMap<String, Tree>();
+    try {
+      return super.visitMethod(tree, p);
+    } finally {
+      locals = outer;
+    }
+  }
+
+  @Override
+  public Void visitVariable(VariableTree tree, Void p) {
+    if (!(getCurrentPath().getParentPath().getLeaf() instanceof ClassTree)) {
+      locals.put(tree.getName().toString(), tree.getType());
+    }
+    return super.visitVariable(tree, p);
+  }
+
+  @Override
+  public Void visitMethodInvocation(MethodInvocationTree tree, Void p) {
+    if (tree.getMethodSelect() instanceof MemberSelectTree) {
+      MemberSelectTree select = (MemberSelectTree) tree.getMethodSelect();
+      if (isLevel(select.getIdentifier().toString())) {
+        checkCall(tree, select.getExpression());
+      }
+    }
+    return super.visitMethodInvocation(tree, p);
+  }
+
+  private static boolean isLevel(String name) {
+    for (int i = 0; i < LEVELS.length; i++) {
+      if (LEVELS[i].equals(name)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void checkCall(MethodInvocationTree tree, ExpressionTree receiver) {
+    List<? extends ExpressionTree> args = tree.getArguments();
+    if (args.isEmpty() || !isAssignable(typeOf(receiver), loggerType)) {
+      return;
+    }
+    int patternIndex = 0;
+    String pattern = constantValue(args.get(0));
+    if (pattern == null && args.size() >= 2
+        && isAssignable(typeOf(args.get(0)), markerType)) {
+      patternIndex = 1;
+      pattern = constantValue(args.get(1));
+    }
+    if (pattern == null) {
+      return;
+    }
+    if (Patterns.isTableable(pattern)) {
+      patterns.add(pattern);
+    }
+
+    int placeholders = Patterns.countPlaceholders(pattern);
+    int arguments = countArguments(args.subList(patternIndex + 1, args
+        .size()), placeholders);
+    if (mismatchKind != null && arguments != -1 && arguments != placeholders) {
+      trees.printMessage(mismatchKind, "SLF4J pattern "
+          + Patterns.quote(pattern) + " has " + plural(placeholders,
+          "placeholder") + " but the call passes "
+          + plural(arguments, "argument"), tree, unit);
+    }
+  }
+
+  private static String plural(int count, String noun) {
+    return count + " " + noun + (count == 1 ? "" : "s");
+  }
+
+  /**
+   * Return the number of arguments substituted into the pattern, or -1 if
+   * it cannot be told.
+   */
+  private int countArguments(List<? extends ExpressionTree> rest,
+      int placeholders) {
+    switch (rest.size()) {
+    case 0:
+      return 0;
+    case 1:
+      ExpressionTree arg = strip(rest.get(0));
+      if (arg instanceof NewArrayTree) {
+        NewArrayTree array = (NewArrayTree) arg;
+        return array.getInitializers() == null ? -1 : array.getInitializers()
+            .size();
+      }
+      if (arg instanceof LiteralTree) {
+        return 1;
+      }
+      TypeMirror type = typeOf(arg);
+      if (type == null) {
+        // an Object[] or a Throwable would be a mistake only if a single
+        // placeholder is expected
+        return placeholders == 1 ? 1 : -1;
+      }
+      if (type.getKind() == TypeKind.ARRAY) {
+        // primitive arrays are passed as Object
+        TypeMirror component = ((ArrayType) type).getComponentType();
+        return component.getKind().isPrimitive() ? 1 : -1;
+      }
+      if (isAssignable(type, throwableType)) {
+        // the (String, Throwable) overload
+        return 0;
+      }
+      return 1;
+    case 2:
+      return 2;
+    default:
+      return -1;
+    }
+  }
+
+  private static ExpressionTree strip(ExpressionTree tree) {
+    while (tree instanceof ParenthesizedTree) {
+      tree = ((ParenthesizedTree) tree).getExpression();
+    }
+    return tree;
+  }
+
+  private boolean isAssignable(TypeMirror type, TypeMirror to) {
+    return type != null && to != null
+        && types.isAssignable(types.erasure(type), to);
+  }
+
+  /**
+   * Return the value of a constant string expression: a literal, a
+   * concatenation of literals, or a constant field.
+   */
+  private String constantValue(ExpressionTree tree) {
+    tree = strip(tree);
+    if (tree instanceof LiteralTree) {
+      Object value = ((LiteralTree) tree).getValue();
+      return value instanceof String ? (String) value : null;
+    }
+    if (tree instanceof BinaryTree && tree.getKind() == Tree.Kind.PLUS) {
+      BinaryTree binary = (BinaryTree) tree;
+      String left = constantValue(binary.getLeftOperand());
+      String right = left == null ? null : constantValue(binary
+          .getRightOperand());
+      return right == null ? null : left + right;
+    }
+    VariableElement field = fieldOf(tree);
+    if (field != null && field.getConstantValue() instanceof String) {
+      return (String) field.getConstantValue();
+    }
+    return null;
+  }
+
+  /**
+   * Return the type of an expression, or null if it cannot be told.
+   */
+  private TypeMirror typeOf(ExpressionTree tree) {
+    tree = strip(tree);
+    if (tree instanceof IdentifierTree) {
+      Tree local = locals.get(((IdentifierTree) tree).getName().toString());
+      if (local != null) {
+        return resolve(local);
+      }
+    }
+    if (tree instanceof NewClassTree) {
+      return resolve(((NewClassTree) tree).getIdentifier());
+    }
+    if (tree instanceof MethodInvocationTree) {
+      return returnType((MethodInvocationTree) tree);
+    }
+    VariableElement field = fieldOf(tree);
+    return field == null ? null : field.asType();
+  }
+
+  private TypeMirror returnType(MethodInvocationTree tree) {
+    if (!(tree.getMethodSelect() instanceof MemberSelectTree)) {
+      return null;
+    }
+    MemberSelectTree select = (MemberSelectTree) tree.getMethodSelect();
+    TypeMirror owner = typeOf(select.getExpression());
+    if (owner == null) {
+      owner = resolve(select.getExpression());
+    }
+    Element type = owner == null ? null : types.asElement(owner);
+    if (!(type instanceof TypeElement)) {
+      return null;
+    }
+    String name = select.getIdentifier().toString();
+    TypeMirror result = null;
+    for (Element member : elements.getAllMembers((TypeElement) type)) {
+      if (member.getKind() == ElementKind.METHOD
+          && member.getSimpleName().contentEquals(name)
+          && ((ExecutableElement) member).getParameters().size() == tree
+              .getArguments().size()) {
+        TypeMirror r = ((ExecutableElement) member).getReturnType();
+        if (result != null && !types.isSameType(result, r)) {
+          // overloads disagree
+          return null;
+        }
+        result = r;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Return the field an identifier or a field access refers to, or null.
+   */
+  private VariableElement fieldOf(ExpressionTree tree) {
+    if (tree instanceof IdentifierTree) {
+      String name = ((IdentifierTree) tree).getName().toString();
+      if (locals.containsKey(name)) {
+        return null;
+      }
+      for (int i = enclosingTypes.size() - 1; i >= 0; i--) {
+        VariableElement field = findField(enclosingTypes.get(i), name);
+        if (field != null) {
+          return field;
+        }
+      }
+    } else if (tree instanceof MemberSelectTree) {
+      MemberSelectTree select = (MemberSelectTree) tree;
+      String name = select.getIdentifier().toString();
+      ExpressionTree owner = select.getExpression();
+      if (owner instanceof IdentifierTree
+          && ((IdentifierTree) owner).getName().contentEquals("this")) {
+        return enclosingTypes.isEmpty() ? null : findField(enclosingTypes
+            .get(enclosingTypes.size() - 1), name);
+      }
+      TypeMirror type = resolve(owner);
+      Element te = type == null ? null : types.asElement(type);
+      if (te instanceof TypeElement) {
+        return findField((TypeElement) te, name);
+      }
+    }
+    return null;
+  }
+
+  private VariableElement findField(TypeElement type, String name) {
+    for (Element member : elements.getAllMembers(type)) {
+      if (member.getKind() == ElementKind.FIELD
+          && member.getSimpleName().contentEquals(name)) {
+        return (VariableElement) member;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Return the type a type tree names, or null.
+   */
+  private TypeMirror resolve(Tree tree) {
+    if (tree instanceof ParameterizedTypeTree) {
+      return resolve(((ParameterizedTypeTree) tree).getType());
+    }
+    if (tree instanceof ArrayTypeTree) {
+      TypeMirror component = resolve(((ArrayTypeTree) tree).getType());
+      return component == null ? null : types.getArrayType(component);
+    }
+    if (tree.getKind() == Tree.Kind.PRIMITIVE_TYPE) {
+      return types.getPrimitiveType(TypeKind.valueOf(tree.toString()
+          .toUpperCase()));
+    }
+    if (!(tree instanceof IdentifierTree || tree instanceof MemberSelectTree)) {
+      return null;
+    }
+    TypeElement te = resolveName(tree.toString());
+    return te == null ? null : types.erasure(te.asType());
+  }
+
+  private TypeElement resolveName(String name) {
+    if (name.indexOf('.') != -1) {
+      return elements.getTypeElement(name);
+    }
+    // member types of the enclosing classes
+    for (int i = enclosingTypes.size() - 1; i >= 0; i--) {
+      for (Element member : elements.getAllMembers(enclosingTypes.get(i))) {
+        if (member instanceof TypeElement
+            && member.getSimpleName().contentEquals(name)) {
+          return (TypeElement) member;
+        }
+      }
+    }
+    for (ImportTree imp : unit.getImports()) {
+      if (imp.isStatic()) {
+        continue;
+      }
+      String qualified = imp.getQualifiedIdentifier().toString();
+      if (qualified.endsWith("." + name)) {
+        return elements.getTypeElement(qualified);
+      }
+    }
+    String pkg = unit.getPackageName() == null ? "" : unit.getPackageName()
+        .toString()
+        + ".";
+    TypeElement te = elements.getTypeElement(pkg + name);
+    if (te != null) {
+      return te;
+    }
+    for (ImportTree imp : unit.getImports()) {
+      String qualified = imp.getQualifiedIdentifier().toString();
+      if (!imp.isStatic() && qualified.endsWith(".*")) {
+        te = elements.getTypeElement(qualified.substring(0,
+            qualified.length() - 1)
+            + name);
+        if (te != null) {
+          return te;
+        }
+      }
+    }
+    return elements.getTypeElement("java.lang." + name);
+  }
+}
@@ -0,0 +1,241 @@
+package org.slf4j.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.Trees;
+
+/**
+ * An annotation processor checking, at build time, the SLF4J logging calls
+ * whose message pattern is a constant, and generating a table of these
+ * patterns split at their placeholders for
+ * <code>org.slf4j.helpers.PatternTable</code>.
+ *
+ * <p>
+ * The processor needs no annotation: it looks at every class compiled with
+ * this jar on the compiler's class path (or processor path). A call passing
+ * more or fewer arguments than its pattern has placeholders fails the build:
+ *
+ * <pre>
+ * logger.debug(&quot;x={} y={}&quot;, x);
+ * </pre>
+ *
+ * reports "SLF4J pattern "x={} y={}" has 2 placeholders but the call passes
+ * 1 argument".
+ *
+ * <p>
+ * The patterns found are written to a generated class, registered in
+ * <code>META-INF/slf4j/pattern-tables</code>, from which slf4j-api looks
+ * them up when formatting instead of scanning them.
+ *
+ * <p>
+ * Options, given to javac as <code>-Akey=value</code>:
+ * <ul>
+ * <li><code>slf4j.patternTable</code> - the fully qualified name of the
+ * generated class. Defaults to <code>Slf4jPatternTable</code> in the package
+ * of the first class calling a logger. Each jar needs its own name.</li>
+ * <li><code>slf4j.mismatch</code> - <code>error</code>, the default,
+ * <code>warning</code> or <code>ignore</code>.</li>
+ * </ul>
+ *
+ * @since 1.5.11
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions( { LogPatternProcessor.TABLE_OPTION,
+    LogPatternProcessor.MISMATCH_OPTION })
+public class LogPatternProcessor extends AbstractProcessor {
+
+  static final String TABLE_OPTION = "slf4j.patternTable";
+  static final String MISMATCH_OPTION = "slf4j.mismatch";
+  static final String TABLES_RESOURCE = "META-INF/slf4j/pattern-tables";
+  static final String DEFAULT_TABLE_NAME = "Slf4jPatternTable";
+
+  // patterns per generated method, keeping methods below 64KB of byte code
+  static final int CHUNK_SIZE = 512;
+
+  private Trees trees;
+  // null when mismatches are ignored
+  private Diagnostic.Kind mismatchKind;
+
+  private final Set<CompilationUnitTree> scanned = new HashSet<CompilationUnitTree>();
+  private final Set<String> tabled = new HashSet<String>();
+  private final List<String> tableNames = new ArrayList<String>();
+  private String tableName;
+
+  @Override
+  public synchronized void init(ProcessingEnvironment env) {
+    super.init(env);
+    try {
+      trees = Trees.instance(env);
+    } catch (IllegalArgumentException e) {
+      env.getMessager().printMessage(Diagnostic.Kind.NOTE,
+          "SLF4J pattern processor disabled: not running in javac");
+      return;
+    }
+    String mismatch = env.getOptions().get(MISMATCH_OPTION);
+    if ("warning".equalsIgnoreCase(mismatch)) {
+      mismatchKind = Diagnostic.Kind.WARNING;
+    } else if (!"ignore".equalsIgnoreCase(mismatch)) {
+      mismatchKind = Diagnostic.Kind.ERROR;
+    }
+    tableName = env.getOptions().get(TABLE_OPTION);
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latest();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations,
+      RoundEnvironment roundEnv) {
+    if (trees == null) {
+      return false;
+    }
+    if (roundEnv.processingOver()) {
+      writeTableList();
+      return false;
+    }
+    Set<String> patterns = new TreeSet<String>();
+    CallScanner scanner = new CallScanner(trees, processingEnv
+        .getElementUtils(), processingEnv.getTypeUtils(), mismatchKind,
+        patterns);
+    if (!scanner.isEnabled()) {
+      // slf4j-api is not on the class path
+      return false;
+    }
+    for (Element e : roundEnv.getRootElements()) {
+      TreePath path = trees.getPath(e);
+      if (path == null || !scanned.add(path.getCompilationUnit())) {
+        continue;
+      }
+      scanner.scan(path.getCompilationUnit());
+      if (tableName == null && !patterns.isEmpty()) {
+        tableName = defaultTableName(e);
+      }
+    }
+    patterns.removeAll(tabled);
+    if (!patterns.isEmpty()) {
+      writeTable(patterns);
+      tabled.addAll(patterns);
+    }
+    return false;
+  }
+
+  private String defaultTableName(Element e) {
+    PackageElement pkg = processingEnv.getElementUtils().getPackageOf(e);
+    if (pkg.isUnnamed()) {
+      return DEFAULT_TABLE_NAME;
+    }
+    return pkg.getQualifiedName() + "." + DEFAULT_TABLE_NAME;
+  }
+
+  private void writeTable(Set<String> patterns) {
+    // one class per round, later rounds only see generated sources
+    String name = tableName;
+    if (!tableNames.isEmpty()) {
+      name = tableName + (tableNames.size() + 1);
+    }
+    int dot = name.lastIndexOf('.');
+    String pkg = dot == -1 ? null : name.substring(0, dot);
+    String simpleName = name.substring(dot + 1);
+    try {
+      JavaFileObject file = processingEnv.getFiler().createSourceFile(name);
+      PrintWriter out = new PrintWriter(file.openWriter());
+      try {
+        if (pkg != null) {
+          out.println("package " + pkg + ";");
+          out.println();
+        }
+        out.println("/**");
+        out.println(" * SLF4J message patterns split at their placeholders.");
+        out.println(" * Generated by " + getClass().getName()
+            + ", do not edit.");
+        out.println(" */");
+        out.println("public final class " + simpleName + " {");
+        out.println();
+        out.println("  static {");
+        int chunks = (patterns.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        for (int i = 0; i < chunks; i++) {
+          out.println("    register" + i + "();");
+        }
+        out.println("  }");
+        out.println();
+        out.println("  private " + simpleName + "() {");
+        out.println("  }");
+        Iterator<String> it = patterns.iterator();
+        for (int i = 0; i < chunks; i++) {
+          out.println();
+          out.println("  private static void register" + i + "() {");
+          out.println("    org.slf4j.helpers.PatternTable.register("
+              + "new String[][] {");
+          for (int j = 0; j < CHUNK_SIZE && it.hasNext(); j++) {
+            String pattern = it.next();
+            StringBuilder row = new StringBuilder("      { ");
+            row.append(Patterns.quote(pattern));
+            String[] segments = Patterns.split(pattern);
+            for (int k = 0; k < segments.length; k++) {
+              row.append(", ").append(Patterns.quote(segments[k]));
+            }
+            row.append(" },");
+            out.println(row);
+          }
+          out.println("    });");
+          out.println("  }");
+        }
+        out.println("}");
+      } finally {
+        out.close();
+      }
+      tableNames.add(name);
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+          "Failed to write SLF4J pattern table " + name + ": " + e);
+    }
+  }
+
+  private void writeTableList() {
+    if (tableNames.isEmpty()) {
+      return;
+    }
+    try {
+      FileObject file = processingEnv.getFiler().createResource(
+          StandardLocation.CLASS_OUTPUT, "", TABLES_RESOURCE);
+      Writer out = file.openWriter();
+      try {
+        for (String name : tableNames) {
+          out.write(name);
+          out.write('\n');
+        }
+      } finally {
+        out.close();
+      }
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+          "Failed to write " + TABLES_RESOURCE + ": " + e);
+    }
+  }
+}
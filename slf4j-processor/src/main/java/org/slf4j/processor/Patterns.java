@@ -0,0 +1,100 @@
+package org.slf4j.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Placeholder rules of <code>org.slf4j.helpers.MessageFormatter</code>, at
+ * build time.
+ */
+final class Patterns {
+
+  static final String DELIM_STR = "{}";
+  static final char ESCAPE_CHAR = '\\';
+
+  private Patterns() {
+  }
+
+  /**
+   * Return the number of arguments <code>pattern</code> consumes: "{}" is a
+   * placeholder unless preceded by a single escape character.
+   */
+  static int countPlaceholders(String pattern) {
+    int count = 0;
+    int i = 0;
+    int j;
+    while ((j = pattern.indexOf(DELIM_STR, i)) != -1) {
+      boolean escaped = j > 0 && pattern.charAt(j - 1) == ESCAPE_CHAR;
+      boolean doubleEscaped = escaped && j > 1
+          && pattern.charAt(j - 2) == ESCAPE_CHAR;
+      if (escaped && !doubleEscaped) {
+        i = j + 1;
+      } else {
+        count++;
+        i = j + 2;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Tell whether <code>pattern</code> can be tabled: it has placeholders and
+   * no escape character, the formatters of slf4j-api disagreeing on some
+   * escape sequences.
+   */
+  static boolean isTableable(String pattern) {
+    return pattern.indexOf(DELIM_STR) != -1
+        && pattern.indexOf(ESCAPE_CHAR) == -1;
+  }
+
+  /**
+   * Return the text between the placeholders of a tableable pattern.
+   */
+  static String[] split(String pattern) {
+    List<String> segments = new ArrayList<String>();
+    int i = 0;
+    int j;
+    while ((j = pattern.indexOf(DELIM_STR, i)) != -1) {
+      segments.add(pattern.substring(i, j));
+      i = j + 2;
+    }
+    segments.add(pattern.substring(i));
+    return segments.toArray(new String[segments.size()]);
+  }
+
+  /**
+   * Return <code>s</code> as a Java string literal.
+   */
+  static String quote(String s) {
+    StringBuilder sb = new StringBuilder(s.length() + 2);
+    sb.append('"');
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      switch (c) {
+      case '"':
+        sb.append("\\\"");
+        break;
+      case '\\':
+        sb.append("\\\\");
+        break;
+      case '\n':
+        sb.append("\\n");
+        break;
+      case '\r':
+        sb.append("\\r");
+        break;
+      case '\t':
+        sb.append("\\t");
+        break;
+      default:
+        if (c < ' ' || c > '~') {
+          sb.append(String.format("\\u%04x", Integer.valueOf(c)));
+        } else {
+          sb.append(c);
+        }
+      }
+    }
+    sb.append('"');
+    return sb.toString();
+  }
+}
@@ -0,0 +1,191 @@
+package org.slf4j.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import junit.framework.TestCase;
+
+import org.slf4j.helpers.PatternTable;
+
+public class LogPatternProcessorTest extends TestCase {
+
+  File dir;
+  DiagnosticCollector<JavaFileObject> diagnostics;
+
+  public LogPatternProcessorTest(String name) {
+    super(name);
+  }
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    dir = new File(System.getProperty("java.io.tmpdir"), "lpp-"
+        + System.currentTimeMillis() + "-" + getName());
+    dir.mkdirs();
+    diagnostics = new DiagnosticCollector<JavaFileObject>();
+  }
+
+  protected void tearDown() throws Exception {
+    delete(dir);
+    super.tearDown();
+  }
+
+  static void delete(File f) {
+    File[] files = f.listFiles();
+    if (files != null) {
+      for (int i = 0; i < files.length; i++) {
+        delete(files[i]);
+      }
+    }
+    f.delete();
+  }
+
+  static JavaFileObject source(String className, final String code) {
+    return new SimpleJavaFileObject(URI.create("string:///"
+        + className.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+      public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+        return code;
+      }
+    };
+  }
+
+  boolean compile(String className, String code, String... options) {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    List<String> args = new ArrayList<String>(Arrays.asList("-classpath",
+        System.getProperty("java.class.path"), "-d", dir.getPath(), "-s",
+        dir.getPath(), "-processor", LogPatternProcessor.class.getName()));
+    args.addAll(Arrays.asList(options));
+    return compiler.getTask(null, null, diagnostics, args, null,
+        Arrays.asList(source(className, code))).call().booleanValue();
+  }
+
+  List<String> errors() {
+    List<String> errors = new ArrayList<String>();
+    for (Diagnostic<? extends JavaFileObject> d : diagnostics.getDiagnostics()) {
+      if (d.getKind() == Diagnostic.Kind.ERROR) {
+        errors.add(d.getMessage(null));
+      }
+    }
+    return errors;
+  }
+
+  static final String HEADER = "package p;\n"
+      + "import org.slf4j.*;\n"
+      + "public class C {\n"
+      + "  static final Logger LOG = LoggerFactory.getLogger(C.class);\n"
+      + "  static final String CONSTANT = \"constant {}\";\n";
+
+  public void testValidCalls() {
+    boolean ok = compile("p.C", HEADER
+        + "  void m(Marker marker, int i, Object[] array, Exception e) {\n"
+        + "    LOG.debug(\"none\");\n"
+        + "    LOG.debug(\"one {}\", i);\n"
+        + "    LOG.info(\"two {} {}\", \"a\", i);\n"
+        + "    LOG.warn(\"three {} {} {}\", new Object[] { \"a\", \"b\", \"c\" });\n"
+        + "    LOG.warn(\"any {} {} {}\", array);\n"
+        + "    LOG.error(\"failed\", e);\n"
+        + "    LOG.error(\"failed\", new IllegalStateException());\n"
+        + "    LOG.error(marker, \"marked {}\", i);\n"
+        + "    LOG.trace(CONSTANT, i);\n"
+        + "    LOG.trace(\"escaped \\\\{} {}\", i);\n"
+        + "    Logger local = LoggerFactory.getLogger(\"x\");\n"
+        + "    local.debug(\"local {}\", i);\n"
+        + "    LoggerFactory.getLogger(\"y\").debug(\"chained {}\", i);\n"
+        + "  }\n" + "}\n");
+    assertEquals(diagnostics.getDiagnostics().toString(), true, ok);
+    assertTrue(new File(dir, "p/Slf4jPatternTable.java").exists());
+  }
+
+  public void testMismatches() {
+    boolean ok = compile("p.C", HEADER
+        + "  void m(Marker marker, int i, Exception e) {\n"
+        + "    LOG.debug(\"missing {}\");\n"
+        + "    LOG.info(\"one {}\", \"a\", i);\n"
+        + "    LOG.warn(\"three {} {} {}\", new Object[] { \"a\", \"b\" });\n"
+        + "    LOG.error(\"lost {}\", e);\n"
+        + "    LOG.error(marker, \"marked\", i);\n"
+        + "    LOG.trace(CONSTANT);\n"
+        + "  }\n" + "}\n");
+    assertFalse(ok);
+    List<String> errors = errors();
+    assertEquals(errors.toString(), 6, errors.size());
+    assertEquals(
+        "SLF4J pattern \"missing {}\" has 1 placeholder but the call passes 0 arguments",
+        errors.get(0));
+    assertEquals(
+        "SLF4J pattern \"one {}\" has 1 placeholder but the call passes 2 arguments",
+        errors.get(1));
+    assertTrue(errors.get(2).indexOf("passes 2 arguments") != -1);
+    assertTrue(errors.get(3).indexOf("passes 0 arguments") != -1);
+    assertTrue(errors.get(4).indexOf("\"marked\"") != -1);
+    assertTrue(errors.get(5).indexOf("\"constant {}\"") != -1);
+  }
+
+  public void testWarningOption() {
+    boolean ok = compile("p.C", HEADER + "  void m() {\n"
+        + "    LOG.debug(\"missing {}\");\n" + "  }\n" + "}\n",
+        "-Aslf4j.mismatch=warning");
+    assertTrue(ok);
+    assertEquals(0, errors().size());
+  }
+
+  public void testOtherLoggersIgnored() {
+    boolean ok = compile("p.C", "package p;\n" + "public class C {\n"
+        + "  static class Logger { void debug(String s) {} }\n"
+        + "  void m() {\n" + "    new Logger().debug(\"missing {}\");\n"
+        + "  }\n" + "}\n");
+    assertTrue(ok);
+    assertFalse(new File(dir, "p/Slf4jPatternTable.java").exists());
+  }
+
+  public void testGeneratedTable() throws Exception {
+    boolean ok = compile("p.C", HEADER + "  void m(int i) {\n"
+        + "    LOG.debug(\"generated x={} y={}\", i, i);\n"
+        + "    LOG.debug(\"generated \\\"quoted\\\" {}\\n\", i);\n"
+        + "    LOG.debug(\"generated escaped \\\\\\\\{}\", i);\n" + "  }\n"
+        + "}\n", "-Aslf4j.patternTable=q.Table");
+    assertTrue(diagnostics.getDiagnostics().toString(), ok);
+    assertTrue(new File(dir, "q/Table.class").exists());
+    assertTrue(new File(dir, LogPatternProcessor.TABLES_RESOURCE).exists());
+
+    assertNull(PatternTable.getSegments("generated x={} y={}"));
+    URLClassLoader loader = new URLClassLoader(new URL[] { dir.toURI()
+        .toURL() }, getClass().getClassLoader());
+    PatternTable.loadTables(loader);
+
+    String[] segments = PatternTable.getSegments("generated x={} y={}");
+    assertNotNull(segments);
+    assertEquals(Arrays.asList("generated x=", " y=", ""), Arrays
+        .asList(segments));
+    segments = PatternTable.getSegments("generated \"quoted\" {}\n");
+    assertEquals(Arrays.asList("generated \"quoted\" ", "\n"), Arrays
+        .asList(segments));
+    // not tabled, the formatters disagree on escapes
+    assertNull(PatternTable.getSegments("generated escaped \\\\{}"));
+    // looked up by identity
+    assertNull(PatternTable.getSegments(new String("generated x={} y={}")));
+  }
+
+  public void testPatterns() throws IOException {
+    assertEquals(0, Patterns.countPlaceholders("none"));
+    assertEquals(2, Patterns.countPlaceholders("{}{}"));
+    assertEquals(0, Patterns.countPlaceholders("\\{}"));
+    assertEquals(1, Patterns.countPlaceholders("\\\\{}"));
+    assertEquals(1, Patterns.countPlaceholders("{ } {}"));
+    assertEquals(Arrays.asList("", "a", ""), Arrays.asList(Patterns
+        .split("{}a{}")));
+    assertEquals("\"a\\\"b\\\\c\\u00e9\"", Patterns.quote("a\"b\\c\u00e9"));
+  }
+}
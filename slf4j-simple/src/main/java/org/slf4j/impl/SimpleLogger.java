@@ -33,8 +33,15 @@
 
 package org.slf4j.impl;
 
+import org.slf4j.Marker;
+import org.slf4j.helpers.EventCollapser;
 import org.slf4j.helpers.MarkerIgnoringBase;
 import org.slf4j.helpers.MessageFormatter;
+import org.slf4j.helpers.RollingFileSink;
+import org.slf4j.helpers.ThrowableRenderer;
+import org.slf4j.message.Message;
+import org.slf4j.message.MessageLogger;
+import org.slf4j.spi.LevelAwareLogger;
 
 /**
  * A simple (and direct) implementation that logs messages of level
@@ -58,10 +65,38 @@ import org.slf4j.helpers.MessageFormatter;
         at org.log4j.examples.Sort.main(Sort.java:64)
 467 [main] INFO  examples.Sort - Exiting main method.
 </pre>
+ *
+ * <p>Setting the <code>org.slf4j.simplelogger.collapseWindow</code> system
+ * property to a number of milliseconds collapses repetitions of the same
+ * exception logged from the same place: within the window, only the first
+ * occurrence is printed with its stack trace, the following ones are marked
+ * as "repeat #k of &lt;fingerprint&gt;". The number of stack frames used to
+ * recognize repetitions is set by <code>org.slf4j.simplelogger.collapseDepth</code>.</p>
+ *
+ * <p>Setting the <code>org.slf4j.simplelogger.file</code> system property
+ * writes to the given file instead of the console. The file is rolled over
+ * once it exceeds <code>org.slf4j.simplelogger.maxFileSize</code> (in bytes,
+ * or with a KB, MB or GB suffix) or once the period set by
+ * <code>org.slf4j.simplelogger.rollPeriod</code> ("hourly", "daily" or a
+ * number of milliseconds) has elapsed. Rolled files are compressed unless
+ * <code>org.slf4j.simplelogger.compress</code> is <code>false</code>, and
+ * <code>org.slf4j.simplelogger.maxHistory</code> and
+ * <code>org.slf4j.simplelogger.maxTotalSize</code> limit the number and total
+ * size of the rolled files kept. See {@link RollingFileSink}.</p>
+ *
+ * <p>Setting the <code>org.slf4j.simplelogger.cacheStackFrames</code> system
+ * property to <code>true</code> renders stack traces with a
+ * {@link ThrowableRenderer}, which caches the rendering of stack frames, in
+ * the same buffer as the message.</p>
+ *
+ * <p>A batch of messages logged through
+ * {@link MessageLogger#log(Marker, String, int, Message[], int, int)} is
+ * written as a single block, followed by a single flush.</p>
  *
  * @author Ceki G&uuml;lc&uuml;
  */
-public class SimpleLogger extends MarkerIgnoringBase {
+public class SimpleLogger extends MarkerIgnoringBase implements MessageLogger,
+    LevelAwareLogger {
   
   private static final long serialVersionUID = -6560244151660620173L;
  
@@ -75,12 +110,41 @@ public class SimpleLogger extends MarkerIgnoringBase {
   private static String WARN_STR = "WARN";
   private static String ERROR_STR = "ERROR";
 
+  static final String COLLAPSE_WINDOW_KEY = "org.slf4j.simplelogger.collapseWindow";
+  static final String COLLAPSE_DEPTH_KEY = "org.slf4j.simplelogger.collapseDepth";
+  private static final EventCollapser COLLAPSER = EventCollapser.newInstance(
+      getSystemProperty(COLLAPSE_WINDOW_KEY), getSystemProperty(COLLAPSE_DEPTH_KEY));
+
+  // null unless org.slf4j.simplelogger.cacheStackFrames is true
+  private static final ThrowableRenderer RENDERER = "true".equalsIgnoreCase(
+      getSystemProperty("org.slf4j.simplelogger.cacheStackFrames"))
+      ? new ThrowableRenderer() : null;
+
+  private static final RollingFileSink SINK = RollingFileSink.newInstance(
+      getSystemProperty("org.slf4j.simplelogger.file"),
+      getSystemProperty("org.slf4j.simplelogger.maxFileSize"),
+      getSystemProperty("org.slf4j.simplelogger.rollPeriod"),
+      getSystemProperty("org.slf4j.simplelogger.maxHistory"),
+      getSystemProperty("org.slf4j.simplelogger.maxTotalSize"),
+      getSystemProperty("org.slf4j.simplelogger.compress"));
+
+  // not serialized, readResolve returns the logger of the factory
+  private final transient EventCollapser collapser;
+
   /**
    * Package access allows only {@link SimpleLoggerFactory} to instantiate
    * SimpleLogger instances.
    */
   SimpleLogger(String name) {
+    this(name, COLLAPSER);
+  }
+
+  /**
+   * @param collapser the collapser of repeated exceptions, or null
+   */
+  SimpleLogger(String name, EventCollapser collapser) {
     this.name = name;
+    this.collapser = collapser;
   }
 
   /**
@@ -183,8 +247,56 @@ public class SimpleLogger extends MarkerIgnoringBase {
    * @param t
    */
   private void log(String level, String message, Throwable t) {
+    log(level, message, message, t);
+  }
+
+  /**
+   * Log a message, collapsing repetitions of its throwable by the message
+   * pattern rather than by the formatted text.
+   */
+  private void log(String level, Message msg, Throwable t) {
+    String message = msg.getFormattedMessage();
+    String pattern = msg.getMessageFormat();
+    log(level, pattern == null ? message : pattern, message, t);
+  }
+
+  private void log(String level, String pattern, String message, Throwable t) {
     StringBuffer buf = new StringBuffer();
+    t = appendEvent(buf, level, pattern, message, t);
+    write(buf, t);
+  }
+
+  /**
+   * Append the line of an event, collapsing or rendering its throwable as
+   * configured.
+   * 
+   * @return the throwable left to print after the buffer, if any
+   */
+  private Throwable appendEvent(StringBuffer buf, String level, String pattern,
+      String message, Throwable t) {
+    appendPrefix(buf, level);
+
+    buf.append(message);
 
+    // the level strings are constants, their hash codes tell levels apart
+    String repeat = (collapser == null) ? null : collapser.collapse(name, level.hashCode(), pattern, t);
+    if (repeat != null) {
+      buf.append(" [");
+      buf.append(repeat);
+      buf.append("]");
+      t = null;
+    }
+
+    buf.append(LINE_SEPARATOR);
+
+    if (t != null && RENDERER != null) {
+      RENDERER.render(t, buf);
+      t = null;
+    }
+    return t;
+  }
+
+  private void appendPrefix(StringBuffer buf, String level) {
     long millis = System.currentTimeMillis();
     buf.append(millis - startTime);
 
@@ -197,11 +309,13 @@ public class SimpleLogger extends MarkerIgnoringBase {
 
     buf.append(name);
     buf.append(" - ");
+  }
 
-    buf.append(message);
-
-    buf.append(LINE_SEPARATOR);
-
+  private static void write(StringBuffer buf, Throwable t) {
+    if (SINK != null) {
+      SINK.write(buf.toString(), t);
+      return;
+    }
     System.err.print(buf.toString());
     if (t != null) {
       t.printStackTrace(System.err);
@@ -209,6 +323,34 @@ public class SimpleLogger extends MarkerIgnoringBase {
     System.err.flush();
   }
 
+  /**
+   * Return the string for a LocationAwareLogger level, or null if this logger
+   * is disabled for the level.
+   */
+  private static String getLevelString(int level) {
+    switch (level) {
+    case TRACE_INT:
+    case DEBUG_INT:
+      return null;
+    case INFO_INT:
+      return INFO_STR;
+    case WARN_INT:
+      return WARN_STR;
+    case ERROR_INT:
+      return ERROR_STR;
+    default:
+      throw new IllegalStateException("Level number " + level + " is not recognized.");
+    }
+  }
+
+  private static String getSystemProperty(String key) {
+    try {
+      return System.getProperty(key);
+    } catch (SecurityException e) {
+      return null;
+    }
+  }
+
   /**
    * For formatted messages, first substitute arguments and then log.
    *
@@ -335,6 +477,20 @@ public class SimpleLogger extends MarkerIgnoringBase {
     return true;
   }
 
+  /**
+   * Are messages of <code>level</code> logged? True for INFO and above.
+   */
+  public boolean isEnabled(int level) {
+    return level >= INFO_INT;
+  }
+
+  /**
+   * Same as {@link #isEnabled(int)}, the marker is ignored.
+   */
+  public boolean isEnabled(Marker marker, int level) {
+    return level >= INFO_INT;
+  }
+
   /**
    * A simple implementation which always logs messages of level ERROR according
    * to the format outlined above.
@@ -374,4 +530,182 @@ public class SimpleLogger extends MarkerIgnoringBase {
   public void error(String msg, Throwable t) {
     log(ERROR_STR, msg, t);
   }
+
+  /**
+   * A NOP implementation, as this logger is permanently disabled for
+   * the TRACE level.
+   */
+  public void trace(Message msg) {
+    // NOP
+  }
+
+  /**
+   * A NOP implementation, as this logger is permanently disabled for
+   * the TRACE level.
+   */
+  public void trace(Message msg, Throwable t) {
+    // NOP
+  }
+
+  /**
+   * A NOP implementation, as this logger is permanently disabled for
+   * the TRACE level.
+   */
+  public void trace(Marker marker, Message msg) {
+    // NOP
+  }
+
+  /**
+   * A NOP implementation, as this logger is permanently disabled for
+   * the TRACE level.
+   */
+  public void trace(Marker marker, Message msg, Throwable t) {
+    // NOP
+  }
+
+  /**
+   * A NOP implementation, as this logger is permanently disabled for
+   * the DEBUG level.
+   */
+  public void debug(Message msg) {
+    // NOP
+  }
+
+  /**
+   * A NOP implementation, as this logger is permanently disabled for
+   * the DEBUG level.
+   */
+  public void debug(Message msg, Throwable t) {
+    // NOP
+  }
+
+  /**
+   * A NOP implementation, as this logger is permanently disabled for
+   * the DEBUG level.
+   */
+  public void debug(Marker marker, Message msg) {
+    // NOP
+  }
+
+  /**
+   * A NOP implementation, as this logger is permanently disabled for
+   * the DEBUG level.
+   */
+  public void debug(Marker marker, Message msg, Throwable t) {
+    // NOP
+  }
+
+  /**
+   * Log a message of level INFO according to the format outlined above.
+   */
+  public void info(Message msg) {
+    log(INFO_STR, msg.getFormattedMessage(), null);
+  }
+
+  /**
+   * Log a message of level INFO according to the format outlined above.
+   */
+  public void info(Message msg, Throwable t) {
+    log(INFO_STR, msg, t);
+  }
+
+  /**
+   * Log a message of level INFO according to the format outlined above.
+   */
+  public void info(Marker marker, Message msg) {
+    log(INFO_STR, msg.getFormattedMessage(), null);
+  }
+
+  /**
+   * Log a message of level INFO according to the format outlined above.
+   */
+  public void info(Marker marker, Message msg, Throwable t) {
+    log(INFO_STR, msg, t);
+  }
+
+  /**
+   * Log a message of level WARN according to the format outlined above.
+   */
+  public void warn(Message msg) {
+    log(WARN_STR, msg.getFormattedMessage(), null);
+  }
+
+  /**
+   * Log a message of level WARN according to the format outlined above.
+   */
+  public void warn(Message msg, Throwable t) {
+    log(WARN_STR, msg, t);
+  }
+
+  /**
+   * Log a message of level WARN according to the format outlined above.
+   */
+  public void warn(Marker marker, Message msg) {
+    log(WARN_STR, msg.getFormattedMessage(), null);
+  }
+
+  /**
+   * Log a message of level WARN according to the format outlined above.
+   */
+  public void warn(Marker marker, Message msg, Throwable t) {
+    log(WARN_STR, msg, t);
+  }
+
+  /**
+   * Log a message of level ERROR according to the format outlined above.
+   */
+  public void error(Message msg) {
+    log(ERROR_STR, msg.getFormattedMessage(), null);
+  }
+
+  /**
+   * Log a message of level ERROR according to the format outlined above.
+   */
+  public void error(Message msg, Throwable t) {
+    log(ERROR_STR, msg, t);
+  }
+
+  /**
+   * Log a message of level ERROR according to the format outlined above.
+   */
+  public void error(Marker marker, Message msg) {
+    log(ERROR_STR, msg.getFormattedMessage(), null);
+  }
+
+  /**
+   * Log a message of level ERROR according to the format outlined above.
+   */
+  public void error(Marker marker, Message msg, Throwable t) {
+    log(ERROR_STR, msg, t);
+  }
+
+  public void log(Marker marker, String fqcn, int level, String message, Throwable t) {
+    String levelStr = getLevelString(level);
+    if (levelStr != null) {
+      log(levelStr, message, t);
+    }
+  }
+
+  public void log(Marker marker, String fqcn, int level, Message data, Throwable t) {
+    String levelStr = getLevelString(level);
+    if (levelStr != null) {
+      log(levelStr, data, t);
+    }
+  }
+
+  /**
+   * Log a batch of messages as one write, followed by a single flush.
+   */
+  public void log(Marker marker, String fqcn, int level, Message[] batch, int off, int len) {
+    String levelStr = getLevelString(level);
+    if (levelStr == null || len <= 0) {
+      return;
+    }
+    StringBuffer buf = new StringBuffer(len * 96);
+    for (int i = off; i < off + len; i++) {
+      String message = batch[i].getFormattedMessage();
+      appendEvent(buf, levelStr, message, message, null);
+    }
+    write(buf, null);
+  }
 }
@@ -33,11 +33,9 @@
 
 package org.slf4j.impl;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import org.slf4j.Logger;
 import org.slf4j.ILoggerFactory;
+import org.slf4j.helpers.LoggerRegistry;
 
 /**
  * An implementation of {@link ILoggerFactory} which always returns
@@ -49,23 +47,25 @@ public class SimpleLoggerFactory implements ILoggerFactory {
 
   final static SimpleLoggerFactory INSTANCE = new SimpleLoggerFactory();
 
-  Map loggerMap;
+  LoggerRegistry loggerRegistry;
 
   public SimpleLoggerFactory() {
-    loggerMap = new HashMap();
+    loggerRegistry = new LoggerRegistry();
   }
 
   /**
    * Return an appropriate {@link SimpleLogger} instance by name.
    */
   public Logger getLogger(String name) {
-    Logger slogger = null;
-    // protect against concurrent access of the loggerMap
-    synchronized (this) {
-      slogger = (Logger) loggerMap.get(name);
-      if (slogger == null) {
-        slogger = new SimpleLogger(name);
-        loggerMap.put(name, slogger);
+    Logger slogger = (Logger) loggerRegistry.get(name);
+    if (slogger == null) {
+      // protect against concurrent creation of the same logger
+      synchronized (this) {
+        slogger = (Logger) loggerRegistry.get(name);
+        if (slogger == null) {
+          slogger = new SimpleLogger(name);
+          loggerRegistry.put(name, slogger);
+        }
       }
     }
     return slogger;
@@ -0,0 +1,141 @@
+/* 
+ * Copyright (c) 2004-2007 QOS.CH
+ * 
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute, and/or sell copies of  the Software, and to permit persons
+ * to whom  the Software is furnished  to do so, provided  that the above
+ * copyright notice(s) and this permission notice appear in all copies of
+ * the  Software and  that both  the above  copyright notice(s)  and this
+ * permission notice appear in supporting documentation.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR  A PARTICULAR PURPOSE AND NONINFRINGEMENT
+ * OF  THIRD PARTY  RIGHTS. IN  NO EVENT  SHALL THE  COPYRIGHT  HOLDER OR
+ * HOLDERS  INCLUDED IN  THIS  NOTICE BE  LIABLE  FOR ANY  CLAIM, OR  ANY
+ * SPECIAL INDIRECT  OR CONSEQUENTIAL DAMAGES, OR  ANY DAMAGES WHATSOEVER
+ * RESULTING FROM LOSS  OF USE, DATA OR PROFITS, WHETHER  IN AN ACTION OF
+ * CONTRACT, NEGLIGENCE  OR OTHER TORTIOUS  ACTION, ARISING OUT OF  OR IN
+ * CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ * 
+ * Except as  contained in  this notice, the  name of a  copyright holder
+ * shall not be used in advertising or otherwise to promote the sale, use
+ * or other dealings in this Software without prior written authorization
+ * of the copyright holder.
+ *
+ */
+
+package org.slf4j;
+
+import java.io.PrintStream;
+
+import junit.framework.TestCase;
+
+import org.slf4j.helpers.SubstituteLogger;
+import org.slf4j.helpers.SubstituteLoggerFactory;
+import org.slf4j.impl.SimpleLoggerFactory;
+
+/**
+ * Stress LoggerFactory initialization from many threads at once.
+ */
+public class MultithreadedInitializationTest extends TestCase {
+
+  static final int THREAD_COUNT = 16;
+  static final int ROUNDS = 200;
+
+  PrintStream old = System.err;
+  Object gate = new Object();
+  boolean open;
+
+  public MultithreadedInitializationTest(String arg0) {
+    super(arg0);
+  }
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    System.setErr(new SilentPrintStream(old));
+  }
+
+  protected void tearDown() throws Exception {
+    super.tearDown();
+    LoggerFactory.reset();
+    System.setErr(old);
+  }
+
+  public void testConcurrentInitialization() throws InterruptedException {
+    for (int round = 0; round < ROUNDS; round++) {
+      LoggerFactory.reset();
+      Logger[] loggers = runRound(round);
+      for (int i = 0; i < loggers.length; i++) {
+        assertOperational(loggers[i]);
+      }
+      assertTrue(LoggerFactory.getILoggerFactory() instanceof SimpleLoggerFactory);
+    }
+  }
+
+  public void testSubstituteCreatedAfterBinding() {
+    SubstituteLoggerFactory substituteFactory = new SubstituteLoggerFactory();
+    Logger before = substituteFactory.getLogger("before");
+    assertFalse(before.isInfoEnabled());
+
+    substituteFactory.bindTo(new SimpleLoggerFactory());
+    Logger after = substituteFactory.getLogger("after");
+    assertOperational(before);
+    assertOperational(after);
+    assertSame(before, substituteFactory.getLogger("before"));
+    assertEquals(2, substituteFactory.getLoggerNameList().size());
+  }
+
+  void assertOperational(Logger logger) {
+    assertNotNull(logger);
+    if (logger instanceof SubstituteLogger) {
+      logger = ((SubstituteLogger) logger).getDelegate();
+    }
+    assertEquals("org.slf4j.impl.SimpleLogger", logger.getClass().getName());
+    assertTrue(logger.isInfoEnabled());
+  }
+
+  Logger[] runRound(int round) throws InterruptedException {
+    final Logger[] loggers = new Logger[THREAD_COUNT];
+    Thread[] threads = new Thread[THREAD_COUNT];
+    open = false;
+    for (int i = 0; i < THREAD_COUNT; i++) {
+      final int index = i;
+      final String name = "round" + round + ".thread" + i;
+      threads[i] = new Thread(new Runnable() {
+        public void run() {
+          awaitGate();
+          Logger logger = LoggerFactory.getLogger(name);
+          logger.info("hello");
+          loggers[index] = logger;
+        }
+      });
+      threads[i].start();
+    }
+    synchronized (gate) {
+      open = true;
+      gate.notifyAll();
+    }
+    for (int i = 0; i < THREAD_COUNT; i++) {
+      threads[i].join();
+    }
+    return loggers;
+  }
+
+  void awaitGate() {
+    synchronized (gate) {
+      while (!open) {
+        try {
+          gate.wait();
+        } catch (InterruptedException e) {
+          return;
+        }
+      }
+    }
+  }
+}
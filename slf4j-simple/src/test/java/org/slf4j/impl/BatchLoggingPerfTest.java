@@ -0,0 +1,111 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import junit.framework.TestCase;
+
+import org.slf4j.message.Message;
+import org.slf4j.message.SimpleMessage;
+import org.slf4j.spi.LocationAwareLogger;
+
+/**
+ * Compares, per message, logging batches of 1, 16 and 256 messages with
+ * one log(Marker, String, int, Message[], int, int) call and with one
+ * log(Marker, String, int, Message, Throwable) call per message, on a
+ * buffered console discarding its output. What is measured is the
+ * formatting, the console lock and the flush after each write.
+ */
+public class BatchLoggingPerfTest extends TestCase {
+
+  static final int MESSAGES = 256 * 1000;
+  static final String FQCN = BatchLoggingPerfTest.class.getName();
+
+  PrintStream old = System.err;
+  SimpleLogger logger = new SimpleLogger(BatchLoggingPerfTest.class.getName());
+
+  public BatchLoggingPerfTest(String name) {
+    super(name);
+  }
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    OutputStream discard = new OutputStream() {
+      public void write(int b) {
+      }
+
+      public void write(byte[] b, int off, int len) {
+      }
+    };
+    System.setErr(new PrintStream(new BufferedOutputStream(discard)));
+  }
+
+  protected void tearDown() throws Exception {
+    System.setErr(old);
+    super.tearDown();
+  }
+
+  public void testBatchSizes() {
+    int[] sizes = new int[] { 1, 16, 256 };
+    for (int i = 0; i < sizes.length; i++) {
+      loop(sizes[i], true); // warm up
+      loop(sizes[i], false);
+    }
+    StringBuffer results = new StringBuffer();
+    for (int i = 0; i < sizes.length; i++) {
+      double batched = loop(sizes[i], true);
+      double single = loop(sizes[i], false);
+      results.append("simple batchSize=" + sizes[i] + " batchedNanos="
+          + batched + " singleNanos=" + single + SimpleLogger.LINE_SEPARATOR);
+    }
+    System.out.print(results);
+  }
+
+  /**
+   * @return nanoseconds per message
+   */
+  double loop(int size, boolean batched) {
+    Message[] batch = new Message[size];
+    for (int i = 0; i < size; i++) {
+      batch[i] = new SimpleMessage("record " + i);
+    }
+    int rounds = MESSAGES / size;
+    long start = System.nanoTime();
+    for (int r = 0; r < rounds; r++) {
+      if (batched) {
+        logger.log(null, FQCN, LocationAwareLogger.INFO_INT, batch, 0, size);
+      } else {
+        for (int i = 0; i < size; i++) {
+          logger.log(null, FQCN, LocationAwareLogger.INFO_INT, batch[i], null);
+        }
+      }
+    }
+    long end = System.nanoTime();
+    return (end - start) / (double) (rounds * size);
+  }
+}
@@ -0,0 +1,96 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import junit.framework.TestCase;
+
+import org.slf4j.message.Message;
+import org.slf4j.message.MessageLoggerWrapper;
+import org.slf4j.message.SimpleMessage;
+import org.slf4j.spi.LocationAwareLogger;
+
+public class SimpleLoggerBatchTest extends TestCase {
+
+  static final String FQCN = SimpleLoggerBatchTest.class.getName();
+
+  PrintStream old = System.err;
+  ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+  int[] flushes = new int[1];
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    System.setErr(new PrintStream(bytes) {
+      public void flush() {
+        flushes[0]++;
+        super.flush();
+      }
+    });
+  }
+
+  protected void tearDown() throws Exception {
+    System.setErr(old);
+    super.tearDown();
+  }
+
+  Message[] batch(int len) {
+    Message[] batch = new Message[len];
+    for (int i = 0; i < len; i++) {
+      batch[i] = new SimpleMessage("record " + i);
+    }
+    return batch;
+  }
+
+  public void testOneWriteOneFlush() {
+    SimpleLogger logger = new SimpleLogger("batch");
+    logger.log(null, FQCN, LocationAwareLogger.INFO_INT, batch(5), 1, 3);
+    String[] lines = bytes.toString().split(SimpleLogger.LINE_SEPARATOR);
+    assertEquals(3, lines.length);
+    for (int i = 0; i < 3; i++) {
+      assertTrue(lines[i], lines[i].endsWith(" INFO batch - record " + (i + 1)));
+    }
+    assertEquals(1, flushes[0]);
+  }
+
+  public void testDisabledLevel() {
+    SimpleLogger logger = new SimpleLogger("batch");
+    logger.log(null, FQCN, LocationAwareLogger.DEBUG_INT, batch(5), 0, 5);
+    logger.log(null, FQCN, LocationAwareLogger.INFO_INT, batch(5), 0, 0);
+    assertEquals(0, bytes.size());
+    assertEquals(0, flushes[0]);
+  }
+
+  public void testThroughWrapper() {
+    MessageLoggerWrapper wrapper = new MessageLoggerWrapper(new SimpleLogger(
+        "batch"), FQCN);
+    wrapper.log(null, FQCN, LocationAwareLogger.WARN_INT, batch(16), 0, 16);
+    String[] lines = bytes.toString().split(SimpleLogger.LINE_SEPARATOR);
+    assertEquals(16, lines.length);
+    assertTrue(lines[15], lines[15].endsWith(" WARN batch - record 15"));
+    assertEquals(1, flushes[0]);
+  }
+}
@@ -0,0 +1,95 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import junit.framework.TestCase;
+
+import org.slf4j.helpers.EventCollapser;
+import org.slf4j.message.MessageLoggerWrapper;
+
+public class SimpleLoggerCollapseTest extends TestCase {
+
+  PrintStream old = System.err;
+  ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+  MessageLoggerWrapper wrapper = new MessageLoggerWrapper(new SimpleLogger(
+      "collapse", EventCollapser.newInstance("60000", null)),
+      SimpleLoggerCollapseTest.class.getName());
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    System.setErr(new PrintStream(bytes));
+  }
+
+  protected void tearDown() throws Exception {
+    System.setErr(old);
+    super.tearDown();
+  }
+
+  // the same stack trace on every call
+  static Exception failure() {
+    return new IllegalStateException("boom");
+  }
+
+  String[] lines() {
+    return bytes.toString().split(SimpleLogger.LINE_SEPARATOR);
+  }
+
+  static int count(String[] lines, String part) {
+    int count = 0;
+    for (int i = 0; i < lines.length; i++) {
+      if (lines[i].indexOf(part) >= 0) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  public void testRepeatsWithDifferentArguments() {
+    for (int i = 0; i < 3; i++) {
+      wrapper.error("request {} failed", new Integer(i), failure());
+    }
+    String[] lines = lines();
+    assertEquals(1, count(lines, "java.lang.IllegalStateException: boom"));
+    assertEquals(1, count(lines, "request 0 failed"));
+    assertEquals(1, count(lines,
+        "request 1 failed [repeat #2 of java.lang.IllegalStateException@"));
+    assertEquals(1, count(lines,
+        "request 2 failed [repeat #3 of java.lang.IllegalStateException@"));
+  }
+
+  public void testDifferentPatterns() {
+    for (int i = 0; i < 2; i++) {
+      wrapper.error("first {} failed", new Integer(i), failure());
+      wrapper.error("second {} failed", new Integer(i), failure());
+    }
+    String[] lines = lines();
+    assertEquals(2, count(lines, "java.lang.IllegalStateException: boom"));
+    assertEquals(2, count(lines, "[repeat #2 of "));
+  }
+}
@@ -0,0 +1,50 @@
+/* 
+ * Copyright (c) 2004-2010 QOS.ch
+ * All rights reserved.
+ * 
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.slf4j.impl;
+
+import junit.framework.TestCase;
+
+import org.slf4j.helpers.LevelAwareLoggerAdapter;
+import org.slf4j.spi.LevelAwareLogger;
+import org.slf4j.spi.LocationAwareLogger;
+
+public class SimpleLoggerLevelAwareTest extends TestCase {
+
+  SimpleLogger logger = new SimpleLogger("levelAware");
+
+  public void testNotAdapted() {
+    assertSame(logger, LevelAwareLoggerAdapter.getLevelAwareLogger(logger));
+  }
+
+  public void testIsEnabled() {
+    LevelAwareLogger levelAware = logger;
+    assertFalse(levelAware.isEnabled(LocationAwareLogger.TRACE_INT));
+    assertFalse(levelAware.isEnabled(LocationAwareLogger.DEBUG_INT));
+    assertTrue(levelAware.isEnabled(LocationAwareLogger.INFO_INT));
+    assertTrue(levelAware.isEnabled(LocationAwareLogger.WARN_INT));
+    assertTrue(levelAware.isEnabled(null, LocationAwareLogger.ERROR_INT));
+    assertFalse(levelAware.isEnabled(null, LocationAwareLogger.DEBUG_INT));
+  }
+}